@@ -45,7 +45,6 @@ import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import javax.swing.BoxLayout;
@@ -65,9 +64,7 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 
 import org.isf.accounting.gui.PatientBillEdit.PatientBillListener;
-import org.isf.accounting.gui.totals.BalanceTotal;
-import org.isf.accounting.gui.totals.PaymentsTotal;
-import org.isf.accounting.gui.totals.UserTotal;
+import org.isf.accounting.gui.totals.BillingTotals;
 import org.isf.accounting.manager.BillBrowserManager;
 import org.isf.accounting.model.Bill;
 import org.isf.accounting.model.BillPayments;
@@ -109,7 +106,9 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 
 	@Override
 	public void billInserted(AWTEvent event) {
-		if (patientParent != null) {
+		if (event != null && event.getSource() != null && patientParent == null) {
+			updateDataSet((Bill) event.getSource());
+		} else if (patientParent != null) {
 			try {
 				updateDataSet(dateFrom, dateTo, patientParent);
 			} catch (OHServiceException ohServiceException) {
@@ -214,6 +213,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 	private List<Bill> billPeriod;
 	private List<BillPayments> paymentsPeriod;
 	private List<Bill> billFromPayments;
+	private BillSnapshot billSnapshot;
 
 	private String currencyCod;
 
@@ -252,7 +252,8 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 			@Override
 			public void windowClosing(WindowEvent e) {
 				// to free memory
-				billPeriod.clear();
+				billPeriod = null;
+				billSnapshot = null;
 				users.clear();
 				dispose();
 			}
@@ -493,7 +494,8 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 			jButtonClose.setMnemonic(MessageBundle.getMnemonic("angal.common.close.btn.key"));
 			jButtonClose.addActionListener(actionEvent -> {
 				// to free memory
-				billPeriod.clear();
+				billPeriod = null;
+				billSnapshot = null;
 				users.clear();
 				dispose();
 			});
@@ -679,6 +681,8 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 		 * Bills not in the period but with payments in the period
 		 */
 		billFromPayments = billBrowserManager.getBills(paymentsPeriod);
+
+		billSnapshot = new BillSnapshot(billPeriod, billFromPayments, () -> billBrowserManager.getPendingBillsAffiliate(patient.getCode()));
 	}
 
 	private JButton getJButtonNew() {
@@ -809,7 +813,7 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 
 			@Override
 			public void mouseClicked(MouseEvent e) {
-				SelectPatient selectPatient = new SelectPatient(BillBrowser.this, false, true);
+				SelectPatient selectPatient = new SelectPatient(BillBrowser.this, false);
 				selectPatient.addSelectionListener(BillBrowser.this);
 				selectPatient.setVisible(true);
 				Patient pat = selectPatient.getPatient();
@@ -1173,6 +1177,51 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 		} catch (OHServiceException ohServiceException) {
 			MessageDialog.showExceptions(ohServiceException);
 		}
+
+		billSnapshot = new BillSnapshot(nonNull(billPeriod), nonNull(billFromPayments), null);
+	}
+
+	/*
+	 * apply a single inserted or edited bill to the data set, without reloading the whole period
+	 */
+	private void updateDataSet(Bill bill) {
+		Bill savedBill;
+		List<BillPayments> billPayments;
+		try {
+			savedBill = billBrowserManager.getBill(bill.getId());
+			billPayments = billBrowserManager.getPayments(bill.getId());
+		} catch (OHServiceException ohServiceException) {
+			MessageDialog.showExceptions(ohServiceException);
+			updateDataSet(dateFrom, dateTo);
+			return;
+		}
+		if (savedBill == null) {
+			updateDataSet(dateFrom, dateTo);
+			return;
+		}
+
+		List<BillPayments> newPayments = new ArrayList<>(nonNull(paymentsPeriod));
+		newPayments.removeIf(payment -> payment.getBill().getId() == savedBill.getId());
+		boolean withPaymentsInPeriod = false;
+		for (BillPayments payment : billPayments) {
+			if (isInPeriod(payment.getDate())) {
+				newPayments.add(payment);
+				withPaymentsInPeriod = true;
+			}
+		}
+		paymentsPeriod = newPayments;
+
+		billSnapshot = billSnapshot.withBill(savedBill, isInPeriod(savedBill.getDate()), withPaymentsInPeriod);
+		billPeriod = billSnapshot.getBillPeriod();
+		billFromPayments = billSnapshot.getBillFromPayments();
+	}
+
+	private boolean isInPeriod(LocalDateTime date) {
+		return date != null && !date.isBefore(dateFrom) && !date.isAfter(dateTo);
+	}
+
+	private static <T> List<T> nonNull(List<T> list) {
+		return list != null ? list : new ArrayList<>();
 	}
 
 	private void updateTotals() {
@@ -1190,31 +1239,21 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 			paymentsToday = paymentsPeriod;
 		}
 
-		totalPeriod = new BigDecimal(0);
-		balancePeriod = new BigDecimal(0);
-		totalToday = new BigDecimal(0);
-		balanceToday = new BigDecimal(0);
-		userToday = new BigDecimal(0);
-		userPeriod = new BigDecimal(0);
-
-		List<Integer> notDeletedBills = billPeriod.stream()
-						.filter(bill -> !bill.getStatus().equals("D"))
-						.map(Bill::getId)
-						.collect(Collectors.toList());
+		BillingTotals totals = BillingTotals.compute(billPeriod, billToday, paymentsPeriod, paymentsToday);
 
 		// Bills in range contribute for Not Paid (balance)
-		balancePeriod = new BalanceTotal(billPeriod).getValue();
+		balancePeriod = totals.getBalancePeriod();
 
 		// Bills in today contribute for Not Paid Today (balance)
-		balanceToday = new BalanceTotal(billToday).getValue();
+		balanceToday = totals.getBalanceToday();
 
 		// Payments in range contribute for Paid Period (total)
-		userPeriod = new UserTotal(notDeletedBills, paymentsPeriod, user).getValue();
-		totalPeriod = new PaymentsTotal(notDeletedBills, paymentsPeriod).getValue();
+		userPeriod = totals.getUserPeriod(user);
+		totalPeriod = totals.getTotalPeriod();
 
 		// Payments in today contribute for Paid Today (total)
-		userToday = new UserTotal(notDeletedBills, paymentsToday, user).getValue();
-		totalToday = new PaymentsTotal(notDeletedBills, paymentsToday).getValue();
+		userToday = totals.getUserToday(user);
+		totalToday = totals.getTotalToday();
 
 		jTableToday.setValueAt(totalToday, 0, 2);
 		jTableToday.setValueAt(balanceToday, 0, 5);
@@ -1240,9 +1279,9 @@ public class BillBrowser extends ModalJFrame implements PatientBillListener {
 
 		private void loadData(String status, String username) {
 			try {
-				tableArray = new BillDataLoader(billPeriod, billFromPayments, patientParent, billBrowserManager).loadBills(status, username);
+				tableArray = billSnapshot.getBills(status, username);
 			} catch (OHServiceException ohServiceException) {
-				LOGGER.error("BillDataLoader error: ", ohServiceException);
+				LOGGER.error("BillSnapshot error: ", ohServiceException);
 			}
 		}
 
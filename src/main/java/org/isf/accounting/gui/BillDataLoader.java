@@ -21,11 +21,7 @@
  */
 package org.isf.accounting.gui;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.isf.accounting.manager.BillBrowserManager;
 import org.isf.accounting.model.Bill;
@@ -47,65 +43,11 @@ public class BillDataLoader {
 	}
 
 	public List<Bill> loadBills(String status, String username) throws OHServiceException {
-		List<Bill> tableArray = new ArrayList<>();
-
-		switch (status) {
-			case "O":
-				tableArray = getPendingBills(status, username);
-				break;
-			case "ALL":
-				tableArray = getAllBills(username);
-				break;
-			case "C":
-				tableArray = getClosedBills(status, username);
-				break;
-		}
-
-		tableArray.sort(Collections.reverseOrder());
-		return tableArray;
-	}
-
-	private List<Bill> getAllBills(String username) {
-		List<Bill> billAll = mergeBillsFromPeriodAndFromPayments();
-		if (username != null) {
-			billAll = billAll.stream().filter(bill-> bill.getUser().equals(username)).collect(Collectors.toList());
-		}
-		Collections.sort(billAll);
-		return billAll;
-	}
-
-	private List<Bill> mergeBillsFromPeriodAndFromPayments() {
-		Map<Integer, Bill> billsSortedById = billPeriod.stream()
-				.collect(Collectors.toMap(Bill::getId, bill -> bill, (a, b) -> b));
-		List<Bill> billAll = new ArrayList<>(billPeriod);
-		billFromPayments.stream()
-				.filter(bill -> billsSortedById.get(bill.getId()) == null)
-				.forEach(billAll::add);
-		return billAll;
-	}
-
-	private List<Bill> getClosedBills(String status, String username) {
-		List<Bill> 	list = billPeriod.stream()
-				.filter(bill -> bill.getStatus().equals(status))
-				.collect(Collectors.toList());
-		if (username != null) {
-			list = list.stream().filter(bill-> bill.getUser().equals(username)).collect(Collectors.toList());
-		}
-		return list;
-	}
-
-	private List<Bill> getPendingBills(String status, String username) throws OHServiceException {
+		BillSnapshot.PendingBillsLoader pendingBillsLoader = null;
 		if (patientParent != null) {
-			return  billManager.getPendingBillsAffiliate(patientParent.getCode()) ; 
-		}
-		List<Bill> list = billPeriod.stream()
-					.filter(bill -> bill.getStatus().equals(status))
-					.collect(Collectors.toList());
-		if (username != null) {
-			list = list.stream().filter(bill-> bill.getUser().equals(username)).collect(Collectors.toList());
+			pendingBillsLoader = () -> billManager.getPendingBillsAffiliate(patientParent.getCode());
 		}
-		return list;
-		
+		return new BillSnapshot(billPeriod, billFromPayments, pendingBillsLoader).getBills(status, username);
 	}
 
 }
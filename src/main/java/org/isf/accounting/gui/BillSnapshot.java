@@ -0,0 +1,208 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.isf.accounting.model.Bill;
+import org.isf.utils.exception.OHServiceException;
+
+/**
+ * Immutable view of the bills shown by the {@link BillBrowser} for one refresh.
+ * <p>
+ * The bills of the period and the bills with payments in the period are merged once; the lists by status
+ * ("ALL", "O", "C") are sorted only the first time they are asked for and the lists by user are filtered
+ * from them, so switching tab or user never merges or sorts again. A single edited bill is applied with
+ * {@link #withBill(Bill, boolean, boolean)}, which keeps the already sorted lists.
+ */
+public class BillSnapshot {
+
+	public static final String ALL = "ALL";
+	public static final String PENDING = "O";
+	public static final String CLOSED = "C";
+
+	private static final Comparator<Bill> ORDER = Collections.reverseOrder();
+
+	private final List<Bill> billPeriod;
+	private final List<Bill> billFromPayments;
+	private final PendingBillsLoader pendingBillsLoader;
+
+	private final Map<String, List<Bill>> statusViews = new HashMap<>();
+	private final Map<String, List<Bill>> userViews = new HashMap<>();
+
+	/**
+	 * @param billPeriod the bills of the period
+	 * @param billFromPayments the bills (also out of the period) with payments in the period
+	 * @param pendingBillsLoader if not {@code null}, loads the pending bills instead of taking them from the period
+	 */
+	public BillSnapshot(List<Bill> billPeriod, List<Bill> billFromPayments, PendingBillsLoader pendingBillsLoader) {
+		this.billPeriod = Collections.unmodifiableList(new ArrayList<>(billPeriod));
+		this.billFromPayments = Collections.unmodifiableList(new ArrayList<>(billFromPayments));
+		this.pendingBillsLoader = pendingBillsLoader;
+	}
+
+	public List<Bill> getBillPeriod() {
+		return billPeriod;
+	}
+
+	public List<Bill> getBillFromPayments() {
+		return billFromPayments;
+	}
+
+	/**
+	 * Returns the bills with the given status in reverse natural order.
+	 *
+	 * @param status "ALL", "O" or "C"
+	 * @param username the user the bills belong to, {@code null} for all users
+	 * @return the unmodifiable list of bills
+	 * @throws OHServiceException if the pending bills must be loaded and loading fails
+	 */
+	public synchronized List<Bill> getBills(String status, String username) throws OHServiceException {
+		List<Bill> bills = getBills(status);
+		if (username == null || (pendingBillsLoader != null && PENDING.equals(status))) {
+			return bills;
+		}
+		String key = status + '\u0000' + username;
+		List<Bill> userView = userViews.get(key);
+		if (userView == null) {
+			List<Bill> filtered = new ArrayList<>();
+			for (Bill bill : bills) {
+				if (username.equals(bill.getUser())) {
+					filtered.add(bill);
+				}
+			}
+			userView = Collections.unmodifiableList(filtered);
+			userViews.put(key, userView);
+		}
+		return userView;
+	}
+
+	/**
+	 * Returns a snapshot where the bill with the same id is replaced by the given one (or the bill is added),
+	 * reusing the lists already sorted by this snapshot.
+	 *
+	 * @param bill the edited or new bill
+	 * @param inPeriod whether the bill belongs to the period
+	 * @param withPaymentsInPeriod whether the bill has payments in the period
+	 * @return the updated snapshot
+	 */
+	public synchronized BillSnapshot withBill(Bill bill, boolean inPeriod, boolean withPaymentsInPeriod) {
+		List<Bill> newPeriod = replace(billPeriod, bill, inPeriod);
+		List<Bill> newFromPayments = replace(billFromPayments, bill, withPaymentsInPeriod);
+		BillSnapshot snapshot = new BillSnapshot(newPeriod, newFromPayments, pendingBillsLoader);
+		boolean visible = inPeriod || withPaymentsInPeriod;
+		for (Map.Entry<String, List<Bill>> entry : statusViews.entrySet()) {
+			String status = entry.getKey();
+			if (pendingBillsLoader != null && PENDING.equals(status)) {
+				// loaded from the database, not from the period
+				continue;
+			}
+			List<Bill> view = new ArrayList<>(entry.getValue());
+			view.removeIf(elem -> elem.getId() == bill.getId());
+			boolean belongs = ALL.equals(status) ? visible : inPeriod && status.equals(bill.getStatus());
+			if (belongs) {
+				int index = Collections.binarySearch(view, bill, ORDER);
+				view.add(index < 0 ? -index - 1 : index, bill);
+			}
+			snapshot.statusViews.put(status, Collections.unmodifiableList(view));
+		}
+		return snapshot;
+	}
+
+	private List<Bill> getBills(String status) throws OHServiceException {
+		List<Bill> bills = statusViews.get(status);
+		if (bills == null) {
+			List<Bill> list;
+			switch (status) {
+				case ALL:
+					list = mergeBillsFromPeriodAndFromPayments();
+					break;
+				case PENDING:
+					list = pendingBillsLoader != null ? new ArrayList<>(pendingBillsLoader.load()) : filterByStatus(status);
+					break;
+				default:
+					list = filterByStatus(status);
+					break;
+			}
+			list.sort(ORDER);
+			bills = Collections.unmodifiableList(list);
+			statusViews.put(status, bills);
+		}
+		return bills;
+	}
+
+	private List<Bill> mergeBillsFromPeriodAndFromPayments() {
+		Set<Integer> periodIds = new HashSet<>();
+		for (Bill bill : billPeriod) {
+			periodIds.add(bill.getId());
+		}
+		List<Bill> billAll = new ArrayList<>(billPeriod.size() + billFromPayments.size());
+		billAll.addAll(billPeriod);
+		for (Bill bill : billFromPayments) {
+			if (!periodIds.contains(bill.getId())) {
+				billAll.add(bill);
+			}
+		}
+		return billAll;
+	}
+
+	private List<Bill> filterByStatus(String status) {
+		List<Bill> list = new ArrayList<>();
+		for (Bill bill : billPeriod) {
+			if (Objects.equals(status, bill.getStatus())) {
+				list.add(bill);
+			}
+		}
+		return list;
+	}
+
+	private static List<Bill> replace(List<Bill> bills, Bill bill, boolean keep) {
+		List<Bill> list = new ArrayList<>(bills.size() + 1);
+		for (Bill elem : bills) {
+			if (elem.getId() != bill.getId()) {
+				list.add(elem);
+			}
+		}
+		if (keep) {
+			list.add(bill);
+		}
+		return list;
+	}
+
+	/**
+	 * Loads the pending bills when they do not come from the period (e.g. the bills of an affiliated patient).
+	 */
+	@FunctionalInterface
+	public interface PendingBillsLoader {
+
+		List<Bill> load() throws OHServiceException;
+	}
+
+}
@@ -38,11 +38,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EventListener;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -68,6 +65,7 @@ import javax.swing.event.TableModelListener;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableModel;
 
+import org.isf.accounting.gui.totals.BillRunningTotals;
 import org.isf.accounting.manager.BillBrowserManager;
 import org.isf.accounting.model.Bill;
 import org.isf.accounting.model.BillItems;
@@ -86,10 +84,8 @@ import org.isf.patient.gui.SelectPatient;
 import org.isf.patient.gui.SelectPatient.SelectionListener;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
-import org.isf.priceslist.manager.PriceListManager;
 import org.isf.priceslist.model.Price;
 import org.isf.priceslist.model.PriceList;
-import org.isf.pricesothers.manager.PricesOthersManager;
 import org.isf.pricesothers.model.PricesOthers;
 import org.isf.stat.gui.report.GenericReportBill;
 import org.isf.utils.exception.OHServiceException;
@@ -97,6 +93,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
 import org.isf.utils.jobjects.GoodDateTimeToggleChooser;
 import org.isf.utils.jobjects.MessageDialog;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 import org.slf4j.Logger;
@@ -290,6 +287,7 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 	private static final Dimension BUTTON_PAYMENT_SIZE = new Dimension(BUTTON_WIDTH_PAYMENT, BUTTON_HEIGHT);
 	private static final Dimension BUTTON_ACTION_SIZE = new Dimension(BUTTON_WIDTH, BUTTON_HEIGHT);
 
+	private BillRunningTotals runningTotals = new BillRunningTotals();
 	private BigDecimal total = new BigDecimal(0);
 	private BigDecimal bigTotal = new BigDecimal(0);
 	private BigDecimal balance = new BigDecimal(0);
@@ -317,15 +315,10 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 	private HospitalBrowsingManager hospitalManager = Context.getApplicationContext().getBean(HospitalBrowsingManager.class);
 	private String currencyCod;
 
-	// Prices and Lists (ALL)
-	private PriceListManager priceListManager = Context.getApplicationContext().getBean(PriceListManager.class);
-	private List<Price> prcArray;
+	// Prices and Lists (ALL), shared by all the bills
+	private PriceCatalog priceCatalog;
 	private List<PriceList> lstArray;
 
-	// PricesOthers (ALL)
-	private PricesOthersManager pricesOthersManager = Context.getApplicationContext().getBean(PricesOthersManager.class);
-	private List<PricesOthers> othPrices;
-
 	// Items and Payments (ALL)
 	private BillBrowserManager billBrowserManager = Context.getApplicationContext().getBean(BillBrowserManager.class);
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
@@ -334,8 +327,7 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 	// Prices, Items and Payments for the tables
 	private List<BillItems> billItems = new ArrayList<>();
 	private List<BillPayments> payItems = new ArrayList<>();
-	private List<Price> prcListArray = new ArrayList<>();
-	private Map<String, Price> priceHashTable;
+	private Bill savedBill; // the bill the new items and payments belong to, null when inserting
 	private int billItemsSaved;
 	private int payItemsSaved;
 
@@ -399,9 +391,8 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 
 	private void loadDataset() {
 		try {
-			this.prcArray = priceListManager.getPrices();
-			this.lstArray = priceListManager.getLists();
-			this.othPrices = pricesOthersManager.getOthers();
+			this.priceCatalog = PriceCatalog.getInstance();
+			this.lstArray = ReferenceDataCache.getInstance().getPriceLists();
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e, this);
 		}
@@ -431,6 +422,7 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 					thisBill.setPriceList(bill.getPriceList());
 
 					try {
+						savedBill = billBrowserManager.getBill(thisBill.getId());
 						billItems = billBrowserManager.getItems(thisBill.getId());
 						payItems = billBrowserManager.getPayments(thisBill.getId());
 					} catch (OHServiceException e) {
@@ -444,7 +436,6 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 				LOGGER.debug("CloneNotSupportedException", cnse);
 			}
 		}
-		setPriceListArray();
 		setCurrencyCode();
 		updateTotals();
 	}
@@ -618,12 +609,12 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 	}
 
 	private Price getPrice(String priceID) {
-		return priceHashTable.get(thisBill.getPriceList().getId() + priceID);
+		return priceCatalog.getPrice(thisBill.getPriceList().getId(), priceID);
 	}
 
 	private void updatePrices() {
-		for (BillItems item : billItems.parallelStream().filter(BillItems::isPrice).collect(Collectors.toList())) {
-			Price p = getPrice(item.getPriceID());
+		for (BillItems item : billItems) {
+			Price p = item.isPrice() ? getPrice(item.getPriceID()) : null;
 			if (p != null && (!item.getItemDescription().equals(p.getDesc()) || !p.getPrice().equals(item.getItemAmount()))) {
 				item.setItemDescription(p.getDesc());
 				item.setItemAmount(p.getPrice());
@@ -719,7 +710,6 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 				thisBill.setPriceList(selectedPricelist);
 				thisBill.setIsList(true);
 				setCurrencyCodeFromList(selectedPricelist);
-				setPriceListArray();
 				checkBill();
 				updateGUI();
 			});
@@ -727,16 +717,6 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 		return jComboBoxPriceList;
 	}
 
-	private void setPriceListArray() {
-		this.prcListArray = this.prcArray.stream().filter(price -> price.getList().getId() == thisBill.getPriceList().getId()).collect(Collectors.toList());
-
-		/*
-		 * Create a hashTable with the selected prices.
-		 */
-		priceHashTable = prcListArray.stream().collect(
-						Collectors.toMap(price -> price.getList().getId() + price.getGroup() + price.getItem(), price -> price, (a, b) -> b, HashMap::new));
-	}
-
 	private void setCurrencyCodeFromList(PriceList list) {
 		String currency = list.getCurrency();
 		if (!currency.isBlank()) {
@@ -1184,8 +1164,9 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 			jButtonSave.addActionListener(actionEvent -> {
 
 				/*
-				 * we check again for underlying data changes
+				 * we check again for underlying data changes, in the database and not in the cache
 				 */
+				ReferenceDataCache.getInstance().invalidatePrices();
 				loadDataset();
 				checkBill();
 
@@ -1526,24 +1507,23 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 
 				boolean isPrice = true;
 
-				Map<Integer, PricesOthers> othersHashMap = new HashMap<>();
-				for (PricesOthers other : othPrices) {
-					othersHashMap.put(other.getId(), other);
-				}
-
-				List<Price> othArray = new ArrayList<>();
-				for (Price price : prcListArray) {
-					if (price.getGroup().equals("OTH")) { // TODO: enumerate price categories
-						othArray.add(price);
-					}
-				}
+				List<Price> othArray = priceCatalog.getPrices(thisBill.getPriceList().getId(), "OTH"); // TODO: enumerate price categories
 
 				Icon icon = new ImageIcon("rsc/icons/plus_dialog.png");
 				Price oth = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.pleaseselectanitem.txt"),
 								MessageBundle.getMessage("angal.newbill.item.title"), JOptionPane.PLAIN_MESSAGE, icon, othArray.toArray(), ""); //$NON-NLS-2$
 
 				if (oth != null) {
-					if (othersHashMap.get(Integer.valueOf(oth.getItem())).isUndefined()) {
+					PricesOthers other;
+					try {
+						other = ReferenceDataCache.getInstance().getPricesOther(Integer.valueOf(oth.getItem()));
+					} catch (OHServiceException ohServiceException) {
+						OHServiceExceptionUtil.showMessages(ohServiceException, this);
+						return;
+					}
+					// the prices are shared by all the bills: the amount of this item is kept apart
+					double amount = oth.getPrice();
+					if (other.isUndefined()) {
 						icon = new ImageIcon("rsc/icons/money_dialog.png"); //$NON-NLS-1$
 						String price = (String) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.howmuchisit.txt"),
 										MessageBundle.getMessage("angal.common.undefined.txt"), JOptionPane.PLAIN_MESSAGE, icon, null, "0"); //$NON-NLS-2$
@@ -1551,19 +1531,17 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 							if (price == null) {
 								return;
 							}
-							double amount = Double.parseDouble(price);
-							oth.setPrice(amount);
+							amount = Double.parseDouble(price);
 							isPrice = false;
 						} catch (Exception eee) {
 							MessageDialog.error(this, "angal.newbill.invalidpricepleasetryagain.msg");
 							return;
 						}
 					}
-					if (othersHashMap.get(Integer.valueOf(oth.getItem())).isDischarge()) {
-						double amount = oth.getPrice();
-						oth.setPrice(-amount);
+					if (other.isDischarge()) {
+						amount = -amount;
 					}
-					if (othersHashMap.get(Integer.valueOf(oth.getItem())).isDaily()) {
+					if (other.isDaily()) {
 						int qty = 1;
 						icon = new ImageIcon("rsc/icons/calendar_dialog.png"); //$NON-NLS-1$
 						String quantity = (String) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.howmanydays.txt"),
@@ -1573,12 +1551,12 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 								return;
 							}
 							qty = Integer.parseInt(quantity);
-							addItem(oth, qty, isPrice);
+							addItem(oth, amount, qty, isPrice);
 						} catch (Exception eee) {
 							MessageDialog.error(this, "angal.newbill.invalidquantitypleasetryagain.msg");
 						}
 					} else {
-						addItem(oth, 1, isPrice);
+						addItem(oth, amount, 1, isPrice);
 					}
 				}
 			});
@@ -1595,13 +1573,7 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 			jButtonAddExam.setIcon(new ImageIcon("rsc/icons/plus_button.png"));
 			jButtonAddExam.addActionListener(actionEvent -> {
 
-				List<Price> exaArray = new ArrayList<>();
-				for (Price price : prcListArray) {
-
-					if (price.getGroup().equals("EXA")) {
-						exaArray.add(price);
-					}
-				}
+				List<Price> exaArray = priceCatalog.getPrices(thisBill.getPriceList().getId(), "EXA");
 
 				Icon icon = new ImageIcon("rsc/icons/exam_dialog.png"); //$NON-NLS-1$
 				Price exa = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.selectanexam.txt"),
@@ -1621,13 +1593,7 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 			jButtonAddOperation.setIcon(new ImageIcon("rsc/icons/plus_button.png"));
 			jButtonAddOperation.addActionListener(actionEvent -> {
 
-				List<Price> opeArray = new ArrayList<>();
-				for (Price price : prcListArray) {
-
-					if (price.getGroup().equals("OPE")) {
-						opeArray.add(price);
-					}
-				}
+				List<Price> opeArray = priceCatalog.getPrices(thisBill.getPriceList().getId(), "OPE");
 
 				Icon icon = new ImageIcon("rsc/icons/operation_dialog.png"); //$NON-NLS-1$
 				Price ope = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.selectanoperation.txt"),
@@ -1647,13 +1613,7 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 			jButtonAddMedical.setIcon(new ImageIcon("rsc/icons/plus_button.png"));
 			jButtonAddMedical.addActionListener(actionEvent -> {
 
-				List<Price> medArray = new ArrayList<>();
-				for (Price price : prcListArray) {
-
-					if (price.getGroup().equals("MED")) {
-						medArray.add(price);
-					}
-				}
+				List<Price> medArray = priceCatalog.getPrices(thisBill.getPriceList().getId(), "MED");
 
 				Icon icon = new ImageIcon("rsc/icons/medical_dialog.png"); //$NON-NLS-1$
 				Price med = (Price) JOptionPane.showInputDialog(this, MessageBundle.getMessage("angal.newbill.selectamedical.txt"),
@@ -1705,13 +1665,9 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 
 				}
 
-				try {
-					BillItems newItem = new BillItems(0, billBrowserManager.getBill(thisBill.getId()), false, "", //$NON-NLS-1$
-									desc, amount, 1);
-					addItem(newItem);
-				} catch (OHServiceException ohServiceException) {
-					MessageDialog.showExceptions(ohServiceException);
-				}
+				BillItems newItem = new BillItems(0, savedBill, false, "", //$NON-NLS-1$
+								desc, amount, 1);
+				addItem(newItem);
 			});
 		}
 		return jButtonCustom;
@@ -1734,33 +1690,10 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 		return jButtonRemoveItem;
 	}
 
-	private void updateTotal() { // only positive items make the bill's total
-		total = new BigDecimal(0);
-		for (BillItems item : billItems) {
-			double amount = item.getItemAmount();
-			if (amount > 0) {
-				BigDecimal itemAmount = new BigDecimal(Double.toString(amount));
-				total = total.add(itemAmount.multiply(new BigDecimal(item.getItemQuantity())));
-			}
-		}
-	}
-
-	private void updateBigTotal() { // the big total (to pay) is made by all items
-		bigTotal = new BigDecimal(0);
-		for (BillItems item : billItems) {
-			BigDecimal itemAmount = new BigDecimal(Double.toString(item.getItemAmount()));
-			bigTotal = bigTotal.add(itemAmount.multiply(new BigDecimal(item.getItemQuantity())));
-		}
-	}
-
 	private void updateBalance() { // the balance is what remaining after payments
-		balance = new BigDecimal(0);
-		BigDecimal payments = new BigDecimal(0);
-		for (BillPayments pay : payItems) {
-			BigDecimal payAmount = new BigDecimal(Double.toString(pay.getAmount()));
-			payments = payments.add(payAmount);
-		}
-		balance = bigTotal.subtract(payments);
+		total = runningTotals.getTotal(); // only positive items make the bill's total
+		bigTotal = runningTotals.getBigTotal(); // the big total (to pay) is made by all items
+		balance = runningTotals.getBalance();
 		if (jButtonPaid != null) {
 			jButtonPaid.setEnabled(balance.compareTo(new BigDecimal(0)) >= 0);
 		}
@@ -1771,43 +1704,34 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 
 	private void addItem(Price prc, int qty, boolean isPrice) {
 		if (prc != null) {
-			double amount = prc.getPrice();
-			try {
-				BillItems item = new BillItems(0, billBrowserManager.getBill(thisBill.getId()), isPrice, prc.getGroup() + prc.getItem(), prc.getDesc(), amount,
-								qty);
-				billItems.add(item);
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e, this);
-			}
-			modified = true;
-			updateTotals();
-			updateGUI();
+			addItem(prc, prc.getPrice(), qty, isPrice);
 		}
 	}
 
-	private void updateTotals() {
-		updateTotal();
-		updateBigTotal();
+	private void addItem(Price prc, double amount, int qty, boolean isPrice) {
+		addItem(new BillItems(0, savedBill, isPrice, prc.getGroup() + prc.getItem(), prc.getDesc(), amount, qty));
+	}
+
+	private void updateTotals() { // everything is summed again only when the items are loaded or their prices updated
+		runningTotals.reset(billItems, payItems);
 		updateBalance();
 	}
 
 	private void addItem(BillItems item) {
 		if (item != null) {
 			billItems.add(item);
+			runningTotals.addItem(item);
 			modified = true;
-			updateTotals();
+			updateBalance();
 			updateGUI();
 		}
 	}
 
 	private void addPayment(LocalDateTime datePay, double qty) {
 		if (qty != 0) {
-			try {
-				BillPayments pay = new BillPayments(0, billBrowserManager.getBill(thisBill.getId()), datePay, qty, user);
-				payItems.add(pay);
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e, this);
-			}
+			BillPayments pay = new BillPayments(0, savedBill, datePay, qty, user);
+			payItems.add(pay);
+			runningTotals.addPayment(pay);
 			modified = true;
 			Collections.sort(payItems);
 			updateBalance();
@@ -1817,8 +1741,8 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 
 	private void removeItem(int row) {
 		if (row != -1 && row >= billItemsSaved) {
-			billItems.remove(row);
-			updateTotals();
+			runningTotals.removeItem(billItems.remove(row));
+			updateBalance();
 			updateGUI();
 		} else {
 			MessageDialog.error(null, "angal.newbill.youcannotdeletealreadysaveditems.msg");
@@ -1827,8 +1751,8 @@ public class PatientBillEdit extends JDialog implements SelectionListener {
 
 	private void removePayment(int row) {
 		if (row != -1 && row >= payItemsSaved) {
-			payItems.remove(row);
-			updateTotals();
+			runningTotals.removePayment(payItems.remove(row));
+			updateBalance();
 			updateGUI();
 		} else {
 			MessageDialog.error(null, "angal.newbill.youcannotdeletepastpayments.msg");
@@ -0,0 +1,110 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.isf.priceslist.model.Price;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.referencedata.ReferenceDataCache;
+
+/**
+ * The prices of all the price lists, indexed by list id and then by item ({@code group + item}, as in {@link org.isf.accounting.model.BillItems#getPriceID()}).
+ * <p>
+ * The catalog is built from the prices of the {@link ReferenceDataCache} and shared by all the bills;
+ * it is built again only when the prices have been invalidated and loaded again.
+ */
+public final class PriceCatalog {
+
+	private static PriceCatalog current;
+
+	private final List<Price> source;
+	private final Map<Integer, ListPrices> lists = new HashMap<>();
+
+	PriceCatalog(List<Price> prices) {
+		this.source = prices;
+		for (Price price : prices) {
+			lists.computeIfAbsent(price.getList().getId(), id -> new ListPrices()).add(price);
+		}
+	}
+
+	/**
+	 * @return the catalog of the current prices
+	 * @throws OHServiceException if the prices have to be loaded and loading fails
+	 */
+	public static synchronized PriceCatalog getInstance() throws OHServiceException {
+		List<Price> prices = ReferenceDataCache.getInstance().getPrices();
+		if (current == null || current.source != prices) {
+			current = new PriceCatalog(prices);
+		}
+		return current;
+	}
+
+	/**
+	 * @param listId the id of the price list
+	 * @return the prices of the list, in the order they have been loaded
+	 */
+	public List<Price> getPrices(int listId) {
+		ListPrices listPrices = lists.get(listId);
+		return listPrices == null ? Collections.emptyList() : listPrices.unmodifiableAll;
+	}
+
+	/**
+	 * @param listId the id of the price list
+	 * @param group the group of prices, like {@code "MED"} or {@code "EXA"}
+	 * @return the prices of the group in the list
+	 */
+	public List<Price> getPrices(int listId, String group) {
+		ListPrices listPrices = lists.get(listId);
+		List<Price> prices = listPrices == null ? null : listPrices.byGroup.get(group);
+		return prices == null ? Collections.emptyList() : Collections.unmodifiableList(prices);
+	}
+
+	/**
+	 * @param listId the id of the price list
+	 * @param priceId the group followed by the item
+	 * @return the price, or {@code null} if the list has no such price
+	 */
+	public Price getPrice(int listId, String priceId) {
+		ListPrices listPrices = lists.get(listId);
+		return listPrices == null ? null : listPrices.byPriceId.get(priceId);
+	}
+
+	private static final class ListPrices {
+
+		private final List<Price> all = new ArrayList<>();
+		private final List<Price> unmodifiableAll = Collections.unmodifiableList(all);
+		private final Map<String, Price> byPriceId = new HashMap<>();
+		private final Map<String, List<Price>> byGroup = new HashMap<>();
+
+		private void add(Price price) {
+			all.add(price);
+			byPriceId.put(price.getGroup() + price.getItem(), price);
+			byGroup.computeIfAbsent(price.getGroup(), group -> new ArrayList<>()).add(price);
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import org.isf.accounting.model.BillItems;
+import org.isf.accounting.model.BillPayments;
+
+/**
+ * The totals of a bill being edited, updated item by item and payment by payment instead of being summed again at every change.
+ * <p>
+ * As in {@link BillingTotals}, amounts are kept as {@code long}s of ten-thousandths, so that adding and removing rows never drifts.
+ */
+public class BillRunningTotals {
+
+	private long total;
+	private long bigTotal;
+	private long payments;
+
+	/**
+	 * Sums again all the items and payments, for instance after the prices of the items have been updated.
+	 */
+	public void reset(Collection<BillItems> items, Collection<BillPayments> payItems) {
+		total = 0L;
+		bigTotal = 0L;
+		payments = 0L;
+		for (BillItems item : items) {
+			addItem(item);
+		}
+		for (BillPayments payment : payItems) {
+			addPayment(payment);
+		}
+	}
+
+	public void addItem(BillItems item) {
+		long amount = BillingTotals.toUnits(item.getItemAmount()) * item.getItemQuantity();
+		bigTotal += amount;
+		if (item.getItemAmount() > 0) {
+			total += amount;
+		}
+	}
+
+	public void removeItem(BillItems item) {
+		long amount = BillingTotals.toUnits(item.getItemAmount()) * item.getItemQuantity();
+		bigTotal -= amount;
+		if (item.getItemAmount() > 0) {
+			total -= amount;
+		}
+	}
+
+	public void addPayment(BillPayments payment) {
+		payments += BillingTotals.toUnits(payment.getAmount());
+	}
+
+	public void removePayment(BillPayments payment) {
+		payments -= BillingTotals.toUnits(payment.getAmount());
+	}
+
+	/**
+	 * @return the total of the bill, made only by the positive items
+	 */
+	public BigDecimal getTotal() {
+		return BillingTotals.toBigDecimal(total);
+	}
+
+	/**
+	 * @return the amount to pay, made by all the items
+	 */
+	public BigDecimal getBigTotal() {
+		return BillingTotals.toBigDecimal(bigTotal);
+	}
+
+	/**
+	 * @return what remains to pay after the payments
+	 */
+	public BigDecimal getBalance() {
+		return BillingTotals.toBigDecimal(bigTotal - payments);
+	}
+
+}
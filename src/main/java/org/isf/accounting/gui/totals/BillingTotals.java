@@ -0,0 +1,159 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillPayments;
+
+/**
+ * Computes in a single pass over bills and payments the same figures as {@link BalanceTotal},
+ * {@link PaymentsTotal} and {@link UserTotal}, for the period, for today and for every user.
+ * <p>
+ * Only payments of bills of the period that are not deleted are counted, both for the period and for today.
+ * Amounts are accumulated as {@code long}s of ten-thousandths, so that the sums are exact without
+ * allocating a {@link BigDecimal} for every amount.
+ */
+public class BillingTotals {
+
+	private static final int SCALE = 4;
+	private static final double UNIT = 10_000d;
+
+	private long balancePeriod;
+	private long balanceToday;
+	private long totalPeriod;
+	private long totalToday;
+	private final Map<String, long[]> userTotals = new HashMap<>();
+
+	private BillingTotals() {
+	}
+
+	/**
+	 * @param billPeriod the bills of the period
+	 * @param billToday the bills of today, may be the same collection as {@code billPeriod}
+	 * @param paymentsPeriod the payments of the period
+	 * @param paymentsToday the payments of today, may be the same collection as {@code paymentsPeriod}
+	 * @return the computed totals
+	 */
+	public static BillingTotals compute(Collection<Bill> billPeriod, Collection<Bill> billToday, Collection<BillPayments> paymentsPeriod,
+					Collection<BillPayments> paymentsToday) {
+		BillingTotals totals = new BillingTotals();
+		boolean sameBills = billToday == billPeriod;
+		boolean samePayments = paymentsToday == paymentsPeriod;
+
+		IntHashSet notDeletedBills = new IntHashSet(billPeriod.size());
+		for (Bill bill : billPeriod) {
+			if (!isDeleted(bill)) {
+				notDeletedBills.add(bill.getId());
+				totals.balancePeriod += toUnits(bill.getBalance());
+			}
+		}
+		if (sameBills) {
+			totals.balanceToday = totals.balancePeriod;
+		} else if (billToday != null) {
+			for (Bill bill : billToday) {
+				if (!isDeleted(bill)) {
+					totals.balanceToday += toUnits(bill.getBalance());
+				}
+			}
+		}
+
+		for (BillPayments payment : paymentsPeriod) {
+			if (notDeletedBills.contains(payment.getBill().getId())) {
+				long amount = toUnits(payment.getAmount());
+				totals.totalPeriod += amount;
+				long[] user = totals.userTotals.computeIfAbsent(payment.getUser(), key -> new long[2]);
+				user[0] += amount;
+				if (samePayments) {
+					user[1] += amount;
+				}
+			}
+		}
+		if (samePayments) {
+			totals.totalToday = totals.totalPeriod;
+		} else if (paymentsToday != null) {
+			for (BillPayments payment : paymentsToday) {
+				if (notDeletedBills.contains(payment.getBill().getId())) {
+					long amount = toUnits(payment.getAmount());
+					totals.totalToday += amount;
+					totals.userTotals.computeIfAbsent(payment.getUser(), key -> new long[2])[1] += amount;
+				}
+			}
+		}
+		return totals;
+	}
+
+	public BigDecimal getBalancePeriod() {
+		return toBigDecimal(balancePeriod);
+	}
+
+	public BigDecimal getBalanceToday() {
+		return toBigDecimal(balanceToday);
+	}
+
+	public BigDecimal getTotalPeriod() {
+		return toBigDecimal(totalPeriod);
+	}
+
+	public BigDecimal getTotalToday() {
+		return toBigDecimal(totalToday);
+	}
+
+	public BigDecimal getUserPeriod(String user) {
+		long[] totals = userTotals.get(user);
+		return toBigDecimal(totals == null ? 0L : totals[0]);
+	}
+
+	public BigDecimal getUserToday(String user) {
+		long[] totals = userTotals.get(user);
+		return toBigDecimal(totals == null ? 0L : totals[1]);
+	}
+
+	private static boolean isDeleted(Bill bill) {
+		return "D".equals(bill.getStatus());
+	}
+
+	static long toUnits(double amount) {
+		return Math.round(amount * UNIT);
+	}
+
+	/**
+	 * Converts ten-thousandths to an amount without trailing zeros but with at least one decimal, as the sums of
+	 * {@code Double.toString} amounts used to be shown: 12.5 rather than 12.5000, and 0 when nothing was summed.
+	 */
+	static BigDecimal toBigDecimal(long units) {
+		if (units == 0L) {
+			return BigDecimal.ZERO;
+		}
+		int scale = SCALE;
+		while (scale > 1 && units % 10 == 0) {
+			units /= 10;
+			scale--;
+		}
+		return BigDecimal.valueOf(units, scale);
+	}
+
+}
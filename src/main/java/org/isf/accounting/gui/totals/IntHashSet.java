@@ -0,0 +1,115 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of primitive {@code int}s, so that ids can be looked up without boxing.
+ */
+public class IntHashSet {
+
+	private static final int FREE = Integer.MIN_VALUE;
+
+	private int[] keys;
+	private int size;
+	private boolean containsFree;
+
+	public IntHashSet() {
+		this(16);
+	}
+
+	public IntHashSet(int expectedSize) {
+		keys = new int[capacityFor(expectedSize)];
+		Arrays.fill(keys, FREE);
+	}
+
+	public boolean add(int key) {
+		if (key == FREE) {
+			boolean added = !containsFree;
+			containsFree = true;
+			return added;
+		}
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		if (++size * 2 > keys.length) {
+			rehash(keys.length * 2);
+		}
+		return true;
+	}
+
+	public boolean contains(int key) {
+		if (key == FREE) {
+			return containsFree;
+		}
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (keys[slot] != FREE) {
+			if (keys[slot] == key) {
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	public int size() {
+		return containsFree ? size + 1 : size;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		keys = new int[capacity];
+		Arrays.fill(keys, FREE);
+		int mask = capacity - 1;
+		for (int key : oldKeys) {
+			if (key != FREE) {
+				int slot = mix(key) & mask;
+				while (keys[slot] != FREE) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = key;
+			}
+		}
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int capacity = 16;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
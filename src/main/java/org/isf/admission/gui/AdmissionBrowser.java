@@ -78,6 +78,7 @@ import org.isf.anamnesis.manager.PatientHistoryManager;
 import org.isf.anamnesis.model.PatientHistory;
 import org.isf.anamnesis.model.PatientPatientHistory;
 import org.isf.disctype.model.DischargeType;
+import org.isf.disease.gui.DiseaseIndex;
 import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.dlvrrestype.manager.DeliveryResultTypeBrowserManager;
@@ -106,6 +107,7 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.ShadowBorder;
 import org.isf.utils.jobjects.VoLimitedTextField;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 import org.isf.ward.manager.WardBrowserManager;
@@ -406,9 +408,6 @@ public class AdmissionBrowser extends ModalJFrame {
 				if (diseaseOutList != null) {
 					diseaseOutList.clear();
 				}
-				if (diseaseAllList != null) {
-					diseaseAllList.clear();
-				}
 				dispose();
 			}
 		});
@@ -464,9 +463,6 @@ public class AdmissionBrowser extends ModalJFrame {
 				if (diseaseOutList != null) {
 					diseaseOutList.clear();
 				}
-				if (diseaseAllList != null) {
-					diseaseAllList.clear();
-				}
 				dispose();
 			}
 		});
@@ -990,7 +986,7 @@ public class AdmissionBrowser extends ModalJFrame {
 				// Not found: search among all diseases
 				try {
 					if (diseaseAllList == null) {
-						diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+						diseaseAllList = ReferenceDataCache.getInstance().getDiseases();
 					}
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
@@ -1176,7 +1172,7 @@ public class AdmissionBrowser extends ModalJFrame {
 				// Not found: search among all diseases
 				try {
 					if (diseaseAllList == null) {
-						diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+						diseaseAllList = ReferenceDataCache.getInstance().getDiseases();
 					}
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
@@ -1264,7 +1260,7 @@ public class AdmissionBrowser extends ModalJFrame {
 				// Not found: search among all diseases
 				try {
 					if (diseaseAllList == null) {
-						diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+						diseaseAllList = ReferenceDataCache.getInstance().getDiseases();
 					}
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
@@ -1352,7 +1348,7 @@ public class AdmissionBrowser extends ModalJFrame {
 				// Not found: search among all diseases
 				List<Disease> diseaseAllList = null;
 				try {
-					diseaseAllList = diseaseBrowserManager.getDiseaseAll();
+					diseaseAllList = ReferenceDataCache.getInstance().getDiseases();
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
 				}
@@ -1904,6 +1900,7 @@ public class AdmissionBrowser extends ModalJFrame {
 				if (!result) {
 					MessageDialog.error(null, "angal.common.datacouldnotbesaved.msg");
 				} else {
+					DiseaseIndex.recordUse(admission.getDiseaseIn(), admission.getDiseaseOut1(), admission.getDiseaseOut2(), admission.getDiseaseOut3());
 					dispose();
 				}
 			});
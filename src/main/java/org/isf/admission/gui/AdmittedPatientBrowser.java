@@ -60,6 +60,8 @@ import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.WindowConstants;
 import javax.swing.border.Border;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 
@@ -97,7 +99,6 @@ import org.isf.patient.gui.PatientInsertExtended.PatientListener;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.therapy.gui.TherapyEdit;
-import org.isf.utils.db.NormalizeString;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateChooser;
@@ -145,7 +146,8 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	private String lastKey = "";
 	private List<Ward> wardList;
 	private JLabel rowCounter;
-	private List<AdmittedPatient> pPatient = new ArrayList<>();
+	private AdmittedPatientIndex patientIndex;
+	private AdmittedPatientLoader loader;
 	private String[] pColumns = { MessageBundle.getMessage("angal.common.code.txt").toUpperCase(),
 			MessageBundle.getMessage("angal.common.name.txt").toUpperCase(), MessageBundle.getMessage("angal.common.age.txt").toUpperCase(),
 			MessageBundle.getMessage("angal.common.sex.txt").toUpperCase(),
@@ -166,18 +168,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	protected Timer ageTimer = new Timer(1000, e -> filterPatient(null));
 
 	public void fireMyDeletedPatient(Patient p) {
-
-		int cc = 0;
-		boolean found = false;
-		for (AdmittedPatient elem : pPatient) {
-			if (elem.getPatient().getCode().equals(p.getCode())) {
-				found = true;
-				break;
-			}
-			cc++;
-		}
-		if (found) {
-			pPatient.remove(cc);
+		if (patientIndex.remove(p.getCode())) {
 			lastKey = "";
 			filterPatient(searchString.getText());
 		}
@@ -190,18 +181,16 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		// remember selected row
 		int row = table.getSelectedRow();
 
-		for (AdmittedPatient elem : pPatient) {
-			if (elem.getPatient().getCode().equals(adm.getPatient().getCode())) {
-				// found same patient in the list
-				Admission elemAdm = elem.getAdmission();
-				if (elemAdm != null) {
-					// the patient is admitted
-					if (elemAdm.getId() == adm.getId()) {
-						// same admission --> delete
-						elem.setAdmission(null);
-					}
+		AdmittedPatient elem = patientIndex.get(adm.getPatient().getCode());
+		if (elem != null) {
+			// found same patient in the list
+			Admission elemAdm = elem.getAdmission();
+			if (elemAdm != null) {
+				// the patient is admitted
+				if (elemAdm.getId() == adm.getId()) {
+					// same admission --> delete
+					patientIndex.setAdmission(adm.getPatient().getCode(), null);
 				}
-				break;
 			}
 		}
 		lastKey = "";
@@ -225,13 +214,8 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		int row = table.getSelectedRow();
 		int patId = adm.getPatient().getCode();
 
-		for (AdmittedPatient elem : pPatient) {
-			if (elem.getPatient().getCode() == patId) {
-				// found same patient in the list
-				elem.setAdmission(adm);
-				break;
-			}
-		}
+		// update the patient in the list, if found
+		patientIndex.setAdmission(patId, adm);
 		lastKey = "";
 		filterPatient(searchString.getText());
 		try {
@@ -254,24 +238,22 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		int admId = adm.getId();
 		int patId = adm.getPatient().getCode();
 
-		for (AdmittedPatient elem : pPatient) {
-			if (elem.getPatient().getCode() == patId) {
-				// found same patient in the list
-				Admission elemAdm = elem.getAdmission();
-				if (adm.getDisDate() != null) {
-					// is a discharge
-					if (elemAdm != null) {
-						// the patient is not discharged
-						if (elemAdm.getId() == admId) {
-							// same admission --> discharge
-							elem.setAdmission(null);
-						}
+		AdmittedPatient elem = patientIndex.get(patId);
+		if (elem != null) {
+			// found same patient in the list
+			Admission elemAdm = elem.getAdmission();
+			if (adm.getDisDate() != null) {
+				// is a discharge
+				if (elemAdm != null) {
+					// the patient is not discharged
+					if (elemAdm.getId() == admId) {
+						// same admission --> discharge
+						patientIndex.setAdmission(patId, null);
 					}
-				} else {
-					// is not a discharge --> patient admitted
-					elem.setAdmission(adm);
 				}
-				break;
+			} else {
+				// is not a discharge --> patient admitted
+				patientIndex.setAdmission(patId, adm);
 			}
 		}
 		lastKey = "";
@@ -292,7 +274,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 	@Override
 	public void patientInserted(AWTEvent e) {
 		Patient u = (Patient) e.getSource();
-		pPatient.add(0, new AdmittedPatient(u, null));
+		patientIndex.put(new AdmittedPatient(u, null));
 		lastKey = "";
 		filterPatient(searchString.getText());
 		try {
@@ -302,7 +284,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		} catch (Exception e1) {
 		}
 		searchString.requestFocus();
-		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", pPatient.size()));
+		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", patientIndex.size()));
 	}
 
 	@Override
@@ -313,13 +295,9 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		// remember selected row
 		int row = table.getSelectedRow();
 
-		for (int i = 0; i < pPatient.size(); i++) {
-			if (pPatient.get(i).getPatient().getCode().equals(u.getCode())) {
-				Admission admission = pPatient.get(i).getAdmission();
-				pPatient.remove(i);
-				pPatient.add(i, new AdmittedPatient(u, admission));
-				break;
-			}
+		AdmittedPatient elem = patientIndex.get(u.getCode());
+		if (elem != null) {
+			patientIndex.put(new AdmittedPatient(u, elem.getAdmission()));
 		}
 		lastKey = "";
 		filterPatient(searchString.getText());
@@ -328,7 +306,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		} catch (Exception e1) {
 		}
 		searchString.requestFocus();
-		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", pPatient.size()));
+		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", patientIndex.size()));
 	}
 
 	public AdmittedPatientBrowser() {
@@ -336,14 +314,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		setTitle(MessageBundle.getMessage("angal.admission.patientbrowser.title"));
 		myFrame = this;
 
-		if (!GeneralData.ENHANCEDSEARCH) {
-			// Load the whole list of patients
-			try {
-				pPatient = admissionBrowserManager.getAdmittedPatients(null);
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
-			}
-		}
+		patientIndex = new AdmittedPatientIndex(new ArrayList<>(), getWardList());
 
 		initComponents();
 		setMinimumSize(new Dimension(1270, 570));
@@ -351,17 +322,21 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		setLocationRelativeTo(null);
 		setVisible(true);
 
-		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", pPatient.size()));
+		rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", patientIndex.size()));
 		searchString.requestFocus();
 
+		if (!GeneralData.ENHANCEDSEARCH) {
+			// Load the whole list of patients
+			loadPatients(() -> admissionBrowserManager.getAdmittedPatients(null));
+		}
+
 		myFrame.addWindowListener(new WindowAdapter() {
 
 			@Override
 			public void windowClosing(WindowEvent e) {
 				// to free memory
-				if (pPatient != null) {
-					pPatient.clear();
-				}
+				cancelLoading();
+				patientIndex = null;
 				if (wardList != null) {
 					wardList.clear();
 				}
@@ -391,9 +366,13 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 			filterPatient(null);
 		});
 
+		ActionListener cancelSearchListener = actionEvent -> cancelSearch();
+
 		patientClassBox = new JComboBox(patientClassItems);
 		if (!GeneralData.ENHANCEDSEARCH) {
 			patientClassBox.addActionListener(listener);
+		} else {
+			patientClassBox.addActionListener(cancelSearchListener);
 		}
 
 		JPanel classPanel = new JPanel();
@@ -405,17 +384,7 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		JPanel wardPanel = new JPanel();
 		wardPanel.setLayout(new BoxLayout(wardPanel, BoxLayout.Y_AXIS));
 		wardPanel.setPreferredSize(new Dimension(PANEL_WIDTH, 20));
-		if (wardList == null) {
-			List<Ward> wardWithBeds = wardBrowserManager.getIpdWards();
-
-			wardList = new ArrayList<>();
-			for (Ward elem : wardWithBeds) {
-
-				if (elem.getBeds() > 0) {
-					wardList.add(elem);
-				}
-			}
-		}
+		getWardList();
 
 		JPanel[] checkPanel = new JPanel[wardList.size()];
 		wardCheck = new JCheckBox[wardList.size()];
@@ -474,6 +443,8 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		patientSexBox.setPreferredSize(new Dimension(PANEL_WIDTH, 20));
 		if (!GeneralData.ENHANCEDSEARCH) {
 			patientSexBox.addActionListener(listener);
+		} else {
+			patientSexBox.addActionListener(cancelSearchListener);
 		}
 
 		JPanel sexPanel = new JPanel();
@@ -497,6 +468,23 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 					}
 				}
 			});
+			// only a change of the key cancels the search, not moving the caret or copying the text
+			searchString.getDocument().addDocumentListener(new DocumentListener() {
+
+				@Override
+				public void insertUpdate(DocumentEvent e) {
+					cancelSearch();
+				}
+
+				@Override
+				public void removeUpdate(DocumentEvent e) {
+					cancelSearch();
+				}
+
+				@Override
+				public void changedUpdate(DocumentEvent e) {
+				}
+			});
 		} else {
 			searchString.addKeyListener(new KeyListener() {
 
@@ -565,6 +553,21 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		return mainPanel;
 	}
 
+	private List<Ward> getWardList() {
+		if (wardList == null) {
+			List<Ward> wardWithBeds = wardBrowserManager.getIpdWards();
+
+			wardList = new ArrayList<>();
+			for (Ward elem : wardWithBeds) {
+
+				if (elem.getBeds() > 0) {
+					wardList.add(elem);
+				}
+			}
+		}
+		return wardList;
+	}
+
 	private JPanel getAdmissionFilterPanel() {
 		JPanel calendarPanel = new JPanel();
 		calendarPanel.setLayout(new GridBagLayout());
@@ -1076,9 +1079,8 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 		buttonClose.setMnemonic(MessageBundle.getMnemonic("angal.common.close.btn.key"));
 		buttonClose.addActionListener(actionEvent -> {
 			// to free Memory
-			if (pPatient != null) {
-				pPatient.clear();
-			}
+			cancelLoading();
+			patientIndex = null;
 			if (wardList != null) {
 				wardList.clear();
 			}
@@ -1127,12 +1129,63 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 			}
 		}
 
-		try {
-			pPatient = admissionBrowserManager.getAdmittedPatients(admissionRange, dischargeRange, searchString.getText());
-		} catch (OHServiceException e) {
-			OHServiceExceptionUtil.showMessages(e);
-		}
+		String text = searchString.getText();
+		patientIndex = new AdmittedPatientIndex(new ArrayList<>(), wardList);
 		filterPatient(null);
+		loadPatients(() -> admissionBrowserManager.getAdmittedPatients(admissionRange, dischargeRange, text));
+	}
+
+	/*
+	 * load patients in background, any loading still in progress is cancelled
+	 */
+	private void loadPatients(AdmittedPatientLoader.AdmittedPatientQuery query) {
+		cancelLoading();
+		AdmittedPatientIndex loadingIndex = patientIndex;
+		loader = new AdmittedPatientLoader(query, new AdmittedPatientLoader.PageListener() {
+
+			@Override
+			public void pageLoaded(List<AdmittedPatient> page) {
+				if (patientIndex != loadingIndex) {
+					return;
+				}
+				if (!((AdmittedPatientBrowserModel) table.getModel()).append(page)) {
+					int row = table.getSelectedRow();
+					lastKey = "";
+					table.setModel(new AdmittedPatientBrowserModel(GeneralData.ENHANCEDSEARCH ? null : searchString.getText()));
+					if (row >= 0 && row < table.getRowCount()) {
+						table.setRowSelectionInterval(row, row);
+					}
+				}
+				rowCounter.setText(MessageBundle.formatMessage("angal.admission.loadingcount.fmt.txt", loadingIndex.size()));
+			}
+
+			@Override
+			public void loadingDone() {
+				if (patientIndex == loadingIndex) {
+					rowCounter.setText(MessageBundle.formatMessage("angal.admission.count.fmt.txt", table.getRowCount()));
+				}
+			}
+		});
+		rowCounter.setText(MessageBundle.formatMessage("angal.admission.loadingcount.fmt.txt", 0));
+		loader.execute();
+	}
+
+	/*
+	 * the filters changed: results of a search still in progress would not match them anymore
+	 */
+	private void cancelSearch() {
+		if (loader != null && !loader.isDone()) {
+			cancelLoading();
+			patientIndex = new AdmittedPatientIndex(new ArrayList<>(), wardList);
+			filterPatient(null);
+		}
+	}
+
+	private void cancelLoading() {
+		if (loader != null && !loader.isDone()) {
+			loader.cancel(true);
+		}
+		loader = null;
 	}
 
 	private JButton getButtonSearch() {
@@ -1155,95 +1208,66 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 
 		private static final long serialVersionUID = 1L;
 
-		List<AdmittedPatient> patientList = new ArrayList<>();
+		List<AdmittedPatient> patientList;
+		private AdmittedPatientIndex.Filter filter;
+		private String query;
 
 		public AdmittedPatientBrowserModel(String key) {
-			for (AdmittedPatient ap : pPatient) {
-				Admission adm = ap.getAdmission();
-				// if not admitted stripes admitted
-				if (patientClassBox.getSelectedItem().equals(patientClassItems[2])) {
-					if (adm != null) {
-						continue;
-					}
-				}
-				// if admitted stripes not admitted
-				else if (patientClassBox.getSelectedItem().equals(patientClassItems[1])) {
-					if (adm == null) {
-						continue;
-					}
-				}
-
-				// if all or admitted filters not matching ward
-				if (!patientClassBox.getSelectedItem().equals(patientClassItems[2])) {
-					if (adm != null) {
-						int cc = -1;
-						for (int j = 0; j < wardList.size(); j++) {
-							if (adm.getWard().getCode().equalsIgnoreCase(wardList.get(j).getCode())) {
-								cc = j;
-								break;
-							}
-						}
-						if (!wardCheck[cc].isSelected()) {
-							continue;
-						}
-					}
-				}
-
-				// lower age limit
-				String ageLimit = patientAgeFromTextField.getText();
-				if (DIGIT_PATTERN.matcher(ageLimit).matches()) {
-					if (!(ap.getPatient().getAge() >= Integer.parseInt(ageLimit))) {
-						continue;
-					}
-				}
+			if (patientIndex == null) {
+				patientList = new ArrayList<>();
+				return;
+			}
+			boolean[] selectedWards = new boolean[wardCheck.length];
+			for (int i = 0; i < wardCheck.length; i++) {
+				selectedWards[i] = wardCheck[i].isSelected();
+			}
 
-				// upper age limit
-				ageLimit = patientAgeToTextField.getText();
-				if (DIGIT_PATTERN.matcher(ageLimit).matches()) {
-					if (!(ap.getPatient().getAge() <= Integer.parseInt(ageLimit))) {
-						continue;
-					}
-				}
+			// sex patient type
+			Character sex = null;
+			switch (patientSexBox.getSelectedIndex()) {
+			case 1:
+				sex = 'M';
+				break;
+			case 2:
+				sex = 'F';
+				break;
+			}
 
-				// sex patient type
-				Character sex = null;
-				switch (patientSexBox.getSelectedIndex()) {
-				case 1:
-					sex = 'M';
-					break;
-				case 2:
-					sex = 'F';
-					break;
-				}
+			filter = new AdmittedPatientIndex.Filter(patientClassBox.getSelectedIndex(), selectedWards,
+							parseAgeLimit(patientAgeFromTextField.getText()), parseAgeLimit(patientAgeToTextField.getText()), sex);
+			query = key == null ? null : key + lastKey;
+			patientList = patientIndex.filter(filter, query);
+		}
 
-				if (sex != null && !sex.equals(ap.getPatient().getSex())) {
-					continue;
-				}
+		/**
+		 * Adds a loaded page to the patient index and appends the patients matching this model's search
+		 * to the table.
+		 *
+		 * @param page the loaded patients
+		 * @return {@code false} if the page was added but the model must be rebuilt
+		 */
+		boolean append(List<AdmittedPatient> page) {
+			if (filter == null) {
+				patientIndex.addAll(page);
+				return false;
+			}
+			List<AdmittedPatient> added = patientIndex.append(page, filter, query);
+			if (added == null) {
+				return false;
+			}
+			if (!added.isEmpty()) {
+				int first = patientList.size();
+				patientList.addAll(added);
+				fireTableRowsInserted(first, patientList.size() - 1);
+			}
+			return true;
+		}
 
-				if (key != null) {
-					String s = key + lastKey;
-					s = s.trim();
-					String[] tokens = s.split(" ");
-
-					if (!s.isEmpty()) {
-						String name = ap.getPatient().getSearchString();
-						int a = 0;
-						for (String value : tokens) {
-							String token = value.toLowerCase();
-							if (NormalizeString.normalizeContains(name, token)) {
-								a++;
-							}
-						}
-						if (a == tokens.length) {
-							patientList.add(ap);
-						}
-					} else {
-						patientList.add(ap);
-					}
-				} else {
-					patientList.add(ap);
-				}
+		private Integer parseAgeLimit(String ageLimit) {
+			if (DIGIT_PATTERN.matcher(ageLimit).matches()) {
+				return Integer.parseInt(ageLimit);
 			}
+			return null;
 		}
 
 		@Override
@@ -1285,12 +1309,8 @@ public class AdmittedPatientBrowser extends ModalJFrame implements PatientInsert
 				if (admission == null) {
 					return "";
 				} else {
-					for (Ward ward : wardList) {
-						if (ward.getCode().equalsIgnoreCase(admission.getWard().getCode())) {
-							return ward.getDescription();
-						}
-					}
-					return "?";
+					int ward = patientIndex.getWardIndex(admission.getWard().getCode());
+					return ward < 0 ? "?" : wardList.get(ward).getDescription();
 				}
 			}
 
@@ -0,0 +1,446 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import static org.isf.utils.text.TextNormalizer.normalize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.isf.admission.model.Admission;
+import org.isf.admission.model.AdmittedPatient;
+import org.isf.patient.model.Patient;
+import org.isf.ward.model.Ward;
+
+/**
+ * In-memory index over the {@link AdmittedPatient}s loaded by the {@link AdmittedPatientBrowser}.
+ * <p>
+ * Every patient gets a slot; the search string is normalized once and admission status, ward, sex and
+ * age are kept as {@link BitSet}s so that filtering is a handful of bit operations followed by a
+ * substring scan of the remaining candidates. When the search text only grows, the previous result is
+ * narrowed instead of scanning all the patients again.
+ */
+public class AdmittedPatientIndex {
+
+	public static final int ALL = 0;
+	public static final int ADMITTED = 1;
+	public static final int NOT_ADMITTED = 2;
+
+	private static final int AGE_BUCKET_SIZE = 10;
+	private static final int AGE_BUCKETS = 12;
+
+	private final Map<String, Integer> wardIndex = new HashMap<>();
+	private final Map<Integer, Integer> slotByPatientCode = new HashMap<>();
+
+	private final List<AdmittedPatient> patients = new ArrayList<>();
+	private final List<String> searchStrings = new ArrayList<>();
+	private int[] ages = new int[16];
+
+	private final BitSet live = new BitSet();
+	private final BitSet admitted = new BitSet();
+	private final BitSet male = new BitSet();
+	private final BitSet female = new BitSet();
+	private final BitSet[] wardBits;
+	private final BitSet[] ageBuckets = new BitSet[AGE_BUCKETS];
+	/* patients inserted by the user rather than loaded, listed first */
+	private final BitSet inserted = new BitSet();
+
+	private Filter lastFilter;
+	private BitSet lastBase;
+	private String lastQuery;
+	private BitSet lastResult;
+
+	public AdmittedPatientIndex(List<AdmittedPatient> admittedPatients, List<Ward> wards) {
+		wardBits = new BitSet[wards.size()];
+		for (int i = 0; i < wards.size(); i++) {
+			wardIndex.put(wardKey(wards.get(i).getCode()), i);
+			wardBits[i] = new BitSet();
+		}
+		for (int i = 0; i < AGE_BUCKETS; i++) {
+			ageBuckets[i] = new BitSet();
+		}
+		addAll(admittedPatients);
+	}
+
+	/**
+	 * Returns the index of the ward in the list the index was built with, or {@code -1} if unknown.
+	 *
+	 * @param wardCode the ward code (case insensitive)
+	 * @return the ward index or {@code -1}
+	 */
+	public int getWardIndex(String wardCode) {
+		Integer index = wardIndex.get(wardKey(wardCode));
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return the number of patients currently in the index
+	 */
+	public int size() {
+		return live.cardinality();
+	}
+
+	/**
+	 * Appends loaded patients in their order, replacing the ones with the same code already in the index.
+	 *
+	 * @param admittedPatients the patients with their (possibly {@code null}) current admission
+	 */
+	public void addAll(List<AdmittedPatient> admittedPatients) {
+		for (AdmittedPatient admittedPatient : admittedPatients) {
+			upsert(admittedPatient);
+		}
+		invalidate();
+	}
+
+	/**
+	 * Appends loaded patients like {@link #addAll} and returns the ones matching the filter and the search text.
+	 * They are listed by {@link #filter} after all the patients that were already in the index, so that a table
+	 * showing the previous result can just append them.
+	 *
+	 * @param admittedPatients the patients with their (possibly {@code null}) current admission
+	 * @param filter the status, ward, sex and age filter
+	 * @param query the search text, or {@code null} for none
+	 * @return the appended patients that match, or {@code null} if some of them replaced patients already in the
+	 *         index, in which case the whole result must be filtered again
+	 */
+	public List<AdmittedPatient> append(List<AdmittedPatient> admittedPatients, Filter filter, String query) {
+		int firstSlot = patients.size();
+		boolean replaced = false;
+		for (AdmittedPatient admittedPatient : admittedPatients) {
+			replaced |= get(admittedPatient.getPatient().getCode()) != null;
+			upsert(admittedPatient);
+		}
+		invalidate();
+		if (replaced) {
+			return null;
+		}
+		BitSet candidates = computeBase(filter);
+		candidates.clear(0, firstSlot);
+		String normalizedQuery = query == null ? "" : normalize(query.trim());
+		String[] tokens = normalizedQuery.isEmpty() ? new String[0] : normalizedQuery.split(" ");
+		List<AdmittedPatient> matching = new ArrayList<>();
+		for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+			if (matches(searchStrings.get(slot), tokens)) {
+				matching.add(patients.get(slot));
+			}
+		}
+		return matching;
+	}
+
+	/**
+	 * Inserts a patient or replaces the one with the same code, keeping its position in the list.
+	 * Newly inserted patients are listed before the loaded ones.
+	 *
+	 * @param admittedPatient the patient with its (possibly {@code null}) current admission
+	 */
+	public void put(AdmittedPatient admittedPatient) {
+		boolean isNew = get(admittedPatient.getPatient().getCode()) == null;
+		int slot = upsert(admittedPatient);
+		if (isNew) {
+			inserted.set(slot);
+		}
+		invalidate();
+	}
+
+	/**
+	 * Updates the current admission of a patient already in the index.
+	 *
+	 * @param patientCode the patient code
+	 * @param admission the current admission or {@code null} if the patient is not admitted anymore
+	 * @return {@code false} if the patient is not in the index
+	 */
+	public boolean setAdmission(int patientCode, Admission admission) {
+		Integer slot = slotByPatientCode.get(patientCode);
+		if (slot == null || !live.get(slot)) {
+			return false;
+		}
+		AdmittedPatient admittedPatient = patients.get(slot);
+		admittedPatient.setAdmission(admission);
+		clearBits(slot);
+		setSlot(slot, admittedPatient);
+		invalidate();
+		return true;
+	}
+
+	/**
+	 * @param patientCode the patient code
+	 * @return the indexed patient or {@code null}
+	 */
+	public AdmittedPatient get(int patientCode) {
+		Integer slot = slotByPatientCode.get(patientCode);
+		return slot == null || !live.get(slot) ? null : patients.get(slot);
+	}
+
+	/**
+	 * Removes a patient from the index.
+	 *
+	 * @param patientCode the patient code
+	 * @return {@code false} if the patient was not in the index
+	 */
+	public boolean remove(int patientCode) {
+		Integer slot = slotByPatientCode.remove(patientCode);
+		if (slot == null || !live.get(slot)) {
+			return false;
+		}
+		clearBits(slot);
+		live.clear(slot);
+		patients.set(slot, null);
+		searchStrings.set(slot, null);
+		invalidate();
+		return true;
+	}
+
+	/**
+	 * Returns the patients matching the filter and the search text. All the tokens of the search text must be
+	 * contained (accents and case ignored) in the patient search string.
+	 *
+	 * @param filter the status, ward, sex and age filter
+	 * @param query the search text, or {@code null} for none
+	 * @return the matching patients, the ones inserted with {@link #put} first
+	 */
+	public List<AdmittedPatient> filter(Filter filter, String query) {
+		String normalizedQuery = query == null ? "" : normalize(query.trim());
+
+		BitSet candidates;
+		if (filter.equals(lastFilter)) {
+			if (lastQuery != null && normalizedQuery.startsWith(lastQuery)) {
+				// the text only grew: every match is among the previous ones
+				candidates = lastResult;
+			} else {
+				candidates = lastBase;
+			}
+		} else {
+			lastFilter = filter;
+			lastBase = computeBase(filter);
+			candidates = lastBase;
+		}
+
+		BitSet result;
+		if (normalizedQuery.isEmpty()) {
+			result = candidates;
+		} else {
+			String[] tokens = normalizedQuery.split(" ");
+			result = new BitSet();
+			for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+				if (matches(searchStrings.get(slot), tokens)) {
+					result.set(slot);
+				}
+			}
+		}
+		lastQuery = normalizedQuery;
+		lastResult = result;
+		return materialize(result);
+	}
+
+	private static boolean matches(String searchString, String[] tokens) {
+		for (String token : tokens) {
+			if (!searchString.contains(token)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private BitSet computeBase(Filter filter) {
+		BitSet base = (BitSet) live.clone();
+		if (filter.admissionStatus == ADMITTED) {
+			base.and(admitted);
+		} else if (filter.admissionStatus == NOT_ADMITTED) {
+			base.andNot(admitted);
+		}
+		if (filter.admissionStatus != NOT_ADMITTED) {
+			for (int i = 0; i < wardBits.length; i++) {
+				if (!filter.isWardSelected(i)) {
+					base.andNot(wardBits[i]);
+				}
+			}
+		}
+		if (filter.sex != null) {
+			if (filter.sex == 'M') {
+				base.and(male);
+			} else if (filter.sex == 'F') {
+				base.and(female);
+			}
+		}
+		if (filter.ageFrom != null || filter.ageTo != null) {
+			base.and(ageRange(filter.ageFrom == null ? 0 : filter.ageFrom, filter.ageTo == null ? Integer.MAX_VALUE : filter.ageTo));
+		}
+		return base;
+	}
+
+	private BitSet ageRange(int from, int to) {
+		BitSet range = new BitSet();
+		for (int bucket = 0; bucket < AGE_BUCKETS; bucket++) {
+			int bucketFrom = bucket * AGE_BUCKET_SIZE;
+			int bucketTo = bucket == AGE_BUCKETS - 1 ? Integer.MAX_VALUE : bucketFrom + AGE_BUCKET_SIZE - 1;
+			if (bucketTo < from || bucketFrom > to) {
+				continue;
+			}
+			BitSet bits = ageBuckets[bucket];
+			if (bucketFrom >= from && bucketTo <= to) {
+				range.or(bits);
+			} else {
+				for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+					if (ages[slot] >= from && ages[slot] <= to) {
+						range.set(slot);
+					}
+				}
+			}
+		}
+		return range;
+	}
+
+	private List<AdmittedPatient> materialize(BitSet result) {
+		List<AdmittedPatient> list = new ArrayList<>(result.cardinality());
+		for (int slot = inserted.previousSetBit(patients.size() - 1); slot >= 0; slot = inserted.previousSetBit(slot - 1)) {
+			if (result.get(slot)) {
+				list.add(patients.get(slot));
+			}
+		}
+		for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+			if (!inserted.get(slot)) {
+				list.add(patients.get(slot));
+			}
+		}
+		return list;
+	}
+
+	private int upsert(AdmittedPatient admittedPatient) {
+		Integer slot = slotByPatientCode.get(admittedPatient.getPatient().getCode());
+		if (slot == null || !live.get(slot)) {
+			return addSlot(admittedPatient);
+		}
+		clearBits(slot);
+		setSlot(slot, admittedPatient);
+		return slot;
+	}
+
+	private int addSlot(AdmittedPatient admittedPatient) {
+		int slot = patients.size();
+		patients.add(null);
+		searchStrings.add(null);
+		if (slot >= ages.length) {
+			ages = Arrays.copyOf(ages, ages.length * 2);
+		}
+		slotByPatientCode.put(admittedPatient.getPatient().getCode(), slot);
+		setSlot(slot, admittedPatient);
+		return slot;
+	}
+
+	private void setSlot(int slot, AdmittedPatient admittedPatient) {
+		Patient patient = admittedPatient.getPatient();
+		patients.set(slot, admittedPatient);
+		searchStrings.set(slot, normalize(patient.getSearchString()));
+		live.set(slot);
+
+		Admission admission = admittedPatient.getAdmission();
+		if (admission != null) {
+			admitted.set(slot);
+			if (admission.getWard() != null) {
+				int ward = getWardIndex(admission.getWard().getCode());
+				if (ward >= 0) {
+					wardBits[ward].set(slot);
+				}
+			}
+		}
+		char sex = Character.toUpperCase(patient.getSex());
+		if (sex == 'M') {
+			male.set(slot);
+		} else if (sex == 'F') {
+			female.set(slot);
+		}
+		int age = Math.max(patient.getAge(), 0);
+		ages[slot] = age;
+		ageBuckets[Math.min(age / AGE_BUCKET_SIZE, AGE_BUCKETS - 1)].set(slot);
+	}
+
+	private void clearBits(int slot) {
+		admitted.clear(slot);
+		male.clear(slot);
+		female.clear(slot);
+		for (BitSet bits : wardBits) {
+			bits.clear(slot);
+		}
+		ageBuckets[Math.min(ages[slot] / AGE_BUCKET_SIZE, AGE_BUCKETS - 1)].clear(slot);
+	}
+
+	private void invalidate() {
+		lastFilter = null;
+		lastBase = null;
+		lastQuery = null;
+		lastResult = null;
+	}
+
+	private static String wardKey(String wardCode) {
+		return wardCode == null ? "" : wardCode.toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * The non textual criteria of a search; patients admitted to a ward unknown to the index are never
+	 * filtered out by ward.
+	 */
+	public static class Filter {
+
+		private final int admissionStatus;
+		private final boolean[] selectedWards;
+		private final Integer ageFrom;
+		private final Integer ageTo;
+		private final Character sex;
+
+		public Filter(int admissionStatus, boolean[] selectedWards, Integer ageFrom, Integer ageTo, Character sex) {
+			this.admissionStatus = admissionStatus;
+			this.selectedWards = selectedWards.clone();
+			this.ageFrom = ageFrom;
+			this.ageTo = ageTo;
+			this.sex = sex;
+		}
+
+		private boolean isWardSelected(int ward) {
+			return ward >= selectedWards.length || selectedWards[ward];
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Filter)) {
+				return false;
+			}
+			Filter other = (Filter) o;
+			return admissionStatus == other.admissionStatus && Arrays.equals(selectedWards, other.selectedWards)
+					&& Objects.equals(ageFrom, other.ageFrom) && Objects.equals(ageTo, other.ageTo) && Objects.equals(sex, other.sex);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(admissionStatus, Arrays.hashCode(selectedWards), ageFrom, ageTo, sex);
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.SwingWorker;
+
+import org.isf.admission.model.AdmittedPatient;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads {@link AdmittedPatient}s off the Event Dispatch Thread and hands them to the {@link PageListener}
+ * in pages, on the Event Dispatch Thread, so that the table can be filled while the rest is still coming.
+ * A loader that has been cancelled never delivers another page.
+ */
+public class AdmittedPatientLoader extends SwingWorker<Void, List<AdmittedPatient>> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AdmittedPatientLoader.class);
+
+	public static final int PAGE_SIZE = 2000;
+
+	private final AdmittedPatientQuery query;
+	private final PageListener listener;
+
+	public AdmittedPatientLoader(AdmittedPatientQuery query, PageListener listener) {
+		this.query = query;
+		this.listener = listener;
+	}
+
+	@Override
+	protected Void doInBackground() throws OHServiceException {
+		List<AdmittedPatient> patients = query.load();
+		int total = patients.size();
+		for (int from = 0; from < total && !isCancelled(); from += PAGE_SIZE) {
+			publish(new ArrayList<>(patients.subList(from, Math.min(from + PAGE_SIZE, total))));
+		}
+		return null;
+	}
+
+	@Override
+	protected void process(List<List<AdmittedPatient>> pages) {
+		if (isCancelled()) {
+			return;
+		}
+		List<AdmittedPatient> received = new ArrayList<>();
+		for (List<AdmittedPatient> page : pages) {
+			received.addAll(page);
+		}
+		listener.pageLoaded(received);
+	}
+
+	@Override
+	protected void done() {
+		if (isCancelled()) {
+			return;
+		}
+		try {
+			get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (CancellationException e) {
+			return;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OHServiceException) {
+				OHServiceExceptionUtil.showMessages((OHServiceException) e.getCause());
+			} else {
+				LOGGER.error("Error loading admitted patients.", e.getCause());
+			}
+		}
+		listener.loadingDone();
+	}
+
+	/**
+	 * The query to run in background.
+	 */
+	@FunctionalInterface
+	public interface AdmittedPatientQuery {
+
+		List<AdmittedPatient> load() throws OHServiceException;
+	}
+
+	/**
+	 * Receives the loaded patients on the Event Dispatch Thread.
+	 */
+	public interface PageListener {
+
+		void pageLoaded(List<AdmittedPatient> page);
+
+		void loadingDone();
+	}
+
+}
@@ -21,21 +21,38 @@
  */
 package org.isf.admission.gui;
 
-import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.swing.JComboBox;
 
+import org.isf.disease.gui.DiseaseIndex;
 import org.isf.disease.model.Disease;
 
 public class DiseaseFinder {
 
+	// the lists of a form are loaded once, so each one is indexed once
+	private final Map<List<Disease>, DiseaseIndex> indexes = new IdentityHashMap<>();
+
+	/**
+	 * @param query the typed text
+	 * @param diseaseList the diseases to search
+	 * @return the best {@link DiseaseIndex#DEFAULT_LIMIT} diseases found, best first, or all of them if the query is empty
+	 */
 	public List<Disease> getSearchDiagnosisResults(String query, List<Disease> diseaseList) {
-		return diseaseList.stream()
-				.filter(disease -> query.equals("") || diseaseMatchPatterns(query, disease))
-				.collect(Collectors.toList());
+		return indexOf(diseaseList).search(query, DiseaseIndex.DEFAULT_LIMIT);
+	}
+
+	private DiseaseIndex indexOf(List<Disease> diseaseList) {
+		DiseaseIndex index = indexes.get(diseaseList);
+		if (index == null || index.size() != diseaseList.size()) {
+			index = new DiseaseIndex(diseaseList);
+			indexes.put(diseaseList, index);
+		}
+		return index;
 	}
 
 	public Optional<Disease> findAndSelectDisease(Disease diseaseToFind, List<Disease> diseaseOutList, JComboBox diseaseBox) {
@@ -57,11 +74,4 @@ public class DiseaseFinder {
 				.findFirst();
 	}
 
-	private boolean diseaseMatchPatterns(String query, Disease disease) {
-		String[] patterns = query.trim().split(" ");
-		String description = disease.getDescription().toLowerCase();
-		return Arrays.stream(patterns)
-				.anyMatch(pattern -> description.contains(pattern.toLowerCase()));
-	}
-
 }
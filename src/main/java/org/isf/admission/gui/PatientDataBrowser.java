@@ -49,7 +49,6 @@ import javax.swing.table.DefaultTableModel;
 import org.isf.admission.gui.AdmissionBrowser.AdmissionListener;
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.generaldata.GeneralData;
 import org.isf.generaldata.MessageBundle;
@@ -69,6 +68,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.table.TableSorter;
 
 /**
@@ -188,7 +188,6 @@ public class PatientDataBrowser extends ModalJFrame implements
 
 	private OpdBrowserManager opdBrowserManager = Context.getApplicationContext().getBean(OpdBrowserManager.class);
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
-	private DiseaseBrowserManager diseaseBrowserManager = Context.getApplicationContext().getBean(DiseaseBrowserManager.class);
 
 	private List<Admission> admList;
 	private List<Disease> disease;
@@ -399,7 +398,7 @@ class AdmissionBrowserModel extends DefaultTableModel {
 				OHServiceExceptionUtil.showMessages(e);
 			}
 			try {
-				disease = diseaseBrowserManager.getDiseaseAll();
+				disease = ReferenceDataCache.getInstance().getDiseases();
 			} catch(OHServiceException e) {
                 OHServiceExceptionUtil.showMessages(e);
 			}
@@ -31,10 +31,6 @@ import java.awt.FlowLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -42,6 +38,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.EventListener;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import javax.swing.JButton;
 import javax.swing.JPanel;
@@ -50,6 +49,7 @@ import javax.swing.JTabbedPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 import javax.swing.event.EventListenerList;
 import javax.swing.table.DefaultTableCellRenderer;
@@ -59,7 +59,6 @@ import org.isf.admission.gui.AdmissionBrowser.AdmissionListener;
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
 import org.isf.dicom.gui.DicomGui;
-import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.examination.manager.ExaminationBrowserManager;
 import org.isf.examination.model.PatientExamination;
@@ -67,12 +66,14 @@ import org.isf.generaldata.GeneralData;
 import org.isf.generaldata.MessageBundle;
 import org.isf.lab.manager.LabManager;
 import org.isf.lab.model.Laboratory;
+import org.isf.medicalstockward.model.MovementWard;
 import org.isf.medstockmovtype.gui.MedicalsrMovPatList;
 import org.isf.menu.gui.MainMenu;
 import org.isf.menu.manager.Context;
 import org.isf.opd.manager.OpdBrowserManager;
 import org.isf.opd.model.Opd;
 import org.isf.operation.gui.OperationList;
+import org.isf.operation.model.OperationRow;
 import org.isf.patient.gui.PatientInsert;
 import org.isf.patient.gui.PatientInsertExtended.PatientListener;
 import org.isf.patient.gui.PatientSummary;
@@ -85,6 +86,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.OhDefaultCellRenderer;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.table.TableSorter;
 import org.isf.utils.time.Converters;
 import org.isf.utils.time.TimeTools;
@@ -187,12 +189,9 @@ public class PatientFolderBrowser extends ModalJFrame
 	}
 
 	private LabManager labManager = Context.getApplicationContext().getBean(LabManager.class);
-
-	private List<Admission> admList;
-	private List<Laboratory> labList;
-	private List<Disease> disease;
-	private List<Opd> opdList;
-	private List<PatientExamination> examinationList;
+	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
+	private OpdBrowserManager opdBrowserManager = Context.getApplicationContext().getBean(OpdBrowserManager.class);
+	private ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
 
 	private String[] pColumns = {
 			MessageBundle.getMessage("angal.common.date.txt").toUpperCase(),
@@ -222,7 +221,7 @@ public class PatientFolderBrowser extends ModalJFrame
 	private JPanel getTablesPanel() {
 		JPanel tablesPanel = new JPanel(new BorderLayout());
 
-		DefaultTableModel admModel = new AdmissionBrowserModel();
+		AdmissionBrowserModel admModel = new AdmissionBrowserModel();
 		sorter = new TableSorter(admModel);
 		admTable = new JTable(sorter);
 
@@ -315,7 +314,7 @@ public class PatientFolderBrowser extends ModalJFrame
 		sorter.sortByColumn(0, false); // sort by first column, descending
 		sorter.updateRowHeights(admTable);
 
-		DefaultTableModel labModel = new LabBrowserModel();
+		LabBrowserModel labModel = new LabBrowserModel();
 		TableSorter sorterLab = new TableSorter(labModel);
 		labTable = new JTable(sorterLab);
 		/* ** apply default oh cellRender **** */
@@ -361,11 +360,11 @@ public class PatientFolderBrowser extends ModalJFrame
 		tabbedPaneLabOpe.addTab(MessageBundle.getMessage("angal.admission.patientfolder.exams.title"), null, scrollPaneLab, null);
 
 		OperationList opeList = new OperationList(patient);
-		getOlderDate(opeList.getOprowData(), "opDate");
+		updateFromDate(PatientTimeline.earliestDate(opeList.getOprowData(), OperationRow::getOpDate));
 		tabbedPaneLabOpe.addTab(MessageBundle.getMessage("angal.admission.patientfolder.operations.title"), null, opeList, null);
 
 		MedicalsrMovPatList drugsList = new MedicalsrMovPatList(patient);
-		getOlderDate(drugsList.getDrugsData(), "date");
+		updateFromDate(PatientTimeline.earliestDate(drugsList.getDrugsData(), MovementWard::getDate));
 		tabbedPaneLabOpe.addTab(MessageBundle.getMessage("angal.admission.patientfolder.drugs.title"), null, drugsList, null);
 
 		// Handle double click on rows of tables generating report dialog
@@ -430,10 +429,11 @@ public class PatientFolderBrowser extends ModalJFrame
 		listSelectionModel.addListSelectionListener(selectionEvent -> {
 
 			// Check that mouse has been released.
-			if (!selectionEvent.getValueIsAdjusting()) {
+			// The selection is cleared when a source of the timeline arrives.
+			int selectedRow = admTable.getSelectedRow();
+			if (!selectionEvent.getValueIsAdjusting() && selectedRow >= 0) {
 				LocalDateTime startDate = null;
 				LocalDateTime endDate = null;
-				int selectedRow = admTable.getSelectedRow();
 				Object selectedObject = sorter.getValueAt(selectedRow, -1);
 				Object selectedObject2;
 				Admission adm2 = null;
@@ -482,7 +482,7 @@ public class PatientFolderBrowser extends ModalJFrame
 				opeList.selectCorrect(startDate, endDate);
 
 				labTable.clearSelection();
-				for (int i = 0; i < labList.size(); i++) {
+				for (int i = 0; i < sorterLab.getRowCount(); i++) {
 					Laboratory laboratory = (Laboratory) sorterLab.getValueAt(i, -1);
 					LocalDate labDate = laboratory.getLabDate().toLocalDate();
 
@@ -498,9 +498,65 @@ public class PatientFolderBrowser extends ModalJFrame
 			}
 		});
 
+		loadTimeline(admModel);
+		loadLaboratories(labModel, sorterLab);
+
 		return tablesPanel;
 	}
 
+	/**
+	 * Fetches admissions, OPD visits and examinations concurrently; each source is merged into the timeline as soon as it arrives.
+	 */
+	private void loadTimeline(AdmissionBrowserModel admModel) {
+		loadInBackground(() -> admModel.admissionRows(admissionBrowserManager.getAdmissions(patient)), admModel::addRows);
+		loadInBackground(() -> admModel.opdRows(opdBrowserManager.getOpdList(patient.getCode())), admModel::addRows);
+		loadInBackground(() -> admModel.examinationRows(examinationBrowserManager.getByPatID(patient.getCode())), admModel::addRows);
+	}
+
+	private void loadLaboratories(LabBrowserModel labModel, TableSorter sorterLab) {
+		loadInBackground(() -> labManager.getLaboratory(patient), laboratories -> {
+			labModel.setLaboratories(laboratories);
+			sorterLab.sortByColumn(0, false);
+			updateFromDate(PatientTimeline.earliestDate(laboratories, Laboratory::getLabDate));
+		});
+	}
+
+	private <T> void loadInBackground(FolderQuery<T> query, Consumer<T> onLoaded) {
+		new SwingWorker<T, Void>() {
+
+			@Override
+			protected T doInBackground() throws OHServiceException {
+				return query.load();
+			}
+
+			@Override
+			protected void done() {
+				try {
+					onLoaded.accept(get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (CancellationException e) {
+					// nothing to show
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof OHServiceException) {
+						OHServiceExceptionUtil.showMessages((OHServiceException) e.getCause());
+					} else {
+						LOGGER.error("Error loading the patient folder.", e.getCause());
+					}
+				}
+			}
+		}.execute();
+	}
+
+	/**
+	 * A query of the patient folder, run in background.
+	 */
+	@FunctionalInterface
+	private interface FolderQuery<T> {
+
+		T load() throws OHServiceException;
+	}
+
 	private JPanel getButtonPanel() {
 		JPanel buttonPanel;
 		buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 5));
@@ -644,30 +700,10 @@ public class PatientFolderBrowser extends ModalJFrame
 		return closeButton;
 	}
 
-	private <T> void getOlderDate(List<T> list, String variableName) {
-		for (Object obj : list) {
-			LocalDateTime otherDate = getDateFromObject(obj, variableName);
-			if (fromDate == null || fromDate.isAfter(otherDate)) {
-				fromDate = otherDate;
-			}
-		}
-	}
-
-	private LocalDateTime getDateFromObject(Object obj, String variableName) {
-		LocalDateTime date = null;
-		try {
-			PropertyDescriptor pd = new PropertyDescriptor(variableName, obj.getClass());
-			Method getter = pd.getReadMethod();
-			Object variable = getter.invoke(obj);
-			if (variable instanceof LocalDate) {
-				date = ((LocalDate) variable).atStartOfDay();
-			} else {
-				date = (LocalDateTime) variable;
-			}
-		} catch (IntrospectionException | InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
-			LOGGER.error(e.getMessage(), e);
+	private void updateFromDate(LocalDateTime date) {
+		if (date != null && (fromDate == null || date.isBefore(fromDate))) {
+			fromDate = date;
 		}
-		return date;
 	}
 
 	class AdmissionBrowserModel extends DefaultTableModel {
@@ -684,51 +720,91 @@ public class PatientFolderBrowser extends ModalJFrame
 
 		private static final long serialVersionUID = -453243229156512947L;
 
-		private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
-		private DiseaseBrowserManager diseaseBrowserManager = Context.getApplicationContext().getBean(DiseaseBrowserManager.class);
-		private OpdBrowserManager opdBrowserManager = Context.getApplicationContext().getBean(OpdBrowserManager.class);
-		private ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
-
-		public AdmissionBrowserModel() {
+		private PatientTimeline timeline;
 
-			try {
-				admList = admissionBrowserManager.getAdmissions(patient);
-				getOlderDate(admList, "admDate");
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
+		/**
+		 * Merges the rows of a source into the table; called on the Event Dispatch Thread.
+		 */
+		void addRows(List<PatientTimeline.Row> rows) {
+			if (rows.isEmpty()) {
+				return;
 			}
-			try {
-				disease = diseaseBrowserManager.getDiseaseAll();
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
+			if (timeline == null) {
+				timeline = new PatientTimeline();
 			}
-			try {
-				opdList = opdBrowserManager.getOpdList(patient.getCode());
-				getOlderDate(opdList, "date");
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
+			timeline.addAll(rows);
+			// the sorter goes back to the model order, that is already the most recent first
+			fireTableDataChanged();
+			sorter.updateRowHeights(admTable);
+			for (PatientTimeline.Row row : rows) {
+				updateFromDate(row.getDate());
 			}
-			try {
-				examinationList = examinationBrowserManager.getByPatID(patient.getCode());
-				getOlderDate(examinationList, "pex_date");
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
+		}
+
+		List<PatientTimeline.Row> admissionRows(List<Admission> admissions) throws OHServiceException {
+			List<PatientTimeline.Row> rows = new ArrayList<>(admissions.size());
+			for (Admission admission : admissions) {
+				rows.add(new PatientTimeline.Row(admission, admission.getAdmDate(),
+								admission.getWard().getDescription(),
+								describe(admission.getDiseaseIn()),
+								describe(admission.getDiseaseOut1()),
+								admission.getDisDate() == null ? TEXT_ADMISSION_PRESENT : admission.getDisDate()));
 			}
+			return rows;
 		}
 
-		@Override
-		public int getRowCount() {
-			int count = 0;
-			if (admList != null) {
-				count += admList.size();
+		List<PatientTimeline.Row> opdRows(List<Opd> opds) throws OHServiceException {
+			List<PatientTimeline.Row> rows = new ArrayList<>(opds.size());
+			for (Opd opd : opds) {
+				Disease diseaseOut = opd.getDisease3();
+				if (diseaseOut == null) {
+					diseaseOut = opd.getDisease2();
+					if (diseaseOut == null) {
+						diseaseOut = opd.getDisease();
+					}
+				}
+				String status = String.valueOf(opd.getNewPatient());
+				rows.add(new PatientTimeline.Row(opd, opd.getDate(),
+								opd.getWard().getDescription(),
+								describe(opd.getDisease()),
+								describe(diseaseOut),
+								status.compareTo("R") == 0 ? TEXT_REATTENDANCE : TEXT_NEWATTENDANCE));
 			}
-			if (opdList != null) {
-				count += opdList.size();
+			return rows;
+		}
+
+		List<PatientTimeline.Row> examinationRows(List<PatientExamination> examinations) {
+			List<PatientTimeline.Row> rows = new ArrayList<>(examinations.size());
+			for (PatientExamination examination : examinations) {
+				rows.add(new PatientTimeline.Row(examination, examination.getPex_date(),
+								TEXT_EXAMINATION_RECORD,
+								"<html>" +
+												TEXT_HEIGHT + ": " + examination.getPex_height()
+												+ "<br>" +
+												TEXT_WEIGHT + ": " + examination.getPex_weight()
+												+ "</html>",
+								"<html>" +
+												TEXT_ARTERIALPRESSURE_ABBR + ": " + examination.getPex_ap_min()
+												+ '/' + examination.getPex_ap_max()
+												+ "<br>" +
+												TEXT_TEMPERATURE_ABBR + ": " + examination.getPex_temp() +
+												"</html>",
+								TEXT_ADMISSION_O2 + ": " + examination.getPex_sat()));
 			}
-			if (examinationList != null) {
-				count += examinationList.size();
+			return rows;
+		}
+
+		private String describe(Disease disease) throws OHServiceException {
+			Disease known = disease == null || disease.getCode() == null ? null : ReferenceDataCache.getInstance().getDisease(disease.getCode());
+			return known == null ? TEXT_NODISEASE : known.getDescription();
+		}
+
+		@Override
+		public int getRowCount() {
+			if (timeline == null) {
+				return 0;
 			}
-			return count;
+			return timeline.size();
 		}
 
 		@Override
@@ -743,130 +819,7 @@ public class PatientFolderBrowser extends ModalJFrame
 
 		@Override
 		public Object getValueAt(int row, int column) {
-
-			if (column == -1) {
-				if (row < admList.size()) {
-					return admList.get(row);
-				} else if (row < opdList.size() + admList.size()) {
-					int z = row - admList.size();
-					return opdList.get(z);
-				} else {
-					int f = row - (opdList.size() + admList.size());
-					return examinationList.get(f);
-				}
-			} else if (column == 0) {
-				if (row < admList.size()) {
-					return (admList.get(row)).getAdmDate();
-				} else if (row < opdList.size() + admList.size()) {
-					int z = row - admList.size();
-					return (opdList.get(z)).getDate();
-				} else {
-					int f = row - (opdList.size() + admList.size());
-					return examinationList.get(f).getPex_date();
-				}
-			} else if (column == 1) {
-				if (row < admList.size()) {
-					return admList.get(row).getWard().getDescription();
-				} else if (row < opdList.size() + admList.size()) {
-					int z = row - admList.size();
-					return opdList.get(z).getWard().getDescription();
-				} else {
-					return TEXT_EXAMINATION_RECORD;
-				}
-			} else if (column == 2) {
-				String id;
-				if (row < admList.size()) {
-					id = admList.get(row).getDiseaseIn().getCode();
-					if (id == null) {
-						id = "";
-					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
-				} else if (row < opdList.size() + admList.size()) {
-					int z = row - admList.size();
-					id = opdList.get(z).getDisease().getCode();
-					if (id == null) {
-						id = "";
-					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
-				} else {
-					int f = row - (opdList.size() + admList.size());
-					return "<html>" +
-									TEXT_HEIGHT + ": " + (examinationList.get(f).getPex_height())
-									+ "<br>" +
-									TEXT_WEIGHT + ": " + (examinationList.get(f).getPex_weight())
-									+ "</html>";
-				}
-
-			} else if (column == 3) {
-				String id;
-				if (row < admList.size()) {
-					id = admList.get(row).getDiseaseOut1() == null ? null : admList.get(row).getDiseaseOut1().getCode();
-					if (id == null) {
-						id = "";
-					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
-				} else if (row < opdList.size() + admList.size()) {
-					int z = row - admList.size();
-					Disease dis = opdList.get(z).getDisease3();
-					if (dis == null) {
-						dis = opdList.get(z).getDisease2();
-						if (dis == null) {
-							id = opdList.get(z).getDisease().getCode();
-						} else {
-							id = dis.getCode();
-						}
-					} else {
-						id = dis.getCode();
-					}
-					for (Disease elem : disease) {
-						if (elem.getCode().equalsIgnoreCase(id)) {
-							return elem.getDescription();
-						}
-					}
-					return TEXT_NODISEASE;
-				} else {
-					int f = row - (opdList.size() + admList.size());
-					return "<html>" +
-									TEXT_ARTERIALPRESSURE_ABBR + ": " + (examinationList.get(f).getPex_ap_min())
-									+ '/' + (examinationList.get(f).getPex_ap_max())
-									+ "<br>" +
-									TEXT_TEMPERATURE_ABBR + ": " + (examinationList.get(f).getPex_temp()) +
-									"</html>";
-				}
-			} else if (column == 4) {
-				if (row < admList.size()) {
-					if (admList.get(row).getDisDate() == null) {
-						return TEXT_ADMISSION_PRESENT;
-					} else {
-						return admList.get(row).getDisDate();
-					}
-				} else if (row < opdList.size() + admList.size()) {
-					int z = row - admList.size();
-					String status = String.valueOf(opdList.get(z).getNewPatient());
-					return (status.compareTo("R") == 0
-									? TEXT_REATTENDANCE
-									: TEXT_NEWATTENDANCE);
-				} else {
-					int f = row - (opdList.size() + admList.size());
-					return TEXT_ADMISSION_O2 + ": " + (examinationList.get(f).getPex_sat());
-				}
-			}
-			return null;
+			return timeline.get(row).getValueAt(column);
 		}
 
 		@Override
@@ -879,15 +832,14 @@ public class PatientFolderBrowser extends ModalJFrame
 
 		private static final long serialVersionUID = -8245833681073162426L;
 
-		public LabBrowserModel() {
+		private List<Laboratory> labList;
 
-			try {
-				labList = labManager.getLaboratory(patient);
-				getOlderDate(labList, "labDate");
-			} catch (OHServiceException e) {
-				labList = new ArrayList<>();
-				OHServiceExceptionUtil.showMessages(e);
-			}
+		/**
+		 * Replaces the exams shown; called on the Event Dispatch Thread.
+		 */
+		void setLaboratories(List<Laboratory> laboratories) {
+			labList = laboratories;
+			fireTableDataChanged();
 		}
 
 		@Override
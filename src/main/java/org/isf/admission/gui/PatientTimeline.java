@@ -0,0 +1,131 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The clinical history of a patient as a single list of rows, most recent first.
+ * <p>
+ * Every source (admissions, OPD visits, examinations...) is turned into {@link Row}s once, with all the cells already resolved,
+ * and merged into the list as soon as it has been loaded, so that the table never has to look anything up while painting.
+ */
+public class PatientTimeline {
+
+	private static final Comparator<Row> MOST_RECENT_FIRST = Comparator.comparing(Row::getDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+	private final List<Row> rows = new ArrayList<>();
+
+	/**
+	 * Merges the rows of a source into the timeline, keeping it sorted by date, most recent first.
+	 * Rows with the same date keep the order in which they have been added.
+	 *
+	 * @param newRows the rows of a source, in any order
+	 */
+	public void addAll(Collection<Row> newRows) {
+		List<Row> sorted = new ArrayList<>(newRows);
+		sorted.sort(MOST_RECENT_FIRST);
+		List<Row> merged = new ArrayList<>(rows.size() + sorted.size());
+		int i = 0;
+		int j = 0;
+		while (i < rows.size() && j < sorted.size()) {
+			if (MOST_RECENT_FIRST.compare(sorted.get(j), rows.get(i)) < 0) {
+				merged.add(sorted.get(j++));
+			} else {
+				merged.add(rows.get(i++));
+			}
+		}
+		merged.addAll(rows.subList(i, rows.size()));
+		merged.addAll(sorted.subList(j, sorted.size()));
+		rows.clear();
+		rows.addAll(merged);
+	}
+
+	public Row get(int index) {
+		return rows.get(index);
+	}
+
+	public int size() {
+		return rows.size();
+	}
+
+	/**
+	 * @param items the items to look at
+	 * @param dateOf the date of an item
+	 * @param <T> the type of the items
+	 * @return the earliest date among the items, or {@code null} if there is none
+	 */
+	public static <T> LocalDateTime earliestDate(Collection<T> items, Function<? super T, LocalDateTime> dateOf) {
+		LocalDateTime earliest = null;
+		for (T item : items) {
+			LocalDateTime date = dateOf.apply(item);
+			if (date != null && (earliest == null || date.isBefore(earliest))) {
+				earliest = date;
+			}
+		}
+		return earliest;
+	}
+
+	/**
+	 * A row of the timeline: the object it has been built from, its date and the other four cells.
+	 */
+	public static class Row {
+
+		private final Object source;
+		private final LocalDateTime date;
+		private final Object[] cells;
+
+		public Row(Object source, LocalDateTime date, Object ward, Object diagnosisIn, Object diagnosisOut, Object status) {
+			this.source = source;
+			this.date = date;
+			this.cells = new Object[] { ward, diagnosisIn, diagnosisOut, status };
+		}
+
+		public Object getSource() {
+			return source;
+		}
+
+		public LocalDateTime getDate() {
+			return date;
+		}
+
+		/**
+		 * @param column the column, {@code -1} for the source object and {@code 0} for the date
+		 * @return the value of the cell
+		 */
+		public Object getValueAt(int column) {
+			if (column == -1) {
+				return source;
+			}
+			if (column == 0) {
+				return date;
+			}
+			return cells[column - 1];
+		}
+	}
+
+}
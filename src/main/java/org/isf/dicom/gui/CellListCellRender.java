@@ -0,0 +1,54 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+
+import javax.swing.JLabel;
+
+import org.isf.dicom.model.FileDicom;
+
+/**
+ * Renderer of a cell of the list without thumbnails
+ */
+class CellListCellRender extends DicomCellRender {
+
+	private final JLabel center = label(Color.WHITE);
+
+	CellListCellRender() {
+		super(false);
+		header.setOpaque(false);
+		panel.add(center, BorderLayout.CENTER);
+	}
+
+	@Override
+	protected Dimension computeCellSize() {
+		return new Dimension(panel.getPreferredSize().width, 50);
+	}
+
+	@Override
+	protected void setInstance(FileDicom instance, DicomCellText text) {
+		center.setText(text.getDescription());
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+import javax.swing.border.LineBorder;
+
+import org.isf.dicom.model.FileDicom;
+import org.isf.generaldata.MessageBundle;
+
+/**
+ * Renderer of a DICOM cell: the same components are filled for every cell, with the texts computed once per file.
+ * <p>
+ * The labels have fixed sizes and, like {@link javax.swing.DefaultListCellRenderer}, do not revalidate, repaint or
+ * fire property changes, so that once every file has been shown a render allocates nothing.
+ */
+abstract class DicomCellRender implements ListCellRenderer {
+
+	private final Map<FileDicom, DicomCellText> texts = new IdentityHashMap<>();
+	private final List<JLabel> labels = new ArrayList<>();
+	private final CellBorder border = new CellBorder();
+	protected final JPanel panel;
+	protected final JPanel header = new JPanel(new BorderLayout(), false);
+	protected final JLabel date = label(Color.LIGHT_GRAY);
+	protected final JLabel type = label(Color.LIGHT_GRAY);
+	protected final JLabel frames = label(Color.YELLOW);
+	private Dimension cellSize;
+
+	DicomCellRender(boolean doubleBuffered) {
+		panel = new JPanel(new BorderLayout(), doubleBuffered);
+		panel.setBorder(border);
+		header.add(date, BorderLayout.NORTH);
+		header.add(type, BorderLayout.CENTER);
+		panel.add(header, BorderLayout.NORTH);
+		panel.add(frames, BorderLayout.SOUTH);
+	}
+
+	/**
+	 * @return a label of the cell, whose size is fixed by {@link #getCellSize()}
+	 */
+	protected final JLabel label(Color foreground) {
+		JLabel label = new RendererLabel();
+		label.setForeground(foreground);
+		labels.add(label);
+		return label;
+	}
+
+	/**
+	 * @return the size of every cell
+	 */
+	Dimension getCellSize() {
+		if (cellSize == null) {
+			date.setText("00/00/0000 00:00");
+			type.setText(MessageBundle.getMessage("angal.common.notdefined.txt"));
+			frames.setText("[1/1]");
+			cellSize = computeCellSize();
+			// the layout of the cell never depends on its texts
+			for (JLabel label : labels) {
+				label.setPreferredSize(label.getPreferredSize());
+			}
+		}
+		return cellSize;
+	}
+
+	/**
+	 * @param instance a file of the list
+	 * @return its texts, computed the first time
+	 */
+	DicomCellText getText(FileDicom instance) {
+		DicomCellText text = texts.get(instance);
+		if (text == null) {
+			text = new DicomCellText(instance);
+			texts.put(instance, text);
+		}
+		return text;
+	}
+
+	/**
+	 * Forgets the texts of the files shown so far.
+	 */
+	void clear() {
+		texts.clear();
+	}
+
+	protected abstract Dimension computeCellSize();
+
+	protected abstract void setInstance(FileDicom instance, DicomCellText text);
+
+	@Override
+	public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+
+		FileDicom instance = (FileDicom) value;
+		DicomCellText text = getText(instance);
+
+		// Header of thumbnail
+		date.setText(text.getDate());
+		type.setText(text.getType());
+
+		setInstance(instance, text);
+
+		// Footer of thumbnail
+		frames.setText(text.getFrames());
+
+		// Colors of thumbnail
+		border.setSelected(isSelected);
+		if (isSelected) {
+			header.setBackground(Color.BLUE);
+			panel.setBackground(Color.BLUE);
+			panel.setForeground(Color.WHITE);
+		} else {
+			header.setBackground(Color.DARK_GRAY);
+			panel.setBackground(Color.DARK_GRAY);
+			panel.setForeground(Color.LIGHT_GRAY);
+		}
+
+		return panel;
+	}
+
+	/**
+	 * Border whose color follows the selection: replacing the border of the panel would compute and compare its
+	 * insets on every render.
+	 */
+	private static final class CellBorder extends LineBorder {
+
+		private static final long serialVersionUID = 1L;
+
+		CellBorder() {
+			super(Color.LIGHT_GRAY);
+		}
+
+		void setSelected(boolean selected) {
+			lineColor = selected ? Color.YELLOW : Color.LIGHT_GRAY;
+		}
+	}
+
+	/**
+	 * Label only painted by the list: its texts are never HTML and its size is fixed, so there is nothing to notify.
+	 */
+	private static final class RendererLabel extends JLabel {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void invalidate() {
+		}
+
+		@Override
+		public void validate() {
+		}
+
+		@Override
+		public void revalidate() {
+		}
+
+		@Override
+		public void repaint(long tm, int x, int y, int width, int height) {
+		}
+
+		@Override
+		public void repaint(Rectangle r) {
+		}
+
+		@Override
+		protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+		}
+
+		@Override
+		public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue) {
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import static org.isf.utils.Constants.DATE_FORMAT_DD_MM_YYYY_HH_MM;
+
+import org.isf.dicom.model.FileDicom;
+import org.isf.generaldata.MessageBundle;
+import org.isf.utils.time.TimeTools;
+
+/**
+ * The texts shown for a {@link FileDicom} in the thumbnail list, computed once per file
+ */
+final class DicomCellText {
+
+	private final String date;
+	private final String type;
+	private final String description;
+	private final String frames;
+	private final String tooltip;
+
+	DicomCellText(FileDicom instance) {
+		date = TimeTools.formatDateTime(instance.getDicomStudyDate(), DATE_FORMAT_DD_MM_YYYY_HH_MM);
+		type = instance.getDicomType() == null ? MessageBundle.getMessage("angal.common.notdefined.txt") : instance.getDicomType().toString();
+		description = instance.getDicomSeriesDescription() == null ? "" : instance.getDicomSeriesDescription().toUpperCase();
+		int frameCount = instance.getFrameCount();
+		frames = frameCount > 1 ? "[1/" + frameCount + ']' : null;
+		tooltip = buildTooltip(instance);
+	}
+
+	String getDate() {
+		return date;
+	}
+
+	String getType() {
+		return type;
+	}
+
+	String getDescription() {
+		return description;
+	}
+
+	String getFrames() {
+		return frames;
+	}
+
+	String getTooltip() {
+		return tooltip;
+	}
+
+	private static String buildTooltip(FileDicom dicomFile) {
+		String separator = ": ";
+		String newline = " <br>";
+		StringBuilder rv = new StringBuilder("<html>");
+		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.patient")).append(separator).append(dicomFile.getDicomPatientName());
+		if (isValorized(dicomFile.getDicomPatientAge())) {
+			rv.append('[').append(MessageBundle.getMessage("angal.common.age.txt")).append(separator).append(sanitize(dicomFile.getDicomPatientAge())).append(']');
+		}
+		rv.append(newline);
+		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.modality")).append(separator).append(sanitize(dicomFile.getModality()));
+		rv.append(" <br>");
+		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.sernum")).append(separator).append(sanitize(dicomFile.getDicomSeriesNumber()));
+		rv.append(" <br>");
+		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.study")).append(separator).append(sanitize(dicomFile.getDicomStudyDescription()));
+		rv.append(" <br>");
+		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.series")).append(separator).append(sanitize(dicomFile.getDicomSeriesDescription()));
+		rv.append(" <br>");
+		rv.append(MessageBundle.getMessage("angal.common.date.txt")).append(separator).append(sanitize(TimeTools.formatDateTime(dicomFile.getDicomSeriesDate(), "dd-MM-yyyy")));
+		rv.append(" <br>");
+		if (dicomFile.getDicomType() != null) {
+			rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.category")).append(separator).append(sanitize(dicomFile.getDicomType().getDicomTypeDescription()));
+		} else {
+			rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.category")).append(separator).append("N/D");
+		}
+		rv.append(" <br>");
+		rv.append("</html>");
+		return rv.toString();
+	}
+
+	private static String sanitize(String val) {
+		if (isValorized(val)) {
+			return val;
+		} else {
+			return "";
+		}
+	}
+
+	private static boolean isValorized(String val) {
+		return (val != null && val.trim().length() > 0);
+	}
+}
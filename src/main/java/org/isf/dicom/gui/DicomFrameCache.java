@@ -0,0 +1,255 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.dcm4che3.data.Attributes;
+import org.isf.dicom.model.FileDicom;
+import org.isf.utils.exception.OHServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decoded DICOM frames of a patient, least recently used first evicted once they take more than the maximum size.
+ * <p>
+ * Frames are identified by the id of their {@link FileDicom} and their index in the file. Frames can be prefetched
+ * in background, one at a time, while the current one is shown.
+ */
+class DicomFrameCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DicomFrameCache.class);
+
+	static final long MAX_BYTES = 256L * 1024 * 1024;
+
+	private final long maxBytes;
+	private final Map<FrameKey, Frame> frames = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+	private int generation;
+	private final Set<FrameKey> prefetching = ConcurrentHashMap.newKeySet();
+	private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "dicom-frame-prefetch");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	DicomFrameCache() {
+		this(MAX_BYTES);
+	}
+
+	DicomFrameCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Returns the frame, decoding it with the loader if it is not cached.
+	 *
+	 * @param fileId the id of the file
+	 * @param frame the index of the frame in the file
+	 * @param loader decodes the frame if not cached
+	 * @return the frame, or {@code null} if the loader could not decode it
+	 * @throws OHServiceException if the loader fails
+	 */
+	Frame get(long fileId, int frame, FrameLoader loader) throws OHServiceException {
+		FrameKey key = new FrameKey(fileId, frame);
+		Frame cached = getCached(key);
+		if (cached != null) {
+			return cached;
+		}
+		int loadGeneration = getGeneration();
+		Frame loaded = loader.load(fileId, frame);
+		if (loaded != null) {
+			put(key, loaded, loadGeneration);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Decodes the frame in background, if it is not already cached or being decoded.
+	 *
+	 * @param fileId the id of the file
+	 * @param frame the index of the frame in the file
+	 * @param loader decodes the frame
+	 */
+	void prefetch(long fileId, int frame, FrameLoader loader) {
+		FrameKey key = new FrameKey(fileId, frame);
+		if (prefetcher.isShutdown() || getCached(key) != null || !prefetching.add(key)) {
+			return;
+		}
+		int loadGeneration = getGeneration();
+		prefetcher.execute(() -> {
+			try {
+				if (getCached(key) == null && loadGeneration == getGeneration()) {
+					Frame loaded = loader.load(fileId, frame);
+					if (loaded != null) {
+						put(key, loaded, loadGeneration);
+					}
+				}
+			} catch (OHServiceException | RuntimeException exception) {
+				LOGGER.warn("Unable to prefetch DICOM frame {} of file {}: {}", frame, fileId, exception.getMessage());
+			} finally {
+				prefetching.remove(key);
+			}
+		});
+	}
+
+	boolean contains(long fileId, int frame) {
+		return getCached(new FrameKey(fileId, frame)) != null;
+	}
+
+	/**
+	 * Empties the cache, frames being prefetched are discarded when ready.
+	 */
+	synchronized void clear() {
+		frames.clear();
+		bytes = 0;
+		generation++;
+	}
+
+	/**
+	 * Stops the prefetching thread and empties the cache; frames can still be decoded with {@link #get}.
+	 */
+	void shutdown() {
+		prefetcher.shutdownNow();
+		clear();
+	}
+
+	synchronized long getSizeInBytes() {
+		return bytes;
+	}
+
+	private synchronized Frame getCached(FrameKey key) {
+		return frames.get(key);
+	}
+
+	private synchronized int getGeneration() {
+		return generation;
+	}
+
+	private synchronized void put(FrameKey key, Frame frame, int loadGeneration) {
+		if (loadGeneration != generation) {
+			return;
+		}
+		Frame previous = frames.put(key, frame);
+		if (previous != null) {
+			bytes -= previous.getSizeInBytes();
+		}
+		bytes += frame.getSizeInBytes();
+		Iterator<Frame> eldest = frames.values().iterator();
+		while (bytes > maxBytes && frames.size() > 1) {
+			bytes -= eldest.next().getSizeInBytes();
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Decodes a frame.
+	 */
+	@FunctionalInterface
+	interface FrameLoader {
+
+		Frame load(long fileId, int frame) throws OHServiceException;
+	}
+
+	/**
+	 * A decoded frame with the details of its file and its zoom pyramid.
+	 */
+	static class Frame {
+
+		private final FileDicom details;
+		private final BufferedImage image;
+		private final Attributes attributes;
+		private final ZoomPyramid pyramid;
+
+		/**
+		 * @param details the file
+		 * @param image the decoded image
+		 * @param attributes the DICOM attributes, {@code null} for JPEG files
+		 */
+		Frame(FileDicom details, BufferedImage image, Attributes attributes) {
+			this.details = details;
+			this.image = image;
+			this.attributes = attributes;
+			this.pyramid = new ZoomPyramid(image);
+		}
+
+		FileDicom getDetails() {
+			return details;
+		}
+
+		BufferedImage getImage() {
+			return image;
+		}
+
+		Attributes getAttributes() {
+			return attributes;
+		}
+
+		ZoomPyramid getPyramid() {
+			return pyramid;
+		}
+
+		/**
+		 * @return the size of the image and of the levels of its pyramid, which never exceed the image itself
+		 */
+		long getSizeInBytes() {
+			return 2 * ZoomPyramid.sizeOf(image);
+		}
+	}
+
+	private static class FrameKey {
+
+		private final long fileId;
+		private final int frame;
+
+		FrameKey(long fileId, int frame) {
+			this.fileId = fileId;
+			this.frame = frame;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof FrameKey)) {
+				return false;
+			}
+			FrameKey other = (FrameKey) obj;
+			return fileId == other.fileId && frame == other.frame;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fileId, frame);
+		}
+	}
+
+}
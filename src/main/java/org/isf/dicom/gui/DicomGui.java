@@ -375,6 +375,8 @@ public class DicomGui extends ModalJFrame implements WindowListener {
 	 */
 	@Override
 	public void windowClosed(WindowEvent e) {
+		((DicomViewGui) jPanelDetail).dispose();
+		thumbnail.dispose();
 		this.setVisible(false);
 		this.dispose();
 	}
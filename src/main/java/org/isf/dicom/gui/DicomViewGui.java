@@ -28,26 +28,29 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.GridLayout;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.sql.Blob;
+import java.sql.SQLException;
 import java.text.DateFormat;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
 
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
 import javax.imageio.stream.ImageInputStream;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
-import javax.swing.ImageIcon;
-import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JSlider;
+import javax.swing.SwingWorker;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -55,16 +58,13 @@ import javax.swing.event.ChangeListener;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.imageio.plugins.dcm.DicomImageReadParam;
-import org.dcm4che3.io.DicomInputStream;
-import org.dcm4che3.util.SafeClose;
+import org.dcm4che3.imageio.plugins.dcm.DicomMetaData;
 import org.imgscalr.Scalr;
 import org.isf.dicom.manager.DicomManagerFactory;
 import org.isf.dicom.model.FileDicom;
 import org.isf.generaldata.MessageBundle;
 import org.isf.patient.model.Patient;
-import org.isf.utils.exception.OHDicomException;
 import org.isf.utils.exception.OHServiceException;
-import org.isf.utils.exception.model.OHExceptionMessage;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.time.Converters;
 import org.slf4j.Logger;
@@ -91,9 +91,19 @@ public class DicomViewGui extends JPanel {
 	// status of frame
 	private int frameIndex;
 	private BufferedImage tmpImg;
+	private ZoomPyramid pyramid;
+	private final DicomFrameCache frameCache = new DicomFrameCache();
 	private Attributes attributes;
 	private FileDicom tmpDbFile;
 
+	// zoom in progress, for images too large to be scaled on the EDT
+	private SwingWorker<BufferedImage, Void> scaleWorker;
+	private int scalingPercent;
+
+	// profile photo of ohPatient, as drawn on the image
+	private Patient photoPatient;
+	private BufferedImage patientPhoto;
+
 	private JPanel jPanelCenter;
 	private JSlider jSliderZoom;
 	private JSlider jSliderFrame;
@@ -103,8 +113,10 @@ public class DicomViewGui extends JPanel {
 	private int y = -1;
 	private int totX = -1;
 	private int totY = -1;
+	private boolean center = true;
 	private static final Color colScr = Color.LIGHT_GRAY;
 	private static final int VGAP = 15;
+	private static final int SYNC_SCALE_MAX_PIXELS = 1024 * 1024;
 
 	/**
 	 * Construct a new detail for DICOM image
@@ -143,6 +155,9 @@ public class DicomViewGui extends JPanel {
 
 	public void notifyChanges(Patient patient, String serieNumber) {
 
+		if (patient.getCode() != patID) {
+			frameCache.clear();
+		}
 		this.patID = patient.getCode();
 		this.ohPatient = patient;
 		this.serieNumber = serieNumber;
@@ -183,9 +198,8 @@ public class DicomViewGui extends JPanel {
 		jSliderZoom.addChangeListener(new ZoomListener());
 		jPanelHeader.setBackground(Color.BLACK);
 
+		jPanelCenter = new DicomImagePanel();
 		if (patID <= 0) {
-			// center = new JScrollPane();
-			jPanelCenter = new JPanel();
 			jSliderFrame.setEnabled(false);
 			jSliderZoom.setEnabled(false);
 		} else {
@@ -202,9 +216,7 @@ public class DicomViewGui extends JPanel {
 				jSliderFrame.setEnabled(false);
 			}
 
-			jPanelCenter = new JPanel();
-
-			jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), true));
+			center = true;
 		}
 
 		jPanelCenter.setBackground(Color.BLACK);
@@ -232,7 +244,6 @@ public class DicomViewGui extends JPanel {
 
 	void reInitComponent() {
 		if (patID <= 0) {
-			jPanelCenter = new JPanel();
 			jSliderFrame.setEnabled(false);
 			jSliderZoom.setEnabled(false);
 		} else {
@@ -252,9 +263,8 @@ public class DicomViewGui extends JPanel {
 				jSliderFrame.setEnabled(false);
 			}
 
-			jPanelCenter.removeAll();
-			jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), true));
-			validate();
+			center = true;
+			jPanelCenter.repaint();
 		}
 		jSliderFrame.setValue(0);
 		jSliderZoom.setValue(100);
@@ -263,28 +273,18 @@ public class DicomViewGui extends JPanel {
 	// DRAWS METHODS
 
 	/**
-	 * Compose the panel of central image
-	 * 
-	 * @return the panel
+	 * Draws the central image, zoomed and panned, with its information
 	 */
-	private JPanel composeCenter(int w, int h, boolean calculate) {
+	private void paintCenter(Graphics2D canvas, int w, int h) {
 
-		JPanel centerPanel = new JPanel(new BorderLayout(), true);
-		BufferedImage imageCanvas = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-		centerPanel.setBackground(Color.BLACK);
 		int perc = jSliderZoom.getValue();
-		float value = (float) tmpImg.getWidth() * (float) perc / 100f;
-		BufferedImage immagineResized = Scalr.resize(tmpImg, Math.round(value));
-
-		Graphics2D canvas = (Graphics2D) imageCanvas.getGraphics();
+		int width = pyramid.getScaledWidth(perc);
+		int height = pyramid.getScaledHeight(perc);
 
-		// design on canvas
-		int width = immagineResized.getWidth();
-		int height = immagineResized.getHeight();
-
-		if (calculate) {
+		if (center && w > 0 && h > 0) {
 			x = (w - width) / 2;
 			y = (h - height) / 2;
+			center = false;
 		}
 
 		totX = x - (p1x - p2x);
@@ -297,26 +297,82 @@ public class DicomViewGui extends JPanel {
 			totY = -height;
 		}
 
-		if (totX > imageCanvas.getWidth()) {
-			totX = imageCanvas.getWidth();
+		if (totX > w) {
+			totX = w;
 		}
 
-		if (totY > imageCanvas.getHeight()) {
-			totY = imageCanvas.getHeight();
+		if (totY > h) {
+			totY = h;
+		}
+
+		BufferedImage immagineResized = getScaledImage(perc);
+		if (immagineResized.getWidth() == width && immagineResized.getHeight() == height) {
+			canvas.drawImage(immagineResized, totX, totY, this);
+		} else {
+			// stretch the closest image until the zoomed one is ready
+			Graphics2D preview = (Graphics2D) canvas.create();
+			preview.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			preview.drawImage(immagineResized, totX, totY, width, height, this);
+			preview.dispose();
 		}
 
-		canvas.drawImage(immagineResized, totX, totY, this);
-		
 		// draws info
-		drawPatientUpRight(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
-		drawInfoFrameBottomLeft(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
-		drawStudyUpRight(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
-		drawSerieBottomRight(canvas, imageCanvas.getWidth(), imageCanvas.getHeight());
+		drawPatientUpRight(canvas, w, h);
+		drawInfoFrameBottomLeft(canvas, w, h);
+		drawStudyUpRight(canvas, w, h);
+		drawSerieBottomRight(canvas, w, h);
+	}
+
+	/**
+	 * Returns the image zoomed at {@code perc}: small images are scaled right away, large ones in background while the
+	 * closest available image is returned.
+	 */
+	private BufferedImage getScaledImage(int perc) {
+		BufferedImage image = pyramid.getCached(perc);
+		if (image != null) {
+			return image;
+		}
+		if ((long) pyramid.getScaledWidth(perc) * pyramid.getScaledHeight(perc) <= SYNC_SCALE_MAX_PIXELS
+						&& (long) tmpImg.getWidth() * tmpImg.getHeight() <= SYNC_SCALE_MAX_PIXELS) {
+			return pyramid.getScaled(perc);
+		}
+		startScaling(pyramid, perc);
+		return pyramid.getPreview(perc);
+	}
+
+	private void startScaling(ZoomPyramid target, int perc) {
+		if (scaleWorker != null && !scaleWorker.isDone()) {
+			if (scalingPercent == perc) {
+				return;
+			}
+			scaleWorker.cancel(false);
+		}
+		scalingPercent = perc;
+		scaleWorker = new SwingWorker<BufferedImage, Void>() {
 
-		JLabel centerImgLabel = new JLabel(new ImageIcon(imageCanvas));
-		centerPanel.add(centerImgLabel, BorderLayout.CENTER);
+			@Override
+			protected BufferedImage doInBackground() {
+				return target.getScaled(perc);
+			}
 
-		return centerPanel;
+			@Override
+			protected void done() {
+				if (isCancelled()) {
+					return;
+				}
+				try {
+					get();
+				} catch (InterruptedException interruptedException) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException executionException) {
+					LOGGER.error(executionException.getMessage(), executionException.getCause());
+				}
+				if (target == pyramid) {
+					jPanelCenter.repaint();
+				}
+			}
+		};
+		scaleWorker.execute();
 	}
 
 	private void drawQuadrant(Graphics g, int h, int w, Color c) {
@@ -367,19 +423,34 @@ public class DicomViewGui extends JPanel {
 		}
 		canvas.drawString(MessageBundle.getMessage("angal.common.age.txt") + " : " + txt, 10, hi);
 
-		if (ohPatient.getPatientProfilePhoto() != null) {
-			final Image photoAsImage = ohPatient.getPatientProfilePhoto().getPhotoAsImage();
-			if (photoAsImage != null) {
-				hi += VGAP;
-				BufferedImage bi = new BufferedImage(photoAsImage.getWidth(this), photoAsImage.getHeight(this), BufferedImage.TYPE_INT_ARGB);
-				bi.getGraphics().drawImage(photoAsImage, 0, 0, this);
-				drawQuadrant(bi.getGraphics(), photoAsImage.getHeight(this), photoAsImage.getWidth(this), Color.WHITE);
-				canvas.drawImage(Scalr.resize(bi, 100), 10, hi, this);
-			}
+		BufferedImage photo = getPatientPhoto();
+		if (photo != null) {
+			hi += VGAP;
+			canvas.drawImage(photo, 10, hi, this);
 		}
 		canvas.setColor(orig);
 	}
 
+	/**
+	 * @return the framed and resized profile photo of the patient, computed once per patient
+	 */
+	private BufferedImage getPatientPhoto() {
+		if (photoPatient != ohPatient) {
+			photoPatient = ohPatient;
+			patientPhoto = null;
+			if (ohPatient.getPatientProfilePhoto() != null) {
+				final Image photoAsImage = ohPatient.getPatientProfilePhoto().getPhotoAsImage();
+				if (photoAsImage != null) {
+					BufferedImage bi = new BufferedImage(photoAsImage.getWidth(this), photoAsImage.getHeight(this), BufferedImage.TYPE_INT_ARGB);
+					bi.getGraphics().drawImage(photoAsImage, 0, 0, this);
+					drawQuadrant(bi.getGraphics(), photoAsImage.getHeight(this), photoAsImage.getWidth(this), Color.WHITE);
+					patientPhoto = Scalr.resize(bi, 100);
+				}
+			}
+		}
+		return patientPhoto;
+	}
+
 	private void drawInfoFrameBottomLeft(Graphics2D canvas, int w, int h) {
 		Color orig = canvas.getColor();
 		int hi = h - 20;
@@ -449,89 +520,131 @@ public class DicomViewGui extends JPanel {
 	}
 
 	/**
-	 * Load actual frame from storage
+	 * Load actual frame from the cache, or from storage, and prefetch the adjacent ones
 	 */
 	private void refreshFrame() {
-		Long id = frames[frameIndex];
+		if (pyramid != null) {
+			pyramid.releaseScaled();
+		}
+		DicomFrameCache.FrameLoader loader = frameLoader();
+		DicomFrameCache.Frame frame = null;
 		try {
-			tmpDbFile = DicomManagerFactory.getManager().loadDetails(id, patID, serieNumber);
-			String fileType = tmpDbFile.getFileName().substring(tmpDbFile.getFileName().lastIndexOf('.')+1);
-			if (fileType.equalsIgnoreCase("jpg") || fileType.equalsIgnoreCase("jpeg")) {
-				getImageFromJPG(tmpDbFile);
-			} else if (fileType.equalsIgnoreCase("dcm")) {
-				getImageFromDicom(tmpDbFile);
-			}
+			frame = frameCache.get(frames[frameIndex], 0, loader);
 		} catch(OHServiceException ohServiceException) {
 			MessageDialog.showExceptions(ohServiceException);
 		}
+		if (frame != null) {
+			tmpDbFile = frame.getDetails();
+			tmpImg = frame.getImage();
+			attributes = frame.getAttributes();
+			pyramid = frame.getPyramid();
+		} else {
+			tmpImg = null;
+			pyramid = null;
+		}
+		if (frameIndex + 1 < frames.length) {
+			frameCache.prefetch(frames[frameIndex + 1], 0, loader);
+		}
+		if (frameIndex > 0) {
+			frameCache.prefetch(frames[frameIndex - 1], 0, loader);
+		}
 	}
-	
+
+	/**
+	 * @return a loader of the frames of the current patient and serie
+	 */
+	private DicomFrameCache.FrameLoader frameLoader() {
+		int patientId = patID;
+		String serie = serieNumber;
+		return (fileId, frame) -> loadFrame(fileId, frame, patientId, serie);
+	}
+
+	/**
+	 * Load a frame from storage, reading its data only once
+	 * 
+	 * @return the frame, or {@code null} if it cannot be decoded
+	 */
+	private static DicomFrameCache.Frame loadFrame(long fileId, int frame, int patientId, String serie) throws OHServiceException {
+		FileDicom dett = DicomManagerFactory.getManager().loadDetails(fileId, patientId, serie);
+		String fileType = dett.getFileName().substring(dett.getFileName().lastIndexOf('.')+1);
+		if (fileType.equalsIgnoreCase("jpg") || fileType.equalsIgnoreCase("jpeg")) {
+			return getImageFromJPG(dett);
+		} else if (fileType.equalsIgnoreCase("dcm")) {
+			return getImageFromDicom(dett, frame);
+		}
+		return null;
+	}
+
 	/**
-	 * Get the BufferedImage from JPG/JPEG object
+	 * Read in memory the content of the file
 	 * 
 	 * @param dett
+	 * @return the content, or {@code null} if it cannot be read
 	 */
-	private void getImageFromJPG(FileDicom dett) {
+	private static byte[] readData(FileDicom dett) {
 		try {
-			tmpImg = null;
-			ImageInputStream imageInputStream = ImageIO.createImageInputStream(dett.getDicomData().getData().getBinaryStream());
-			try {
-				tmpImg = ImageIO.read(imageInputStream);
-			} catch (IOException ioException) {
-				throw new OHDicomException(
-						new OHExceptionMessage(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", dett.getFileName())));
-			}
-			//imageInputStream.close();
-			this.attributes = null;
-		} catch (Exception exception) {
-			LOGGER.error(exception.getMessage(), exception);
+			Blob blob = dett.getDicomData().getData();
+			return blob.getBytes(1, (int) blob.length());
+		} catch (SQLException sqlException) {
+			LOGGER.error(sqlException.getMessage(), sqlException);
+			return null;
 		}
 	}
 	
 	/**
-	 * Get the BufferedImage from DICOM object
+	 * Get the frame from JPG/JPEG object
 	 * 
 	 * @param dett
 	 */
-	private void getImageFromDicom(FileDicom dett) {
-		ImageInputStream imageInputStream = null;
-		DicomInputStream dicomInputStream = null;
+	private static DicomFrameCache.Frame getImageFromJPG(FileDicom dett) {
+		byte[] data = readData(dett);
+		if (data == null) {
+			return null;
+		}
 		try {
-			tmpImg = null;
-			Iterator<?> iter = ImageIO.getImageReadersByFormatName("DICOM");
-			ImageReader reader = (ImageReader) iter.next();
-			DicomImageReadParam param = (DicomImageReadParam) reader.getDefaultReadParam();
-			imageInputStream = ImageIO.createImageInputStream(dett.getDicomData().getData().getBinaryStream());
+			BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+			return image != null ? new DicomFrameCache.Frame(dett, image, null) : null;
+		} catch (IOException ioException) {
+			LOGGER.error(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", dett.getFileName()), ioException);
+			return null;
+		}
+	}
+	
+	/**
+	 * Get the frame from DICOM object: pixels and attributes are parsed by the same reader from the same data
+	 * 
+	 * @param dett
+	 * @param frame the index of the frame in the file
+	 */
+	private static DicomFrameCache.Frame getImageFromDicom(FileDicom dett, int frame) {
+		byte[] data = readData(dett);
+		if (data == null) {
+			return null;
+		}
+		ImageReader reader = ImageIO.getImageReadersByFormatName("DICOM").next();
+		try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
 			reader.setInput(imageInputStream, false);
-
-			try {
-				tmpImg = reader.read(0, param);
-			} catch (IOException ioException) {
-				throw new OHDicomException(
-						new OHExceptionMessage(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", dett.getFileName())));
-			}
-			dicomInputStream = new DicomInputStream(dett.getDicomData().getData().getBinaryStream());
-			this.attributes = dicomInputStream.readDataset();
-		} catch (Exception exception) {
-			LOGGER.error(exception.getMessage(), exception);
+			DicomImageReadParam param = (DicomImageReadParam) reader.getDefaultReadParam();
+			BufferedImage image = reader.read(frame, param);
+			Attributes dataset = ((DicomMetaData) reader.getStreamMetadata()).getAttributes();
+			return new DicomFrameCache.Frame(dett, image, dataset);
+		} catch (IOException ioException) {
+			LOGGER.error(MessageBundle.formatMessage("angal.dicom.thefileisnotindicomformat.fmt.msg", dett.getFileName()), ioException);
+			return null;
 		} finally {
-			SafeClose.close(imageInputStream);
-			SafeClose.close(dicomInputStream);
+			reader.dispose();
 		}
 	}
 
 	private void refreshPan() {
 
-		jPanelCenter.removeAll();
-		jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), false));
-		validate();
+		jPanelCenter.repaint();
 	}
 
 	private void refreshZoom() {
 
-		jPanelCenter.removeAll();
-		jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), true));
-		validate();
+		center = true;
+		jPanelCenter.repaint();
 	}
 
 	/**
@@ -545,9 +658,7 @@ public class DicomViewGui extends JPanel {
 		refreshFrame();
 
 		resetMouseRelativePosition();
-		jPanelCenter.removeAll();
-		jPanelCenter.add(composeCenter(jPanelCenter.getWidth(), jPanelCenter.getHeight(), false));
-		validate();
+		jPanelCenter.repaint();
 	}
 
 	class ZoomListener implements ChangeListener {
@@ -693,9 +804,37 @@ public class DicomViewGui extends JPanel {
 	}
 
 	public void clear() {
-		jPanelCenter.removeAll();
+		pyramid = null;
 		jPanelCenter.repaint();
 		
 	}
 
+	/**
+	 * Releases the decoded frames and the thread prefetching them, when the window is closed.
+	 */
+	public void dispose() {
+		frameCache.shutdown();
+	}
+
+	/**
+	 * Panel of the central image: zoom and pan only change what is drawn, the panel itself is never rebuilt
+	 */
+	class DicomImagePanel extends JPanel {
+
+		private static final long serialVersionUID = 1L;
+
+		DicomImagePanel() {
+			super(null, true);
+			setBackground(Color.BLACK);
+		}
+
+		@Override
+		protected void paintComponent(Graphics g) {
+			super.paintComponent(g);
+			if (pyramid != null && ohPatient != null) {
+				paintCenter((Graphics2D) g, getWidth(), getHeight());
+			}
+		}
+	}
+
 }
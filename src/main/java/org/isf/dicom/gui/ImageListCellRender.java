@@ -0,0 +1,99 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.function.Function;
+
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+
+import org.isf.dicom.model.FileDicom;
+import org.isf.generaldata.MessageBundle;
+
+/**
+ * Renderer of a cell of the list of thumbnails
+ */
+class ImageListCellRender extends DicomCellRender {
+
+	static final Dimension THUMBNAIL_SIZE = new Dimension(130, 110);
+
+	private final Function<FileDicom, ImageIcon> thumbnails;
+	private final JLabel top = label(Color.LIGHT_GRAY);
+	private final JLabel image = label(null);
+
+	/**
+	 * @param thumbnails the thumbnail of a file, {@code null} while it is not available
+	 */
+	ImageListCellRender(Function<FileDicom, ImageIcon> thumbnails) {
+		super(true);
+		this.thumbnails = thumbnails;
+		panel.setBackground(Color.DARK_GRAY);
+		header.add(top, BorderLayout.SOUTH);
+		image.setPreferredSize(THUMBNAIL_SIZE);
+		image.setMaximumSize(THUMBNAIL_SIZE);
+		image.setVerticalTextPosition(SwingConstants.BOTTOM);
+		image.setHorizontalTextPosition(SwingConstants.CENTER);
+		panel.add(image, BorderLayout.CENTER);
+	}
+
+	/**
+	 * @param thumbnail a decoded thumbnail, may be {@code null}
+	 * @return the thumbnail scaled down to fit in {@link #THUMBNAIL_SIZE}, so that it is painted as it is
+	 */
+	static BufferedImage fitThumbnail(BufferedImage thumbnail) {
+		if (thumbnail == null || (thumbnail.getWidth() <= THUMBNAIL_SIZE.width && thumbnail.getHeight() <= THUMBNAIL_SIZE.height)) {
+			return thumbnail;
+		}
+		double ratio = Math.min((double) THUMBNAIL_SIZE.width / thumbnail.getWidth(), (double) THUMBNAIL_SIZE.height / thumbnail.getHeight());
+		int width = Math.max(1, (int) Math.round(thumbnail.getWidth() * ratio));
+		int height = Math.max(1, (int) Math.round(thumbnail.getHeight() * ratio));
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = scaled.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(thumbnail, 0, 0, width, height, null);
+		} finally {
+			graphics.dispose();
+		}
+		return scaled;
+	}
+
+	@Override
+	protected Dimension computeCellSize() {
+		top.setText(MessageBundle.getMessage("angal.common.notdefined.txt"));
+		return panel.getPreferredSize();
+	}
+
+	@Override
+	protected void setInstance(FileDicom instance, DicomCellText text) {
+		top.setText(text.getDescription());
+		// decoded in background the first time the cell is shown
+		image.setIcon(thumbnails.apply(instance));
+	}
+}
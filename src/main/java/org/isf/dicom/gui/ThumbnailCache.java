@@ -0,0 +1,188 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thumbnails decoded in background when first requested, most recently used kept up to {@link #MAX_THUMBNAILS}.
+ * <p>
+ * Requests are served newest first and only the last {@link #MAX_PENDING} are kept, so that after a scroll the
+ * visible thumbnails are decoded before the ones that have been scrolled away. Apart from the decoding,
+ * everything happens on the Event Dispatch Thread.
+ *
+ * @param <K> the key of a thumbnail
+ */
+class ThumbnailCache<K> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailCache.class);
+
+	static final int MAX_THUMBNAILS = 256;
+	static final int MAX_PENDING = 64;
+
+	private final Function<K, BufferedImage> decoder;
+	private final Runnable onLoaded;
+	private final int maxThumbnails;
+	private final Map<K, ImageIcon> icons;
+	private final Deque<K> pending = new ArrayDeque<>();
+	private boolean decoding;
+	private int generation;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "dicom-thumbnail-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * @param decoder decodes the thumbnail of a key, in background
+	 * @param onLoaded called on the Event Dispatch Thread when thumbnails become available
+	 */
+	ThumbnailCache(Function<K, BufferedImage> decoder, Runnable onLoaded) {
+		this(decoder, onLoaded, MAX_THUMBNAILS);
+	}
+
+	ThumbnailCache(Function<K, BufferedImage> decoder, Runnable onLoaded, int maxThumbnails) {
+		this.decoder = decoder;
+		this.onLoaded = onLoaded;
+		this.maxThumbnails = maxThumbnails;
+		this.icons = new LinkedHashMap<K, ImageIcon>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, ImageIcon> eldest) {
+				return size() > ThumbnailCache.this.maxThumbnails;
+			}
+		};
+	}
+
+	/**
+	 * @param key the key of the thumbnail
+	 * @return the thumbnail, or {@code null} if it is not decoded yet (it will be and {@code onLoaded} will be called)
+	 *         or cannot be decoded
+	 */
+	ImageIcon get(K key) {
+		ImageIcon icon = icons.get(key);
+		if (icon == null && !icons.containsKey(key)) {
+			request(key);
+		}
+		return icon;
+	}
+
+	/**
+	 * Forgets all thumbnails, those being decoded are discarded.
+	 */
+	void clear() {
+		icons.clear();
+		synchronized (pending) {
+			pending.clear();
+			generation++;
+		}
+	}
+
+	/**
+	 * Stops the decoding thread and forgets all thumbnails; no thumbnail is decoded anymore.
+	 */
+	void shutdown() {
+		executor.shutdownNow();
+		clear();
+	}
+
+	int size() {
+		return icons.size();
+	}
+
+	private void request(K key) {
+		synchronized (pending) {
+			if (executor.isShutdown()) {
+				return;
+			}
+			if (pending.contains(key)) {
+				return;
+			}
+			pending.addLast(key);
+			if (pending.size() > MAX_PENDING) {
+				pending.removeFirst();
+			}
+			if (!decoding) {
+				decoding = true;
+				executor.execute(this::decodePending);
+			}
+		}
+	}
+
+	private void decodePending() {
+		while (true) {
+			K key;
+			int keyGeneration;
+			synchronized (pending) {
+				key = pending.peekLast();
+				if (key == null) {
+					decoding = false;
+					return;
+				}
+				keyGeneration = generation;
+			}
+			ImageIcon icon = null;
+			try {
+				BufferedImage image = decoder.apply(key);
+				if (image != null) {
+					icon = new ImageIcon(image);
+				}
+			} catch (RuntimeException exception) {
+				LOGGER.warn("Unable to decode thumbnail: {}", exception.getMessage());
+			}
+			ImageIcon decoded = icon;
+			synchronized (pending) {
+				pending.remove(key);
+			}
+			SwingUtilities.invokeLater(() -> loaded(key, decoded, keyGeneration));
+		}
+	}
+
+	private void loaded(K key, ImageIcon icon, int keyGeneration) {
+		synchronized (pending) {
+			if (keyGeneration != generation) {
+				return;
+			}
+		}
+		// thumbnails that cannot be decoded are remembered as null, not to decode them again
+		icons.put(key, icon);
+		if (icon != null) {
+			onLoaded.run();
+		}
+	}
+
+}
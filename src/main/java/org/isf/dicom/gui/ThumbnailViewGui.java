@@ -21,37 +21,29 @@
  */
 package org.isf.dicom.gui;
 
-import static org.isf.utils.Constants.DATE_FORMAT_DD_MM_YYYY_HH_MM;
-
-import java.awt.BorderLayout;
 import java.awt.Color;
-import java.awt.Component;
-import java.awt.Dimension;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.AbstractListModel;
-import javax.swing.BorderFactory;
 import javax.swing.DefaultListSelectionModel;
-import javax.swing.ImageIcon;
-import javax.swing.JLabel;
 import javax.swing.JList;
-import javax.swing.JPanel;
-import javax.swing.ListCellRenderer;
 import javax.swing.ListSelectionModel;
-import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
 
 import org.isf.dicom.manager.AbstractThumbnailViewGui;
 import org.isf.dicom.manager.DicomManagerFactory;
 import org.isf.dicom.model.FileDicom;
 import org.isf.generaldata.GeneralData;
-import org.isf.generaldata.MessageBundle;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.jobjects.MessageDialog;
-import org.isf.utils.time.TimeTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Component for DICOM thumbnails composition and visualization
@@ -62,9 +54,14 @@ import org.isf.utils.time.TimeTools;
 public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 
 	private static final long serialVersionUID = 1L;
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailViewGui.class);
 	private int patID;
 	private DicomGui dicomViewer;
 	private DicomThumbsModel dicomThumbsModel;
+	private final ThumbnailCache<FileDicom> thumbnailCache = new ThumbnailCache<>(
+					instance -> ImageListCellRender.fitThumbnail(instance.getDicomThumbnailAsImage()), this::repaint);
+	private final DicomCellRender cellRender;
+	private SwingWorker<FileDicom[], Void> loader;
 	boolean thumbnailViewEnabled = true;
 	boolean thumbnails;
 
@@ -84,13 +81,14 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 
 		setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 		setBackground(Color.DARK_GRAY);
+		// fixed cell sizes, so that only the visible cells are ever rendered
+		cellRender = thumbnails ? new ImageListCellRender(thumbnailCache::get) : new CellListCellRender();
+		setCellRenderer(cellRender);
+		setFixedCellWidth(cellRender.getCellSize().width);
+		setFixedCellHeight(cellRender.getCellSize().height);
 		if (thumbnails) {
-			setCellRenderer(new ImageListCellRender());
 			setLayoutOrientation(JList.VERTICAL);
 		}
-		else {
-			setCellRenderer(new CellListCellRender());
-		}
 
 		getSelectionModel().addListSelectionListener(selectionEvent -> {
 			if (thumbnailViewEnabled && !selectionEvent.getValueIsAdjusting()) {
@@ -156,32 +154,68 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 		dicomViewer.detail();
 	}
 
-	private void loadDicomFromDB() {
-		FileDicom[] fdb = null;
-		try {
-			fdb = DicomManagerFactory.getManager().loadPatientFiles(patID);
-		} catch(OHServiceException ohServiceException) {
-			MessageDialog.showExceptions(ohServiceException);
+	/**
+	 * Stops loading the files and decoding their thumbnails, when the window is closed
+	 */
+	public void dispose() {
+		if (loader != null) {
+			loader.cancel(true);
 		}
-		if (fdb == null) {
-			fdb = new FileDicom[0];
+		thumbnailCache.shutdown();
+	}
+
+	/**
+	 * Load the files of the patient in background, their thumbnails are decoded only when shown
+	 */
+	private void loadDicomFromDB() {
+		if (loader != null) {
+			loader.cancel(true);
 		}
 
 		dicomThumbsModel.clear();
+		cellRender.clear();
 
-		for (FileDicom fileDicom : fdb) {
-			dicomThumbsModel.addInstance(fileDicom);
-		}
+		loader = new SwingWorker<FileDicom[], Void>() {
+
+			@Override
+			protected FileDicom[] doInBackground() throws OHServiceException {
+				return DicomManagerFactory.getManager().loadPatientFiles(patID);
+			}
+
+			@Override
+			protected void done() {
+				if (isCancelled()) {
+					return;
+				}
+				FileDicom[] fdb = null;
+				try {
+					fdb = get();
+				} catch (InterruptedException interruptedException) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException executionException) {
+					if (executionException.getCause() instanceof OHServiceException) {
+						MessageDialog.showExceptions((OHServiceException) executionException.getCause());
+					} else {
+						LOGGER.error(executionException.getMessage(), executionException.getCause());
+					}
+				}
+				if (fdb == null) {
+					fdb = new FileDicom[0];
+				}
+				dicomThumbsModel.setInstances(fdb);
+			}
+		};
+		loader.execute();
 	}
 
 	public static class DicomThumbsModel extends AbstractListModel {
 
 		private static final long serialVersionUID = 1L;
-		private LinkedList<FileDicom> thumbnailList;
+		private List<FileDicom> thumbnailList;
 
 		public DicomThumbsModel() {
 
-			thumbnailList = new LinkedList<>();
+			thumbnailList = new ArrayList<>();
 
 		}
 
@@ -200,9 +234,22 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 		}
 
 		public void addInstance(FileDicom instance) {
-			thumbnailList.addLast(instance);
+			thumbnailList.add(instance);
 			int size = thumbnailList.size();
-			fireIntervalAdded(this, size, size);
+			fireIntervalAdded(this, size - 1, size - 1);
+		}
+
+		/**
+		 * Replaces the content of the model with a single event
+		 *
+		 * @param instances
+		 */
+		public void setInstances(FileDicom[] instances) {
+			clear();
+			if (instances.length > 0) {
+				thumbnailList = new ArrayList<>(Arrays.asList(instances));
+				fireIntervalAdded(this, 0, instances.length - 1);
+			}
 		}
 
 		public void clear() {
@@ -214,122 +261,6 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 		}
 
 	}
-	
-	private class CellListCellRender implements ListCellRenderer {
-
-		@Override
-		public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
-
-			FileDicom instance = (FileDicom) value;
-			
-			JPanel panel = new JPanel(new BorderLayout(), false);
-			panel.setPreferredSize(new Dimension(list.getWidth(), 50));
-			//panel.setBackground(Color.DARK_GRAY);
-			panel.setToolTipText(getTooltipText(instance));
-			
-			// Header of thumbnail
-			JPanel header = new JPanel(new BorderLayout(), false);
-			JLabel date = new JLabel(TimeTools.formatDateTime(instance.getDicomStudyDate(), DATE_FORMAT_DD_MM_YYYY_HH_MM));
-			date.setForeground(Color.LIGHT_GRAY);
-			JLabel type = new JLabel(instance.getDicomType() == null ? MessageBundle.getMessage("angal.common.notdefined.txt") : instance.getDicomType().toString());
-			type.setForeground(Color.LIGHT_GRAY);
-			header.add(date, BorderLayout.NORTH);
-			header.add(type, BorderLayout.CENTER);
-			header.setOpaque(false);
-			panel.add(header, BorderLayout.NORTH);
-			
-			// Center
-			JLabel center = new JLabel(instance.getDicomSeriesDescription().toUpperCase());
-			center.setForeground(Color.WHITE);
-			panel.add(center, BorderLayout.CENTER);
-
-			// Footer of thumbnail
-			int frameCount = instance.getFrameCount();
-			if (frameCount > 1) {
-				JLabel frames = new JLabel("[1/" + instance.getFrameCount() + ']');
-				frames.setForeground(Color.YELLOW);
-				panel.add(frames, BorderLayout.SOUTH);
-			}
-
-			// Colors of thumbnail
-			if (isSelected) {
-				header.setBackground(Color.BLUE);
-				panel.setBackground(Color.BLUE);
-				panel.setBorder(BorderFactory.createLineBorder(Color.YELLOW));
-				panel.setForeground(Color.WHITE);
-			} else {
-				header.setBackground(Color.DARK_GRAY);
-				panel.setBackground(Color.DARK_GRAY);
-				panel.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
-				panel.setForeground(Color.LIGHT_GRAY);
-			}
-
-			return panel;
-
-		}
-	}
-
-	private class ImageListCellRender implements ListCellRenderer {
-
-		@Override
-		public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
-
-			FileDicom instance = (FileDicom) value;
-			Dimension dim = new Dimension(130, 110);
-			
-			// Image Cell Panel
-			JPanel panel = new JPanel(new BorderLayout(), true);
-			//panel.setBounds(0, 0, list.getWidth(), 130);
-			panel.setBackground(Color.DARK_GRAY);
-			panel.setToolTipText(getTooltipText(instance));
-
-			// Header of thumbnail
-			JPanel header = new JPanel(new BorderLayout(), false);
-			JLabel date = new JLabel(TimeTools.formatDateTime(instance.getDicomStudyDate(), DATE_FORMAT_DD_MM_YYYY_HH_MM));
-			date.setForeground(Color.LIGHT_GRAY);
-			JLabel type = new JLabel(instance.getDicomType() == null? MessageBundle.getMessage("angal.common.notdefined.txt") : instance.getDicomType().toString());
-			type.setForeground(Color.LIGHT_GRAY);
-			JLabel top = new JLabel(instance.getDicomSeriesDescription().toUpperCase());
-			top.setForeground(Color.LIGHT_GRAY);
-			header.add(date, BorderLayout.NORTH);
-			header.add(type, BorderLayout.CENTER);
-			header.add(top, BorderLayout.SOUTH);
-			panel.add(header, BorderLayout.NORTH);
-			
-			// Image
-			BufferedImage image = instance.getDicomThumbnailAsImage();
-			JLabel jLab = new JLabel(new ImageIcon(image));
-			jLab.setPreferredSize(dim);
-			jLab.setMaximumSize(dim);
-			jLab.setVerticalTextPosition(SwingConstants.BOTTOM);
-			jLab.setHorizontalTextPosition(SwingConstants.CENTER);
-			panel.add(jLab, BorderLayout.CENTER);
-
-			// Footer of thumbnail
-			int frameCount = instance.getFrameCount();
-			if (frameCount > 1) {
-				JLabel frames = new JLabel("[1/" + instance.getFrameCount() + ']');
-				frames.setForeground(Color.YELLOW);
-				panel.add(frames, BorderLayout.SOUTH);
-			}
-
-			// Colors of thumbnail
-			if (isSelected) {
-				header.setBackground(Color.BLUE);
-				panel.setBackground(Color.BLUE);
-				panel.setBorder(BorderFactory.createLineBorder(Color.YELLOW));
-				panel.setForeground(Color.WHITE);
-			} else {
-				header.setBackground(Color.DARK_GRAY);
-				panel.setBackground(Color.DARK_GRAY);
-				panel.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
-				panel.setForeground(Color.LIGHT_GRAY);
-			}
-
-			return panel;
-
-		}
-	}
 
 	public FileDicom getSelectedInstance() {
 		DicomThumbsModel dicomThumbsModel = (DicomThumbsModel) getModel();
@@ -340,44 +271,15 @@ public class ThumbnailViewGui extends AbstractThumbnailViewGui {
 		return dicomThumbsModel;
 	}
 
-	private String getTooltipText(FileDicom dicomFile) {
-		String separator = ": ";
-		String newline = " <br>";
-		StringBuilder rv = new StringBuilder("<html>");
-		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.patient")).append(separator).append(dicomFile.getDicomPatientName());
-		if (isValorized(dicomFile.getDicomPatientAge())) {
-			rv.append('[').append(MessageBundle.getMessage("angal.common.age.txt")).append(separator).append(sanitize(dicomFile.getDicomPatientAge())).append(']');
-		}
-		rv.append(newline);
-		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.modality")).append(separator).append(sanitize(dicomFile.getModality()));
-		rv.append(" <br>");
-		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.sernum")).append(separator).append(sanitize(dicomFile.getDicomSeriesNumber()));
-		rv.append(" <br>");
-		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.study")).append(separator).append(sanitize(dicomFile.getDicomStudyDescription()));
-		rv.append(" <br>");
-		rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.series")).append(separator).append(sanitize(dicomFile.getDicomSeriesDescription()));
-		rv.append(" <br>");
-		rv.append(MessageBundle.getMessage("angal.common.date.txt")).append(separator).append(sanitize(TimeTools.formatDateTime(dicomFile.getDicomSeriesDate(), "dd-MM-yyyy")));
-		rv.append(" <br>");
-		if (dicomFile.getDicomType() != null) {
-			rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.category")).append(separator).append(sanitize(dicomFile.getDicomType().getDicomTypeDescription()));
-		} else {
-			rv.append(MessageBundle.getMessage("angal.dicom.thumbnail.category")).append(separator).append("N/D");
-		}
-		rv.append(" <br>");
-		rv.append("</html>");
-		return rv.toString();
-	}
-
-	private String sanitize(String val) {
-		if (isValorized(val)) {
-			return val;
-		} else {
-			return "";
+	/**
+	 * The tooltip of the cell under the mouse, so that the renderer does not have to set it on every cell
+	 */
+	@Override
+	public String getToolTipText(MouseEvent event) {
+		int index = locationToIndex(event.getPoint());
+		if (index < 0 || !getCellBounds(index, index).contains(event.getPoint())) {
+			return null;
 		}
-	}
-
-	private boolean isValorized(String val) {
-		return (val != null && val.trim().length() > 0);
+		return cellRender.getText((FileDicom) getModel().getElementAt(index)).getTooltip();
 	}
 }
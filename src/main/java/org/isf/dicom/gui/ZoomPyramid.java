@@ -0,0 +1,165 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.imgscalr.Scalr;
+
+/**
+ * The zoomed versions of a DICOM frame, so that the full resolution image is not resized at every zoom or pan.
+ * <p>
+ * The pyramid halves the image down to {@link #MIN_LEVEL_WIDTH}: a zoomed image is resized from the smallest level that is
+ * still wider than it. The last zoomed images are kept, most recently used first, as long as they take less than
+ * {@link #MAX_SCALED_BYTES}.
+ * <p>
+ * {@link #getScaled(int)} may be called from a background thread, the other methods never wait for it.
+ */
+class ZoomPyramid {
+
+	static final int MIN_LEVEL_WIDTH = 256;
+	static final long MAX_SCALED_BYTES = 32L * 1024 * 1024;
+
+	private final BufferedImage original;
+	private volatile List<BufferedImage> levels;
+	private final Map<Integer, BufferedImage> scaled = new LinkedHashMap<>(16, 0.75f, true);
+	private long scaledBytes;
+
+	ZoomPyramid(BufferedImage original) {
+		this.original = original;
+		this.levels = Collections.singletonList(original);
+	}
+
+	BufferedImage getOriginal() {
+		return original;
+	}
+
+	int getScaledWidth(int percent) {
+		return Math.max(1, Math.round(original.getWidth() * percent / 100f));
+	}
+
+	int getScaledHeight(int percent) {
+		return Math.max(1, Math.round(original.getHeight() * percent / 100f));
+	}
+
+	/**
+	 * @param percent the zoom
+	 * @return the image zoomed at {@code percent}, or {@code null} if it has not been computed yet
+	 */
+	BufferedImage getCached(int percent) {
+		synchronized (scaled) {
+			return scaled.get(percent);
+		}
+	}
+
+	/**
+	 * @param percent the zoom
+	 * @return the image zoomed at {@code percent} if already computed, otherwise the level closest to it, to be stretched
+	 *         while the zoomed image is computed
+	 */
+	BufferedImage getPreview(int percent) {
+		BufferedImage image = getCached(percent);
+		return image != null ? image : getLevel(getScaledWidth(percent));
+	}
+
+	/**
+	 * Computes, if needed, the image zoomed at {@code percent}.
+	 *
+	 * @param percent the zoom
+	 * @return the zoomed image
+	 */
+	synchronized BufferedImage getScaled(int percent) {
+		BufferedImage image = getCached(percent);
+		if (image != null) {
+			return image;
+		}
+		buildLevels();
+		int width = getScaledWidth(percent);
+		int height = getScaledHeight(percent);
+		BufferedImage level = getLevel(width);
+		if (level.getWidth() == width && level.getHeight() == height) {
+			image = level;
+		} else {
+			image = Scalr.resize(level, Scalr.Method.BALANCED, Scalr.Mode.FIT_EXACT, width, height);
+		}
+		put(percent, image);
+		return image;
+	}
+
+	/**
+	 * Drops the zoomed images, keeping the levels, when the frame is no longer shown.
+	 */
+	void releaseScaled() {
+		synchronized (scaled) {
+			scaled.clear();
+			scaledBytes = 0;
+		}
+	}
+
+	private void buildLevels() {
+		if (levels.size() > 1) {
+			return;
+		}
+		List<BufferedImage> pyramid = new ArrayList<>();
+		BufferedImage level = original;
+		pyramid.add(level);
+		while (level.getWidth() / 2 >= MIN_LEVEL_WIDTH && level.getHeight() / 2 > 0) {
+			level = Scalr.resize(level, Scalr.Method.BALANCED, Scalr.Mode.FIT_EXACT, level.getWidth() / 2, level.getHeight() / 2);
+			pyramid.add(level);
+		}
+		levels = Collections.unmodifiableList(pyramid);
+	}
+
+	private BufferedImage getLevel(int width) {
+		BufferedImage best = original;
+		for (BufferedImage level : levels) {
+			if (level.getWidth() < width) {
+				break;
+			}
+			best = level;
+		}
+		return best;
+	}
+
+	private void put(int percent, BufferedImage image) {
+		synchronized (scaled) {
+			scaled.put(percent, image);
+			scaledBytes += sizeOf(image);
+			Iterator<BufferedImage> eldest = scaled.values().iterator();
+			while (scaledBytes > MAX_SCALED_BYTES && scaled.size() > 1) {
+				scaledBytes -= sizeOf(eldest.next());
+				eldest.remove();
+			}
+		}
+	}
+
+	static long sizeOf(BufferedImage image) {
+		return (long) image.getWidth() * image.getHeight() * Math.max(1, image.getColorModel().getPixelSize() / 8);
+	}
+
+}
@@ -49,6 +49,7 @@ import org.isf.menu.manager.Context;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 /**
  * DiseaseBrowser - This class shows a list of diseases.
@@ -181,6 +182,7 @@ public class DiseaseBrowser extends ModalJFrame implements DiseaseListener {
 				try {
 					if (answer == JOptionPane.YES_OPTION) {
 						diseaseBrowserManager.deleteDisease(disease);
+						ReferenceDataCache.getInstance().diseases().invalidate();
 						disease.setIpdInInclude(false);
 						disease.setIpdOutInclude(false);
 						disease.setOpdInclude(false);
@@ -51,6 +51,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 /**
  * DiseaseEdit - Add/edit a Disease
@@ -275,6 +276,7 @@ public class DiseaseEdit extends JDialog {
 				try {
 					if (insert) { // inserting
 						savedDisease = diseaseBrowserManager.newDisease(disease);
+						ReferenceDataCache.getInstance().diseases().invalidate();
 						if (savedDisease != null) {
 							disease.setLock(savedDisease.getLock());
 							result = true;
@@ -285,6 +287,7 @@ public class DiseaseEdit extends JDialog {
 						}
 					} else { // updating
 						savedDisease = diseaseBrowserManager.updateDisease(disease);
+						ReferenceDataCache.getInstance().diseases().invalidate();
 						if (savedDisease != null) {
 							disease.setLock(savedDisease.getLock());
 							result = true;
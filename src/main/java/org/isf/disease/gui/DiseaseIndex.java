@@ -0,0 +1,403 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.disease.gui;
+
+import static org.isf.utils.text.TextNormalizer.normalize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.isf.disease.model.Disease;
+
+/**
+ * Searches a list of diseases by code and description, as typed in the diagnosis fields of the OPD and admission forms.
+ * <p>
+ * The index is built once for a list: codes and descriptions are normalized (accents and case ignored), their trigrams
+ * point to the diseases containing them and the words of the descriptions are kept in a dictionary, so that a search
+ * only compares the text with the diseases sharing its trigrams. A disease is found if it contains at least one word
+ * of the text; a word found nowhere is looked for with up to one typo, two for long words, among the beginnings of
+ * the words of the descriptions. The diseases found are ranked: exact code, code prefix, description prefix, all the
+ * words found, words found at the beginning of a word, then the diagnoses used most recently in this session.
+ */
+public class DiseaseIndex {
+
+	public static final int DEFAULT_LIMIT = 200;
+
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+	private static final Pattern NOT_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final int GRAM = 3;
+	private static final char WORD_START = '$';
+	private static final int MAX_TOKENS = 31;
+	private static final int[] NONE = new int[0];
+
+	private static final int EXACT_CODE = 10_000;
+	private static final int CODE_PREFIX = 5_000;
+	private static final int EXACT_DESCRIPTION = 3_000;
+	private static final int DESCRIPTION_PREFIX = 2_000;
+	private static final int ALL_TOKENS = 1_000;
+	private static final int TOKEN = 100;
+	private static final int TOKEN_AT_WORD_START = 50;
+	private static final int TYPO_TOKEN = 40;
+	private static final int RECENT = 300;
+
+	private static final int MAX_RECENT = 100;
+	private static final Map<String, Boolean> RECENT_CODES = new LinkedHashMap<>(MAX_RECENT * 2, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > MAX_RECENT;
+		}
+	};
+
+	private final List<Disease> diseases;
+	private final String[] codes;
+	private final String[] descriptions;
+	private final Map<String, int[]> postings = new HashMap<>();
+	private final String[] words;
+	private final int[][] wordRows;
+	private final Map<String, int[]> wordPostings = new HashMap<>();
+
+	/**
+	 * @param diseases the diseases, whose positions are the ones returned by {@link #searchPositions(String, int)}
+	 */
+	public DiseaseIndex(Collection<Disease> diseases) {
+		this.diseases = Collections.unmodifiableList(new ArrayList<>(diseases));
+		int size = this.diseases.size();
+		codes = new String[size];
+		descriptions = new String[size];
+		Map<String, IntList> grams = new HashMap<>();
+		Map<String, IntList> rowsOfWord = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			Disease disease = this.diseases.get(i);
+			codes[i] = normalize(disease.getCode());
+			descriptions[i] = normalize(disease.getDescription());
+			addGrams(grams, codes[i], i);
+			addGrams(grams, descriptions[i], i);
+			for (String word : NOT_WORD.split(descriptions[i])) {
+				if (!word.isEmpty()) {
+					rowsOfWord.computeIfAbsent(word, key -> new IntList()).add(i);
+				}
+			}
+		}
+		grams.forEach((gram, rows) -> postings.put(gram, rows.toArray()));
+
+		words = rowsOfWord.keySet().toArray(new String[0]);
+		wordRows = new int[words.length][];
+		Map<String, IntList> wordGrams = new HashMap<>();
+		for (int w = 0; w < words.length; w++) {
+			wordRows[w] = rowsOfWord.get(words[w]).toArray();
+			addGrams(wordGrams, WORD_START + words[w], w);
+		}
+		wordGrams.forEach((gram, ids) -> wordPostings.put(gram, ids.toArray()));
+	}
+
+	/**
+	 * Remembers that the diagnoses have been used, so that they are ranked higher by the next searches.
+	 *
+	 * @param used the diseases used, {@code null}s are ignored
+	 */
+	public static void recordUse(Disease... used) {
+		synchronized (RECENT_CODES) {
+			for (Disease disease : used) {
+				if (disease != null && disease.getCode() != null) {
+					RECENT_CODES.put(normalize(disease.getCode()), Boolean.TRUE);
+				}
+			}
+		}
+	}
+
+	static void clearRecent() {
+		synchronized (RECENT_CODES) {
+			RECENT_CODES.clear();
+		}
+	}
+
+	public int size() {
+		return diseases.size();
+	}
+
+	/**
+	 * @param text the typed text
+	 * @param limit the maximum number of diseases returned
+	 * @return the diseases found, best first, or all of them, in their order, if the text is empty
+	 */
+	public List<Disease> search(String text, int limit) {
+		int[] positions = searchPositions(text, limit);
+		List<Disease> found = new ArrayList<>(positions.length);
+		for (int position : positions) {
+			found.add(diseases.get(position));
+		}
+		return found;
+	}
+
+	/**
+	 * @param text the typed text
+	 * @param limit the maximum number of positions returned
+	 * @return the positions of the diseases found, best first, or all the positions if the text is empty
+	 */
+	public int[] searchPositions(String text, int limit) {
+		String query = SPACES.matcher(normalize(text).trim()).replaceAll(" ");
+		if (query.isEmpty()) {
+			int[] all = new int[diseases.size()];
+			Arrays.setAll(all, i -> i);
+			return all;
+		}
+		String[] tokens = SPACES.split(query);
+		if (tokens.length > MAX_TOKENS) {
+			tokens = Arrays.copyOf(tokens, MAX_TOKENS);
+		}
+		int[] exact = new int[diseases.size()];
+		int[] typo = new int[diseases.size()];
+		for (int t = 0; t < tokens.length; t++) {
+			int bit = 1 << t;
+			if (!matchExact(tokens[t], bit, exact) && tokens[t].length() > GRAM) {
+				matchWithTypos(tokens[t], bit, typo);
+			}
+		}
+		return rank(query, tokens, exact, typo, limit);
+	}
+
+	private boolean matchExact(String token, int bit, int[] exact) {
+		boolean found = false;
+		if (token.length() < GRAM) {
+			for (int i = 0; i < codes.length; i++) {
+				if (contains(i, token)) {
+					exact[i] |= bit;
+					found = true;
+				}
+			}
+			return found;
+		}
+		for (int i : candidates(token)) {
+			if (contains(i, token)) {
+				exact[i] |= bit;
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	private void matchWithTypos(String token, int bit, int[] typo) {
+		int maxEdits = token.length() < 8 ? 1 : 2;
+		String padded = WORD_START + token;
+		int grams = padded.length() - GRAM + 1;
+		int minShared = Math.max(1, grams - GRAM * maxEdits);
+		int[] shared = new int[words.length];
+		for (int from = 0; from < grams; from++) {
+			for (int w : wordPostings.getOrDefault(padded.substring(from, from + GRAM), NONE)) {
+				shared[w]++;
+			}
+		}
+		for (int w = 0; w < words.length; w++) {
+			if (shared[w] >= minShared && prefixDistance(token, words[w], maxEdits) <= maxEdits) {
+				for (int i : wordRows[w]) {
+					typo[i] |= bit;
+				}
+			}
+		}
+	}
+
+	private int[] rank(String query, String[] tokens, int[] exact, int[] typo, int limit) {
+		int all = (int) ((1L << tokens.length) - 1);
+		String[] wordStarts = new String[tokens.length];
+		for (int t = 0; t < tokens.length; t++) {
+			wordStarts[t] = ' ' + tokens[t];
+		}
+		Map<String, Integer> recent = recentRanks();
+		long[] ranked = new long[exact.length];
+		int count = 0;
+		for (int i = 0; i < exact.length; i++) {
+			int matched = exact[i] | typo[i];
+			if (matched == 0) {
+				continue;
+			}
+			int score = 0;
+			if (codes[i].equals(query)) {
+				score += EXACT_CODE;
+			} else if (codes[i].startsWith(query)) {
+				score += CODE_PREFIX;
+			}
+			if (descriptions[i].equals(query)) {
+				score += EXACT_DESCRIPTION;
+			} else if (descriptions[i].startsWith(query)) {
+				score += DESCRIPTION_PREFIX;
+			}
+			if (matched == all) {
+				score += ALL_TOKENS;
+			}
+			for (int t = 0; t < tokens.length; t++) {
+				if ((exact[i] & 1 << t) != 0) {
+					score += TOKEN;
+					if (codes[i].startsWith(tokens[t]) || descriptions[i].startsWith(tokens[t]) || descriptions[i].contains(wordStarts[t])) {
+						score += TOKEN_AT_WORD_START;
+					}
+				} else if ((typo[i] & 1 << t) != 0) {
+					score += TYPO_TOKEN;
+				}
+			}
+			Integer recentRank = recent.get(codes[i]);
+			if (recentRank != null) {
+				score += RECENT - recentRank * RECENT / MAX_RECENT;
+			}
+			// best score, then shortest description, then first in the list
+			ranked[count++] = (long) score << 40 | (long) (0xFFFF - Math.min(descriptions[i].length(), 0xFFFF)) << 24 | 0xFFFFFF - i;
+		}
+		Arrays.sort(ranked, 0, count);
+		int[] positions = new int[Math.min(count, limit)];
+		for (int k = 0; k < positions.length; k++) {
+			positions[k] = 0xFFFFFF - (int) (ranked[count - 1 - k] & 0xFFFFFF);
+		}
+		return positions;
+	}
+
+	private boolean contains(int i, String token) {
+		return descriptions[i].contains(token) || codes[i].contains(token);
+	}
+
+	private int[] candidates(String token) {
+		int[] result = null;
+		for (int from = 0; from + GRAM <= token.length(); from++) {
+			int[] rows = postings.getOrDefault(token.substring(from, from + GRAM), NONE);
+			result = result == null ? rows : intersect(result, rows);
+			if (result.length == 0) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	private static Map<String, Integer> recentRanks() {
+		synchronized (RECENT_CODES) {
+			if (RECENT_CODES.isEmpty()) {
+				return Collections.emptyMap();
+			}
+			// the most recent is the last one
+			Map<String, Integer> ranks = new HashMap<>(RECENT_CODES.size() * 2);
+			int rank = RECENT_CODES.size();
+			for (String code : RECENT_CODES.keySet()) {
+				ranks.put(code, --rank);
+			}
+			return ranks;
+		}
+	}
+
+	/**
+	 * @return the least number of edits (insertions, deletions, substitutions and swaps of adjacent letters) turning
+	 * the token into a beginning of the word, or {@code maxEdits + 1} if more are needed
+	 */
+	static int prefixDistance(String token, String word, int maxEdits) {
+		int m = token.length();
+		int n = Math.min(word.length(), m + maxEdits);
+		if (n < m - maxEdits) {
+			return maxEdits + 1;
+		}
+		int[] previous2 = new int[n + 1];
+		int[] previous = new int[n + 1];
+		int[] current = new int[n + 1];
+		for (int j = 0; j <= n; j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= m; i++) {
+			current[0] = i;
+			int rowMin = current[0];
+			for (int j = 1; j <= n; j++) {
+				int cost = token.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+				int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+				if (i > 1 && j > 1 && token.charAt(i - 1) == word.charAt(j - 2) && token.charAt(i - 2) == word.charAt(j - 1)) {
+					distance = Math.min(distance, previous2[j - 2] + 1);
+				}
+				current[j] = distance;
+				rowMin = Math.min(rowMin, distance);
+			}
+			if (rowMin > maxEdits) {
+				return maxEdits + 1;
+			}
+			int[] recycled = previous2;
+			previous2 = previous;
+			previous = current;
+			current = recycled;
+		}
+		int best = maxEdits + 1;
+		for (int j = Math.max(0, m - maxEdits); j <= n; j++) {
+			best = Math.min(best, previous[j]);
+		}
+		return best;
+	}
+
+	private static void addGrams(Map<String, IntList> grams, String key, int row) {
+		for (int from = 0; from + GRAM <= key.length(); from++) {
+			grams.computeIfAbsent(key.substring(from, from + GRAM), gram -> new IntList()).add(row);
+		}
+	}
+
+	private static int[] intersect(int[] a, int[] b) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[count++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Ascending rows, each added once even if it contains a gram or a word more than once.
+	 */
+	private static final class IntList {
+
+		private int[] rows = new int[4];
+		private int size;
+
+		void add(int row) {
+			if (size > 0 && rows[size - 1] == row) {
+				return;
+			}
+			if (size == rows.length) {
+				rows = Arrays.copyOf(rows, size * 2);
+			}
+			rows[size++] = row;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(rows, size);
+		}
+	}
+
+}
@@ -49,6 +49,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 /**
  * ExamBrowser - list all exams. Let the user select an exam to edit
@@ -176,6 +177,7 @@ public class ExamBrowser extends ModalJFrame implements ExamListener {
 				boolean deleted = false;
 				try {
 					examBrowsingManager.deleteExam(examToDelete);
+					ReferenceDataCache.getInstance().exams().invalidate();
 					deleted = true;
 				} catch (OHServiceException e1) {
 					OHServiceExceptionUtil.showMessages(e1);
@@ -49,6 +49,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 /**
  * ExamEdit - add/edit an exam
@@ -249,6 +250,7 @@ public class ExamEdit extends JDialog {
 						}
 						try {
 							examBrowsingManager.newExam(exam);
+							ReferenceDataCache.getInstance().exams().invalidate();
 							fireExamInserted();
 						} catch (OHServiceException e1) {
 							OHServiceExceptionUtil.showMessages(e1);
@@ -257,6 +259,7 @@ public class ExamEdit extends JDialog {
 					} else {
 						try {
 							examBrowsingManager.updateExam(exam);
+							ReferenceDataCache.getInstance().exams().invalidate();
 							fireExamUpdated();
 						} catch (OHServiceException e1) {
 							OHServiceExceptionUtil.showMessages(e1);
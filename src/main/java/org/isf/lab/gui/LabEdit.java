@@ -26,6 +26,7 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EventListener;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +35,7 @@ import java.util.stream.IntStream;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
@@ -51,7 +53,6 @@ import javax.swing.event.EventListenerList;
 
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.manager.ExamRowBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.exa.model.ExamRow;
@@ -66,7 +67,7 @@ import org.isf.lab.model.Laboratory;
 import org.isf.lab.model.LaboratoryForPrint;
 import org.isf.lab.model.LaboratoryRow;
 import org.isf.menu.manager.Context;
-import org.isf.patient.manager.PatientBrowserManager;
+import org.isf.patient.gui.PatientLookup;
 import org.isf.patient.model.Patient;
 import org.isf.serviceprinting.manager.PrintManager;
 import org.isf.utils.exception.OHServiceException;
@@ -76,6 +77,7 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 
@@ -112,9 +114,7 @@ public class LabEdit extends ModalJFrame {
 
 	// ---------------------------------------------------------------------------
 
-	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 	private LabManager labManager = Context.getApplicationContext().getBean(LabManager.class);
 	private LabRowManager labRowManager = Context.getApplicationContext().getBean(LabRowManager.class);
 	private ExamRowBrowsingManager examRowBrowsingManager = Context.getApplicationContext().getBean(ExamRowBrowsingManager.class);
@@ -135,6 +135,8 @@ public class LabEdit extends ModalJFrame {
 	private ExamComboBox examComboBox;
 	private JComboBox examRowComboBox;
 	private PatientComboBox patientComboBox;
+	private VoLimitedTextField patientSearchField;
+	private final PatientLookup patientLookup = new PatientLookup(this::showPatients);
 	private Exam examSelected;
 	private JScrollPane noteScrollPane;
 
@@ -232,8 +234,11 @@ public class LabEdit extends ModalJFrame {
 			patientLabel.setBounds(5, 65, LABEL_WIDTH, 20);
 			inPatientCheckBox = getInPatientCheckBox();
 			inPatientCheckBox.setBounds(LABEL_WIDTH + 5, 65, LABEL_WIDTH, 20);
+			patientSearchField = new VoLimitedTextField(200, 20);
+			patientSearchField.setBounds((LABEL_WIDTH + 5) * 2, 65, 90, 20);
 			patientComboBox = getPatientComboBox();
-			patientComboBox.setBounds((LABEL_WIDTH + 5) * 2, 65, 395, 20);
+			patientComboBox.setBounds((LABEL_WIDTH + 5) * 2 + 95, 65, 300, 20);
+			patientLookup.install(patientSearchField);
 
 			JLabel nameLabel = new JLabel(MessageBundle.getMessage("angal.common.name.txt"));
 			nameLabel.setBounds(5, 90, LABEL_WIDTH, 20);
@@ -264,6 +269,7 @@ public class LabEdit extends ModalJFrame {
 			dataPanel.add(examComboBox, null);
 			dataPanel.add(patientLabel, null);
 			dataPanel.add(inPatientCheckBox, null);
+			dataPanel.add(patientSearchField, null);
 			dataPanel.add(patientComboBox, null);
 			dataPanel.add(nameLabel, null);
 			dataPanel.add(patTextField);
@@ -324,10 +330,11 @@ public class LabEdit extends ModalJFrame {
 			patientComboBox = new PatientComboBox();
 			patSelected = null;
 			List<Patient> pat = null;
-			try {
-				pat = patientBrowserManager.getPatient();
-			} catch (OHServiceException e) {
-				OHServiceExceptionUtil.showMessages(e);
+			if (!insert && lab.getPatient() != null) {
+				pat = Collections.singletonList(lab.getPatient());
+			} else {
+				// only a page of patients is loaded, the others are looked up as the user types
+				patientLookup.searchNow("");
 			}
 
 			patientComboBox = PatientComboBox.withPatientsAndPatientFromLaboratorySelected(pat, lab, insert);
@@ -347,6 +354,17 @@ public class LabEdit extends ModalJFrame {
 		return patientComboBox;
 	}
 
+	private void showPatients(List<Patient> patients) {
+		List<Object> items = new ArrayList<>(patients.size() + 1);
+		items.add(MessageBundle.getMessage("angal.lab.selectapatient"));
+		items.addAll(patients);
+		patientComboBox.setModel(new DefaultComboBoxModel<>(items.toArray()));
+		patSelected = null;
+		if (!patients.isEmpty() && !patientSearchField.getText().trim().isEmpty()) {
+			patientComboBox.setSelectedIndex(1);
+		}
+	}
+
 	private JPanel getButtonPanel() {
 		if (buttonPanel == null) {
 			buttonPanel = new JPanel();
@@ -362,7 +380,7 @@ public class LabEdit extends ModalJFrame {
 		if (examComboBox == null) {
 			List<Exam> exams;
 			try {
-				exams = examBrowsingManager.getExams();
+				exams = ReferenceDataCache.getInstance().getExams();
 			} catch (OHServiceException e) {
 				exams = null;
 				OHServiceExceptionUtil.showMessages(e);
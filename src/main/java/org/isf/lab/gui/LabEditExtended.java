@@ -24,8 +24,6 @@ package org.isf.lab.gui;
 import java.awt.AWTEvent;
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.event.KeyEvent;
-import java.awt.event.KeyListener;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.EventListener;
@@ -34,6 +32,7 @@ import java.util.Optional;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
@@ -51,7 +50,6 @@ import javax.swing.event.EventListenerList;
 
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.manager.ExamRowBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.exa.model.ExamRow;
@@ -67,6 +65,7 @@ import org.isf.lab.model.Laboratory;
 import org.isf.lab.model.LaboratoryForPrint;
 import org.isf.lab.model.LaboratoryRow;
 import org.isf.menu.manager.Context;
+import org.isf.patient.gui.PatientLookup;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.serviceprinting.manager.PrintManager;
@@ -77,6 +76,7 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 
@@ -140,8 +140,7 @@ public class LabEditExtended extends ModalJFrame {
 	private JPanel dataPatient;
 	private VoLimitedTextField jTextPatientSrc;
 	private Patient labPat;
-	private String lastKey;
-	private List<Patient> pat;
+	private final PatientLookup patientLookup = new PatientLookup(this::showPatients);
 
 	private GoodDateTimeSpinnerChooser examDateFieldCal;
 
@@ -160,7 +159,6 @@ public class LabEditExtended extends ModalJFrame {
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
 	private ExamRowBrowsingManager examRowBrowsingManager = Context.getApplicationContext().getBean(ExamRowBrowsingManager.class);
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 
 	private JTextField examTextField;
 
@@ -244,29 +242,7 @@ public class LabEditExtended extends ModalJFrame {
 			jTextPatientSrc = new VoLimitedTextField(200, 20);
 			jTextPatientSrc.setBounds(LABEL_WIDTH + 70, 65, 90, 20);
 
-			jTextPatientSrc.addKeyListener(new KeyListener() {
-
-				@Override
-				public void keyTyped(KeyEvent e) {
-					lastKey = "";
-					String keyChar = String.valueOf(e.getKeyChar());
-					if (Character.isLetterOrDigit(e.getKeyChar())) {
-						lastKey = keyChar;
-					}
-					keyChar = jTextPatientSrc.getText() + lastKey;
-					keyChar = keyChar.trim();
-
-					filterPatient(keyChar);
-				}
-
-				@Override
-				public void keyPressed(KeyEvent e) {
-				}
-
-				@Override
-				public void keyReleased(KeyEvent e) {
-				}
-			});
+			patientLookup.install(jTextPatientSrc);
 			patientComboBox = getPatientComboBox();
 			patientComboBox.setBounds(LABEL_WIDTH + 170, 65, 305, 20);
 
@@ -374,15 +350,6 @@ public class LabEditExtended extends ModalJFrame {
 	 * TODO: Patient Selection like in LabNew
 	 */
 	private PatientComboBox getPatientComboBox() {
-
-		try {
-			if (insert) {
-				// TODO: Investigate whether this should be deprecated in favor of getPatient(int page, int size)
-				pat = patientBrowserManager.getPatient();
-			}
-		} catch (OHServiceException e) {
-			OHServiceExceptionUtil.showMessages(e);
-		}
 		if (patientComboBox == null) {
 			patientComboBox = new PatientComboBox();
 			patientComboBox.addItem(MessageBundle.getMessage("angal.lab.selectapatient"));
@@ -393,16 +360,16 @@ public class LabEditExtended extends ModalJFrame {
 					patientComboBox.addItem(labPat);
 					patientComboBox.setSelectedItem(labPat);
 					patientComboBox.setEnabled(false);
-					jTextPatientSrc.setText(String.valueOf(labPat.getCode()));
 					jTextPatientSrc.setEnabled(false);
+					jTextPatientSrc.setText(String.valueOf(labPat.getCode()));
 				} catch (OHServiceException e) {
 					OHServiceExceptionUtil.showMessages(e);
 				}
 				return patientComboBox;
 			}
 
-			Optional.ofNullable(pat)
-							.ifPresent(patients -> patients.stream().forEach(patientComboBox::addItem));
+			// only a page of patients is loaded, the others are looked up as the user types
+			patientLookup.searchNow("");
 
 			patientComboBox.addActionListener(actionEvent -> {
 				if (patientComboBox.getSelectedIndex() > 0) {
@@ -416,15 +383,18 @@ public class LabEditExtended extends ModalJFrame {
 		return patientComboBox;
 	}
 
-	private void filterPatient(String key) {
-		patientComboBox.removeAllItems();
-
-		if (key == null || key.compareTo("") == 0) {
-			patientComboBox.addItem(MessageBundle.getMessage("angal.lab.selectapatient"));
+	private void showPatients(List<Patient> patients) {
+		if (!patientComboBox.isEnabled()) {
+			// the patient of an exam being edited cannot be changed
+			return;
+		}
+		List<Object> items = new ArrayList<>(patients.size() + 1);
+		if (jTextPatientSrc.getText().trim().isEmpty()) {
+			items.add(MessageBundle.getMessage("angal.lab.selectapatient"));
 			resetLabPat();
 		}
-
-		patientComboBox.addPatientsFilteredByKey(pat, key);
+		items.addAll(patients);
+		patientComboBox.setModel(new DefaultComboBoxModel<>(items.toArray()));
 
 		if (patientComboBox.getItemCount() > 0) {
 			patientComboBox.getSelectedPatient().ifPresent(patient -> {
@@ -465,7 +435,7 @@ public class LabEditExtended extends ModalJFrame {
 
 			List<Exam> exams;
 			try {
-				exams = examBrowsingManager.getExams();
+				exams = ReferenceDataCache.getInstance().getExams();
 			} catch (OHServiceException e) {
 				exams = null;
 				OHServiceExceptionUtil.showMessages(e);
@@ -61,7 +61,6 @@ import javax.swing.table.DefaultTableModel;
 
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.admission.model.Admission;
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.manager.ExamRowBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.exa.model.ExamRow;
@@ -81,6 +80,7 @@ import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.OhTableModelExam;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 import org.slf4j.Logger;
@@ -189,7 +189,6 @@ public class LabNew extends ModalJFrame implements SelectionListener {
 	private List<String> matList = labManager.getMaterialList();
 
 	// Exams (ALL)
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 	private List<Exam> exaArray;
 
 	// Results (ALL)
@@ -203,7 +202,7 @@ public class LabNew extends ModalJFrame implements SelectionListener {
 
 	public LabNew(JFrame owner) {
 		try {
-			exaArray = examBrowsingManager.getExams();
+			exaArray = ReferenceDataCache.getInstance().getExams();
 		} catch (OHServiceException e) {
 			exaArray = null;
 			OHServiceExceptionUtil.showMessages(e);
@@ -220,7 +219,7 @@ public class LabNew extends ModalJFrame implements SelectionListener {
 		patientSelected = patient;
 
 		try {
-			exaArray = examBrowsingManager.getExams();
+			exaArray = ReferenceDataCache.getInstance().getExams();
 		} catch (OHServiceException e) {
 			exaArray = null;
 			OHServiceExceptionUtil.showMessages(e);
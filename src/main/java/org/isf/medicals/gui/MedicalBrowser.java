@@ -81,6 +81,7 @@ import org.isf.utils.jobjects.GoodFromDateToDateChooser;
 import org.isf.utils.jobjects.JMonthYearChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -525,6 +526,7 @@ public class MedicalBrowser extends ModalJFrame implements MedicalListener {
 				if (answer == JOptionPane.YES_OPTION) {
 					try {
 						medicalBrowsingManager.deleteMedical(medical);
+						ReferenceDataCache.getInstance().medicals().invalidate();
 						pMedicals.remove(selectedrow);
 						model.fireTableDataChanged();
 						table.updateUI();
@@ -44,7 +44,6 @@ import javax.swing.event.EventListenerList;
 import org.isf.generaldata.MessageBundle;
 import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
-import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.manager.Context;
 import org.isf.utils.exception.OHServiceException;
@@ -56,6 +55,7 @@ import org.isf.utils.jobjects.VoDoubleTextField;
 import org.isf.utils.jobjects.VoIntegerTextField;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -120,7 +120,6 @@ public class MedicalEdit extends JDialog {
 	private Medical medical;
 	private boolean insert;
 
-	private MedicalTypeBrowserManager medicalTypeManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 
 	/**
@@ -266,6 +265,7 @@ public class MedicalEdit extends JDialog {
 						}
 						try {
 							Medical insertedMedical = medicalBrowsingManager.newMedical(newMedical);
+							ReferenceDataCache.getInstance().medicals().invalidate();
 							if (insertedMedical != null) {
 								result = true;
 							}
@@ -281,6 +281,7 @@ public class MedicalEdit extends JDialog {
 										if (ok == JOptionPane.OK_OPTION) {
 											try {
 												Medical insertedMedical = medicalBrowsingManager.newMedical(newMedical, true);
+												ReferenceDataCache.getInstance().medicals().invalidate();
 												if (insertedMedical != null) {
 													result = true;
 												}
@@ -305,6 +306,7 @@ public class MedicalEdit extends JDialog {
 						oldMedical.setDeleted(activeCheckbox.isSelected() ? 'N' : 'Y');
 						try {
 							Medical updatedMedical = medicalBrowsingManager.updateMedical(oldMedical);
+							ReferenceDataCache.getInstance().medicals().invalidate();
 							if (updatedMedical != null) {
 								result = true;
 							}
@@ -320,6 +322,7 @@ public class MedicalEdit extends JDialog {
 										if (ok == JOptionPane.OK_OPTION) {
 											try {
 												Medical updatedMedical = medicalBrowsingManager.updateMedical(oldMedical, true);
+												ReferenceDataCache.getInstance().medicals().invalidate();
 												if (updatedMedical != null) {
 													result = true;
 												}
@@ -432,7 +435,7 @@ public class MedicalEdit extends JDialog {
 		if (typeComboBox == null) {
 			typeComboBox = new JComboBox<>();
 			try {
-				List<MedicalType> types = medicalTypeManager.getMedicalType();
+				List<MedicalType> types = ReferenceDataCache.getInstance().getMedicalTypes();
 				for (MedicalType elem : types) {
 					typeComboBox.addItem(elem);
 				}
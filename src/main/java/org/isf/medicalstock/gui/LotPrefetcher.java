@@ -0,0 +1,105 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.isf.medicals.model.Medical;
+import org.isf.medicalstock.model.Lot;
+import org.isf.utils.exception.OHServiceException;
+
+/**
+ * Loads the lots of a medical in background as soon as the medical has been identified, so that they are
+ * usually there when the form asks for them, after the quantity has been typed.
+ * <p>
+ * Prefetched lots are handed out once: the forms change the quantities of the lots they show, so the next
+ * time the same medical is scanned its lots are loaded again.
+ */
+public class LotPrefetcher {
+
+	private final LotLoader loader;
+	private final Map<Integer, CompletableFuture<List<Lot>>> pending = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+		Thread thread = new Thread(runnable, "LotPrefetcher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public LotPrefetcher(LotLoader loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * Starts loading the lots of the medical, unless they are already being loaded.
+	 */
+	public void prefetch(Medical medical) {
+		pending.computeIfAbsent(medical.getCode(), code -> CompletableFuture.supplyAsync(() -> {
+			try {
+				return loader.load(medical);
+			} catch (OHServiceException e) {
+				throw new CompletionException(e);
+			}
+		}, executor));
+	}
+
+	/**
+	 * @return the lots of the medical, waiting for them if they are still being loaded, or loading them now if they have not been prefetched
+	 * @throws OHServiceException if loading fails
+	 */
+	public List<Lot> take(Medical medical) throws OHServiceException {
+		CompletableFuture<List<Lot>> future = pending.remove(medical.getCode());
+		if (future == null) {
+			return loader.load(medical);
+		}
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof OHServiceException) {
+				throw (OHServiceException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Stops the loading threads, once the form has been closed.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Loads the lots of a medical.
+	 */
+	@FunctionalInterface
+	public interface LotLoader {
+
+		List<Lot> load(Medical medical) throws OHServiceException;
+	}
+
+}
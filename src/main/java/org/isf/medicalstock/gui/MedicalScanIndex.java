@@ -0,0 +1,157 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import static org.isf.utils.text.TextNormalizer.normalize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.isf.medicals.model.Medical;
+
+/**
+ * Resolves what is scanned or typed in the stock movement forms.
+ * <p>
+ * A scanned code is looked up in a hash of the product codes; a typed text is searched in the descriptions through
+ * an index of their trigrams, so that only the medicals sharing every trigram of the text are compared with it.
+ * Descriptions are normalized (accents and case ignored) once, when the index is built.
+ */
+public class MedicalScanIndex {
+
+	private static final int GRAM = 3;
+	private static final int[] NONE = new int[0];
+
+	private final Map<String, Medical> byCode = new HashMap<>();
+	private final List<Medical> medicals;
+	private final String[] keys;
+	private final Map<String, int[]> postings = new HashMap<>();
+
+	/**
+	 * @param medicals the medicals; when two of them have the same code the last one is kept
+	 */
+	public MedicalScanIndex(Collection<Medical> medicals) {
+		Map<String, Medical> unique = new LinkedHashMap<>();
+		for (Medical medical : medicals) {
+			unique.put(codeOf(medical), medical);
+		}
+		byCode.putAll(unique);
+		this.medicals = new ArrayList<>(unique.values());
+		Collections.sort(this.medicals);
+		keys = new String[this.medicals.size()];
+		Map<String, List<Integer>> grams = new HashMap<>();
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = normalize(this.medicals.get(i).getDescription());
+			for (int from = 0; from + GRAM <= keys[i].length(); from++) {
+				List<Integer> rows = grams.computeIfAbsent(keys[i].substring(from, from + GRAM), gram -> new ArrayList<>());
+				if (rows.isEmpty() || rows.get(rows.size() - 1) != i) {
+					rows.add(i);
+				}
+			}
+		}
+		grams.forEach((gram, rows) -> postings.put(gram, rows.stream().mapToInt(Integer::intValue).toArray()));
+	}
+
+	/**
+	 * @param medical a medical
+	 * @return its product code or, if it has none, its type code followed by its description
+	 */
+	public static String codeOf(Medical medical) {
+		String code = medical.getProdCode();
+		if (code == null || code.equals("")) {
+			code = medical.getType().getCode() + medical.getDescription();
+		}
+		return code;
+	}
+
+	/**
+	 * @param code a scanned or typed code, as returned by {@link #codeOf(Medical)}
+	 * @return the medical with that code, or {@code null}
+	 */
+	public Medical get(String code) {
+		return byCode.get(code);
+	}
+
+	/**
+	 * @param text a part of the description
+	 * @return the medicals whose description contains the text, sorted
+	 */
+	public List<Medical> search(String text) {
+		String query = normalize(text);
+		List<Medical> found = new ArrayList<>();
+		if (query.length() < GRAM) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i].contains(query)) {
+					found.add(medicals.get(i));
+				}
+			}
+			return found;
+		}
+		for (int i : candidates(query)) {
+			if (keys[i].contains(query)) {
+				found.add(medicals.get(i));
+			}
+		}
+		return found;
+	}
+
+	public int size() {
+		return medicals.size();
+	}
+
+	private int[] candidates(String query) {
+		int[] result = null;
+		for (int from = 0; from + GRAM <= query.length(); from++) {
+			int[] rows = postings.getOrDefault(query.substring(from, from + GRAM), NONE);
+			result = result == null ? rows : intersect(result, rows);
+			if (result.length == 0) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	private static int[] intersect(int[] a, int[] b) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[count++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+}
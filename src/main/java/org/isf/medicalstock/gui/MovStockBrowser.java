@@ -82,7 +82,6 @@ import org.isf.medicalstock.model.Lot;
 import org.isf.medicalstock.model.Movement;
 import org.isf.medstockmovtype.manager.MedicalDsrStockMovementTypeBrowserManager;
 import org.isf.medstockmovtype.model.MovementType;
-import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.gui.MainMenu;
 import org.isf.menu.manager.Context;
@@ -97,8 +96,8 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.StockCardDialog;
 import org.isf.utils.jobjects.StockLedgerDialog;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -182,13 +181,11 @@ public class MovStockBrowser extends ModalJFrame {
 	private Map<Integer, String> supMap = new HashMap<>();
 
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
-	private MedicalTypeBrowserManager medicalTypeBrowserManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
 	private MedicalDsrStockMovementTypeBrowserManager medicalDsrStockMovementTypeBrowserManager = Context.getApplicationContext()
 					.getBean(MedicalDsrStockMovementTypeBrowserManager.class);
 	private MovBrowserManager movBrowserManager = Context.getApplicationContext().getBean(MovBrowserManager.class);
 	private HospitalBrowsingManager hospitalBrowsingManager = Context.getApplicationContext().getBean(HospitalBrowsingManager.class);
 	private SupplierBrowserManager supplierBrowserManager = Context.getApplicationContext().getBean(SupplierBrowserManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 
 	public MovStockBrowser() {
 		myFrame = this;
@@ -490,7 +487,7 @@ public class MovStockBrowser extends ModalJFrame {
 		wardBox.addItem(TEXT_ALL);
 		List<Ward> wardsList;
 		try {
-			wardsList = wardBrowserManager.getWards();
+			wardsList = new ArrayList<>(ReferenceDataCache.getInstance().getWards());
 			wardsList.sort(new Ward.WardDescriptionComparator());
 		} catch (OHServiceException e) {
 			wardsList = new ArrayList<>();
@@ -618,7 +615,7 @@ public class MovStockBrowser extends ModalJFrame {
 		medicalTypeBox.addItem(TEXT_ALL);
 
 		try {
-			medical = medicalTypeBrowserManager.getMedicalType();
+			medical = ReferenceDataCache.getInstance().getMedicalTypes();
 
 			for (MedicalType aMedicalType : medical) {
 				medicalTypeBox.addItem(aMedicalType);
@@ -1029,6 +1026,7 @@ public class MovStockBrowser extends ModalJFrame {
 					int delete = MessageDialog.yesNo(null, "angal.medicalstock.doyoureallywanttodeletethismovement.msg");
 					if (delete == JOptionPane.YES_OPTION) {
 						movBrowserManager.deleteLastMovement(lastMovement);
+						ReferenceDataCache.getInstance().medicals().invalidate();
 					} else {
 						return;
 					}
@@ -40,10 +40,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.swing.DefaultCellEditor;
 import javax.swing.JButton;
@@ -77,7 +74,6 @@ import org.isf.medstockmovtype.model.MovementType;
 import org.isf.menu.manager.Context;
 import org.isf.supplier.manager.SupplierBrowserManager;
 import org.isf.supplier.model.Supplier;
-import org.isf.utils.db.NormalizeString;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateChooser;
@@ -86,6 +82,7 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.RequestFocusListener;
 import org.isf.utils.jobjects.TextPrompt;
 import org.isf.utils.jobjects.TextPrompt.Show;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -129,7 +126,9 @@ public class MovStockMultipleCharging extends JDialog {
 			SwingConstants.CENTER, SwingConstants.CENTER,
 			SwingConstants.CENTER, SwingConstants.RIGHT, SwingConstants.RIGHT };
 	private boolean[] columnBold = { false, false, false, false, false, true, false, false, false, true };
-	private Map<String, Medical> medicalMap;
+	private MedicalScanIndex medicalIndex;
+	private LotPrefetcher lotPrefetcher = new LotPrefetcher(medical -> movStockInsertingManager.getLotByMedical(medical));
+	private ScanQueue scanQueue = new ScanQueue(this::handleScan);
 	private List<Integer> units;
 	private JTableModel model;
 	private String[] qtyOption = {
@@ -170,19 +169,16 @@ public class MovStockMultipleCharging extends JDialog {
 			medicals = null;
 		}
 
-		medicalMap = new HashMap<>();
-		if (null != medicals) {
-			for (Medical med : medicals) {
-				String key = med.getProdCode();
-				if (key == null || key.equals("")) {
-					key = med.getType().getCode() + med.getDescription();
-				}
-				medicalMap.put(key, med);
-			}
-		}
+		medicalIndex = new MedicalScanIndex(null != medicals ? medicals : new ArrayList<>());
 		units = new ArrayList<>();
 	}
 
+	@Override
+	public void dispose() {
+		lotPrefetcher.shutdown();
+		super.dispose();
+	}
+
 	private void initcomponents() {
 		setTitle(MessageBundle.getMessage("angal.medicalstock.stockmovement.title"));
 		add(getJPanelHeader(), BorderLayout.NORTH);
@@ -393,71 +389,84 @@ public class MovStockMultipleCharging extends JDialog {
 
 			jTextFieldSearch.addActionListener(actionEvent -> {
 				String text = jTextFieldSearch.getText();
-				Medical med;
-				if (medicalMap.containsKey(text)) {
-					// Medical found
-					med = medicalMap.get(text);
-				} else {
-
-					med = chooseMedical(text.toLowerCase());
+				Medical scanned = medicalIndex.get(text);
+				if (scanned != null) {
+					// a code has been scanned: the field is ready for the next one while this one is queued
+					if (!isAutomaticLotIn()) {
+						lotPrefetcher.prefetch(scanned);
+					}
+					jTextFieldSearch.setText(""); //$NON-NLS-1$
 				}
+				scanQueue.add(text);
+			});
+		}
+		return jTextFieldSearch;
+	}
 
-				if (med != null) {
+	private void handleScan(String text) {
+		Medical med = medicalIndex.get(text);
+		if (med == null) {
+			med = chooseMedical(text.toLowerCase());
+		}
+		if (med == null) {
+			return;
+		}
+		if (!isAutomaticLotIn()) {
+			lotPrefetcher.prefetch(med);
+		}
 
-					// Quantity
-					int qty = askQuantity(med);
-					if (qty == 0) {
+		// Quantity
+		int qty = askQuantity(med);
+		if (qty == 0) {
+			return;
+		}
+
+		// Lot
+		Lot lot;
+		boolean isNewLot = false;
+		boolean updateLot = false;
+		if (isAutomaticLotIn()) {
+			lot = createNewLot(med, qty);
+			isNewLot = true;
+		} else {
+			do {
+				lot = chooseLot(med);
+				if (lot == null) {
+					lot = askLot(med);
+					if (lot == null) {
 						return;
 					}
-
-					// Lot
-					Lot lot;
-					boolean isNewLot = false;
-					boolean updateLot = false;
-					if (isAutomaticLotIn()) {
-						lot = createNewLot(med, qty);
-						isNewLot = true;
-					} else {
-						do {
-							lot = chooseLot(med);
-							if (lot == null) {
-								lot = askLot(med);
-								if (lot == null) {
-									return;
-								}
-								if (!setOrValidateCost(lot, qty)) {
-									return;
-								}
-								isNewLot = true;
-							}
-							// Lot without cost
-							if (needsCostUpdate(lot)) {
-								MessageDialog.warning(null, "angal.medicalstock.multiplecharging.selectedlotwithoutcostpleasespecify", lot.getCode());
-								if (!setOrValidateCost(lot, qty)) {
-									return;
-								}
-								updateLot = true;
-							}
-						} while (lot == null);
+					if (!setOrValidateCost(lot, qty)) {
+						return;
+					}
+					isNewLot = true;
+				}
+				// Lot without cost
+				if (needsCostUpdate(lot)) {
+					MessageDialog.warning(null, "angal.medicalstock.multiplecharging.selectedlotwithoutcostpleasespecify", lot.getCode());
+					if (!setOrValidateCost(lot, qty)) {
+						return;
 					}
+					updateLot = true;
+				}
+			} while (lot == null);
+		}
 
-					// Date
-					LocalDateTime date = jDateChooser.getLocalDateTime();
+		// Date
+		LocalDateTime date = jDateChooser.getLocalDateTime();
 
-					// RefNo
-					String refNo = jTextFieldReference.getText().trim();
+		// RefNo
+		String refNo = jTextFieldReference.getText().trim();
 
-					Movement movement = new Movement(med, (MovementType) jComboBoxChargeType.getSelectedItem(), null, lot, date, qty, new Supplier(), refNo);
-					model.addItem(movement, isNewLot, updateLot);
+		Movement movement = new Movement(med, (MovementType) jComboBoxChargeType.getSelectedItem(), null, lot, date, qty, new Supplier(), refNo);
+		model.addItem(movement, isNewLot, updateLot);
 
-					units.add(PACKETS);
+		units.add(PACKETS);
 
-					jTextFieldSearch.setText(""); //$NON-NLS-1$
-					jTextFieldSearch.requestFocus();
-				}
-			});
+		if (jTextFieldSearch.getText().equals(text)) {
+			jTextFieldSearch.setText(""); //$NON-NLS-1$
 		}
-		return jTextFieldSearch;
+		jTextFieldSearch.requestFocus();
 	}
 
 	private Lot createNewLot(Medical med, int qty) {
@@ -613,13 +622,7 @@ public class MovStockMultipleCharging extends JDialog {
 	}
 
 	protected Medical chooseMedical(String text) {
-		List<Medical> medList = new ArrayList<>();
-		for (Medical aMed : medicalMap.values()) {
-			if (NormalizeString.normalizeContains(aMed.getDescription().toLowerCase(), text.toLowerCase())) {
-				medList.add(aMed);
-			}
-		}
-		Collections.sort(medList);
+		List<Medical> medList = medicalIndex.search(text);
 		Medical med = null;
 
 		if (!medList.isEmpty()) {
@@ -647,7 +650,7 @@ public class MovStockMultipleCharging extends JDialog {
 	protected Lot chooseLot(Medical med) {
 		List<Lot> lots;
 		try {
-			lots = movStockInsertingManager.getLotByMedical(med);
+			lots = lotPrefetcher.take(med);
 		} catch (OHServiceException e) {
 			lots = new ArrayList<>();
 			OHServiceExceptionUtil.showMessages(e);
@@ -878,8 +881,9 @@ public class MovStockMultipleCharging extends JDialog {
 			Lot lot = movement.getLot();
 			if (c == 0) {
 				String key = String.valueOf(value);
-				if (medicalMap.containsKey(key)) {
-					movement.setMedical(medicalMap.get(key));
+				Medical medical = medicalIndex.get(key);
+				if (medical != null) {
+					movement.setMedical(medical);
 					movements.set(r, movement);
 				}
 			} else if (c == 3) {
@@ -949,6 +953,7 @@ public class MovStockMultipleCharging extends JDialog {
 		try {
 			movStockInsertingManager.updateLot(updateLots);
 			movStockInsertingManager.newMultipleChargingMovements(movements, movements.get(0).getRefNo());
+			ReferenceDataCache.getInstance().medicals().invalidate();
 		} catch (OHServiceException e) {
 			ok = false;
 			OHServiceExceptionUtil.showMessages(e);
@@ -36,11 +36,8 @@ import java.awt.event.KeyListener;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.Map;
 
 import javax.swing.DefaultCellEditor;
 import javax.swing.JButton;
@@ -72,15 +69,14 @@ import org.isf.medicalstock.model.Movement;
 import org.isf.medstockmovtype.manager.MedicalDsrStockMovementTypeBrowserManager;
 import org.isf.medstockmovtype.model.MovementType;
 import org.isf.menu.manager.Context;
-import org.isf.utils.db.NormalizeString;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.TextPrompt;
 import org.isf.utils.jobjects.TextPrompt.Show;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.isf.xmpp.gui.CommunicationFrame;
 import org.isf.xmpp.manager.Interaction;
@@ -121,7 +117,9 @@ public class MovStockMultipleDischarging extends JDialog {
 	private int[] columnAlignment = { SwingConstants.LEFT, SwingConstants.LEFT, SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER,
 			SwingConstants.CENTER, SwingConstants.CENTER, SwingConstants.CENTER };
 	private boolean[] columnBold = { false, false, false, false, false, true, false, false };
-	private Map<String, Medical> medicalMap;
+	private MedicalScanIndex medicalIndex;
+	private LotPrefetcher lotPrefetcher = new LotPrefetcher(medical -> movStockInsertingManager.getLotByMedical(medical));
+	private ScanQueue scanQueue = new ScanQueue(this::handleScan);
 	private List<Integer> units;
 	private List<Integer> quantities;
 	private JTableModel model;
@@ -138,7 +136,6 @@ public class MovStockMultipleDischarging extends JDialog {
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 	private MedicalDsrStockMovementTypeBrowserManager medicalDsrStockMovementTypeBrowserManager = Context.getApplicationContext()
 					.getBean(MedicalDsrStockMovementTypeBrowserManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 
 	private boolean isAutomaticLotOut() {
 		return GeneralData.AUTOMATICLOT_OUT;
@@ -170,20 +167,17 @@ public class MovStockMultipleDischarging extends JDialog {
 			OHServiceExceptionUtil.showMessages(e);
 		}
 
-		medicalMap = new HashMap<>();
-		if (null != medicals) {
-			for (Medical med : medicals) {
-				String key = med.getProdCode();
-				if (key == null || key.equals("")) {
-					key = med.getType().getCode() + med.getDescription();
-				}
-				medicalMap.put(key, med);
-			}
-		}
+		medicalIndex = new MedicalScanIndex(null != medicals ? medicals : new ArrayList<>());
 
 		units = new ArrayList<>();
 	}
 
+	@Override
+	public void dispose() {
+		lotPrefetcher.shutdown();
+		super.dispose();
+	}
+
 	private void initcomponents() {
 		setTitle(MessageBundle.getMessage("angal.medicalstock.stockmovement.title"));
 		add(getJPanelHeader(), BorderLayout.NORTH);
@@ -259,69 +253,78 @@ public class MovStockMultipleDischarging extends JDialog {
 			suggestion.changeStyle(Font.BOLD + Font.ITALIC);
 			jTextFieldSearch.addActionListener(actionEvent -> {
 				String text = jTextFieldSearch.getText();
-				Medical med;
-				if (medicalMap.containsKey(text)) {
-					// Medical found
-					med = medicalMap.get(text);
-				} else {
-
-					med = chooseMedical(text);
+				Medical scanned = medicalIndex.get(text);
+				if (scanned != null) {
+					// a code has been scanned: the field is ready for the next one while this one is queued
+					lotPrefetcher.prefetch(scanned);
+					jTextFieldSearch.setText(""); //$NON-NLS-1$
 				}
+				scanQueue.add(text);
+			});
+		}
+		return jTextFieldSearch;
+	}
 
-				if (med != null) {
+	private void handleScan(String text) {
+		Medical med = medicalIndex.get(text);
+		if (med == null) {
+			med = chooseMedical(text);
+		}
+		if (med == null) {
+			return;
+		}
+		lotPrefetcher.prefetch(med);
 
-					if (isAutomaticLotOut() && isMedicalPresent(med)) {
-						return;
-					}
+		if (isAutomaticLotOut() && isMedicalPresent(med)) {
+			return;
+		}
 
-					if (!isAvailable(med)) {
-						return;
-					}
+		if (!isAvailable(med)) {
+			return;
+		}
 
-					// Quantity
-					int qty = askQuantity(med);
-					if (qty == 0) {
-						return;
-					}
+		// Quantity
+		int qty = askQuantity(med);
+		if (qty == 0) {
+			return;
+		}
 
-					// Lot (PreparationDate && ExpiringDate)
-					List<Lot> lots;
-					try {
-						lots = movStockInsertingManager.getLotByMedical(med);
-					} catch (OHServiceException e1) {
-						lots = null;
-						OHServiceExceptionUtil.showMessages(e1);
-						return;
-					}
-					if (lots.isEmpty()) {
-						LOGGER.error("No lots found for medical {} and quantity {}", med.getDescription(), qty);
-						MessageDialog.error(this, "angal.sql.anunexpectederroroccurredpleasecheckthelogs.msg");
-						return;
-					}
-					Lot lot;
-					if (!isAutomaticLotOut()) {
-						lot = chooseLot(lots, qty);
-						if (lot == null) {
-							return;
-						}
-					} else {
-						lot = new Lot("", null, null); //$NON-NLS-1$
-					}
+		// Lot (PreparationDate && ExpiringDate)
+		List<Lot> lots;
+		try {
+			lots = lotPrefetcher.take(med);
+		} catch (OHServiceException e1) {
+			lots = null;
+			OHServiceExceptionUtil.showMessages(e1);
+			return;
+		}
+		if (lots.isEmpty()) {
+			LOGGER.error("No lots found for medical {} and quantity {}", med.getDescription(), qty);
+			MessageDialog.error(this, "angal.sql.anunexpectederroroccurredpleasecheckthelogs.msg");
+			return;
+		}
+		Lot lot;
+		if (!isAutomaticLotOut()) {
+			lot = chooseLot(lots, qty);
+			if (lot == null) {
+				return;
+			}
+		} else {
+			lot = new Lot("", null, null); //$NON-NLS-1$
+		}
 
-					// Date
-					LocalDateTime date = jDateChooser.getLocalDateTime();
+		// Date
+		LocalDateTime date = jDateChooser.getLocalDateTime();
 
-					// RefNo
-					String refNo = jTextFieldReference.getText();
+		// RefNo
+		String refNo = jTextFieldReference.getText();
 
-					Movement movement = new Movement(med, (MovementType) jComboBoxDischargeType.getSelectedItem(), null, lot, date, qty, null, refNo);
-					model.addItem(movement, UNITS);
-					jTextFieldSearch.setText(""); //$NON-NLS-1$
-					jTextFieldSearch.requestFocus();
-				}
-			});
+		Movement movement = new Movement(med, (MovementType) jComboBoxDischargeType.getSelectedItem(), null, lot, date, qty, null, refNo);
+		model.addItem(movement, UNITS);
+		if (jTextFieldSearch.getText().equals(text)) {
+			jTextFieldSearch.setText(""); //$NON-NLS-1$
 		}
-		return jTextFieldSearch;
+		jTextFieldSearch.requestFocus();
 	}
 
 	protected boolean isAvailable(Medical med) {
@@ -517,13 +520,7 @@ public class MovStockMultipleDischarging extends JDialog {
 	}
 
 	protected Medical chooseMedical(String text) {
-		List<Medical> medList = new ArrayList<>();
-		for (Medical aMed : medicalMap.values()) {
-			if (NormalizeString.normalizeContains(aMed.getDescription().toLowerCase(), text.toLowerCase())) {
-				medList.add(aMed);
-			}
-		}
-		Collections.sort(medList);
+		List<Medical> medList = medicalIndex.search(text);
 		Medical med = null;
 
 		if (!medList.isEmpty()) {
@@ -736,7 +733,7 @@ public class MovStockMultipleDischarging extends JDialog {
 			jComboBoxDestination.addItem(""); //$NON-NLS-1$
 			List<Ward> wardsList;
 			try {
-				wardsList = wardBrowserManager.getWards();
+				wardsList = new ArrayList<>(ReferenceDataCache.getInstance().getWards());
 				wardsList.sort(new Ward.WardDescriptionComparator());
 			} catch (OHServiceException e) {
 				wardsList = new ArrayList<>();
@@ -956,6 +953,7 @@ public class MovStockMultipleDischarging extends JDialog {
 		List<Movement> movements = model.getMovements();
 		try {
 			movStockInsertingManager.newMultipleDischargingMovements(movements, movements.get(0).getRefNo());
+			ReferenceDataCache.getInstance().medicals().invalidate();
 
 			if (isXmpp()) {
 				if (shareWith.isEnabled() && (!(shareWith.getSelectedItem()
@@ -0,0 +1,73 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * The codes scanned in a stock movement form, handled one at a time and in order on the Event Dispatch Thread.
+ * <p>
+ * Handling a code may open dialogs; codes that arrive meanwhile are queued and handled afterwards instead of
+ * interleaving with the one in progress.
+ */
+public class ScanQueue {
+
+	private final Deque<String> pending = new ArrayDeque<>();
+	private final Consumer<String> handler;
+	private boolean handling;
+
+	/**
+	 * @param handler handles a code, on the Event Dispatch Thread
+	 */
+	public ScanQueue(Consumer<String> handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Queues the code and, unless another code is being handled, handles all the queued codes.
+	 */
+	public void add(String code) {
+		pending.add(code);
+		if (handling) {
+			return;
+		}
+		handling = true;
+		try {
+			String next;
+			while ((next = pending.poll()) != null) {
+				handler.accept(next);
+			}
+		} finally {
+			handling = false;
+		}
+	}
+
+	/**
+	 * @return the number of codes waiting to be handled
+	 */
+	public int size() {
+		return pending.size();
+	}
+
+}
@@ -73,10 +73,8 @@ import javax.swing.WindowConstants;
 import javax.swing.border.TitledBorder;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableCellRenderer;
 
 import org.isf.generaldata.MessageBundle;
-import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
 import org.isf.medicalstock.manager.MovBrowserManager;
 import org.isf.medicalstock.model.Lot;
@@ -86,7 +84,6 @@ import org.isf.medicalstockward.manager.MovWardBrowserManager;
 import org.isf.medicalstockward.model.MedicalWard;
 import org.isf.medicalstockward.model.MovementWard;
 import org.isf.medstockmovtype.model.MovementType;
-import org.isf.medtype.manager.MedicalTypeBrowserManager;
 import org.isf.medtype.model.MedicalType;
 import org.isf.menu.gui.MainMenu;
 import org.isf.menu.manager.Context;
@@ -102,9 +99,10 @@ import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.jobjects.StockCardDialog;
 import org.isf.utils.jobjects.StockLedgerDialog;
+import org.isf.utils.jobjects.TableButtonCell;
 import org.isf.utils.jobjects.VoLimitedTextField;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -223,10 +221,7 @@ public class WardPharmacy extends ModalJFrame implements
 	 */
 	private MovBrowserManager movBrowserManager = Context.getApplicationContext().getBean(MovBrowserManager.class);
 	private PrintManager printManager = Context.getApplicationContext().getBean(PrintManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private MovWardBrowserManager movWardBrowserManager = Context.getApplicationContext().getBean(MovWardBrowserManager.class);
-	private MedicalTypeBrowserManager medicalTypeBrowserManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
-	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 
 	private List<Movement> listMovementCentral = new ArrayList<>();
 	private List<MovementWard> listMovementWardFromTo = new ArrayList<>();
@@ -533,8 +528,12 @@ public class WardPharmacy extends ModalJFrame implements
 			DefaultTableModel modelDrugs = new DrugsModel();
 			jTableDrugs = new JTable(modelDrugs);
 			jTableDrugs.setAutoCreateColumnsFromModel(false);
-			TableCellRenderer buttonRenderer = new JTableButtonRenderer();
-			jTableDrugs.getColumn("").setCellRenderer(buttonRenderer);
+			new TableButtonCell(MessageBundle.getMnemonic("angal.medicalstockward.rectify.btn.key"), row -> {
+				Medical medic = ((MedicalWard) jTableDrugs.getValueAt(row, -1)).getMedical();
+				WardPharmacyRectify wardRectify = new WardPharmacyRectify(WardPharmacy.this, wardSelected, medic);
+				wardRectify.addMovementWardListener(WardPharmacy.this);
+				wardRectify.setVisible(true);
+			}).install(jTableDrugs, 3);
 			for (int i = 0; i < columnWidthDrugs.length; i++) {
 				jTableDrugs.getColumnModel().getColumn(i).setMinWidth(columnWidthDrugs[i]);
 				if (!columnsResizableDrugs[i]) {
@@ -550,13 +549,9 @@ public class WardPharmacy extends ModalJFrame implements
 					JTable target = (JTable) me.getSource();
 					int row = target.getSelectedRow(); // select a row
 
-					/* Checking the row or column is valid or not */
-					if (row < jTableDrugs.getRowCount() && row >= 0 && column < jTableDrugs.getColumnCount() && column >= 0) {
-						Object value = jTableDrugs.getValueAt(row, column);
-						if (value instanceof JButton) {
-							/* perform a click event */
-							((JButton) value).doClick();
-						}
+					/* the rectify button column is handled by its cell editor */
+					if (column == 3 || row < 0) {
+						return;
 					}
 
 					if (me.getClickCount() == 2) { // to detect double click events
@@ -569,14 +564,6 @@ public class WardPharmacy extends ModalJFrame implements
 		return jTableDrugs;
 	}
 
-	private static class JTableButtonRenderer implements TableCellRenderer {
-
-		@Override
-		public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-			return (JButton) value;
-		}
-	}
-
 	private void showLotDetail(List<MedicalWard> drug, String me) {
 		List<MedicalWard> medicalWardList = new ArrayList<>();
 		for (MedicalWard elem : drug) {
@@ -936,7 +923,7 @@ public class WardPharmacy extends ModalJFrame implements
 			jComboBoxTypes.addItem(MessageBundle.getMessage("angal.common.alltypes.txt"));
 
 			try {
-				medicalTypes = medicalTypeBrowserManager.getMedicalType();
+				medicalTypes = ReferenceDataCache.getInstance().getMedicalTypes();
 
 				for (MedicalType aMedicalType : medicalTypes) {
 					jComboBoxTypes.addItem(aMedicalType);
@@ -961,7 +948,7 @@ public class WardPharmacy extends ModalJFrame implements
 			jComboBoxMedicals.removeAllItems();
 			List<Medical> medicals;
 			try {
-				medicals = medicalBrowsingManager.getMedicals();
+				medicals = ReferenceDataCache.getInstance().getMedicals();
 			} catch (OHServiceException e1) {
 				medicals = null;
 				OHServiceExceptionUtil.showMessages(e1);
@@ -1029,7 +1016,7 @@ public class WardPharmacy extends ModalJFrame implements
 		}
 		List<Medical> medicals;
 		try {
-			medicals = medicalBrowsingManager.getMedicals();
+			medicals = ReferenceDataCache.getInstance().getMedicals();
 		} catch (OHServiceException e) {
 			medicals = null;
 			OHServiceExceptionUtil.showMessages(e);
@@ -1117,7 +1104,7 @@ public class WardPharmacy extends ModalJFrame implements
 			jComboBoxWard = new JComboBox();
 			List<Ward> wardList;
 			try {
-				wardList = wardBrowserManager.getWards();
+				wardList = ReferenceDataCache.getInstance().getWards();
 			} catch (OHServiceException e) {
 				wardList = new ArrayList<>();
 				OHServiceExceptionUtil.showMessages(e);
@@ -1458,6 +1445,11 @@ public class WardPharmacy extends ModalJFrame implements
 		private static final long serialVersionUID = 1L;
 
 		private List<MedicalWard> tableModel;
+		/* values shown for each row, computed once so that repaints do not allocate */
+		private String[] descriptions;
+		private Double[] quantities;
+		private final String unitLabel = MessageBundle.getMessage("angal.medicalstockward.pieces"); //$NON-NLS-1$
+		private final String rectifyLabel = MessageBundle.getMessage("angal.medicalstockward.rectify.btn");
 
 		public DrugsModel() {
 			try {
@@ -1468,6 +1460,13 @@ public class WardPharmacy extends ModalJFrame implements
 				tableModel = new ArrayList<>();
 				wardDrugs = new ArrayList<>();
 			}
+			descriptions = new String[tableModel.size()];
+			quantities = new Double[tableModel.size()];
+			for (int i = 0; i < tableModel.size(); i++) {
+				MedicalWard wardDrug = tableModel.get(i);
+				descriptions[i] = wardDrug.getMedical().getDescription();
+				quantities[i] = wardDrug.getQty();
+			}
 		}
 
 		@Override
@@ -1479,35 +1478,30 @@ public class WardPharmacy extends ModalJFrame implements
 		}
 
 		@Override
-		public Object getValueAt(final int r, int c) {
-			final MedicalWard wardDrug = tableModel.get(r);
+		public Object getValueAt(int r, int c) {
 			if (c == -1) {
-				return wardDrug;
+				return tableModel.get(r);
 			}
 			if (c == 0) {
-				wardDrug.getMedical();
-				return wardDrug.getMedical().getDescription();
+				return descriptions[r];
 			}
 			if (c == 1) {
-				return wardDrug.getQty();
+				return quantities[r];
 			}
 			if (c == 2) {
-				return MessageBundle.getMessage("angal.medicalstockward.pieces"); //$NON-NLS-1$
+				return unitLabel;
 			}
 			if (c == 3) {
-				final JButton button = new JButton(MessageBundle.getMessage("angal.medicalstockward.rectify.btn"));
-				button.setMnemonic(MessageBundle.getMnemonic("angal.medicalstockward.rectify.btn.key"));
-				button.addActionListener(actionEvent -> {
-					Medical medic = wardDrug.getMedical();
-					WardPharmacyRectify wardRectify = new WardPharmacyRectify(WardPharmacy.this, wardSelected, medic);
-					wardRectify.addMovementWardListener(WardPharmacy.this);
-					wardRectify.setVisible(true);
-				});
-				return button;
+				return rectifyLabel;
 			}
 			return null;
 		}
 
+		@Override
+		public void setValueAt(Object aValue, int row, int column) {
+			// read only, the rectify button column is editable only to receive clicks
+		}
+
 		@Override
 		public String getColumnName(int c) {
 			return columnsDrugs[c];
@@ -1520,8 +1514,7 @@ public class WardPharmacy extends ModalJFrame implements
 
 		@Override
 		public boolean isCellEditable(int arg0, int arg1) {
-			// return super.isCellEditable(arg0, arg1);
-			return false;
+			return arg1 == 3;
 		}
 	}
 
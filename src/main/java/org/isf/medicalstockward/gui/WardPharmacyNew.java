@@ -70,8 +70,8 @@ import org.isf.patient.model.Patient;
 import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -134,7 +134,6 @@ public class WardPharmacyNew extends JDialog implements SelectionListener {
 	private static final long serialVersionUID = 1L;
 
 	private	ExaminationBrowserManager examinationBrowserManager = Context.getApplicationContext().getBean(ExaminationBrowserManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private MovWardBrowserManager movWardBrowserManager = Context.getApplicationContext().getBean(MovWardBrowserManager.class);
 	
 	private JLabel jLabelPatient;
@@ -834,7 +833,7 @@ public class WardPharmacyNew extends JDialog implements SelectionListener {
 			wardBox.setPreferredSize(new Dimension(300, 30));
 			List<Ward> wardList = null;
 			try {
-				wardList = wardBrowserManager.getWards();
+				wardList = ReferenceDataCache.getInstance().getWards();
 			} catch (OHServiceException ex) {
 				LOGGER.error(ex.getMessage(), ex);
 			}
@@ -64,7 +64,6 @@ import javax.swing.table.DefaultTableModel;
 
 import org.isf.generaldata.GeneralData;
 import org.isf.generaldata.MessageBundle;
-import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
 import org.isf.medicalstock.manager.MovStockInsertingManager;
 import org.isf.medicalstock.model.Lot;
@@ -78,6 +77,7 @@ import org.isf.utils.jobjects.GoodDateChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.RequestFocusListener;
 import org.isf.utils.jobjects.TextPrompt;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
 import org.isf.ward.model.Ward;
 
@@ -128,7 +128,6 @@ public class WardPharmacyRectify extends JDialog {
 	private JSpinner jSpinnerNewQty;
 	private SpinnerNumberModel spinnerNewQtyModel;
 
-	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 	private MovWardBrowserManager movWardBrowserManager = Context.getApplicationContext().getBean(MovWardBrowserManager.class);
 	private MovStockInsertingManager movStockInsertingManager = Context.getApplicationContext().getBean(MovStockInsertingManager.class);
 
@@ -148,7 +147,7 @@ public class WardPharmacyRectify extends JDialog {
 
 	private void initMedicals() {
 		try {
-			this.medicals = medicalBrowsingManager.getMedicals();
+			this.medicals = ReferenceDataCache.getInstance().getMedicals();
 		} catch (OHServiceException e) {
 			this.medicals = null;
 			OHServiceExceptionUtil.showMessages(e);
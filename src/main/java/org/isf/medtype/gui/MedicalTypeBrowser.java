@@ -42,6 +42,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 /**
  * Browsing of table MedicalType
@@ -179,6 +180,7 @@ public class MedicalTypeBrowser extends ModalJFrame implements MedicalTypeListen
 					if (answer == JOptionPane.YES_OPTION) {
 						try {
 							medicalTypeBrowserManager.deleteMedicalType(medType);
+							ReferenceDataCache.getInstance().medicalTypes().invalidate();
 							pMedicalType.remove(jTable.getSelectedRow());
 							model.fireTableDataChanged();
 							jTable.updateUI();
@@ -44,6 +44,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 public class MedicalTypeBrowserEdit extends JDialog {
 
@@ -201,6 +202,7 @@ public class MedicalTypeBrowserEdit extends JDialog {
 				if (insert) { // inserting
 					try {
 						MedicalType insertedMedicalType = medicalTypeBrowserManager.newMedicalType(medicalType);
+						ReferenceDataCache.getInstance().medicalTypes().invalidate();
 						if (insertedMedicalType != null) {
 							fireMedicalInserted();
 							dispose();
@@ -216,6 +218,7 @@ public class MedicalTypeBrowserEdit extends JDialog {
 					} else {
 						try {
 							MedicalType updatedMedicalType = medicalTypeBrowserManager.updateMedicalType(medicalType);
+							ReferenceDataCache.getInstance().medicalTypes().invalidate();
 							if (updatedMedicalType != null) {
 								fireMedicalUpdated();
 								dispose();
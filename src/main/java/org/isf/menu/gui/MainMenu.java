@@ -33,6 +33,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -75,6 +76,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.ModalJFrame;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.xmpp.gui.CommunicationFrame;
 import org.isf.xmpp.service.Server;
 import org.jivesoftware.smack.XMPPException;
@@ -140,6 +142,7 @@ public class MainMenu extends JFrame implements ActionListener, LoginListener, C
 	static final int menuXPosition = 10;
 	static final int menuYDisplacement = 75;
 	private static final String OH_TITLE = "OH";
+	private static final Duration REFERENCE_DATA_MAX_AGE = Duration.ofMinutes(5);
 
 	// singleUser=true : one user
 	private boolean singleUser;
@@ -363,6 +366,12 @@ public class MainMenu extends JFrame implements ActionListener, LoginListener, C
 			public void windowClosing(WindowEvent e) {
 				actionExit(0);
 			}
+
+			@Override
+			public void windowActivated(WindowEvent e) {
+				// back to the menu: other workstations may have changed diseases, wards, exams, medicals or prices
+				ReferenceDataCache.getInstance().refreshIfOlderThan(REFERENCE_DATA_MAX_AGE);
+			}
 		});
 
 		setVisible(true);
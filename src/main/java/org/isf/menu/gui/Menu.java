@@ -27,6 +27,9 @@ import java.awt.Toolkit;
 import java.io.File;
 import java.util.Enumeration;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import javax.swing.JFrame;
@@ -52,19 +55,35 @@ public class Menu {
 	private static final Pattern DELIMITER = Pattern.compile("[._\\-+]");
 	private static final String MIN_JAVA_VERSION = "17";
 
+	private SplashWindow3 splash;
+
 	/**
-	 * Create the GUI and show it.
+	 * Show the splash, and with it the Look and Feel, while the settings and fonts are checked in background.
+	 * Must be called on the Event Dispatch Thread.
 	 */
-	private static void createAndShowGUI() {
-		String newLine = System.lineSeparator();
-		LOGGER.info("{}{}====================={}Starting Open Hospital{}====================={}", newLine, newLine, newLine, newLine, newLine);
-		checkOHVersion();
-		checkJavaVersion();
-		fontChecker();
+	private void showSplash() {
 		JFrame.setDefaultLookAndFeelDecorated(false);
-		new SplashWindow3("rsc" + File.separator + "images" + File.separator + "splash.png", null, 3000);
+		splash = new SplashWindow3("rsc" + File.separator + "images" + File.separator + "splash.png", null);
+	}
+
+	/**
+	 * Apply what has been found in background and open the application, in place of the splash.
+	 * Must be called on the Event Dispatch Thread.
+	 */
+	private void createAndShowGUI(FontUIResource font, long startTime) {
+		if (font != null) {
+			setUIFont(font);
+		}
 		WaitCursorEventQueue waitQueue = new WaitCursorEventQueue(10, Toolkit.getDefaultToolkit().getSystemEventQueue());
 		Toolkit.getDefaultToolkit().getSystemEventQueue().push(waitQueue);
+		LOGGER.info("Open Hospital started in {} ms", elapsedMillis(startTime));
+		splash.closeAndStart();
+	}
+
+	private static void initializeSettings() {
+		checkOHVersion();
+		GeneralData.initialize();
+		MessageBundle.getBundle();
 	}
 
 	private static void checkOHVersion() {
@@ -123,25 +142,29 @@ public class Menu {
 		}
 	}
 
-	public static void fontChecker() {
-
-		GeneralData.initialize();
-		MessageBundle.getBundle();
+	/**
+	 * Check that the font of the Look and Feel can display the selected language.
+	 * The font is read from the {@link UIManager} on the Event Dispatch Thread, once the Look and Feel is installed,
+	 * so that the check can be run off it.
+	 *
+	 * @param currentFont the label font of the Look and Feel, may be {@code null}
+	 * @return the font to use in its place, or {@code null} if there is no need to change it.
+	 */
+	private static FontUIResource findFont(Font currentFont) {
 		String textToCheck = MessageBundle.getMessage("angal.common.address.txt"); // Any string from bundle to check
 		LOGGER.debug("textToCheck: {}", textToCheck);
 
-		Font currentFont = UIManager.getFont("Label.font");
-
 		if (currentFont != null) {
 			LOGGER.debug("Current Font: {} {}", currentFont.getFontName(), currentFont.getSize());
 		} else {
 			LOGGER.debug("Unable to retrieve the current font from the L&F.");
-			return;
+			return null;
 		}
 
 		// Check if the currentFont can display the textToCheck
 		if (currentFont.canDisplayUpTo(textToCheck) == -1) {
 			LOGGER.debug("The current font supports the selected language.");
+			return null;
 		} else {
 			LOGGER.debug("The current font does not support the selected language.");
 
@@ -150,19 +173,77 @@ public class Menu {
 			for (Font font : availableFonts) {
 				if (font.canDisplayUpTo(textToCheck) == -1) {
 					LOGGER.debug("Found a font that supports the selected language: {}", font.getFontName());
-					setUIFont(new FontUIResource(font.getFontName(), Font.PLAIN, 12));
-					return;
+					return new FontUIResource(font.getFontName(), Font.PLAIN, 12);
 				}
 			}
 			LOGGER.error("Unable to find a font that supports the selected language.");
 			System.exit(1);
+			return null;
 		}
 	}
 
+	/**
+	 * The splash is shown straight away and the settings and bundles are read before anything else, as the beans may
+	 * use them; then the Spring context is created on this thread while the fonts are checked on another one, and the
+	 * application opens as soon as both are done.
+	 */
 	public Menu(String[] args) {
-		ApplicationContext context = createApplicationContext(args);
-		Context.setApplicationContext(context);
-		SwingUtilities.invokeLater(() -> createAndShowGUI());
+		long startTime = System.nanoTime();
+		String newLine = System.lineSeparator();
+		LOGGER.info("{}{}====================={}Starting Open Hospital{}====================={}", newLine, newLine, newLine, newLine, newLine);
+		checkJavaVersion();
+		CompletableFuture<Font> lookAndFeelFont = CompletableFuture.supplyAsync(() -> timed("Splash and Look and Feel", () -> {
+			showSplash();
+			return UIManager.getFont("Label.font");
+		}), SwingUtilities::invokeLater);
+		CompletableFuture<FontUIResource> fontFuture;
+		try {
+			timed("Settings and bundles", () -> {
+				initializeSettings();
+				return null;
+			});
+			fontFuture = CompletableFuture.supplyAsync(() -> {
+				Font currentFont = lookAndFeelFont.join();
+				return timed("Font check", () -> findFont(currentFont));
+			}, task -> new Thread(task, "StartupThread").start());
+			ApplicationContext context = timed("Spring context", () -> createApplicationContext(args));
+			Context.setApplicationContext(context);
+		} catch (RuntimeException e) {
+			exitOnStartupError(e);
+			return;
+		}
+		FontUIResource font;
+		try {
+			font = fontFuture.join();
+		} catch (CompletionException e) {
+			exitOnStartupError(e.getCause());
+			return;
+		}
+		SwingUtilities.invokeLater(() -> createAndShowGUI(font, startTime));
+	}
+
+	/**
+	 * The splash would keep the Event Dispatch Thread, and with it the JVM, alive: it is closed and the JVM stopped.
+	 */
+	private void exitOnStartupError(Throwable cause) {
+		LOGGER.error("Unable to initialize Open Hospital.", cause);
+		SwingUtilities.invokeLater(() -> {
+			if (splash != null) {
+				splash.dispose();
+			}
+		});
+		System.exit(1);
+	}
+
+	private static <T> T timed(String phase, Supplier<T> task) {
+		long phaseStart = System.nanoTime();
+		T result = task.get();
+		LOGGER.info("Startup phase '{}' took {} ms", phase, elapsedMillis(phaseStart));
+		return result;
+	}
+
+	private static long elapsedMillis(long startTime) {
+		return (System.nanoTime() - startTime) / 1_000_000L;
 	}
 
 	private static ApplicationContext createApplicationContext(String... args) {
@@ -39,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import javax.swing.AbstractButton;
 import javax.swing.BorderFactory;
@@ -67,6 +68,7 @@ import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
 
+import org.isf.disease.gui.DiseaseIndex;
 import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.distype.manager.DiseaseTypeBrowserManager;
@@ -83,6 +85,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.jobjects.GoodDateChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.jobjects.TypeAheadComboBoxModel;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
 import org.isf.utils.time.TimeTools;
@@ -95,6 +98,7 @@ import org.isf.ward.model.Ward;
 public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener, SurgeryListener {
 
 	private static final long serialVersionUID = 2372745781159245861L;
+	private static final String DISEASE_PROTOTYPE = "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX";
 
 	private JPanel jButtonPanel;
 	private JPanel jContainPanel;
@@ -110,7 +114,8 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 	private VoLimitedTextField jAgeToTextField;
 	private JPanel jAgePanel;
 	private JComboBox<DiseaseType> jDiseaseTypeBox;
-	private JComboBox<Disease> jDiseaseBox;
+	private JComboBox<Object> jDiseaseBox;
+	private TypeAheadComboBoxModel<Disease> diseaseBoxModel;
 	private JComboBox jWardBox;
 	private JPanel sexPanel;
 	private Integer ageTo = 0;
@@ -160,6 +165,7 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 	private JRadioButton radioMale;
 	private JRadioButton radioAllGender;
 	private List<Disease> diseases;
+	private DiseaseIndex diseaseIndex;
 	protected AbstractButton searchDiseaseButton;
 	private GoodDateChooser dateFrom;
 	private GoodDateChooser dateTo;
@@ -644,10 +650,7 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 				}
 			}
 
-			jDiseaseTypeBox.addActionListener(actionEvent -> {
-				jDiseaseBox.removeAllItems();
-				getDiseaseBox();
-			});
+			jDiseaseTypeBox.addActionListener(actionEvent -> getDiseaseBox());
 		}
 		return jDiseaseTypeBox;
 	}
@@ -657,27 +660,28 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 	 *
 	 * @return javax.swing.JComboBox
 	 */
-	public JComboBox<Disease> getDiseaseBox() {
+	public JComboBox<Object> getDiseaseBox() {
 		if (jDiseaseBox == null) {
 			jDiseaseBox = new JComboBox<>();
-
-		}
-		try {
-			if (((DiseaseType) jDiseaseTypeBox.getSelectedItem()).getDescription().equals(MessageBundle.getMessage("angal.common.alldiseasetypes.txt"))) {
+			diseaseBoxModel = new TypeAheadComboBoxModel<>(allDisease, Disease::getDescription);
+			diseaseBoxModel.install(jDiseaseBox, DISEASE_PROTOTYPE);
+			try {
 				diseases = diseaseBrowserManager.getDiseaseOpd();
-			} else {
-				diseases = diseaseBrowserManager.getDiseaseOpd(((DiseaseType) jDiseaseTypeBox.getSelectedItem()).getCode());
+			} catch (OHServiceException ohServiceException) {
+				MessageDialog.showExceptions(ohServiceException);
 			}
-		} catch (OHServiceException ohServiceException) {
-			MessageDialog.showExceptions(ohServiceException);
-		}
-		
-		jDiseaseBox.addItem(allDisease);
-		if (diseases != null) {
-			for (Disease elem : diseases) {
-				jDiseaseBox.addItem(elem);
+			if (diseases != null) {
+				diseaseBoxModel.setItems(diseases);
+				diseaseIndex = new DiseaseIndex(diseases);
 			}
 		}
+		DiseaseType selectedType = (DiseaseType) jDiseaseTypeBox.getSelectedItem();
+		if (selectedType == null || selectedType.getDescription().equals(MessageBundle.getMessage("angal.common.alldiseasetypes.txt"))) {
+			diseaseBoxModel.filter((Predicate<Disease>) null);
+		} else {
+			diseaseBoxModel.filter(disease -> disease.getType() != null && selectedType.getCode().equals(disease.getType().getCode()));
+		}
+		diseaseBoxModel.setSelectedItem(allDisease);
 		jDiseaseBox.setPreferredSize(new Dimension(300, 25));
 		jDiseaseBox.setMaximumSize(new Dimension(300, 25));
 		return jDiseaseBox;
@@ -773,16 +777,14 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 		searchDiseaseButton.setIcon(new ImageIcon("rsc/icons/zoom_r_button.png"));
 		searchFieldPanel.add(searchDiseaseButton);
 		searchDiseaseButton.addActionListener(actionEvent -> {
-			jDiseaseBox.removeAllItems();
-			for (Disease disease : getSearchDiagnosisResults(searchDiseasetextField.getText(), diseases)) {
-				jDiseaseBox.addItem(disease);
-			}
-
-			if (jDiseaseBox.getItemCount() >= 2) {
-				jDiseaseBox.setSelectedIndex(1);
-			}
+			// the diseases matching at least one word of the search text, the best ones first
+			String text = searchDiseasetextField.getText();
+			int found = diseaseIndex == null || text.trim().isEmpty()
+							? diseaseBoxModel.filter("")
+							: diseaseBoxModel.filter(diseaseIndex.searchPositions(text, DiseaseIndex.DEFAULT_LIMIT));
+			diseaseBoxModel.setSelectedItem(diseaseBoxModel.getElementAt(found > 0 ? 1 : 0));
 			jDiseaseBox.requestFocus();
-			if (jDiseaseBox.getItemCount() > 2) {
+			if (found > 1) {
 				jDiseaseBox.showPopup();
 			}
 		});
@@ -790,31 +792,6 @@ public class OpdBrowser extends ModalJFrame implements OpdEdit.SurgeryListener,
 		return searchFieldPanel;
 	}
 
-	private List<Disease> getSearchDiagnosisResults(String s, List<Disease> diseaseList) {
-		String query = s.trim();
-		List<Disease> results = new ArrayList<>();
-		for (Disease disease : diseaseList) {
-			if (!query.isEmpty()) {
-				String[] patterns = query.split(" ");
-				String name = disease.getDescription().toLowerCase();
-				boolean patternFound = false;
-				for (String pattern : patterns) {
-					if (name.contains(pattern.toLowerCase())) {
-						patternFound = true;
-						// It is sufficient that only one pattern matches the query
-						break;
-					}
-				}
-				if (patternFound) {
-					results.add(disease);
-				}
-			} else {
-				results.add(disease);
-			}
-		}
-		return results;
-	}
-
 	/**
 	 * This method initializes jAgePanel
 	 *
@@ -32,7 +32,6 @@ import java.awt.event.FocusListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.EventListener;
 import java.util.List;
 
@@ -52,6 +51,7 @@ import javax.swing.JTextField;
 import javax.swing.border.Border;
 import javax.swing.event.EventListenerList;
 
+import org.isf.disease.gui.DiseaseIndex;
 import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.distype.manager.DiseaseTypeBrowserManager;
@@ -66,6 +66,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 import org.isf.ward.manager.WardBrowserManager;
@@ -158,6 +159,7 @@ public class OpdEdit extends JDialog {
 	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 	private List<DiseaseType> types;
 	private List<Disease> diseasesAll;
+	private DiseaseIndex diseaseIndex;
 	
     /*
      * Adds: Textfields and buttons to enable search in diagnosis
@@ -178,7 +180,7 @@ public class OpdEdit extends JDialog {
 		insert = inserting;
 		try {
 			types = diseaseTypeBrowserManager.getDiseaseType();
-			diseasesAll = diseaseBrowserManager.getDiseaseAll();
+			diseasesAll = ReferenceDataCache.getInstance().getDiseases();
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -516,6 +518,7 @@ public class OpdEdit extends JDialog {
 
 								Opd insertedOpd = opdBrowserManager.newOpd(opd);
 								if (insertedOpd != null) {
+									DiseaseIndex.recordUse(opd.getDisease(), opd.getDisease2(), opd.getDisease3());
 									fireSurgeryInserted(opd);
 									dispose();
 								} else {
@@ -524,6 +527,7 @@ public class OpdEdit extends JDialog {
 							} else {    // Update
 								Opd updatedOpd = opdBrowserManager.updateOpd(opd);
 								if (updatedOpd != null) {
+									DiseaseIndex.recordUse(opd.getDisease(), opd.getDisease2(), opd.getDisease3());
 									fireSurgeryUpdated(updatedOpd);
 									dispose();
 								} else {
@@ -680,19 +684,11 @@ public class OpdEdit extends JDialog {
 			searchDiseaseButton.setIcon(new ImageIcon("rsc/icons/zoom_r_button.png"));
 			searchDiseaseButton.addActionListener(new ActionListener() {
 
-				List<Disease> diseasesOPD;
-
 				@Override
 				public void actionPerformed(ActionEvent arg0) {
-					try {
-						diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
-					} catch (OHServiceException ex) {
-						OHServiceExceptionUtil.showMessages(ex);
-					}
 					diseaseBox.removeAllItems();
 					diseaseBox.addItem("");
-					for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField.getText(),
-							diseasesOPD == null ? diseasesAll : diseasesOPD)) {
+					for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField.getText())) {
 						diseaseBox.addItem(disease);
 					}
 
@@ -744,19 +740,11 @@ public class OpdEdit extends JDialog {
 			searchDiseaseButton2.setIcon(new ImageIcon("rsc/icons/zoom_r_button.png"));
 			searchDiseaseButton2.addActionListener(new ActionListener() {
 
-				List<Disease> diseasesOPD;
-
 				@Override
 				public void actionPerformed(ActionEvent arg0) {
-					try {
-						diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
-					} catch (OHServiceException ex) {
-						OHServiceExceptionUtil.showMessages(ex);
-					}
 					diseaseBox2.removeAllItems();
 					diseaseBox2.addItem("");
-					for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField2.getText(),
-									diseasesOPD == null ? diseasesAll : diseasesOPD)) {
+					for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField2.getText())) {
 						diseaseBox2.addItem(disease);
 					}
 
@@ -807,19 +795,11 @@ public class OpdEdit extends JDialog {
 			searchDiseaseButton3.setIcon(new ImageIcon("rsc/icons/zoom_r_button.png"));
 			searchDiseaseButton3.addActionListener(new ActionListener() {
 
-				List<Disease> diseasesOPD;
-
 				@Override
 				public void actionPerformed(ActionEvent arg0) {
-					try {
-						diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
-					} catch (OHServiceException ex) {
-						OHServiceExceptionUtil.showMessages(ex);
-					}
 					diseaseBox3.removeAllItems();
 					diseaseBox3.addItem("");
-					for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField3.getText(),
-							diseasesOPD == null ? diseasesAll : diseasesOPD)) {
+					for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField3.getText())) {
 						diseaseBox3.addItem(disease);
 					}
 
@@ -925,29 +905,17 @@ public class OpdEdit extends JDialog {
 		return c;
 	}
 
-	private List<Disease> getSearchDiagnosisResults(String s, List<Disease> diseaseList) {
-		String query = s.trim();
-		List<Disease> results = new ArrayList<>();
-		for (Disease disease : diseaseList) {
-			if (!query.equals("")) {
-				String[] patterns = query.split(" ");
-				String name = disease.getDescription().toLowerCase();
-				boolean patternFound = false;
-				for (String pattern : patterns) {
-					if (name.contains(pattern.toLowerCase())) {
-						patternFound = true;
-						//It is sufficient that only one pattern matches the query
-						break;
-					}
-				}
-				if (patternFound) {
-					results.add(disease);
-				}
-			} else {
-				results.add(disease);
+	private List<Disease> getSearchDiagnosisResults(String s) {
+		if (diseaseIndex == null) {
+			List<Disease> diseasesOPD = null;
+			try {
+				diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
+			} catch (OHServiceException ex) {
+				OHServiceExceptionUtil.showMessages(ex);
 			}
+			diseaseIndex = new DiseaseIndex(diseasesOPD == null ? diseasesAll : diseasesOPD);
 		}
-		return results;
+		return diseaseIndex.search(s, DiseaseIndex.DEFAULT_LIMIT);
 	}
 	
 }
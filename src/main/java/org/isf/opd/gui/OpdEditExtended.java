@@ -44,6 +44,7 @@ import java.util.EventListener;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -74,6 +75,7 @@ import org.isf.anamnesis.gui.PatientHistoryEdit;
 import org.isf.anamnesis.manager.PatientHistoryManager;
 import org.isf.anamnesis.model.PatientHistory;
 import org.isf.anamnesis.model.PatientPatientHistory;
+import org.isf.disease.gui.DiseaseIndex;
 import org.isf.disease.manager.DiseaseBrowserManager;
 import org.isf.disease.model.Disease;
 import org.isf.distype.manager.DiseaseTypeBrowserManager;
@@ -93,6 +95,7 @@ import org.isf.operation.gui.OperationRowOpd;
 import org.isf.patient.gui.PatientInsert;
 import org.isf.patient.gui.PatientInsert.PatientListener;
 import org.isf.patient.gui.PatientInsertExtended;
+import org.isf.patient.gui.PatientLookup;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.utils.db.RememberData;
@@ -102,7 +105,9 @@ import org.isf.utils.jobjects.GoodDateTimeSpinnerChooser;
 import org.isf.utils.jobjects.GoodDateTimeVisitChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.jobjects.TypeAheadComboBoxModel;
 import org.isf.utils.jobjects.VoLimitedTextField;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.RememberDates;
 import org.isf.utils.time.TimeTools;
 import org.isf.visits.manager.VisitManager;
@@ -135,6 +140,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 		jComboPatResult.addItem(opdPatient);
 		jComboPatResult.setSelectedItem(opdPatient);
 		jPatientEditButton.setEnabled(true);
+		patientLookup.clearCache();
 	}
 
 	@Override
@@ -181,6 +187,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 		}
 	}
 
+	private static final String DISEASE_PROTOTYPE = "XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX";
 	private static final String LAST_OPD_LABEL = "<html><i>" + MessageBundle.getMessage("angal.opd.lastopdvisitm.txt") + "</i></html>:";
 	private static final String LAST_NOTE_LABEL = "<html><i>" + MessageBundle.getMessage("angal.opd.lastopdnote.txt") + "</i></html>:";
 
@@ -191,9 +198,13 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 	private JPanel jPanelButtons;
 
 	private JComboBox diseaseTypeBox;
-	private JComboBox diseaseBox1;
-	private JComboBox diseaseBox2;
-	private JComboBox diseaseBox3;
+	private JComboBox<Object> diseaseBox1;
+	private JComboBox<Object> diseaseBox2;
+	private JComboBox<Object> diseaseBox3;
+	private TypeAheadComboBoxModel<Disease> diseaseBox1Model = new TypeAheadComboBoxModel<>("", Disease::getDescription);
+	private TypeAheadComboBoxModel<Disease> diseaseBox2Model = new TypeAheadComboBoxModel<>("", Disease::getDescription);
+	private TypeAheadComboBoxModel<Disease> diseaseBox3Model = new TypeAheadComboBoxModel<>("", Disease::getDescription);
+	private Disease opdDisease1;
 	private LocalDateTime visitDateOpd;
 	private DateTimeFormatter currentDateFormat = DateTimeFormatter.ofPattern(DATE_FORMAT_DD_MM_YYYY_HH_MM, new Locale(GeneralData.LANGUAGE));
 	private GoodDateTimeSpinnerChooser opdDateFieldCal;
@@ -255,9 +266,11 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 	private List<DiseaseType> types;
 	private List<Disease> diseasesOPD;
 	private List<Disease> diseasesAll;
+	private DiseaseIndex diseaseIndex;
 	private List<Ward> wardsOPDList;
 	private List<Ward> wardsList;
 	private List<Patient> pat = new ArrayList<>();
+	private final PatientLookup patientLookup = new PatientLookup(this::patientsFound);
 
 	private Disease lastOPDDisease1;
 	private int visitDuration;
@@ -293,9 +306,9 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 		try {
 			types = diseaseTypeBrowserManager.getDiseaseType();
 			diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
-			diseasesAll = diseaseBrowserManager.getDiseaseAll();
+			diseasesAll = ReferenceDataCache.getInstance().getDiseases();
 			wardsOPDList = wardBrowserManager.getOpdWards();
-			wardsList = wardBrowserManager.getWards();
+			wardsList = ReferenceDataCache.getInstance().getWards();
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -323,9 +336,9 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 		try {
 			types = diseaseTypeBrowserManager.getDiseaseType();
 			diseasesOPD = diseaseBrowserManager.getDiseaseOpd();
-			diseasesAll = diseaseBrowserManager.getDiseaseAll();
+			diseasesAll = ReferenceDataCache.getInstance().getDiseases();
 			wardsOPDList = wardBrowserManager.getOpdWards();
-			wardsList = wardBrowserManager.getWards();
+			wardsList = ReferenceDataCache.getInstance().getWards();
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
@@ -545,15 +558,11 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 			@Override
 			public void windowClosing(WindowEvent e) {
 				//to free memory
+				patientLookup.cancel();
 				pat.clear();
-				diseasesAll.clear();
 				diseasesOPD.clear();
 				types.clear();
 				jComboPatResult.removeAllItems();
-				diseaseTypeBox.removeAllItems();
-				diseaseBox1.removeAllItems();
-				diseaseBox2.removeAllItems();
-				diseaseBox3.removeAllItems();
 				dispose();
 			}
 		});
@@ -1112,10 +1121,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 			} else {
 				diseaseTypeBox.setSelectedIndex(0);
 			}
-			diseaseTypeBox.addActionListener(actionEvent -> {
-				diseaseBox1.removeAllItems();
-				getDiseaseBox1();
-			});
+			diseaseTypeBox.addActionListener(actionEvent -> getDiseaseBox1());
 		}
 		return diseaseTypeBox;
 	}
@@ -1125,73 +1131,63 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 	 * 	
 	 * @return javax.swing.JComboBox	
 	 */
-	private JComboBox getDiseaseBox1() {
+	private JComboBox<Object> getDiseaseBox1() {
 		if (diseaseBox1 == null) {
-			diseaseBox1 = new JComboBox();
+			diseaseBox1 = new JComboBox<>();
 			diseaseBox1.setMaximumSize(new Dimension(400, 50));
+			diseaseBox1Model.install(diseaseBox1, DISEASE_PROTOTYPE);
+			diseaseBox1Model.setItems(diseasesOPD);
 			diseaseBox1.addActionListener(actionEvent -> setAttendance());
-		}
-		Disease elem2 = null;
-		diseaseBox1.addItem("");
-
-		for (Disease elem : diseasesOPD) {
-			if (diseaseTypeBox.getSelectedItem().equals(allType)) {
-				diseaseBox1.addItem(elem);
-			} else if (elem.getType().equals(diseaseTypeBox.getSelectedItem())) {
-				diseaseBox1.addItem(elem);
-			}
-			if (!insert && opd.getDisease() != null) {
-				if (opd.getDisease().getCode().equals(elem.getCode())) {
-					elem2 = elem;
-				}
-			}
-		}
-		if (!insert) {
-			if (elem2 != null) {
-				diseaseBox1.setSelectedItem(elem2);
-			} else { //try in the canceled diseases
-				if (opd.getDisease() != null) {
-					for (Disease elem : diseasesAll) {
-						if (opd.getDisease().getCode().equals(elem.getCode())) {
-							MessageDialog.warning(this, "angal.opd.disease1mayhavebeencancelled.msg");
-							diseaseBox1.addItem(elem);
-							diseaseBox1.setSelectedItem(elem);
-						}
+			if (!insert) {
+				opdDisease1 = findDisease(diseasesOPD, opd.getDisease());
+				if (opdDisease1 == null) { //try in the canceled diseases
+					opdDisease1 = findDisease(diseasesAll, opd.getDisease());
+					if (opdDisease1 != null) {
+						MessageDialog.warning(this, "angal.opd.disease1mayhavebeencancelled.msg");
+						diseaseBox1Model.addItem(opdDisease1);
 					}
 				}
 			}
 		}
+		Object selectedType = diseaseTypeBox.getSelectedItem();
+		if (selectedType == null || selectedType.equals(allType)) {
+			diseaseBox1Model.filter((Predicate<Disease>) null);
+		} else {
+			diseaseBox1Model.filter(elem -> selectedType.equals(elem.getType()));
+		}
+		diseaseBox1.setSelectedItem(opdDisease1 != null ? opdDisease1 : "");
 		return diseaseBox1;
 	}
+
+	private static Disease findDisease(List<Disease> diseases, Disease disease) {
+		if (disease == null) {
+			return null;
+		}
+		Disease found = null;
+		for (Disease elem : diseases) {
+			if (disease.getCode().equals(elem.getCode())) {
+				found = elem;
+			}
+		}
+		return found;
+	}
 	
-	public JComboBox getDiseaseBox2() {
+	public JComboBox<Object> getDiseaseBox2() {
 		if (diseaseBox2 == null) {
-			diseaseBox2 = new JComboBox();
+			diseaseBox2 = new JComboBox<>();
 			diseaseBox2.setMaximumSize(new Dimension(400, 50));
+			diseaseBox2Model.install(diseaseBox2, DISEASE_PROTOTYPE);
 		}
-		Disease elem2=null;
-		diseaseBox2.addItem("");
-
-		for (Disease elem : diseasesOPD) {
-			diseaseBox2.addItem(elem);
-			if (!insert && opd.getDisease2() != null) {
-				if (opd.getDisease2().getCode().equals(elem.getCode())) {
-					elem2 = elem;
-				}
-			}
-		}
-		if (elem2 !=  null) {
+		diseaseBox2Model.setItems(diseasesOPD);
+		Disease elem2 = insert ? null : findDisease(diseasesOPD, opd.getDisease2());
+		if (elem2 != null) {
 			diseaseBox2.setSelectedItem(elem2);
 		} else { //try in the canceled diseases
-			if (opd.getDisease2()!=null) {
-				for (Disease elem : diseasesAll) {
-					
-					if (opd.getDisease2().getCode().equals(elem.getCode())) {
-						MessageDialog.warning(this, "angal.opd.disease2mayhavebeencancelled.msg");
-						diseaseBox2.addItem(elem);
-						diseaseBox2.setSelectedItem(elem);
-					}
-				}
+			Disease cancelled = findDisease(diseasesAll, opd.getDisease2());
+			if (cancelled != null) {
+				MessageDialog.warning(this, "angal.opd.disease2mayhavebeencancelled.msg");
+				diseaseBox2Model.addItem(cancelled);
+				diseaseBox2.setSelectedItem(cancelled);
 			}
 		}
 		return diseaseBox2;
@@ -1200,6 +1196,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 	private VoLimitedTextField getJTextPatientSrc() {
 		if (jTextPatientSrc == null) {
 			jTextPatientSrc = new VoLimitedTextField(16, 20);
+			patientLookup.install(jTextPatientSrc);
 			jTextPatientSrc.addKeyListener(new KeyListener() {
 
 				@Override
@@ -1245,20 +1242,17 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 			jSearchButton.setIcon(new ImageIcon("rsc/icons/zoom_r_button.png"));
 			jSearchButton.setBorderPainted(false);
 			jSearchButton.setPreferredSize(new Dimension(20, 20));
-			jSearchButton.addActionListener(actionEvent -> {
-				jComboPatResult.removeAllItems();
-				try {
-					pat = patientBrowserManager.getPatientsByOneOfFieldsLike(jTextPatientSrc.getText());
-				} catch (OHServiceException ex) {
-					OHServiceExceptionUtil.showMessages(ex);
-					pat = new ArrayList<>();
-				}
-				getSearchBox(jTextPatientSrc.getText());
-			});
+			jSearchButton.addActionListener(actionEvent -> patientLookup.searchNow(jTextPatientSrc.getText()));
 		}
 		return jSearchButton;
 	}
 
+	private void patientsFound(List<Patient> patients) {
+		jComboPatResult.removeAllItems();
+		pat = new ArrayList<>(patients);
+		getSearchBox(jTextPatientSrc.getText());
+	}
+
 	private void getSearchBox(String key) {
 		String[] s1;
 
@@ -1389,33 +1383,22 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 		return jPatientEditButton;
 	}
 	
-	private JComboBox getDiseaseBox3() {
+	private JComboBox<Object> getDiseaseBox3() {
 		if (diseaseBox3 == null) {
-			diseaseBox3 = new JComboBox();
+			diseaseBox3 = new JComboBox<>();
 			diseaseBox3.setMaximumSize(new Dimension(400, 50));
+			diseaseBox3Model.install(diseaseBox3, DISEASE_PROTOTYPE);
 		}
-		Disease elem2=null;
-		diseaseBox3.addItem("");
-
-		for (Disease elem : diseasesOPD) {
-			diseaseBox3.addItem(elem);
-			if (!insert && opd.getDisease3() != null) {
-				if (opd.getDisease3().getCode().equals(elem.getCode())) {
-					elem2 = elem;
-				}
-			}
-		}
-		if (elem2!= null) {
+		diseaseBox3Model.setItems(diseasesOPD);
+		Disease elem2 = insert ? null : findDisease(diseasesOPD, opd.getDisease3());
+		if (elem2 != null) {
 			diseaseBox3.setSelectedItem(elem2);
 		} else { //try in the canceled diseases
-			if (opd.getDisease3()!=null) {	
-				for (Disease elem : diseasesAll) {
-					if (opd.getDisease3().getCode().equals(elem.getCode())) {
-						MessageDialog.warning(this, "angal.opd.disease3mayhavebeencancelled.msg");
-						diseaseBox3.addItem(elem);
-						diseaseBox3.setSelectedItem(elem);
-					}
-				}
+			Disease cancelled = findDisease(diseasesAll, opd.getDisease3());
+			if (cancelled != null) {
+				MessageDialog.warning(this, "angal.opd.disease3mayhavebeencancelled.msg");
+				diseaseBox3Model.addItem(cancelled);
+				diseaseBox3.setSelectedItem(cancelled);
 			}
 		}
 		return diseaseBox3;
@@ -1833,6 +1816,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 						}
 						Opd insertedOpd = opdBrowserManager.newOpd(opd);
 						if (insertedOpd != null) {
+							DiseaseIndex.recordUse(opd.getDisease(), opd.getDisease2(), opd.getDisease3());
 							RememberDates.setLastOpdVisitDate(visitDateOpd);
 							RememberData.setLastOpdWard(opdWard);
 							fireSurgeryInserted(opd);
@@ -1851,6 +1835,7 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 						if (updatedOpd == null) {
 							MessageDialog.error(this, "angal.common.datacouldnotbesaved.msg");
 						} else {
+							DiseaseIndex.recordUse(opd.getDisease(), opd.getDisease2(), opd.getDisease3());
 							fireSurgeryUpdated(updatedOpd);
 							// can't delete the visit info until the OPD is updated
 							if (!isNextVisit && nextVisit != null) {
@@ -1878,15 +1863,11 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 			cancelButton.setMnemonic(MessageBundle.getMnemonic("angal.common.cancel.btn.key"));
 			cancelButton.addActionListener(actionEvent -> {
 				//to free Memory
+				patientLookup.cancel();
 				pat.clear();
-				diseasesAll.clear();
 				diseasesOPD.clear();
 				types.clear();
 				jComboPatResult.removeAllItems();
-				diseaseTypeBox.removeAllItems();
-				diseaseBox1.removeAllItems();
-				diseaseBox2.removeAllItems();
-				diseaseBox3.removeAllItems();
 				dispose();
 			});
 		}
@@ -1916,70 +1897,27 @@ public class OpdEditExtended extends ModalJFrame implements PatientInsertExtende
 	public void actionPerformed(ActionEvent actionEvent) {
 		JButton source = (JButton) actionEvent.getSource();
 		if (source == searchDiseaseButton) {
-			diseaseBox1.removeAllItems();
-			diseaseBox1.addItem("");
-			for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField.getText(), diseasesOPD == null ? diseasesAll : diseasesOPD)) {
-				diseaseBox1.addItem(disease);
-			}
-			if (diseaseBox1.getItemCount() >= 2) {
-				diseaseBox1.setSelectedIndex(1);
-			}
-			diseaseBox1.requestFocus();
-			if (diseaseBox1.getItemCount() > 2) {
-				diseaseBox1.showPopup();
-			}
+			showSearchResults(diseaseBox1, diseaseBox1Model, searchDiseaseTextField.getText());
 		} else if (source == searchDiseaseButton2) {
-			diseaseBox2.removeAllItems();
-			diseaseBox2.addItem("");
-			for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField2.getText(), diseasesOPD == null ? diseasesAll : diseasesOPD)) {
-				diseaseBox2.addItem(disease);
-			}
-			if (diseaseBox2.getItemCount() >= 2) {
-				diseaseBox2.setSelectedIndex(1);
-			}
-			diseaseBox2.requestFocus();
-			if (diseaseBox2.getItemCount() > 2) {
-				diseaseBox2.showPopup();
-			}
+			showSearchResults(diseaseBox2, diseaseBox2Model, searchDiseaseTextField2.getText());
 		} else if (source == searchDiseaseButton3) {
-			diseaseBox3.removeAllItems();
-			diseaseBox3.addItem("");
-			for (Disease disease : getSearchDiagnosisResults(searchDiseaseTextField3.getText(), diseasesOPD == null ? diseasesAll : diseasesOPD)) {
-				diseaseBox3.addItem(disease);
-			}
-			if (diseaseBox3.getItemCount() >= 2) {
-				diseaseBox3.setSelectedIndex(1);
-			}
-			diseaseBox3.requestFocus();
-			if (diseaseBox3.getItemCount() > 2) {
-				diseaseBox3.showPopup();
-			}
+			showSearchResults(diseaseBox3, diseaseBox3Model, searchDiseaseTextField3.getText());
 		}
 	}
 
-	private List<Disease> getSearchDiagnosisResults(String s, List<Disease> diseaseList) {
-		String query = s.trim();
-		List<Disease> results = new ArrayList<>();
-		for (Disease disease : diseaseList) {
-			if (!query.equals("")) {
-				String[] patterns = query.split(" ");
-				String name = disease.getDescription().toLowerCase();
-				boolean patternFound = false;
-				for (String pattern : patterns) {
-					if (name.contains(pattern.toLowerCase())) {
-						patternFound = true;
-						//It is sufficient that only one pattern matches the query
-						break;
-					}
-				}
-				if (patternFound) {
-					results.add(disease);
-				}
-			} else {
-				results.add(disease);
-			}
+	/*
+	 * The diseases are searched in the OPD diseases the models were set with, the best ones first
+	 */
+	private void showSearchResults(JComboBox<Object> diseaseBox, TypeAheadComboBoxModel<Disease> diseaseBoxModel, String text) {
+		if (diseaseIndex == null) {
+			diseaseIndex = new DiseaseIndex(diseasesOPD);
+		}
+		int found = text.trim().isEmpty() ? diseaseBoxModel.filter("") : diseaseBoxModel.filter(diseaseIndex.searchPositions(text, DiseaseIndex.DEFAULT_LIMIT));
+		diseaseBoxModel.setSelectedItem(found > 0 ? diseaseBoxModel.getElementAt(1) : "");
+		diseaseBox.requestFocus();
+		if (found > 1) {
+			diseaseBox.showPopup();
 		}
-		return results;
 	}
 
 	private JLabel getNextVisitLabel() {
@@ -31,7 +31,6 @@ import java.awt.Image;
 import java.awt.event.ActionListener;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.Period;
@@ -2250,10 +2249,13 @@ public class PatientInsertExtended extends JDialog {
 		return jMotherNameTextField;
 	}
 
-	public void setPatientPhoto(BufferedImage photo) {
+	/**
+	 * @param photo the encoded photo, or {@code null} to remove it
+	 */
+	public void setPatientPhoto(byte[] photo) {
 		if (photo != null) {
 			PatientProfilePhoto patientProfilePhoto = new PatientProfilePhoto();
-			patientProfilePhoto.setPhoto(ImageUtil.imageToByte(photo));
+			patientProfilePhoto.setPhoto(photo);
 			patient.setPatientProfilePhoto(patientProfilePhoto);
 		} else {
 			patient.setPatientProfilePhoto(null);
@@ -0,0 +1,225 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.patient.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+
+import org.isf.menu.manager.Context;
+import org.isf.patient.manager.PatientBrowserManager;
+import org.isf.patient.model.Patient;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.utils.exception.gui.OHServiceExceptionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks up patients as the user types, instead of loading the whole registry in the forms.
+ * <p>
+ * A search starts {@link #DELAY_MILLIS} after the last change of the key and only the first {@link #PAGE_SIZE} matches
+ * are loaded, in background. A new search cancels the one running, whose results are never delivered, and the results
+ * of the last {@link #MAX_CACHED} keys are kept. Everything but the query happens on the Event Dispatch Thread.
+ */
+public class PatientLookup {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PatientLookup.class);
+
+	public static final int PAGE_SIZE = 100;
+	static final int DELAY_MILLIS = 300;
+	static final int MAX_CACHED = 32;
+
+	private final PatientQuery query;
+	private final Consumer<List<Patient>> onResults;
+	private final Timer timer;
+	private final Map<String, List<Patient>> cache = new LinkedHashMap<String, List<Patient>>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, List<Patient>> eldest) {
+			return size() > MAX_CACHED;
+		}
+	};
+	private String pendingKey;
+	private SwingWorker<List<Patient>, Void> worker;
+
+	/**
+	 * @param onResults receives the matches of the last search, on the Event Dispatch Thread
+	 */
+	public PatientLookup(Consumer<List<Patient>> onResults) {
+		this(managerQuery(Context.getApplicationContext().getBean(PatientBrowserManager.class)), DELAY_MILLIS, onResults);
+	}
+
+	PatientLookup(PatientQuery query, int delayMillis, Consumer<List<Patient>> onResults) {
+		this.query = query;
+		this.onResults = onResults;
+		this.timer = new Timer(delayMillis, actionEvent -> searchNow(pendingKey));
+		this.timer.setRepeats(false);
+	}
+
+	/**
+	 * Searches the text of the field every time the user changes it. Changes made while the field is disabled, such as
+	 * showing the patient of a record being edited, do not start a search.
+	 *
+	 * @param field the field where the user types the key
+	 */
+	public void install(JTextComponent field) {
+		field.getDocument().addDocumentListener(new DocumentListener() {
+
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				changed();
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				changed();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e) {
+			}
+
+			private void changed() {
+				if (field.isEnabled()) {
+					search(field.getText());
+				}
+			}
+		});
+	}
+
+	/**
+	 * Searches the key once it has not changed for a while.
+	 */
+	public void search(String key) {
+		pendingKey = key;
+		timer.restart();
+	}
+
+	/**
+	 * Searches the key at once, for example when the user presses enter.
+	 */
+	public void searchNow(String key) {
+		timer.stop();
+		cancel();
+		String normalizedKey = normalize(key);
+		List<Patient> cached = cache.get(normalizedKey);
+		if (cached != null) {
+			onResults.accept(cached);
+			return;
+		}
+		worker = new SwingWorker<List<Patient>, Void>() {
+
+			@Override
+			protected List<Patient> doInBackground() throws OHServiceException {
+				return query.search(normalizedKey, PAGE_SIZE);
+			}
+
+			@Override
+			protected void done() {
+				if (isCancelled() || worker != this) {
+					return;
+				}
+				worker = null;
+				try {
+					List<Patient> patients = Collections.unmodifiableList(new ArrayList<>(get()));
+					cache.put(normalizedKey, patients);
+					onResults.accept(patients);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (CancellationException e) {
+					return;
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof OHServiceException) {
+						OHServiceExceptionUtil.showMessages((OHServiceException) e.getCause());
+					} else {
+						LOGGER.error("Error searching patients.", e.getCause());
+					}
+					onResults.accept(Collections.emptyList());
+				}
+			}
+		};
+		worker.execute();
+	}
+
+	/**
+	 * Cancels the search waiting or running, its results are not delivered.
+	 */
+	public void cancel() {
+		timer.stop();
+		if (worker != null) {
+			worker.cancel(true);
+			worker = null;
+		}
+	}
+
+	/**
+	 * Forgets the results of the previous searches, for example when a patient has been added.
+	 */
+	public void clearCache() {
+		cache.clear();
+	}
+
+	private static String normalize(String key) {
+		return key == null ? "" : key.trim();
+	}
+
+	/**
+	 * The first page of the registry for an empty key, the first matches of the key otherwise.
+	 */
+	static PatientQuery managerQuery(PatientBrowserManager patientBrowserManager) {
+		return (key, size) -> {
+			if (key.isEmpty()) {
+				return patientBrowserManager.getPatient(0, size);
+			}
+			List<Patient> patients = patientBrowserManager.getPatientsByOneOfFieldsLike(key);
+			return patients.size() > size ? new ArrayList<>(patients.subList(0, size)) : patients;
+		};
+	}
+
+	/**
+	 * The query run in background.
+	 */
+	@FunctionalInterface
+	public interface PatientQuery {
+
+		/**
+		 * @param key the trimmed key, may be empty
+		 * @param size the maximum number of patients to return
+		 */
+		List<Patient> search(String key, int size) throws OHServiceException;
+	}
+
+}
@@ -61,8 +61,6 @@ import org.isf.patient.gui.PatientInsertExtended.PatientListener;
 import org.isf.patient.manager.PatientBrowserManager;
 import org.isf.patient.model.Patient;
 import org.isf.utils.exception.OHServiceException;
-import org.isf.utils.exception.gui.OHServiceExceptionUtil;
-import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
 
 public class SelectPatient extends JDialog implements PatientListener {
@@ -120,22 +118,14 @@ public class SelectPatient extends JDialog implements PatientListener {
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
 	List<Patient> patArray = new ArrayList<>();
 	List<Patient> patSearch = new ArrayList<>();
-	private String lastKey = "";
+	private final PatientLookup patientLookup = new PatientLookup(this::patientsFound);
 
 	public SelectPatient(JFrame owner, Patient pat) {
 		super(owner, true);
-		if (!GeneralData.ENHANCEDSEARCH) {
-			try {
-				patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-			} catch (OHServiceException ohServiceException) {
-				MessageDialog.showExceptions(ohServiceException);
-				patArray = new ArrayList<>();
-			}
-			patSearch = patArray;
-		}
 		patient = pat;
 		ps = new PatientSummary(patient);
 		initComponents();
+		loadFirstPage();
 		addWindowListener(new WindowAdapter() {
 
 			@Override
@@ -151,18 +141,10 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 	public SelectPatient(JDialog owner, Patient pat) {
 		super(owner, true);
-		if (!GeneralData.ENHANCEDSEARCH) {
-			try {
-				patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-			} catch (OHServiceException ohServiceException) {
-				MessageDialog.showExceptions(ohServiceException);
-				patArray = new ArrayList<>();
-			}
-			patSearch = patArray;
-		}
 		patient = pat;
 		ps = new PatientSummary(patient);
 		initComponents();
+		loadFirstPage();
 		addWindowListener(new WindowAdapter() {
 
 			@Override
@@ -178,17 +160,9 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 	public SelectPatient(JDialog owner, String search) {
 		super(owner, true);
-		if (!GeneralData.ENHANCEDSEARCH) {
-			try {
-				patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-			} catch (OHServiceException ohServiceException) {
-				MessageDialog.showExceptions(ohServiceException);
-				patArray = new ArrayList<>();
-			}
-			patSearch = patArray;
-		}
 		ps = new PatientSummary(patient);
 		initComponents();
+		loadFirstPage();
 		addWindowListener(new WindowAdapter() {
 
 			@Override
@@ -206,26 +180,11 @@ public class SelectPatient extends JDialog implements PatientListener {
 		}
 	}
 
-	public SelectPatient(JFrame owner, boolean abbleAddPatient, boolean full) {
+	public SelectPatient(JFrame owner, boolean abbleAddPatient) {
 		super(owner, true);
-		if (!GeneralData.ENHANCEDSEARCH) {
-			if (!full) {
-				try {
-					patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-				} catch (OHServiceException ohServiceException) {
-					MessageDialog.showExceptions(ohServiceException);
-				}
-			} else {
-				try {
-					patArray = patientBrowserManager.getPatient();
-				} catch (OHServiceException ohServiceException) {
-					MessageDialog.showExceptions(ohServiceException);
-				}
-			}
-			patSearch = patArray;
-		}
 		ps = new PatientSummary(patient);
 		initComponents();
+		loadFirstPage();
 		addWindowListener(new WindowAdapter() {
 
 			@Override
@@ -240,26 +199,11 @@ public class SelectPatient extends JDialog implements PatientListener {
 		buttonNew.setVisible(abbleAddPatient);
 	}
 
-	public SelectPatient(JDialog owner, boolean abbleAddPatient, boolean full) {
+	public SelectPatient(JDialog owner, boolean abbleAddPatient) {
 		super(owner, true);
-		if (!GeneralData.ENHANCEDSEARCH) {
-			if (!full) {
-				try {
-					patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(null);
-				} catch (OHServiceException e2) {
-					OHServiceExceptionUtil.showMessages(e2);
-				}
-			} else {
-				try {
-					patArray = patientBrowserManager.getPatient();
-				} catch (OHServiceException e1) {
-					OHServiceExceptionUtil.showMessages(e1);
-				}
-			}
-			patSearch = patArray;
-		}
 		ps = new PatientSummary(patient);
 		initComponents();
+		loadFirstPage();
 		addWindowListener(new WindowAdapter() {
 
 			@Override
@@ -274,6 +218,25 @@ public class SelectPatient extends JDialog implements PatientListener {
 		buttonNew.setVisible(abbleAddPatient);
 	}
 
+	/*
+	 * the patient given, if any, otherwise the first page of the registry: the others are looked up as the user types
+	 */
+	private void loadFirstPage() {
+		if (patient != null) {
+			patArray.add(patient);
+			patSearch = new ArrayList<>(patArray);
+			((SelectPatientModel) jTablePatient.getModel()).fireTableDataChanged();
+			jTablePatient.setRowSelectionInterval(0, 0);
+		} else if (!GeneralData.ENHANCEDSEARCH) {
+			patientLookup.searchNow("");
+		}
+	}
+
+	private void patientsFound(List<Patient> patients) {
+		patArray = new ArrayList<>(patients);
+		filterPatient();
+	}
+
 	private void initComponents() {
 		add(getJPanelTop(), BorderLayout.NORTH);
 		add(getJPanelCenter(), BorderLayout.CENTER);
@@ -315,26 +278,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 					}
 				});
 			} else {
-				jTextFieldSearchPatient.addKeyListener(new KeyListener() {
-
-					@Override
-					public void keyTyped(KeyEvent e) {
-						lastKey = "";
-						String s = String.valueOf(e.getKeyChar());
-						if (Character.isLetterOrDigit(e.getKeyChar())) {
-							lastKey = s;
-						}
-						filterPatient();
-					}
-
-					@Override
-					public void keyPressed(KeyEvent e) {
-					}
-
-					@Override
-					public void keyReleased(KeyEvent e) {
-					}
-				});
+				patientLookup.install(jTextFieldSearchPatient);
 			}
 		}
 		return jTextFieldSearchPatient;
@@ -342,8 +286,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 
 	private void filterPatient() {
 
-		String s = jTextFieldSearchPatient.getText() + lastKey;
-		s = s.trim();
+		String s = jTextFieldSearchPatient.getText().trim();
 		String[] s1 = s.split(" ");
 
 		patSearch = new ArrayList<>();
@@ -546,15 +489,7 @@ public class SelectPatient extends JDialog implements PatientListener {
 			jSearchButton = new JButton();
 			jSearchButton.setIcon(new ImageIcon("rsc/icons/zoom_r_button.png"));
 			jSearchButton.setPreferredSize(new Dimension(20, 20));
-			jSearchButton.addActionListener(actionEvent -> {
-				try {
-					patArray = patientBrowserManager.getPatientsByOneOfFieldsLike(jTextFieldSearchPatient.getText());
-				} catch (OHServiceException ohServiceException) {
-					MessageDialog.showExceptions(ohServiceException);
-					patArray = new ArrayList<>();
-				}
-				filterPatient();
-			});
+			jSearchButton.addActionListener(actionEvent -> patientLookup.searchNow(jTextFieldSearchPatient.getText()));
 		}
 		return jSearchButton;
 	}
@@ -662,5 +597,6 @@ public class SelectPatient extends JDialog implements PatientListener {
 	public void patientInserted(AWTEvent e) {
 		Patient patient = (Patient) e.getSource();
 		patSearch.add(0, patient);
+		patientLookup.clearCache();
 	}
 }
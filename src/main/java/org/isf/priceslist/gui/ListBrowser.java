@@ -44,6 +44,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 public class ListBrowser extends ModalJFrame implements ListListener {
 
@@ -129,6 +130,7 @@ public class ListBrowser extends ModalJFrame implements ListListener {
 					if (answer == JOptionPane.OK_OPTION) {
 						try {
 							priceListManager.deleteList(list);
+							ReferenceDataCache.getInstance().invalidatePrices();
 							listArray = priceListManager.getLists();
 							jTablePriceLists.setModel(new ListBrowserModel());
 						} catch (OHServiceException serviceException) {
@@ -222,6 +224,7 @@ public class ListBrowser extends ModalJFrame implements ListListener {
 
 						try {
 							priceListManager.copyList(copiedList, qty, step);
+							ReferenceDataCache.getInstance().invalidatePrices();
 							MessageDialog.info(null, "angal.priceslist.listcopiedremembertoeditinformations");
 							listArray = priceListManager.getLists();
 							jTablePriceLists.setModel(new ListBrowserModel());
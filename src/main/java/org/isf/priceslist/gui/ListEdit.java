@@ -43,6 +43,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 public class ListEdit extends JDialog {
 
@@ -139,6 +140,7 @@ public class ListEdit extends JDialog {
 					if (insert) {	// inserting
 						PriceList insertedPriceList = priceListManager.newList(list);
 						if (insertedPriceList != null) {
+							ReferenceDataCache.getInstance().invalidatePrices();
 							fireListInserted();
 							result = true;
 						}
@@ -146,6 +148,7 @@ public class ListEdit extends JDialog {
 					else {	// updating
 						PriceList updatedPriceList = priceListManager.updateList(list);
 						if (updatedPriceList != null) {
+							ReferenceDataCache.getInstance().invalidatePrices();
 							fireListUpdated();
 							result = true;
 						}
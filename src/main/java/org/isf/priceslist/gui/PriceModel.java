@@ -62,7 +62,10 @@ package org.isf.priceslist.gui;
  */
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import org.isf.generaldata.MessageBundle;
 import org.isf.priceslist.model.Price;
@@ -91,6 +94,8 @@ public class PriceModel extends AbstractTreeTableModel {
 
 	protected static String[] cCategories = { "EXA", "OPE", "MED", "OTH" };
 
+	private final Set<PriceNode> changedNodes = new LinkedHashSet<>();
+
 	public PriceModel(Object root) {
 		super(root);
 	}
@@ -113,8 +118,39 @@ public class PriceModel extends AbstractTreeTableModel {
 	@Override
 	public void setValueAt(Object aValue, Object node, int column) {
 		if (column == 1) {
-			((PriceNode) node).getPrice().setPrice((Double) aValue);
+			PriceNode priceNode = (PriceNode) node;
+			priceNode.getPrice().setPrice((Double) aValue);
+			if (priceNode.isChanged()) {
+				changedNodes.add(priceNode);
+			} else {
+				changedNodes.remove(priceNode);
+			}
+			PriceNode parent = priceNode.getParent();
+			if (parent != null) {
+				fireTreeNodesChanged(this, parent.getPath(), new int[] { priceNode.getIndex() }, new Object[] { priceNode });
+			}
+		}
+	}
+
+	/**
+	 * @return the nodes whose price has been edited since they were loaded or last saved
+	 */
+	Set<PriceNode> getChangedNodes() {
+		return changedNodes;
+	}
+
+	public boolean isChanged() {
+		return !changedNodes.isEmpty();
+	}
+
+	/**
+	 * Takes the current prices of the changed nodes as the saved ones.
+	 */
+	public void markSaved() {
+		for (PriceNode priceNode : changedNodes) {
+			priceNode.markSaved();
 		}
+		changedNodes.clear();
 	}
 
 	@Override
@@ -147,30 +183,34 @@ public class PriceModel extends AbstractTreeTableModel {
 		return priceNode.getPrice();
 	}
 
-	protected Object[] getChildren(Object node) {
-		PriceNode priceNode = (PriceNode) node;
-		return priceNode.getItems();
-	}
-
 	@Override
 	public Object getChild(Object node, int i) {
-		return getChildren(node)[i];
+		return ((PriceNode) node).getItem(i);
 	}
 
 	@Override
 	public int getChildCount(Object node) {
-		Object[] items = getChildren(node);
-		return (items == null) ? 0 : items.length;
+		return ((PriceNode) node).getItemCount();
+	}
+
+	@Override
+	public int getIndexOfChild(Object parent, Object child) {
+		PriceNode childNode = (PriceNode) child;
+		return childNode.getParent() == parent ? childNode.getIndex() : -1;
 	}
 }
 
 class PriceNode {
 
 	private Price price;
+	private Double savedPrice;
 	private List<PriceNode> items = new ArrayList<>();
+	private PriceNode parent;
+	private int index = -1;
 
 	public PriceNode(Price price) {
 		this.price = price;
+		this.savedPrice = price.getPrice();
 	}
 
 	public boolean isPrice() {
@@ -178,6 +218,8 @@ class PriceNode {
 	}
 
 	public void addItem(PriceNode price) {
+		price.parent = this;
+		price.index = items.size();
 		this.items.add(price);
 	}
 
@@ -193,11 +235,49 @@ class PriceNode {
 		return price;
 	}
 
+	public PriceNode getItem(int i) {
+		return items.get(i);
+	}
+
+	public int getItemCount() {
+		return items.size();
+	}
+
+	public PriceNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * @return the position of this node among the items of its parent, {@code -1} for the root
+	 */
+	public int getIndex() {
+		return index;
+	}
+
 	/**
-	 * Loads the children, caching the results in the children ivar.
+	 * @return the nodes from the root down to this one
 	 */
-	public Object[] getItems() {
-		return this.items.toArray();
+	public Object[] getPath() {
+		int depth = 0;
+		for (PriceNode node = this; node != null; node = node.parent) {
+			depth++;
+		}
+		Object[] path = new Object[depth];
+		for (PriceNode node = this; node != null; node = node.parent) {
+			path[--depth] = node;
+		}
+		return path;
+	}
+
+	/**
+	 * @return {@code true} if the price has been edited since it was loaded or last saved
+	 */
+	public boolean isChanged() {
+		return !Objects.equals(savedPrice, price.getPrice());
+	}
+
+	void markSaved() {
+		savedPrice = price.getPrice();
 	}
 
 }
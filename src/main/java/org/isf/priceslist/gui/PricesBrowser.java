@@ -39,7 +39,6 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.WindowConstants;
 
-import org.isf.exa.manager.ExamBrowsingManager;
 import org.isf.exa.model.Exam;
 import org.isf.generaldata.MessageBundle;
 import org.isf.medicals.manager.MedicalBrowsingManager;
@@ -57,6 +56,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.treetable.JTreeTable;
 
 /**
@@ -89,7 +89,6 @@ public class PricesBrowser extends ModalJFrame {
 
 	private PriceListManager priceListManager = Context.getApplicationContext().getBean(PriceListManager.class);
 	private PricesOthersManager pricesOthersManager = Context.getApplicationContext().getBean(PricesOthersManager.class);
-	private ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
 	private OperationBrowserManager operationBrowserManager = Context.getApplicationContext().getBean(OperationBrowserManager.class);
 	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 	private PrintManager printManager = Context.getApplicationContext().getBean(PrintManager.class);
@@ -97,6 +96,7 @@ public class PricesBrowser extends ModalJFrame {
 	private List<PriceList> listArray;
 	private List<Price> priceArray;
 	private PriceList listSelected;
+	private PriceModel priceModel;
 
 	private PriceNode examNodes;
 	private List<Exam> examArray;
@@ -222,6 +222,10 @@ public class PricesBrowser extends ModalJFrame {
 			jButtonSave = new JButton(MessageBundle.getMessage("angal.common.save.btn"));
 			jButtonSave.setMnemonic(MessageBundle.getMnemonic("angal.common.save.btn.key"));
 			jButtonSave.addActionListener(actionEvent -> {
+				if (!priceModel.isChanged()) {
+					MessageDialog.info(null, "angal.priceslist.nopricehasbeenchanged.msg");
+					return;
+				}
 				int option = JOptionPane.showConfirmDialog(null,
 						MessageBundle.getMessage("angal.priceslist.thiswillsavecurrentpricescontinue"),  //$NON-NLS-1$
 						MessageBundle.getMessage("angal.priceslist.savelist"),  //$NON-NLS-1$
@@ -232,19 +236,16 @@ public class PricesBrowser extends ModalJFrame {
 					List<Price> updateList = convertTreeToArray();
 					try {
 						priceListManager.updatePrices(listSelected, updateList);
-						MessageDialog.info(null, "angal.priceslist.listsaved");
-						updateFromDB();
-						PriceNode root = getTreeContent();
-						jTreeTable.setModel(new PriceModel(root));
-						jTreeTable.getTree().expandRow(3);
-						jTreeTable.getTree().expandRow(2);
-						jTreeTable.getTree().expandRow(1);
-						validate();
-						repaint();
 					} catch (OHServiceException e) {
 						MessageDialog.error(null, "angal.priceslist.listcouldnotbesaved");
 						OHServiceExceptionUtil.showMessages(e);
+						return;
 					}
+					ReferenceDataCache.getInstance().invalidatePrices();
+					// the tree already shows the saved prices, only the prices used to print and to switch list are reloaded
+					priceModel.markSaved();
+					MessageDialog.info(null, "angal.priceslist.listsaved");
+					updatePricesFromDB();
 				}
 			});
 		}
@@ -252,26 +253,20 @@ public class PricesBrowser extends ModalJFrame {
 	}
 
 	private List<Price> convertTreeToArray() {
-		List<Price> listPrices = new ArrayList<>();
-		for (int i = 0; i < examNodes.getItems().length; i++) {
-			PriceNode newPriceNode = (PriceNode) examNodes.getItems()[i];
-			listPrices.add(newPriceNode.getPrice());
-		}
-		for (int i = 0; i < opeNodes.getItems().length; i++) {
-			PriceNode newPriceNode = (PriceNode) opeNodes.getItems()[i];
-			listPrices.add(newPriceNode.getPrice());
-		}
-		for (int i = 0; i < medNodes.getItems().length; i++) {
-			PriceNode newPriceNode = (PriceNode) medNodes.getItems()[i];
-			listPrices.add(newPriceNode.getPrice());
-		}
-		for (int i = 0; i < othNodes.getItems().length; i++) {
-			PriceNode newPriceNode = (PriceNode) othNodes.getItems()[i];
-			listPrices.add(newPriceNode.getPrice());
-		}
+		List<Price> listPrices = new ArrayList<>(examNodes.getItemCount() + opeNodes.getItemCount() + medNodes.getItemCount() + othNodes.getItemCount());
+		addPrices(listPrices, examNodes);
+		addPrices(listPrices, opeNodes);
+		addPrices(listPrices, medNodes);
+		addPrices(listPrices, othNodes);
 		return listPrices;
 	}
 
+	private static void addPrices(List<Price> listPrices, PriceNode categoryNode) {
+		for (int i = 0; i < categoryNode.getItemCount(); i++) {
+			listPrices.add(categoryNode.getItem(i).getPrice());
+		}
+	}
+
 	private JPanel getJPanelButtons() {
 		if (jPanelButtons == null) {
 			jPanelButtons = new JPanel();
@@ -288,7 +283,8 @@ public class PricesBrowser extends ModalJFrame {
 			updateFromDB();
 		    PriceNode root = getTreeContent();
 		    
-		    jTreeTable = new JTreeTable(new PriceModel(root));
+		    priceModel = new PriceModel(root);
+		    jTreeTable = new JTreeTable(priceModel);
 		    
 		    jTreeTable.getTree().expandRow(4);
 		    jTreeTable.getTree().expandRow(3);
@@ -312,7 +308,7 @@ public class PricesBrowser extends ModalJFrame {
 		try {
 			listArray = priceListManager.getLists();
 			priceArray = priceListManager.getPrices();
-			examArray = examBrowsingManager.getExams();
+			examArray = ReferenceDataCache.getInstance().getExams();
 			operArray = operationBrowserManager.getOperation();
 			mediArray = medicalBrowsingManager.getMedicalsSortedByName();
 			othArray = pricesOthersManager.getOthers();
@@ -321,6 +317,14 @@ public class PricesBrowser extends ModalJFrame {
 		}
 	}
 
+	private void updatePricesFromDB() {
+		try {
+			priceArray = priceListManager.getPrices();
+		} catch (OHServiceException e) {
+			OHServiceExceptionUtil.showMessages(e);
+		}
+	}
+
 	private PriceNode getTreeContent() {
 
 		Map<String, Price> priceHashTable = new HashMap<>();
@@ -393,7 +397,8 @@ public class PricesBrowser extends ModalJFrame {
 					listSelected = (PriceList) jComboBoxLists.getSelectedItem();
 
 					PriceNode root = getTreeContent();
-					jTreeTable.setModel(new PriceModel(root));
+					priceModel = new PriceModel(root);
+					jTreeTable.setModel(priceModel);
 					jTreeTable.getTree().expandRow(3);
 					jTreeTable.getTree().expandRow(2);
 					jTreeTable.getTree().expandRow(1);
@@ -44,6 +44,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 public class PricesOthersBrowser extends ModalJFrame implements PricesOthersListener {
 
@@ -126,6 +127,7 @@ public class PricesOthersBrowser extends ModalJFrame implements PricesOthersList
 					if (answer == JOptionPane.OK_OPTION) {
 						try {
 							pricesOthersManager.deleteOther(pOthers);
+							ReferenceDataCache.getInstance().invalidatePrices();
 							jTablePricesOthers.setModel(new PricesOthersBrowserModel());
 						} catch (OHServiceException e) {
 							MessageDialog.error(null, "angal.pricesothers.thedatacouldnotbedeleted");
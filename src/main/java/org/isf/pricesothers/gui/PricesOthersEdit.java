@@ -45,6 +45,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
 import org.isf.utils.layout.SpringUtilities;
+import org.isf.utils.referencedata.ReferenceDataCache;
 
 public class PricesOthersEdit extends JDialog {
 	
@@ -151,9 +152,11 @@ public class PricesOthersEdit extends JDialog {
 				try {
 					if (insert) {	// inserting
 						pricesOthersManager.newOther(pOther);
+						ReferenceDataCache.getInstance().invalidatePrices();
 						fireOtherInserted();
 					} else {	// updating
 						pricesOthersManager.updateOther(pOther);
+						ReferenceDataCache.getInstance().invalidatePrices();
 						fireOtherUpdated();
 					}
 				} catch (OHServiceException e) {
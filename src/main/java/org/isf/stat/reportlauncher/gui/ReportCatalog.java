@@ -0,0 +1,374 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.stat.reportlauncher.gui;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.swing.SwingUtilities;
+
+import org.isf.generaldata.ConfigurationProperties;
+import org.isf.generaldata.GeneralData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+
+/**
+ * Catalog of the reports of the report folders: title, folder, parameters to prompt for and modification time.
+ * <p>
+ * The catalog is saved to a file, so that it is available as soon as it is read back. {@link #refresh()} only
+ * indexes again the reports whose {@code .jasper} or {@code .properties} files changed, and forgets those that
+ * were removed.
+ */
+public class ReportCatalog {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReportCatalog.class);
+
+	public static final List<String> REPORT_FOLDERS = Collections.unmodifiableList(Arrays.asList("rpt_stat", "rpt_extra"));
+	private static final String CATALOG_FILE = "rsc/report.catalog";
+	private static final String JASPER_EXTENSION = ".jasper";
+	private static final int VERSION = 1;
+
+	private static ReportCatalog instance;
+
+	private final Path baseDir;
+	private final List<String> folders;
+	private final Path catalogFile;
+	private final String language;
+	private final ReportIndexer indexer;
+	private volatile Map<String, Entry> entries = Collections.emptyMap();
+	private boolean loaded;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "report-catalog");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	ReportCatalog(Path baseDir, List<String> folders, Path catalogFile, String language, ReportIndexer indexer) {
+		this.baseDir = baseDir;
+		this.folders = folders;
+		this.catalogFile = catalogFile;
+		this.language = language;
+		this.indexer = indexer;
+	}
+
+	/**
+	 * @return the catalog of the report folders of the application, shared for the session
+	 */
+	public static synchronized ReportCatalog getInstance() {
+		if (instance == null) {
+			String language = new Locale(GeneralData.LANGUAGE).getLanguage();
+			instance = new ReportCatalog(Paths.get("."), REPORT_FOLDERS, Paths.get(CATALOG_FILE), language,
+							(folder, jasperFile) -> indexReport(folder, jasperFile, language));
+		}
+		return instance;
+	}
+
+	/**
+	 * Reads the saved catalog, the first time.
+	 *
+	 * @return the reports
+	 */
+	public synchronized Collection<Entry> load() {
+		if (!loaded) {
+			loaded = true;
+			entries = read();
+		}
+		return getEntries();
+	}
+
+	/**
+	 * @return the reports, as last loaded or refreshed
+	 */
+	public Collection<Entry> getEntries() {
+		return Collections.unmodifiableCollection(entries.values());
+	}
+
+	/**
+	 * Calls {@link #refresh()} in background.
+	 *
+	 * @param onChange called on the Event Dispatch Thread if the catalog changed
+	 */
+	public void refreshInBackground(Runnable onChange) {
+		executor.execute(() -> {
+			if (refresh()) {
+				SwingUtilities.invokeLater(onChange);
+			}
+		});
+	}
+
+	/**
+	 * Looks for added, changed and removed reports, indexes the added and changed ones and saves the catalog.
+	 *
+	 * @return {@code true} if the catalog changed
+	 */
+	public synchronized boolean refresh() {
+		load();
+		Map<String, Entry> refreshed = new HashMap<>();
+		int indexed = 0;
+		for (String folder : folders) {
+			for (File jasperFile : listReports(folder)) {
+				String fileName = jasperFile.getName().substring(0, jasperFile.getName().length() - JASPER_EXTENSION.length());
+				String key = key(folder, fileName);
+				long lastModified = lastModified(jasperFile);
+				Entry entry = entries.get(key);
+				if (entry == null || entry.getLastModified() != lastModified) {
+					entry = indexer.index(folder, jasperFile);
+					if (entry == null) {
+						continue;
+					}
+					entry = new Entry(folder, fileName, entry.getTitle(), entry.getParameterNames(), lastModified);
+					indexed++;
+				}
+				refreshed.put(key, entry);
+			}
+		}
+		boolean changed = indexed > 0 || refreshed.size() != entries.size();
+		if (changed) {
+			LOGGER.debug("Report catalog: {} reports, {} indexed.", refreshed.size(), indexed);
+			entries = refreshed;
+			write(refreshed.values());
+		}
+		return changed;
+	}
+
+	/**
+	 * @return the listed reports, sorted by title
+	 */
+	public static List<Entry> sortedByTitle(Collection<Entry> entries) {
+		List<Entry> sorted = new ArrayList<>();
+		for (Entry entry : entries) {
+			if (entry.getTitle() != null) {
+				sorted.add(entry);
+			}
+		}
+		sorted.sort((first, second) -> first.getTitle().compareTo(second.getTitle()));
+		return sorted;
+	}
+
+	private List<File> listReports(String folder) {
+		Path folderPath = baseDir.resolve(folder);
+		if (!Files.isDirectory(folderPath)) {
+			return Collections.emptyList();
+		}
+		try (Stream<Path> paths = Files.walk(folderPath)) {
+			return paths.filter(Files::isRegularFile)
+							.map(Path::toFile)
+							.filter(file -> file.getName().endsWith(JASPER_EXTENSION))
+							.collect(Collectors.toList());
+		} catch (IOException e) {
+			LOGGER.error("Exception listing reports in {}.", folder, e);
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * @return the last modification of the report and of its properties files next to it
+	 */
+	private long lastModified(File jasperFile) {
+		String baseName = jasperFile.getName().substring(0, jasperFile.getName().length() - JASPER_EXTENSION.length());
+		File localized = new File(jasperFile.getParentFile(), baseName + '_' + language + ".properties");
+		File properties = new File(jasperFile.getParentFile(), baseName + ".properties");
+		return Math.max(jasperFile.lastModified(), Math.max(localized.lastModified(), properties.lastModified()));
+	}
+
+	private Map<String, Entry> read() {
+		if (!Files.isRegularFile(catalogFile)) {
+			return Collections.emptyMap();
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(catalogFile)))) {
+			if (in.readInt() != VERSION || !in.readUTF().equals(language)) {
+				return Collections.emptyMap();
+			}
+			int size = in.readInt();
+			Map<String, Entry> read = new HashMap<>(size * 2);
+			for (int i = 0; i < size; i++) {
+				String folder = in.readUTF();
+				String fileName = in.readUTF();
+				String title = in.readBoolean() ? in.readUTF() : null;
+				long lastModified = in.readLong();
+				int parameters = in.readInt();
+				Set<String> parameterNames = new LinkedHashSet<>();
+				for (int j = 0; j < parameters; j++) {
+					parameterNames.add(in.readUTF());
+				}
+				read.put(key(folder, fileName), new Entry(folder, fileName, title, parameterNames, lastModified));
+			}
+			return read;
+		} catch (IOException e) {
+			LOGGER.warn("Unable to read the report catalog {}, it will be rebuilt: {}", catalogFile, e.getMessage());
+			return Collections.emptyMap();
+		}
+	}
+
+	private void write(Collection<Entry> catalog) {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(catalogFile)))) {
+			out.writeInt(VERSION);
+			out.writeUTF(language);
+			out.writeInt(catalog.size());
+			for (Entry entry : catalog) {
+				out.writeUTF(entry.getFolder());
+				out.writeUTF(entry.getFileName());
+				out.writeBoolean(entry.getTitle() != null);
+				if (entry.getTitle() != null) {
+					out.writeUTF(entry.getTitle());
+				}
+				out.writeLong(entry.getLastModified());
+				out.writeInt(entry.getParameterNames().size());
+				for (String parameterName : entry.getParameterNames()) {
+					out.writeUTF(parameterName);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Unable to save the report catalog {}: {}", catalogFile, e.getMessage());
+		}
+	}
+
+	private static String key(String folder, String fileName) {
+		return folder + '/' + fileName;
+	}
+
+	/**
+	 * Reads the title of a report from its properties, localized first, and the parameters the user has to provide
+	 * from the compiled report.
+	 */
+	static Entry indexReport(String folder, File jasperFile, String language) {
+		String fileName = jasperFile.getName().replace(JASPER_EXTENSION, "");
+		String title = null;
+		try {
+			Properties props = ConfigurationProperties.loadPropertiesFile(fileName + '_' + language + ".properties", LOGGER);
+			if (props == null || props.getProperty("jTitle") == null || props.getProperty("jTitle").isEmpty()) {
+				props = ConfigurationProperties.loadPropertiesFile(fileName + ".properties", LOGGER);
+			}
+			if (props != null && props.getProperty("jTitle") != null && !props.getProperty("jTitle").isEmpty()) {
+				title = props.getProperty("jTitle");
+			}
+		} catch (Exception e) {
+			LOGGER.error("", e);
+		}
+		Set<String> parameterNames = new LinkedHashSet<>();
+		if (title != null) {
+			try {
+				JasperReport jasperReport = (JasperReport) JRLoader.loadObject(jasperFile);
+				for (JRParameter parameter : jasperReport.getParameters()) {
+					if (!parameter.isSystemDefined() && parameter.isForPrompting()) {
+						parameterNames.add(parameter.getName());
+					}
+				}
+			} catch (JRException e) {
+				LOGGER.error("Exception loading report {}.", jasperFile, e);
+			}
+		}
+		return new Entry(folder, fileName, title, parameterNames, jasperFile.lastModified());
+	}
+
+	/**
+	 * Indexes one report.
+	 */
+	@FunctionalInterface
+	interface ReportIndexer {
+
+		/**
+		 * @return the entry of the report, or {@code null} to leave it out of the catalog
+		 */
+		Entry index(String folder, File jasperFile);
+	}
+
+	/**
+	 * A report of the catalog.
+	 */
+	public static class Entry {
+
+		private final String folder;
+		private final String fileName;
+		private final String title;
+		private final Set<String> parameterNames;
+		private final long lastModified;
+
+		public Entry(String folder, String fileName, String title, Collection<String> parameterNames, long lastModified) {
+			this.folder = folder;
+			this.fileName = fileName;
+			this.title = title;
+			this.parameterNames = Collections.unmodifiableSet(new LinkedHashSet<>(parameterNames));
+			this.lastModified = lastModified;
+		}
+
+		/**
+		 * @return the report folder, as expected by the {@code GenericReport*} classes
+		 */
+		public String getFolder() {
+			return folder;
+		}
+
+		/**
+		 * @return the name of the report, without {@code .jasper}
+		 */
+		public String getFileName() {
+			return fileName;
+		}
+
+		/**
+		 * @return the title, or {@code null} if the report has none and must not be listed
+		 */
+		public String getTitle() {
+			return title;
+		}
+
+		/**
+		 * @return the names of the parameters to prompt the user for
+		 */
+		public Set<String> getParameterNames() {
+			return parameterNames;
+		}
+
+		public long getLastModified() {
+			return lastModified;
+		}
+	}
+
+}
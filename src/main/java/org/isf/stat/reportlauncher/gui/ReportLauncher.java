@@ -26,34 +26,26 @@ import static org.isf.utils.Constants.DATE_FORMAT_DD_MM_YYYY;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Rectangle;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import javax.swing.BorderFactory;
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.border.Border;
 
-import org.isf.generaldata.ConfigurationProperties;
 import org.isf.generaldata.GeneralData;
 import org.isf.generaldata.MessageBundle;
 import org.isf.stat.gui.report.GenericReportFromDateToDate;
@@ -66,11 +58,6 @@ import org.isf.xmpp.manager.Interaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import net.sf.jasperreports.engine.JRException;
-import net.sf.jasperreports.engine.JRParameter;
-import net.sf.jasperreports.engine.JasperReport;
-import net.sf.jasperreports.engine.util.JRLoader;
-
 /**
  * ReportLauncher - launch all the reports that have as parameters year and month
  * 					the class expects the initialization through year, month, name of the report (without .jasper)
@@ -98,9 +85,8 @@ public class ReportLauncher extends ModalJFrame {
 
 	private JComboBox<String> jRptComboBox;
 
-	private Map<String, File> reportNameFileMap;
-	private Map<String, List<String>> folderNameFileNameMap;
-	private List<String> userInputParamNames;
+	private Map<String, ReportCatalog.Entry> reportByTitle = Collections.emptyMap();
+	private Set<String> userInputParamNames;
 
 	private JComboBox<String> shareWith;
 	Interaction userOh;
@@ -214,56 +200,14 @@ public class ReportLauncher extends ModalJFrame {
 			JLabel jRptLabel = new JLabel(MessageBundle.getMessage("angal.stat.report"));
 
 			jRptComboBox = new JComboBox<>();
-			List<File> jasperFilesInFolder = new LinkedList<>();
-			folderNameFileNameMap = new HashMap<>();
-			try {
-				List<File> loadedFiles = Files.walk(Paths.get("./rpt_stat"))
-								.filter(Files::isRegularFile)
-								.map(Path::toFile)
-								.filter(t -> t.getName().endsWith(".jasper"))
-								.collect(Collectors.toList());
-				jasperFilesInFolder.addAll(loadedFiles);
-				folderNameFileNameMap.put("rpt_stat", loadedFiles.stream().map(t -> t.getName().replace(".jasper", "")).collect(Collectors.toList()));
-
-				loadedFiles = Files.walk(Paths.get("./rpt_extra"))
-								.filter(Files::isRegularFile)
-								.map(Path::toFile)
-								.filter(t -> t.getName().endsWith(".jasper"))
-								.collect(Collectors.toList());
-				jasperFilesInFolder.addAll(loadedFiles);
-				folderNameFileNameMap.put("rpt_extra", loadedFiles.stream().map(t -> t.getName().replace(".jasper", "")).collect(Collectors.toList()));
-
-				reportNameFileMap = new HashMap<>();
-				List<String> jRptComboBoxList = new LinkedList<>();
-				for (File f : jasperFilesInFolder) {
-					try {
-						Properties props = ConfigurationProperties.loadPropertiesFile(
-										f.getName().replace(".jasper", '_' + new Locale(GeneralData.LANGUAGE).getLanguage() + ".properties"), LOGGER);
-
-						if (props != null && props.getProperty("jTitle") != null && !props.getProperty("jTitle").isEmpty()) {
-							reportNameFileMap.put(props.getProperty("jTitle"), f);
-							jRptComboBoxList.add(props.getProperty("jTitle"));
-						} else {
-							props = ConfigurationProperties.loadPropertiesFile(
-											f.getName().replace(".jasper", ".properties"), LOGGER);
-
-							if (props != null && props.getProperty("jTitle") != null && !props.getProperty("jTitle").isEmpty()) {
-								reportNameFileMap.put(props.getProperty("jTitle"), f);
-								jRptComboBoxList.add(props.getProperty("jTitle"));
-							}
-						}
-					} catch (Exception e) {
-						e.getStackTrace();
-						LOGGER.error("", e);
-					}
+			ReportCatalog reportCatalog = ReportCatalog.getInstance();
+			fillReportComboBox(reportCatalog.load());
+			reportCatalog.refreshInBackground(() -> {
+				if (isDisplayable()) {
+					fillReportComboBox(reportCatalog.getEntries());
+					pack();
 				}
-
-				Collections.sort(jRptComboBoxList);
-				jRptComboBoxList.forEach(t -> jRptComboBox.addItem(t));
-
-			} catch (IOException e) {
-				LOGGER.error("Exception in getJParameterSelectionPanel method.", e);
-			}
+			});
 
 			jRptComboBox.addActionListener(actionEvent -> {
 				if (actionEvent.getActionCommand() != null && actionEvent.getActionCommand().equalsIgnoreCase("comboBoxChanged")) {
@@ -324,37 +268,53 @@ public class ReportLauncher extends ModalJFrame {
 
 	}
 
+	/**
+	 * Lists the reports of the catalog, keeping the selected one
+	 */
+	private void fillReportComboBox(Collection<ReportCatalog.Entry> entries) {
+		Object selected = jRptComboBox.getSelectedItem();
+		Map<String, ReportCatalog.Entry> reports = new HashMap<>();
+		List<String> titles = new ArrayList<>();
+		for (ReportCatalog.Entry entry : ReportCatalog.sortedByTitle(entries)) {
+			if (reports.putIfAbsent(entry.getTitle(), entry) == null) {
+				titles.add(entry.getTitle());
+			}
+		}
+		reportByTitle = reports;
+		jRptComboBox.setModel(new DefaultComboBoxModel<>(titles.toArray(new String[0])));
+		if (selected != null && reports.containsKey(selected.toString())) {
+			jRptComboBox.setSelectedItem(selected);
+		}
+		selectAction();
+	}
+
+	private ReportCatalog.Entry getSelectedReport() {
+		Object selected = jRptComboBox.getSelectedItem();
+		return selected != null ? reportByTitle.get(selected.toString()) : null;
+	}
+
 	protected void selectAction() {
-		File jasperFile = reportNameFileMap.get(jRptComboBox.getSelectedItem().toString());
-		if (jasperFile != null) {
-			try {
-				JasperReport jasperReport = (JasperReport) JRLoader.loadObject(jasperFile);
-				JRParameter[] params = jasperReport.getParameters();
-
-				List<JRParameter> userInputParams = Arrays.asList(params).stream().filter(t -> !t.isSystemDefined() && t.isForPrompting())
-								.collect(Collectors.toList());
-				userInputParamNames = userInputParams.stream().map(t -> t.getName()).collect(Collectors.toList());
-				if (userInputParamNames.contains("fromdate") || userInputParamNames.contains("todate")) {
-					jMonthComboBox.setVisible(false);
-					jMonthLabel.setVisible(false);
-					jYearComboBox.setVisible(false);
-					jYearLabel.setVisible(false);
-					jFromDateLabel.setVisible(true);
-					jFromDateField.setVisible(true);
-					jToDateLabel.setVisible(true);
-					jToDateField.setVisible(true);
-				} else if (userInputParamNames.contains("month") || userInputParamNames.contains("year")) {
-					jMonthComboBox.setVisible(true);
-					jMonthLabel.setVisible(true);
-					jYearComboBox.setVisible(true);
-					jYearLabel.setVisible(true);
-					jFromDateLabel.setVisible(false);
-					jFromDateField.setVisible(false);
-					jToDateLabel.setVisible(false);
-					jToDateField.setVisible(false);
-				}
-			} catch (JRException e) {
-				LOGGER.error("Exception in selectAction method.", e);
+		ReportCatalog.Entry report = jMonthComboBox != null ? getSelectedReport() : null;
+		if (report != null) {
+			userInputParamNames = report.getParameterNames();
+			if (userInputParamNames.contains("fromdate") || userInputParamNames.contains("todate")) {
+				jMonthComboBox.setVisible(false);
+				jMonthLabel.setVisible(false);
+				jYearComboBox.setVisible(false);
+				jYearLabel.setVisible(false);
+				jFromDateLabel.setVisible(true);
+				jFromDateField.setVisible(true);
+				jToDateLabel.setVisible(true);
+				jToDateField.setVisible(true);
+			} else if (userInputParamNames.contains("month") || userInputParamNames.contains("year")) {
+				jMonthComboBox.setVisible(true);
+				jMonthLabel.setVisible(true);
+				jYearComboBox.setVisible(true);
+				jYearLabel.setVisible(true);
+				jFromDateLabel.setVisible(false);
+				jFromDateField.setVisible(false);
+				jToDateLabel.setVisible(false);
+				jToDateField.setVisible(false);
 			}
 		}
 	}
@@ -386,13 +346,12 @@ public class ReportLauncher extends ModalJFrame {
 	}
 
 	protected void generateReport(boolean toExcel) {
-		if (jRptComboBox.getSelectedItem() != null) {
+		ReportCatalog.Entry report = getSelectedReport();
+		if (report != null) {
 			if (userInputParamNames.contains("fromdate") || userInputParamNames.contains("todate")) {
 				new GenericReportFromDateToDate(jFromDateField.getDate(), jToDateField.getDate(),
-								folderNameFileNameMap.get("rpt_stat").contains(
-												reportNameFileMap.get(jRptComboBox.getSelectedItem().toString()).getName().replace(".jasper", "")) ? "rpt_stat"
-																: "rpt_extra",
-								reportNameFileMap.get(jRptComboBox.getSelectedItem().toString()).getName().replace(".jasper", ""),
+								report.getFolder(),
+								report.getFileName(),
 								jRptComboBox.getSelectedItem().toString(), toExcel);
 				if (GeneralData.XMPPMODULEENABLED) {
 					String user = (String) shareWith.getSelectedItem();
@@ -407,10 +366,8 @@ public class ReportLauncher extends ModalJFrame {
 				int year = Integer.parseInt((String) jYearComboBox.getSelectedItem());
 
 				new GenericReportMY(month, year,
-								folderNameFileNameMap.get("rpt_stat").contains(
-												reportNameFileMap.get(jRptComboBox.getSelectedItem().toString()).getName().replace(".jasper", "")) ? "rpt_stat"
-																: "rpt_extra",
-								reportNameFileMap.get(jRptComboBox.getSelectedItem().toString()).getName().replace(".jasper", ""),
+								report.getFolder(),
+								report.getFileName(),
 								jRptComboBox.getSelectedItem().toString(), toExcel);
 				if (GeneralData.XMPPMODULEENABLED) {
 					String user = (String) shareWith.getSelectedItem();
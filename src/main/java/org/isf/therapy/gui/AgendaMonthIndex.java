@@ -0,0 +1,105 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.therapy.gui;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Buckets the dates of the agenda items by month, so that showing a month only walks the entries of that month
+ * instead of every date of every item.
+ * <p>
+ * Items are tracked by identity, as unsaved therapies and visits all share the id {@code 0}.
+ *
+ * @param <T> the type of the items
+ */
+public class AgendaMonthIndex<T> {
+
+	private final Map<YearMonth, List<Entry<T>>> months = new HashMap<>();
+	private final Map<T, Set<YearMonth>> monthsOf = new IdentityHashMap<>();
+
+	public void add(T item, LocalDateTime date) {
+		YearMonth month = YearMonth.from(date);
+		months.computeIfAbsent(month, key -> new ArrayList<>()).add(new Entry<>(item, date.getDayOfMonth()));
+		monthsOf.computeIfAbsent(item, key -> new HashSet<>()).add(month);
+	}
+
+	public void remove(T item) {
+		Set<YearMonth> itemMonths = monthsOf.remove(item);
+		if (itemMonths == null) {
+			return;
+		}
+		for (YearMonth month : itemMonths) {
+			List<Entry<T>> entries = months.get(month);
+			entries.removeIf(entry -> entry.item == item);
+			if (entries.isEmpty()) {
+				months.remove(month);
+			}
+		}
+	}
+
+	/**
+	 * @param year the year
+	 * @param month the month, from 1 (January) to 12 (December)
+	 * @return the entries of the month, in insertion order
+	 */
+	public List<Entry<T>> get(int year, int month) {
+		List<Entry<T>> entries = months.get(YearMonth.of(year, month));
+		return entries == null ? Collections.emptyList() : Collections.unmodifiableList(entries);
+	}
+
+	public void clear() {
+		months.clear();
+		monthsOf.clear();
+	}
+
+	/**
+	 * An item shown on a day of the month.
+	 */
+	public static class Entry<T> {
+
+		private final T item;
+		private final int day;
+
+		Entry(T item, int day) {
+			this.item = item;
+			this.day = day;
+		}
+
+		public T getItem() {
+			return item;
+		}
+
+		public int getDay() {
+			return day;
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.therapy.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Records the items added, modified and removed since the last save, so that only the delta has to be persisted.
+ * <p>
+ * Items with id {@code 0} have not been saved yet: they are tracked by identity and removing one simply forgets it.
+ * Saved items are tracked by id, so that modifying the same item twice records it only once.
+ *
+ * @param <T> the type of the items
+ */
+public class ChangeSet<T> {
+
+	private final ToIntFunction<T> idOf;
+	private final List<T> added = new ArrayList<>();
+	private final Map<Integer, T> modified = new LinkedHashMap<>();
+	private final Map<Integer, T> removed = new LinkedHashMap<>();
+
+	/**
+	 * @param idOf returns the id of an item, {@code 0} if it has not been saved yet
+	 */
+	public ChangeSet(ToIntFunction<T> idOf) {
+		this.idOf = idOf;
+	}
+
+	public void add(T item) {
+		added.add(item);
+	}
+
+	public void modify(T item) {
+		int id = idOf.applyAsInt(item);
+		if (id != 0 && indexOfAdded(item) < 0) {
+			modified.put(id, item);
+		}
+	}
+
+	/**
+	 * Records that {@code original} has been replaced by {@code updated}, as the entry forms return a new item.
+	 */
+	public void replace(T original, T updated) {
+		int index = indexOfAdded(original);
+		if (index >= 0) {
+			added.set(index, updated);
+			return;
+		}
+		int id = idOf.applyAsInt(original);
+		if (id != 0 && id == idOf.applyAsInt(updated)) {
+			modified.put(id, updated);
+		} else {
+			remove(original);
+			add(updated);
+		}
+	}
+
+	public void remove(T item) {
+		int index = indexOfAdded(item);
+		if (index >= 0) {
+			added.remove(index);
+			return;
+		}
+		int id = idOf.applyAsInt(item);
+		if (id != 0) {
+			modified.remove(id);
+			removed.put(id, item);
+		}
+	}
+
+	public List<T> getAdded() {
+		return Collections.unmodifiableList(new ArrayList<>(added));
+	}
+
+	public List<T> getModified() {
+		return Collections.unmodifiableList(new ArrayList<>(modified.values()));
+	}
+
+	public List<T> getRemoved() {
+		return Collections.unmodifiableList(new ArrayList<>(removed.values()));
+	}
+
+	/**
+	 * @return the added and the modified items, the ones to be saved
+	 */
+	public List<T> getChanged() {
+		List<T> changed = new ArrayList<>(added.size() + modified.size());
+		changed.addAll(added);
+		changed.addAll(modified.values());
+		return changed;
+	}
+
+	public boolean isEmpty() {
+		return added.isEmpty() && modified.isEmpty() && removed.isEmpty();
+	}
+
+	public void clear() {
+		added.clear();
+		modified.clear();
+		removed.clear();
+	}
+
+	private int indexOfAdded(T item) {
+		for (int i = 0; i < added.size(); i++) {
+			if (added.get(i) == item) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -38,7 +38,8 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -64,7 +65,6 @@ import javax.swing.table.DefaultTableCellRenderer;
 import org.isf.admission.manager.AdmissionBrowserManager;
 import org.isf.generaldata.GeneralData;
 import org.isf.generaldata.MessageBundle;
-import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
 import org.isf.menu.manager.Context;
 import org.isf.patient.manager.PatientBrowserManager;
@@ -80,6 +80,7 @@ import org.isf.utils.jobjects.JMonthChooser;
 import org.isf.utils.jobjects.JYearChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.visits.gui.InsertVisit;
 import org.isf.visits.gui.VisitView;
 import org.isf.visits.gui.VisitView.VisitListener;
@@ -132,16 +133,19 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 	private boolean checked;
 	private boolean available;
 	private boolean therapyModified;
+	/* whether the saved plan has rows with SMS scheduled */
+	private boolean smsScheduled;
 	private boolean notifiable;
 	private boolean smsenable = GeneralData.SMSENABLED;
 	private boolean visitModified;
 	private Therapy selectedTherapy;
 	private Visit selectedVisit;
-	private Map<Integer, TherapyRow> hashTableThRow;
-	private Map<Integer, Visit> hashTableVisits;
+	private Map<Therapy, TherapyRow> therapyRows = new IdentityHashMap<>();
+	private final ChangeSet<TherapyRow> therapyChanges = new ChangeSet<>(TherapyRow::getTherapyID);
+	private final ChangeSet<Visit> visitChanges = new ChangeSet<>(Visit::getVisitID);
+	private final AgendaMonthIndex<Object> agendaIndex = new AgendaMonthIndex<>();
 
 	private AdmissionBrowserManager admissionBrowserManager = Context.getApplicationContext().getBean(AdmissionBrowserManager.class);
-	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 	private TherapyManager therapyManager = Context.getApplicationContext().getBean(TherapyManager.class);
 	private VisitManager visitManager = Context.getApplicationContext().getBean(VisitManager.class);
 	private PatientBrowserManager patientBrowserManager = Context.getApplicationContext().getBean(PatientBrowserManager.class);
@@ -150,14 +154,13 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 	private List<Therapy> therapies = new ArrayList<>();
 	private List<TherapyRow> thRows = new ArrayList<>();
 	private List<Visit> visits = new ArrayList<>();
-	private List<Visit> removedVisits = new ArrayList<>();
 	private Ward ward;
 
 	public TherapyEdit(JFrame owner, Patient patient, boolean admitted) {
 		super();
 		setIconImage(new ImageIcon("./rsc/icons/oh.png").getImage());
 		try {
-			this.medArray = medicalBrowsingManager.getMedicals();
+			this.medArray = ReferenceDataCache.getInstance().getMedicals();
 		} catch (OHServiceException e1) {
 			this.medArray = null;
 			OHServiceExceptionUtil.showMessages(e1);
@@ -175,9 +178,6 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				closeButton.doClick();
 				
 				// to free memory
-				if (medArray != null) {
-					medArray.clear();
-				}
 				if (therapies != null) {
 					therapies.clear();
 				}
@@ -220,25 +220,21 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 	}
 
 	private void loadFromDB() {
+		loadTherapies();
+		loadVisits();
+	}
+
+	private void loadTherapies() {
 		/*
 		 * Rows in the therapies table
 		 */
 		try {
 			thRows = therapyManager.getTherapyRows(patient.getCode());
+			smsScheduled = hasSms(thRows);
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
 
-		/*
-		 * HashTable of the rows
-		 */
-		hashTableThRow = new Hashtable<>();
-		if (!thRows.isEmpty()) {
-			for (TherapyRow thRow : thRows) {
-				hashTableThRow.put(thRow.getTherapyID(), thRow);
-			}
-		}
-
 		/*
 		 * Therapy(s) related to the rows in the therapies table
 		 */
@@ -247,24 +243,50 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
+
+		Map<Integer, TherapyRow> rowsById = new HashMap<>();
+		for (TherapyRow thRow : thRows) {
+			rowsById.put(thRow.getTherapyID(), thRow);
+		}
+		for (Therapy therapy : therapyRows.keySet()) {
+			agendaIndex.remove(therapy);
+		}
+		therapyRows = new IdentityHashMap<>();
+		if (therapies != null) {
+			for (Therapy therapy : therapies) {
+				therapyRows.put(therapy, rowsById.get(therapy.getTherapyID()));
+				indexTherapy(therapy);
+			}
+		}
+		therapyChanges.clear();
+	}
+
+	private void loadVisits() {
 		/*
 		 * Visit(s) in the visits table
 		 */
+		if (visits != null) {
+			for (Visit visit : visits) {
+				agendaIndex.remove(visit);
+			}
+		}
 		try {
 			visits = visitManager.getVisits(patient.getCode());
 		} catch (OHServiceException e) {
 			OHServiceExceptionUtil.showMessages(e);
 		}
-
-		/*
-		 * HashTable of the visits
-		 */
-		hashTableVisits = new Hashtable<>();
-		if (!visits.isEmpty()) {
+		if (visits != null) {
 			for (Visit visit : visits) {
-				hashTableVisits.put(visit.getVisitID(), visit);
+				agendaIndex.add(visit, visit.getDate());
 			}
 		}
+		visitChanges.clear();
+	}
+
+	private void indexTherapy(Therapy therapy) {
+		for (LocalDateTime date : therapy.getDates()) {
+			agendaIndex.add(therapy, date);
+		}
 	}
 
 	class CenterTableCellRenderer extends DefaultTableCellRenderer {
@@ -282,50 +304,17 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 	
 	private void showAll() {
 		jAgenda.removeAll();
-		if (therapies != null) {
-			showTherapies();
-		}
-		if (visits != null) {
-			showVisits();
+		for (AgendaMonthIndex.Entry<Object> entry : agendaIndex.get(yearChooser.getYear(), monthChooser.getMonth() + 1)) {
+			jAgenda.addElement(entry.getItem(), entry.getDay());
+			if (entry.getItem() instanceof Therapy) {
+				notifyCheckBox.setSelected(((Therapy) entry.getItem()).isNotify());
+			}
 		}
 		noteTextArea.setText("");
 		smsCheckBox.setEnabled(false);
 		notifyCheckBox.setEnabled(false);
 	}
 
-	private void showTherapies() {
-		for (Therapy th : therapies) {
-			showTherapy(th);
-		}
-	}
-
-	private void showTherapy(Therapy th) {
-		for (LocalDateTime localDateTime : th.getDates()) {
-			if (localDateTime.getYear() == yearChooser.getYear()) {
-				if (localDateTime.getMonthValue() == monthChooser.getMonth() + 1) {
-					jAgenda.addElement(th, localDateTime.getDayOfMonth());
-					notifyCheckBox.setSelected(th.isNotify());
-				}
-			}
-		}
-	}
-
-	private void showVisits() {
-		hashTableVisits = new Hashtable<>();
-		for (Visit vs : visits) {
-			hashTableVisits.put(vs.getVisitID(), vs);
-			showVisit(vs);
-		}
-	}
-
-	private void showVisit(Visit vs) {
-		if (vs.getDate().getYear() == yearChooser.getYear()) {
-			if (vs.getDate().getMonthValue() == monthChooser.getMonth() + 1) {
-				jAgenda.addElement(vs, vs.getDate().getDayOfMonth());
-			}
-		}
-	}
-
 	private JPanel getSouthPanel() {
 		if (southPanel == null) {
 			southPanel = new JPanel();
@@ -348,14 +337,16 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 					if (selectedTherapy != null) {
 						String note = noteTextArea.getText();
 						selectedTherapy.setNote(note);
-						hashTableThRow.get(selectedTherapy.getTherapyID()).setNote(note);
+						TherapyRow thRow = therapyRows.get(selectedTherapy);
+						thRow.setNote(note);
+						therapyChanges.modify(thRow);
 						therapyModified = true;
 						saveButton.setEnabled(true);
 					}
 					if (selectedVisit != null) {
 						String note = noteTextArea.getText();
 						selectedVisit.setNote(note);
-						hashTableVisits.get(selectedVisit.getVisitID()).setNote(note);
+						visitChanges.modify(selectedVisit);
 						visitModified = true;
 						saveButton.setEnabled(true);
 					}
@@ -409,8 +400,9 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				if (selectedVisit == null) {
 					return;
 				}
-				removedVisits.add(selectedVisit);
 				visits.remove(selectedVisit);
+				visitChanges.remove(selectedVisit);
+				agendaIndex.remove(selectedVisit);
 
 				visitModified = true;
 				selectedVisit = null;
@@ -477,7 +469,8 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 
 	private void addVisitForSave(Visit visit) {
 		visits.add(visit); // FOR GUI
-		hashTableVisits.put(visit.getVisitID(), visit);
+		visitChanges.add(visit);
+		agendaIndex.add(visit, visit.getDate());
 		checked = false;
 		visitModified = true;
 		if (smsenable) {
@@ -537,7 +530,13 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				notifiable = true;
 			}
 			notifyCheckBox.addActionListener(actionEvent -> {
+				if (selectedTherapy == null) {
+					return;
+				}
 				selectedTherapy.setNotify(!selectedTherapy.isNotify());
+				TherapyRow thRow = therapyRows.get(selectedTherapy);
+				thRow.setNotify(selectedTherapy.isNotify());
+				therapyChanges.modify(thRow);
 				saveButton.setEnabled(true);
 			});
 		}
@@ -606,10 +605,13 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				}
 				if (selectedTherapy != null) {
 					selectedTherapy.setSms(smsCheckBox.isSelected());
-					hashTableThRow.get(selectedTherapy.getTherapyID()).setSms(smsCheckBox.isSelected());
+					TherapyRow thRow = therapyRows.get(selectedTherapy);
+					thRow.setSms(smsCheckBox.isSelected());
+					therapyChanges.modify(thRow);
 					therapyModified = true;
 				} else if (selectedVisit != null) {
 					selectedVisit.setSms(smsCheckBox.isSelected());
+					visitChanges.modify(selectedVisit);
 					visitModified = true;
 				}
 				saveButton.setEnabled(true);
@@ -717,7 +719,7 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 					} else {
 						boolean result;
 						try {
-							result = visitManager.newVisits(visits, removedVisits);
+							result = visitManager.newVisits(visitChanges.getChanged(), visitChanges.getRemoved());
 
 						} catch (OHServiceException ex) {
 							OHServiceExceptionUtil.showMessages(ex, this);
@@ -744,17 +746,30 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 					}
 				}
 
+				boolean reloadTherapies = !therapyChanges.getAdded().isEmpty() || !therapyChanges.getRemoved().isEmpty();
+				boolean reloadVisits = !visitChanges.getAdded().isEmpty();
 				if (saveTherapies) {
 					try {
-						therapyManager.deleteAllTherapies(patient.getCode());
-						therapyManager.newTherapies(thRows);
+						reloadTherapies |= saveTherapyChanges();
+						MessageDialog.info(this, "angal.therapy.therapiesplansaved");
 					} catch (OHServiceException ex) {
 						MessageDialog.error(this, "angal.therapy.therapiesplancouldnotbesaved");
 						OHServiceExceptionUtil.showMessages(ex);
+						// show what has actually been saved
+						reloadTherapies = true;
 					}
-					MessageDialog.info(this, "angal.therapy.therapiesplansaved");
 				}
-				loadFromDB();
+				// only the new rows need their ids from the database, unless the save failed
+				if (reloadTherapies) {
+					loadTherapies();
+				} else {
+					therapyChanges.clear();
+				}
+				if (reloadVisits) {
+					loadVisits();
+				} else {
+					visitChanges.clear();
+				}
 				therapyModified = false;
 				visitModified = false;
 				saveButton.setEnabled(false);
@@ -764,6 +779,39 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 		return saveButton;
 	}
 
+	/**
+	 * Saves the added and modified therapy rows only. {@link TherapyManager} cannot delete a single row, and only
+	 * {@link TherapyManager#newTherapies(List)} schedules the SMS of the plan again, so the whole plan is rewritten
+	 * when some rows have been removed or when the plan has, or had, rows with SMS.
+	 *
+	 * @return {@code true} if the whole plan has been rewritten, so that all the rows have new ids
+	 */
+	private boolean saveTherapyChanges() throws OHServiceException {
+		List<TherapyRow> changed = therapyChanges.getChanged();
+		boolean rewrite = !therapyChanges.getRemoved().isEmpty() || smsScheduled || hasSms(changed);
+		if (rewrite) {
+			therapyManager.deleteAllTherapies(patient.getCode());
+			therapyManager.newTherapies(thRows);
+		} else {
+			for (TherapyRow thRow : changed) {
+				therapyManager.newTherapy(thRow);
+			}
+		}
+		smsScheduled = hasSms(thRows);
+		return rewrite;
+	}
+
+	private static boolean hasSms(List<TherapyRow> rows) {
+		if (rows != null) {
+			for (TherapyRow thRow : rows) {
+				if (thRow.isSms()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	private JButton getCloseButton() {
 		if (closeButton == null) {
 			closeButton = new JButton(MessageBundle.getMessage("angal.common.close.btn"));
@@ -785,9 +833,6 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 					}
 				}
 
-				if (medArray != null) {
-					medArray.clear();
-				}
 				if (therapies != null) {
 					therapies.clear();
 				}
@@ -861,9 +906,6 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				showMedOutOfStock(medOutStock);
 
 				// to free memory
-				if (medArray != null) {
-					medArray.clear();
-				}
 				if (medOutStock != null) {
 					medOutStock.clear();
 				}
@@ -923,6 +965,7 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				if (thRow != null) {
 
 					// Adding new therapy
+					therapyChanges.add(thRow);
 					addTherapyForSave(thRow);
 					
 					if (smsenable) {
@@ -948,7 +991,10 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 			OHServiceExceptionUtil.showMessages(ex);
 		}
 		therapies.add(thisTherapy); // FOR GUI
-		hashTableThRow.put(thRow.getTherapyID(), thRow);
+		if (thisTherapy != null) {
+			therapyRows.put(thisTherapy, thRow);
+			indexTherapy(thisTherapy);
+		}
 		checked = false;
 		therapyModified = true;
 		checkTherapyButton.setEnabled(true);
@@ -981,8 +1027,11 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				if (thRow != null) {
 
 					// Removing original modified therapy from arrays
-					thRows.remove(hashTableThRow.get(selectedTherapy.getTherapyID()));
+					TherapyRow original = therapyRows.remove(selectedTherapy);
+					thRows.remove(original);
 					therapies.remove(selectedTherapy);
+					agendaIndex.remove(selectedTherapy);
+					therapyChanges.replace(original, thRow);
 
 					// Re-adding modified therapy
 					addTherapyForSave(thRow);
@@ -1005,9 +1054,11 @@ public class TherapyEdit extends ModalJFrame implements VisitListener {
 				if (selectedTherapy == null) {
 					return;
 				}
-				thRows.remove(hashTableThRow.get(selectedTherapy.getTherapyID()));
+				TherapyRow thRow = therapyRows.remove(selectedTherapy);
+				thRows.remove(thRow);
 				therapies.remove(selectedTherapy);
-				//thRows.remove(selectedTherapy.getNumTherapy() - 1);
+				agendaIndex.remove(selectedTherapy);
+				therapyChanges.remove(thRow);
 				if (thRows.isEmpty()) {
 					checkTherapyButton.setEnabled(false);
 				}
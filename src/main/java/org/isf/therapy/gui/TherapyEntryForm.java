@@ -58,7 +58,6 @@ import javax.swing.SpinnerNumberModel;
 import javax.swing.border.TitledBorder;
 
 import org.isf.generaldata.MessageBundle;
-import org.isf.medicals.manager.MedicalBrowsingManager;
 import org.isf.medicals.model.Medical;
 import org.isf.menu.manager.Context;
 import org.isf.therapy.manager.TherapyManager;
@@ -69,6 +68,7 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateChooser;
 import org.isf.utils.jobjects.IconButton;
 import org.isf.utils.jobjects.MessageDialog;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
 
 /**
@@ -81,7 +81,6 @@ public class TherapyEntryForm extends JDialog {
 	/*
 	 * Managers
 	 */
-	private MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
 	private TherapyManager therapyManager = Context.getApplicationContext().getBean(TherapyManager.class);
 
 	/*
@@ -156,7 +155,7 @@ public class TherapyEntryForm extends JDialog {
 		setIconImage(new ImageIcon("./rsc/icons/oh.png").getImage());
 		inserting = th == null;
 		try {
-			this.medArray = medicalBrowsingManager.getMedicals();
+			this.medArray = ReferenceDataCache.getInstance().getMedicals();
 		} catch (OHServiceException e) {
 			this.medArray = new ArrayList<>();
 			OHServiceExceptionUtil.showMessages(e, this);
@@ -26,9 +26,16 @@ import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 
 import org.imgscalr.Scalr;
 import org.imgscalr.Scalr.Method;
@@ -36,6 +43,11 @@ import org.imgscalr.Scalr.Mode;
 
 public final class ImageUtil {
 
+	/**
+	 * Precision, in percent of the image width, of the width found by {@link #fitImageFileSize(BufferedImage, int, String)}
+	 */
+	public static final int FIT_WIDTH_TOLERANCE_PERCENT = 1;
+
 	private ImageUtil() {
 	}
 
@@ -73,33 +85,108 @@ public final class ImageUtil {
 		return fixImageFileSize(bufferedImage, maximumFileSize, "png");
 	}
 
+	/**
+	 * Shrinks the image until its encoding fits in {@code maximumFileSize} bytes, see
+	 * {@link #fitImageFileSize(BufferedImage, int, String)}, and decodes it back.
+	 */
 	public static BufferedImage fixImageFileSize(BufferedImage bufferedImage, int maximumFileSize, String fileType)
 			throws IOException {
-		long arrSize = getArraySize(bufferedImage, fileType);
-		while (arrSize > maximumFileSize) {
-			long lastSize = arrSize;
-			int newTargetSize = (bufferedImage.getTileWidth() - ((bufferedImage.getTileWidth() / 100) * 10));
-			bufferedImage = Scalr.resize(bufferedImage, newTargetSize);
-			arrSize = getArraySize(bufferedImage, fileType);
-			if (arrSize == lastSize) {
-				break;
-			} 
+		return ImageIO.read(new ByteArrayInputStream(fitImageFileSize(bufferedImage, maximumFileSize, fileType)));
+	}
+
+	/**
+	 * Encodes the image, shrunk if needed so that the encoding fits in {@code maximumFileSize} bytes.
+	 * <p>
+	 * The width is binary searched, starting from the one predicted by the ratio of the sizes, until it is known
+	 * within {@link #FIT_WIDTH_TOLERANCE_PERCENT}% of the image width. Candidates are only measured, with a
+	 * {@link CountingOutputStream}, and each one is resized from the original image, so that the blur of the
+	 * resampling does not add up from one candidate to the next. If even the narrowest candidate does not fit, that one is returned.
+	 *
+	 * @param bufferedImage the image
+	 * @param maximumFileSize the maximum size in bytes
+	 * @param fileType the format, as in {@link ImageIO#write(java.awt.image.RenderedImage, String, java.io.OutputStream)}
+	 * @return the encoded image
+	 * @throws IOException if the image cannot be encoded in the format
+	 */
+	public static byte[] fitImageFileSize(BufferedImage bufferedImage, int maximumFileSize, String fileType) throws IOException {
+		try (ImageEncoder encoder = new ImageEncoder(bufferedImage, fileType)) {
+			long size = encoder.size(bufferedImage);
+			if (size <= maximumFileSize) {
+				return encoder.encode(bufferedImage, size);
+			}
+			int width = bufferedImage.getWidth();
+			int tolerance = Math.max(1, width * FIT_WIDTH_TOLERANCE_PERCENT / 100);
+			// fitting is the widest candidate that fits, tooLarge the narrowest that does not
+			int fittingWidth = 0;
+			BufferedImage fitting = null;
+			long fittingSize = 0;
+			int tooLargeWidth = width;
+			BufferedImage tooLarge = bufferedImage;
+			long tooLargeSize = size;
+			// the encoded size grows about as the area
+			int candidateWidth = (int) (width * Math.sqrt((double) maximumFileSize / size));
+			while (tooLargeWidth - fittingWidth > tolerance) {
+				candidateWidth = Math.max(fittingWidth + 1, Math.min(tooLargeWidth - 1, candidateWidth));
+				BufferedImage candidate = Scalr.resize(bufferedImage, Mode.FIT_TO_WIDTH, candidateWidth);
+				long candidateSize = encoder.size(candidate);
+				if (candidateSize <= maximumFileSize) {
+					fittingWidth = candidateWidth;
+					fitting = candidate;
+					fittingSize = candidateSize;
+				} else {
+					tooLargeWidth = candidateWidth;
+					tooLarge = candidate;
+					tooLargeSize = candidateSize;
+				}
+				candidateWidth = (fittingWidth + tooLargeWidth) / 2;
+			}
+			return fitting != null ? encoder.encode(fitting, fittingSize) : encoder.encode(tooLarge, tooLargeSize);
+		}
+	}
+
+	/**
+	 * Encodes images in one format reusing the same {@link ImageWriter}
+	 */
+	private static final class ImageEncoder implements Closeable {
+
+		private final ImageWriter writer;
+		private final CountingOutputStream counter = new CountingOutputStream();
+
+		ImageEncoder(BufferedImage image, String fileType) throws IOException {
+			Iterator<ImageWriter> writers = ImageIO.getImageWriters(ImageTypeSpecifier.createFromRenderedImage(image), fileType);
+			if (!writers.hasNext()) {
+				throw new IOException("Unable to encode image as " + fileType);
+			}
+			writer = writers.next();
+		}
+
+		long size(BufferedImage image) throws IOException {
+			counter.reset();
+			write(image, counter);
+			return counter.getCount();
+		}
+
+		byte[] encode(BufferedImage image, long expectedSize) throws IOException {
+			ByteArrayOutputStream baos = new ByteArrayOutputStream((int) expectedSize);
+			write(image, baos);
+			return baos.toByteArray();
+		}
+
+		private void write(BufferedImage image, OutputStream outputStream) throws IOException {
+			try (ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+				writer.setOutput(imageOutputStream);
+				writer.write(image);
+			} finally {
+				writer.reset();
+			}
+		}
+
+		@Override
+		public void close() {
+			writer.dispose();
 		}
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		ImageIO.write(bufferedImage, fileType, baos);
-		return ImageIO.read(new ByteArrayInputStream(baos.toByteArray()));
-	}	
-
-	private static long getArraySize(BufferedImage bufferedImage, String fileType) throws IOException {
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		ImageIO.write(bufferedImage, fileType, baos);
-		baos.flush();
-		byte[] byteImage = baos.toByteArray();
-		long size = byteImage.length;
-		baos.close();
-		return size;	
 	}
-	
+
 	/**
 	 * Converts a given Image into a BufferedImage
 	 *
@@ -68,13 +68,17 @@ public class Cropping extends JPanel {
 	}
 
 	private Dimension calculateDimension(BufferedImage image) {
+		return fitToScreen(image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * @return the size of an image of the given size once shown in the cropping panel, which must fit in the screen
+	 */
+	public static Dimension fitToScreen(int currentWidth, int currentHeight) {
 		Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
 		final int image_max_width = (int) screenSize.getWidth() - 54;
 		final int image_max_height = (int) screenSize.getHeight() - 88;
 		
-		final int currentWidth = image.getWidth();
-		final int currentHeight = image.getHeight();
-		
 		if (currentWidth > image_max_width || currentHeight > image_max_height) {
 
 			if (currentWidth == currentHeight && currentHeight > image_max_height) {
@@ -21,7 +21,6 @@
  */
 package org.isf.utils.jobjects;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.event.TableModelListener;
@@ -33,6 +32,7 @@ import org.isf.medicalstockward.model.MedicalWard;
 import org.isf.priceslist.model.Price;
 import org.isf.pricesothers.model.PricesOthers;
 import org.isf.utils.exception.OHException;
+import org.isf.utils.jobjects.TableSearchIndex.KeyExtractor;
 
 /**
  * This class builds products table with filter
@@ -41,105 +41,142 @@ import org.isf.utils.exception.OHException;
  */
 public class OhTableModel<T> implements TableModel {
 
-	List<T> dataList;
-	List<T> filteredList;
+	public static final KeyExtractor<Price> PRICE_KEYS = new KeyExtractor<>() {
+
+		@Override
+		public String getCode(Price price) {
+			return price.getItem();
+		}
+
+		@Override
+		public String getDescription(Price price) {
+			return price.getDesc();
+		}
+
+		@Override
+		public String getDisplayCode(Price price) {
+			return price.getItem() != null ? price.getItem() : String.valueOf(price.getId());
+		}
+	};
+
+	public static final KeyExtractor<MedicalWard> MEDICAL_WARD_KEYS = new KeyExtractor<>() {
+
+		@Override
+		public String getCode(MedicalWard medicalWard) {
+			return medicalWard.getMedical().getProdCode();
+		}
+
+		@Override
+		public String getDescription(MedicalWard medicalWard) {
+			return medicalWard.getMedical().getDescription();
+		}
+
+		@Override
+		public String getDisplayCode(MedicalWard medicalWard) {
+			String prodCode = medicalWard.getMedical().getProdCode();
+			return prodCode != null ? prodCode : String.valueOf(medicalWard.getMedical().getCode());
+		}
+	};
+
+	public static final KeyExtractor<PricesOthers> PRICES_OTHERS_KEYS = new KeyExtractor<>() {
+
+		@Override
+		public String getCode(PricesOthers pricesOthers) {
+			return pricesOthers.getCode();
+		}
+
+		@Override
+		public String getDescription(PricesOthers pricesOthers) {
+			return pricesOthers.getDescription();
+		}
+
+		@Override
+		public String getDisplayCode(PricesOthers pricesOthers) {
+			return pricesOthers.getCode() != null ? pricesOthers.getCode() : String.valueOf(pricesOthers.getId());
+		}
+	};
+
+	public static final KeyExtractor<BillItems> BILL_ITEMS_KEYS = new KeyExtractor<>() {
+
+		@Override
+		public String getCode(BillItems billItem) {
+			return billItem.getItemDisplayCode();
+		}
+
+		@Override
+		public String getDescription(BillItems billItem) {
+			return billItem.getItemDescription();
+		}
+
+		@Override
+		public String getDisplayCode(BillItems billItem) {
+			return billItem.getItemDisplayCode() != null ? billItem.getItemDisplayCode() : String.valueOf(billItem.getId());
+		}
+	};
+
+	private static final KeyExtractor<Object> NO_KEYS = new KeyExtractor<>() {
+
+		@Override
+		public String getCode(Object item) {
+			return "";
+		}
+
+		@Override
+		public String getDescription(Object item) {
+			return "";
+		}
+	};
+
+	private final KeyExtractor<? super T> keys;
+	private final TableSearchIndex<T> index;
 	String searchQuery = "";
-	boolean allowSearchByCode;
 
 	public OhTableModel(List<T> dataList) {
-		this.dataList = dataList;
-		this.filteredList = new ArrayList<>();
-
-		this.filteredList.addAll(dataList);
+		this(dataList, false);
 	}
 
 	public OhTableModel(List<T> dataList, boolean allowSearchByCode) {
-		this.allowSearchByCode = allowSearchByCode;
-		this.dataList = dataList;
-		this.filteredList = new ArrayList<>();
+		this(dataList, allowSearchByCode, keysOf(dataList));
+	}
 
-		this.filteredList.addAll(dataList);
+	/**
+	 * @param dataList the rows, which are indexed once here
+	 * @param allowSearchByCode {@code true} to select the row whose code is equal, ignoring case, to the query
+	 * @param keys the code and description of a row
+	 */
+	public OhTableModel(List<T> dataList, boolean allowSearchByCode, KeyExtractor<? super T> keys) {
+		this.keys = keys;
+		this.index = new TableSearchIndex<>(dataList, keys, allowSearchByCode);
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <T> KeyExtractor<? super T> keysOf(List<T> dataList) {
+		Object first = dataList.isEmpty() ? null : dataList.get(0);
+		if (first instanceof Price) {
+			return (KeyExtractor<? super T>) PRICE_KEYS;
+		}
+		if (first instanceof MedicalWard) {
+			return (KeyExtractor<? super T>) MEDICAL_WARD_KEYS;
+		}
+		if (first instanceof PricesOthers) {
+			return (KeyExtractor<? super T>) PRICES_OTHERS_KEYS;
+		}
+		if (first instanceof BillItems) {
+			return (KeyExtractor<? super T>) BILL_ITEMS_KEYS;
+		}
+		return NO_KEYS;
+	}
+
+	/**
+	 * @param searchQuery the text to look for in the code and description of the rows
+	 * @return the item whose code is equal to the query if searching by code is allowed, otherwise the only item
+	 * left, if there is only one
+	 */
 	public T filter(String searchQuery) throws OHException {
 		this.searchQuery = searchQuery;
-		this.filteredList = new ArrayList<>();
-
-		for (T t : this.dataList) {
-			Object object = t;
-			if (object instanceof Price) {
-				Price price = (Price) object;
-				String strItem = price.getItem() + price.getDesc();
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(price.getItem())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
-			}
-
-			if (object instanceof MedicalWard) {
-				MedicalWard mdw = (MedicalWard) object;
-				String strItem = mdw.getMedical().getProdCode() + mdw.getMedical().getDescription();
-
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(mdw.getMedical().getProdCode())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
-			}
-
-			if (object instanceof PricesOthers) {
-				PricesOthers priceO = (PricesOthers) object;
-				String strItem = priceO.getCode() + priceO.getDescription();
-
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(priceO.getCode())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
-			}
-
-			if (object instanceof BillItems) {
-				BillItems priceO = (BillItems) object;
-				String strItem = priceO.getItemDisplayCode() + priceO.getItemDescription();
-
-				if (allowSearchByCode && searchQuery.equalsIgnoreCase(priceO.getItemDisplayCode())) {
-					T resPbj = (T) object;
-					filteredList.clear();
-					filteredList.add(resPbj);
-					return resPbj;
-				}
-
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((T) object);
-				}
-			}
-
-		}
-		if (filteredList.size() == 1) {
-			return filteredList.get(0);
+		int codeRow = index.filter(searchQuery);
+		if (codeRow >= 0 || index.getRowCount() == 1) {
+			return index.get(0);
 		}
 		return null;
 	}
@@ -176,61 +213,21 @@ public class OhTableModel<T> implements TableModel {
 
 	@Override
 	public int getRowCount() {
-		if (this.filteredList == null) {
-			return 0;
-		}
-		return this.filteredList.size();
+		return index.getRowCount();
 	}
 
 	@Override
 	public Object getValueAt(int rowIndex, int columnIndex) {
-
-		String value = "";
-		if (rowIndex >= 0 && rowIndex < this.filteredList.size()) {
-			T obj = this.filteredList.get(rowIndex);
-			if (obj instanceof Price) {
-				Price priceObj = (Price) obj;
-				if (columnIndex == 0) {
-					value = priceObj.getItem() != null ? priceObj.getItem() : String.valueOf(priceObj.getId());
-				} else {
-					value = priceObj.getDesc();
-				}
-			}
-			if (obj instanceof MedicalWard) {
-				MedicalWard mdwObj = (MedicalWard) obj;
-				if (columnIndex == 0) {
-					value = mdwObj.getMedical().getProdCode() != null ? mdwObj.getMedical().getProdCode() : String.valueOf(mdwObj.getMedical().getCode());
-				} else {
-					value = mdwObj.getMedical().getDescription();
-				}
-			}
-			if (obj instanceof PricesOthers) {
-				PricesOthers mdwObj = (PricesOthers) obj;
-				if (columnIndex == 0) {
-					value = mdwObj.getCode() != null ? mdwObj.getCode() : String.valueOf(mdwObj.getId());
-				} else {
-					value = mdwObj.getDescription();
-				}
-			}
-
-			if (obj instanceof BillItems) {
-				BillItems mdwObj = (BillItems) obj;
-				if (columnIndex == 0) {
-					value = mdwObj.getItemDisplayCode() != null ? mdwObj.getItemDisplayCode() : String.valueOf(mdwObj.getId());
-				} else {
-					value = mdwObj.getItemDescription();
-				}
-			}
-
-		}
-		return value;
+		T obj = index.get(rowIndex);
+		if (obj == null) {
+			return "";
+		}
+		String value = columnIndex == 0 ? keys.getDisplayCode(obj) : keys.getDescription(obj);
+		return value != null ? value : "";
 	}
 
 	public T getObjectAt(int rowIndex) {
-		if (rowIndex >= 0 && rowIndex < this.filteredList.size()) {
-			return this.filteredList.get(rowIndex);
-		}
-		return null;
+		return index.get(rowIndex);
 	}
 
 	@Override
@@ -21,7 +21,6 @@
  */
 package org.isf.utils.jobjects;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.event.TableModelListener;
@@ -29,36 +28,32 @@ import javax.swing.table.TableModel;
 
 import org.isf.exa.model.Exam;
 import org.isf.generaldata.MessageBundle;
+import org.isf.utils.jobjects.TableSearchIndex.KeyExtractor;
 
 public class OhTableModelExam<T> implements TableModel {
 
-	List<Exam> dataListExam;
-	List<Exam> filteredList;
+	private static final KeyExtractor<Exam> EXAM_KEYS = new KeyExtractor<>() {
 
-	public OhTableModelExam(List<Exam> dataList) {
-		this.dataListExam = dataList;
+		@Override
+		public String getCode(Exam exam) {
+			return exam.getCode();
+		}
+
+		@Override
+		public String getDescription(Exam exam) {
+			return exam.getDescription();
+		}
+	};
 
-		this.filteredList = new ArrayList<>();
+	private final TableSearchIndex<Exam> index;
 
-		this.filteredList.addAll(dataList);
+	public OhTableModelExam(List<Exam> dataList) {
+		this.index = new TableSearchIndex<>(dataList, EXAM_KEYS, false);
 	}
 
 	public int filter(String searchQuery) {
-		this.filteredList = new ArrayList<>();
-
-		for (Exam value : this.dataListExam) {
-			Object object = value;
-			if (object != null) {
-				Exam exam = (Exam) object;
-				String strItem = exam.getCode() + exam.getDescription();
-				strItem = strItem.toLowerCase();
-				searchQuery = searchQuery.toLowerCase();
-				if (strItem.contains(searchQuery)) {
-					filteredList.add((Exam) object);
-				}
-			}
-		}
-		return filteredList.size();
+		index.filter(searchQuery);
+		return index.getRowCount();
 	}
 
 	@Override
@@ -93,34 +88,20 @@ public class OhTableModelExam<T> implements TableModel {
 
 	@Override
 	public int getRowCount() {
-		if (this.filteredList == null) {
-			return 0;
-		}
-		return this.filteredList.size();
+		return index.getRowCount();
 	}
 
 	@Override
 	public Object getValueAt(int rowIndex, int columnIndex) {
-		String value = "";
-		if (rowIndex >= 0 && rowIndex < this.filteredList.size()) {
-			Exam obj = this.filteredList.get(rowIndex);
-			if (obj != null) {
-				Exam mdwObj = obj;
-				if (columnIndex == 0) {
-					value = mdwObj.getCode();
-				} else {
-					value = mdwObj.getDescription();
-				}
-			}
+		Exam exam = index.get(rowIndex);
+		if (exam == null) {
+			return "";
 		}
-		return value;
+		return columnIndex == 0 ? exam.getCode() : exam.getDescription();
 	}
 
 	public Exam getObjectAt(int rowIndex) {
-		if (rowIndex >= 0 && rowIndex < this.filteredList.size()) {
-			return this.filteredList.get(rowIndex);
-		}
-		return null;
+		return index.get(rowIndex);
 	}
 
 	@Override
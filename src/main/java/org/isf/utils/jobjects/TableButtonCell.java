@@ -0,0 +1,108 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import java.awt.Component;
+import java.util.function.IntConsumer;
+
+import javax.swing.AbstractCellEditor;
+import javax.swing.JButton;
+import javax.swing.JTable;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+
+/**
+ * Renderer and editor for a {@link JTable} column of buttons: the cell value is the button text and a click calls
+ * the action with the (view) row of the button.
+ * <p>
+ * The same two buttons are reused for every cell, so painting the table does not create any component.
+ * The column must be editable in the table model for the clicks to reach the editor.
+ */
+public class TableButtonCell extends AbstractCellEditor implements TableCellRenderer, TableCellEditor {
+
+	private static final long serialVersionUID = 1L;
+
+	private final JButton renderButton = new JButton();
+	private final JButton editButton = new JButton();
+	private final IntConsumer action;
+	private Object editValue;
+	private int editRow = -1;
+
+	/**
+	 * @param mnemonic the mnemonic of the buttons, or {@code 0} for none
+	 * @param action called with the row of the clicked button
+	 */
+	public TableButtonCell(int mnemonic, IntConsumer action) {
+		this.action = action;
+		if (mnemonic != 0) {
+			renderButton.setMnemonic(mnemonic);
+			editButton.setMnemonic(mnemonic);
+		}
+		editButton.addActionListener(actionEvent -> {
+			int row = editRow;
+			fireEditingStopped();
+			if (row >= 0) {
+				this.action.accept(row);
+			}
+		});
+	}
+
+	/**
+	 * Uses this renderer and editor for the given column of the table.
+	 *
+	 * @param table the table
+	 * @param column the model column index, converted to the view index of the column
+	 */
+	public void install(JTable table, int column) {
+		TableColumn tableColumn = table.getColumnModel().getColumn(table.convertColumnIndexToView(column));
+		tableColumn.setCellRenderer(this);
+		tableColumn.setCellEditor(this);
+	}
+
+	@Override
+	public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+		setText(renderButton, value);
+		return renderButton;
+	}
+
+	@Override
+	public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+		editValue = value;
+		editRow = row;
+		setText(editButton, value);
+		return editButton;
+	}
+
+	@Override
+	public Object getCellEditorValue() {
+		return editValue;
+	}
+
+	private static void setText(JButton button, Object value) {
+		String text = value == null ? "" : value.toString();
+		if (!text.equals(button.getText())) {
+			button.setText(text);
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import static org.isf.utils.text.TextNormalizer.normalize;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filters the rows of a picker table by code and description.
+ * <p>
+ * The search key of every row is normalized (accents and case ignored) once, the exact code lookup is a hash lookup
+ * and, when the query only gets longer, only the rows matching the previous query are searched again.
+ * The matching rows are kept in an array that is reused between queries.
+ * The index is a snapshot of the list it is built on.
+ */
+public class TableSearchIndex<T> {
+
+	private static final int NO_ROW = -1;
+
+	private final List<T> items;
+	private final String[] searchKeys;
+	private final Map<String, Integer> codes;
+	private final int[] rows;
+	private int rowCount;
+	private String lastQuery = "";
+	private boolean narrowable = true;
+
+	/**
+	 * @param items the rows of the table
+	 * @param keys the code and description of a row
+	 * @param searchByCode {@code true} to select the row whose code is equal, ignoring accents and case, to the query
+	 */
+	public TableSearchIndex(List<T> items, KeyExtractor<? super T> keys, boolean searchByCode) {
+		int size = items.size();
+		this.items = items;
+		this.searchKeys = new String[size];
+		this.codes = searchByCode ? new HashMap<>(size * 2) : null;
+		this.rows = new int[size];
+		for (int i = 0; i < size; i++) {
+			T item = items.get(i);
+			String code = keys.getCode(item);
+			String description = keys.getDescription(item);
+			searchKeys[i] = normalize(code) + normalize(description);
+			if (searchByCode && code != null) {
+				codes.putIfAbsent(normalize(code), i);
+			}
+			rows[i] = i;
+		}
+		rowCount = size;
+	}
+
+	/**
+	 * @param query the text to look for, accents and case are ignored
+	 * @return the index in the list of the item whose code is equal to the query, which is then the only row left,
+	 * or {@code -1} if the rows have been filtered by code and description
+	 */
+	public int filter(String query) {
+		String normalizedQuery = normalize(query);
+		if (codes != null) {
+			Integer codeRow = codes.get(normalizedQuery);
+			if (codeRow != null) {
+				rows[0] = codeRow;
+				rowCount = 1;
+				lastQuery = normalizedQuery;
+				narrowable = false;
+				return codeRow;
+			}
+		}
+		if (narrowable && normalizedQuery.startsWith(lastQuery)) {
+			int count = 0;
+			for (int i = 0; i < rowCount; i++) {
+				int row = rows[i];
+				if (searchKeys[row].contains(normalizedQuery)) {
+					rows[count++] = row;
+				}
+			}
+			rowCount = count;
+		} else {
+			int count = 0;
+			for (int row = 0; row < searchKeys.length; row++) {
+				if (searchKeys[row].contains(normalizedQuery)) {
+					rows[count++] = row;
+				}
+			}
+			rowCount = count;
+		}
+		lastQuery = normalizedQuery;
+		narrowable = true;
+		return NO_ROW;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @param rowIndex the index of a row among the filtered ones
+	 * @return the item shown at that row, or {@code null} if there is no such row
+	 */
+	public T get(int rowIndex) {
+		if (rowIndex >= 0 && rowIndex < rowCount) {
+			return items.get(rows[rowIndex]);
+		}
+		return null;
+	}
+
+	/**
+	 * Extracts from a row what is searched.
+	 */
+	public interface KeyExtractor<T> {
+
+		String getCode(T item);
+
+		String getDescription(T item);
+
+		/**
+		 * @return the code to show in the table, by default the one returned by {@link #getCode(Object)}
+		 */
+		default String getDisplayCode(T item) {
+			return getCode(item);
+		}
+	}
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import static org.isf.utils.text.TextNormalizer.normalize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import javax.accessibility.Accessible;
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.plaf.basic.ComboPopup;
+
+/**
+ * A {@link ComboBoxModel} for long lists of codes, such as diseases, wards or medicals.
+ * <p>
+ * The items are loaded all at once with a single list event, and their text is normalized (accents and case
+ * ignored) once when they are loaded. Filtering only changes which items are visible, again with a single event:
+ * a predicate, such as a type, selects the items that the typed text is then searched in and, when the typed text
+ * only gets longer, only the items visible for the previous text are searched again.
+ * The first item can be a fixed one, like an empty string or an "all" entry, that is never filtered out.
+ * <p>
+ * Use {@link #install(JComboBox, Object)} to set the model together with a prototype value, so that the combo box
+ * and its popup do not measure every item to size themselves.
+ */
+public class TypeAheadComboBoxModel<E> extends AbstractListModel<Object> implements ComboBoxModel<Object> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+
+	private final transient Object firstItem;
+	private final transient Function<? super E, String> textOf;
+	private transient List<E> items = new ArrayList<>();
+	private transient String[] keys = new String[0];
+	private boolean[] accepted = new boolean[0];
+	private int[] visible = new int[0];
+	private int visibleCount;
+	private transient Object selectedItem;
+	private String lastText;
+
+	/**
+	 * @param firstItem the item always shown first, or {@code null} for none
+	 * @param textOf the text of an item that is searched
+	 */
+	public TypeAheadComboBoxModel(Object firstItem, Function<? super E, String> textOf) {
+		this.firstItem = firstItem;
+		this.textOf = textOf;
+		this.selectedItem = firstItem;
+	}
+
+	/**
+	 * Sets the model and a prototype value on the combo box and on the list of its popup, so that their size does not
+	 * depend on the items.
+	 *
+	 * @param comboBox the combo box
+	 * @param prototype a value as wide as the widest item should be shown
+	 */
+	public void install(JComboBox<Object> comboBox, Object prototype) {
+		comboBox.setModel(this);
+		comboBox.setPrototypeDisplayValue(prototype);
+		Accessible popup = comboBox.getUI().getAccessibleChild(comboBox, 0);
+		if (popup instanceof ComboPopup) {
+			((ComboPopup) popup).getList().setPrototypeCellValue(prototype);
+		}
+	}
+
+	/**
+	 * Replaces all the items, which are all accepted and visible afterwards, and selects the first item.
+	 *
+	 * @param newItems the items
+	 */
+	public void setItems(Collection<? extends E> newItems) {
+		int oldSize = getSize();
+		items = new ArrayList<>(newItems);
+		keys = new String[items.size()];
+		accepted = new boolean[items.size()];
+		visible = new int[items.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = normalize(textOf.apply(items.get(i)));
+			accepted[i] = true;
+			visible[i] = i;
+		}
+		visibleCount = keys.length;
+		lastText = null;
+		selectedItem = firstItem;
+		fireChanged(oldSize);
+	}
+
+	/**
+	 * Adds an item, visible whatever the current filter.
+	 *
+	 * @param item the item
+	 */
+	public void addItem(E item) {
+		items.add(item);
+		keys = Arrays.copyOf(keys, items.size());
+		keys[items.size() - 1] = normalize(textOf.apply(item));
+		accepted = Arrays.copyOf(accepted, items.size());
+		accepted[items.size() - 1] = true;
+		visible = Arrays.copyOf(visible, items.size());
+		visible[visibleCount++] = items.size() - 1;
+		lastText = null;
+		int index = getSize() - 1;
+		fireIntervalAdded(this, index, index);
+	}
+
+	/**
+	 * Shows only the items accepted by the predicate, which are the ones searched by the next text filters.
+	 *
+	 * @param accept the predicate, or {@code null} to accept all the items
+	 * @return the number of items shown, besides the first one
+	 */
+	public int filter(Predicate<? super E> accept) {
+		int oldSize = getSize();
+		int count = 0;
+		for (int i = 0; i < keys.length; i++) {
+			accepted[i] = accept == null || accept.test(items.get(i));
+			if (accepted[i]) {
+				visible[count++] = i;
+			}
+		}
+		return showFiltered(oldSize, count, null);
+	}
+
+	/**
+	 * Shows only the accepted items whose text contains all the words of the given text.
+	 *
+	 * @param text the typed text
+	 * @return the number of items shown, besides the first one
+	 */
+	public int filter(String text) {
+		String normalized = normalize(text).trim();
+		String[] tokens = normalized.isEmpty() ? new String[0] : SPACES.split(normalized);
+		int oldSize = getSize();
+		int count = 0;
+		if (lastText != null && normalized.startsWith(lastText)) {
+			// the text only grew: every match is among the visible items
+			for (int i = 0; i < visibleCount; i++) {
+				if (containsAll(keys[visible[i]], tokens)) {
+					visible[count++] = visible[i];
+				}
+			}
+		} else {
+			for (int i = 0; i < keys.length; i++) {
+				if (accepted[i] && containsAll(keys[i], tokens)) {
+					visible[count++] = i;
+				}
+			}
+		}
+		return showFiltered(oldSize, count, normalized);
+	}
+
+	/**
+	 * Shows only the accepted items at the given positions, in the given order, such as the ranked results of a search
+	 * made over the same items.
+	 *
+	 * @param positions the positions of the items, in the order they were set and added
+	 * @return the number of items shown, besides the first one
+	 */
+	public int filter(int[] positions) {
+		int oldSize = getSize();
+		int count = 0;
+		for (int position : positions) {
+			if (position >= 0 && position < keys.length && accepted[position]) {
+				visible[count++] = position;
+			}
+		}
+		return showFiltered(oldSize, count, null);
+	}
+
+	@Override
+	public int getSize() {
+		return firstItem != null ? visibleCount + 1 : visibleCount;
+	}
+
+	@Override
+	public Object getElementAt(int index) {
+		if (firstItem != null) {
+			if (index == 0) {
+				return firstItem;
+			}
+			index--;
+		}
+		if (index < 0 || index >= visibleCount) {
+			return null;
+		}
+		return items.get(visible[index]);
+	}
+
+	@Override
+	public void setSelectedItem(Object item) {
+		if (!Objects.equals(selectedItem, item)) {
+			selectedItem = item;
+			fireContentsChanged(this, -1, -1);
+		}
+	}
+
+	@Override
+	public Object getSelectedItem() {
+		return selectedItem;
+	}
+
+	private int showFiltered(int oldSize, int count, String text) {
+		visibleCount = count;
+		lastText = text;
+		fireChanged(oldSize);
+		return count;
+	}
+
+	private void fireChanged(int oldSize) {
+		int size = Math.max(oldSize, getSize());
+		if (size > 0) {
+			fireContentsChanged(this, 0, size - 1);
+		}
+	}
+
+	private static boolean containsAll(String key, String[] tokens) {
+		for (String token : tokens) {
+			if (!key.contains(token)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.referencedata;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.isf.disease.manager.DiseaseBrowserManager;
+import org.isf.disease.model.Disease;
+import org.isf.exa.manager.ExamBrowsingManager;
+import org.isf.exa.model.Exam;
+import org.isf.medicals.manager.MedicalBrowsingManager;
+import org.isf.medicals.model.Medical;
+import org.isf.medtype.manager.MedicalTypeBrowserManager;
+import org.isf.medtype.model.MedicalType;
+import org.isf.menu.manager.Context;
+import org.isf.priceslist.manager.PriceListManager;
+import org.isf.priceslist.model.Price;
+import org.isf.priceslist.model.PriceList;
+import org.isf.pricesothers.manager.PricesOthersManager;
+import org.isf.pricesothers.model.PricesOthers;
+import org.isf.utils.exception.OHServiceException;
+import org.isf.ward.manager.WardBrowserManager;
+import org.isf.ward.model.Ward;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The reference tables that many windows need, loaded once per session instead of every time a window opens.
+ * <p>
+ * The lists returned are unmodifiable and shared: copy them before sorting or changing them.
+ * The windows that save or delete rows of a table invalidate it, and {@link #refresh()} invalidates them all, so that
+ * the changes made by other workstations are seen as well.
+ */
+public final class ReferenceDataCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+	private static ReferenceDataCache instance;
+
+	private final ReferenceTable<String, Disease> diseases;
+	private final ReferenceTable<String, Ward> wards;
+	private final ReferenceTable<String, Exam> exams;
+	private final ReferenceTable<Integer, Medical> medicals;
+	private final ReferenceTable<String, MedicalType> medicalTypes;
+	private final ReferenceTable<Integer, Price> prices;
+	private final ReferenceTable<Integer, PriceList> priceLists;
+	private final ReferenceTable<Integer, PricesOthers> pricesOthers;
+	private volatile long refreshedAt = System.nanoTime();
+
+	private ReferenceDataCache() {
+		DiseaseBrowserManager diseaseBrowserManager = Context.getApplicationContext().getBean(DiseaseBrowserManager.class);
+		WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
+		ExamBrowsingManager examBrowsingManager = Context.getApplicationContext().getBean(ExamBrowsingManager.class);
+		MedicalBrowsingManager medicalBrowsingManager = Context.getApplicationContext().getBean(MedicalBrowsingManager.class);
+		MedicalTypeBrowserManager medicalTypeBrowserManager = Context.getApplicationContext().getBean(MedicalTypeBrowserManager.class);
+		PriceListManager priceListManager = Context.getApplicationContext().getBean(PriceListManager.class);
+		PricesOthersManager pricesOthersManager = Context.getApplicationContext().getBean(PricesOthersManager.class);
+		diseases = new ReferenceTable<>(diseaseBrowserManager::getDiseaseAll, Disease::getCode);
+		wards = new ReferenceTable<>(wardBrowserManager::getWards, Ward::getCode);
+		exams = new ReferenceTable<>(examBrowsingManager::getExams, Exam::getCode);
+		medicals = new ReferenceTable<>(medicalBrowsingManager::getMedicals, Medical::getCode);
+		medicalTypes = new ReferenceTable<>(medicalTypeBrowserManager::getMedicalType, MedicalType::getCode);
+		prices = new ReferenceTable<>(priceListManager::getPrices, Price::getId);
+		priceLists = new ReferenceTable<>(priceListManager::getLists, PriceList::getId);
+		pricesOthers = new ReferenceTable<>(pricesOthersManager::getOthers, PricesOthers::getId);
+	}
+
+	public static synchronized ReferenceDataCache getInstance() {
+		if (instance == null) {
+			instance = new ReferenceDataCache();
+		}
+		return instance;
+	}
+
+	public List<Disease> getDiseases() throws OHServiceException {
+		return diseases.getAll();
+	}
+
+	public Disease getDisease(String code) throws OHServiceException {
+		return diseases.get(code);
+	}
+
+	public List<Ward> getWards() throws OHServiceException {
+		return wards.getAll();
+	}
+
+	public Ward getWard(String code) throws OHServiceException {
+		return wards.get(code);
+	}
+
+	public List<Exam> getExams() throws OHServiceException {
+		return exams.getAll();
+	}
+
+	public Exam getExam(String code) throws OHServiceException {
+		return exams.get(code);
+	}
+
+	public List<Medical> getMedicals() throws OHServiceException {
+		return medicals.getAll();
+	}
+
+	public Medical getMedical(Integer code) throws OHServiceException {
+		return medicals.get(code);
+	}
+
+	public List<MedicalType> getMedicalTypes() throws OHServiceException {
+		return medicalTypes.getAll();
+	}
+
+	public MedicalType getMedicalType(String code) throws OHServiceException {
+		return medicalTypes.get(code);
+	}
+
+	public List<Price> getPrices() throws OHServiceException {
+		return prices.getAll();
+	}
+
+	public List<PriceList> getPriceLists() throws OHServiceException {
+		return priceLists.getAll();
+	}
+
+	public List<PricesOthers> getPricesOthers() throws OHServiceException {
+		return pricesOthers.getAll();
+	}
+
+	public PricesOthers getPricesOther(Integer id) throws OHServiceException {
+		return pricesOthers.get(id);
+	}
+
+	public ReferenceTable<String, Disease> diseases() {
+		return diseases;
+	}
+
+	public ReferenceTable<String, Ward> wards() {
+		return wards;
+	}
+
+	public ReferenceTable<String, Exam> exams() {
+		return exams;
+	}
+
+	public ReferenceTable<Integer, Medical> medicals() {
+		return medicals;
+	}
+
+	public ReferenceTable<String, MedicalType> medicalTypes() {
+		return medicalTypes;
+	}
+
+	public ReferenceTable<Integer, Price> prices() {
+		return prices;
+	}
+
+	public ReferenceTable<Integer, PriceList> priceLists() {
+		return priceLists;
+	}
+
+	public ReferenceTable<Integer, PricesOthers> pricesOthers() {
+		return pricesOthers;
+	}
+
+	/**
+	 * Invalidates the prices, the price lists and the other prices, that are changed together by the price list windows.
+	 */
+	public void invalidatePrices() {
+		prices.invalidate();
+		priceLists.invalidate();
+		pricesOthers.invalidate();
+	}
+
+	/**
+	 * Invalidates all the tables, which are loaded again when they are next asked for, and logs how often they were
+	 * served from the cache.
+	 */
+	public void refresh() {
+		refreshedAt = System.nanoTime();
+		LOGGER.info("Reference data: diseases {}/{}, wards {}/{}, exams {}/{}, medicals {}/{}, medical types {}/{}, prices {}/{} hits/misses",
+						diseases.getHits(), diseases.getMisses(), wards.getHits(), wards.getMisses(), exams.getHits(), exams.getMisses(),
+						medicals.getHits(), medicals.getMisses(), medicalTypes.getHits(), medicalTypes.getMisses(), prices.getHits(), prices.getMisses());
+		diseases.invalidate();
+		wards.invalidate();
+		exams.invalidate();
+		medicals.invalidate();
+		medicalTypes.invalidate();
+		invalidatePrices();
+	}
+
+	/**
+	 * {@link #refresh() Refreshes} the tables if they have not been refreshed for a while.
+	 *
+	 * @param maxAge how long the tables are trusted after the last refresh
+	 */
+	public void refreshIfOlderThan(Duration maxAge) {
+		if (System.nanoTime() - refreshedAt >= maxAge.toNanos()) {
+			refresh();
+		}
+	}
+
+}
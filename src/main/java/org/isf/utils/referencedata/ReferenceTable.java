@@ -0,0 +1,144 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.referencedata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.isf.utils.exception.OHServiceException;
+
+/**
+ * A reference table loaded once and shared until it is invalidated.
+ * <p>
+ * The rows are kept as an unmodifiable snapshot, together with an index from code to row. Every invalidation
+ * increments the version, and a load that has been overtaken by an invalidation is not kept.
+ */
+public class ReferenceTable<K, V> {
+
+	private final Loader<V> loader;
+	private final Function<V, K> codeOf;
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private volatile Snapshot<K, V> snapshot;
+
+	/**
+	 * @param loader loads all the rows of the table
+	 * @param codeOf the code of a row
+	 */
+	public ReferenceTable(Loader<V> loader, Function<V, K> codeOf) {
+		this.loader = loader;
+		this.codeOf = codeOf;
+	}
+
+	/**
+	 * @return all the rows, as an unmodifiable list
+	 * @throws OHServiceException if the rows have to be loaded and loading fails
+	 */
+	public List<V> getAll() throws OHServiceException {
+		return getSnapshot().rows;
+	}
+
+	/**
+	 * @param code the code of a row
+	 * @return the row with that code, or {@code null} if there is none
+	 * @throws OHServiceException if the rows have to be loaded and loading fails
+	 */
+	public V get(K code) throws OHServiceException {
+		return getSnapshot().byCode.get(code);
+	}
+
+	/**
+	 * Discards the loaded rows, which are loaded again when they are next asked for.
+	 */
+	public void invalidate() {
+		version.incrementAndGet();
+		snapshot = null;
+	}
+
+	/**
+	 * @return the number of times the table has been invalidated
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private Snapshot<K, V> getSnapshot() throws OHServiceException {
+		Snapshot<K, V> current = snapshot;
+		if (current != null) {
+			hits.incrementAndGet();
+			return current;
+		}
+		synchronized (this) {
+			current = snapshot;
+			if (current != null) {
+				hits.incrementAndGet();
+				return current;
+			}
+			misses.incrementAndGet();
+			long loadedVersion = version.get();
+			List<V> loaded = loader.load();
+			current = new Snapshot<>(loaded != null ? loaded : Collections.emptyList(), codeOf);
+			if (version.get() == loadedVersion) {
+				snapshot = current;
+			}
+			return current;
+		}
+	}
+
+	/**
+	 * Loads all the rows of a table.
+	 */
+	@FunctionalInterface
+	public interface Loader<V> {
+
+		List<V> load() throws OHServiceException;
+	}
+
+	private static final class Snapshot<K, V> {
+
+		private final List<V> rows;
+		private final Map<K, V> byCode;
+
+		private Snapshot(List<V> loaded, Function<V, K> codeOf) {
+			this.rows = Collections.unmodifiableList(new ArrayList<>(loaded));
+			this.byCode = new HashMap<>(loaded.size() * 2);
+			for (V row : loaded) {
+				byCode.putIfAbsent(codeOf.apply(row), row);
+			}
+		}
+	}
+
+}
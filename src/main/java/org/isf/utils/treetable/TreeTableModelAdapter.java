@@ -58,7 +58,11 @@ package org.isf.utils.treetable;
  * intended for use in the design, construction, operation or
  * maintenance of any nuclear facility.
  */
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.swing.JTree;
+import javax.swing.SwingUtilities;
 import javax.swing.event.TreeExpansionEvent;
 import javax.swing.event.TreeExpansionListener;
 import javax.swing.table.AbstractTableModel;
@@ -69,6 +73,10 @@ import javax.swing.tree.TreePath;
  * the table model interface. The implementation is trivial, with 
  * all of the event dispatching support provided by the superclass: 
  * the AbstractTableModel.
+ * <p>
+ * Expanding or collapsing a single node is notified to the table as
+ * the rows inserted or deleted below it, so that the table does not
+ * recompute all of its rows.
  *
  * @author Philip Milne
  * @author Scott Violet
@@ -78,27 +86,56 @@ public class TreeTableModelAdapter extends AbstractTableModel {
 	private static final long serialVersionUID = 1L;
 	JTree tree;
     TreeTableModel treeTableModel;
+    // The rows the table knows about, the tree updates its own only after the expansion listeners.
+    private int rowCount;
+    private final List<TreePath> pendingPaths = new ArrayList<>();
 
     public TreeTableModelAdapter(TreeTableModel treeTableModel, JTree tree) {
         this.tree = tree;
         this.treeTableModel = treeTableModel;
+        this.rowCount = tree.getRowCount();
 
         tree.addTreeExpansionListener(new TreeExpansionListener() {
 
-            // Don't use fireTableRowsInserted() here;
-            // the selection model would get  updated twice.
             @Override
             public void treeExpanded(TreeExpansionEvent event) {
-                fireTableDataChanged();
+                expansionChanged(event.getPath());
             }
 
             @Override
             public void treeCollapsed(TreeExpansionEvent event) {
-                fireTableDataChanged();
+                expansionChanged(event.getPath());
             }
         });
     }
 
+    private void expansionChanged(TreePath path) {
+        pendingPaths.add(path);
+        if (pendingPaths.size() == 1) {
+            SwingUtilities.invokeLater(this::fireExpansionChanged);
+        }
+    }
+
+    private void fireExpansionChanged() {
+        int oldRowCount = rowCount;
+        rowCount = tree.getRowCount();
+        int delta = rowCount - oldRowCount;
+        int row = pendingPaths.size() == 1 ? tree.getRowForPath(pendingPaths.get(0)) : -1;
+        pendingPaths.clear();
+        if (row < 0) {
+            // Several nodes changed at once or the node is not visible.
+            fireTableDataChanged();
+        } else if (delta > 0) {
+            fireTableRowsInserted(row + 1, row + delta);
+        } else if (delta < 0) {
+            fireTableRowsDeleted(row + 1, row - delta);
+        } else {
+            return;
+        }
+        // The table has shifted its selection by rows, the tree knows it by paths.
+        tree.getSelectionModel().resetRowSelection();
+    }
+
     // Wrappers, implementing TableModel interface.
 
     @Override
@@ -118,26 +155,30 @@ public class TreeTableModelAdapter extends AbstractTableModel {
 
     @Override
     public int getRowCount() {
-	    return tree.getRowCount();
+	    return rowCount;
     }
 
+    // Until the table is told of an expansion its rows may be more than the tree's.
     protected Object nodeForRow(int row) {
 	    TreePath treePath = tree.getPathForRow(row);
-	    return treePath.getLastPathComponent();
+	    return treePath == null ? null : treePath.getLastPathComponent();
     }
 
     @Override
     public Object getValueAt(int row, int column) {
-	    return treeTableModel.getValueAt(nodeForRow(row), column);
+	    Object node = nodeForRow(row);
+	    return node == null ? null : treeTableModel.getValueAt(node, column);
     }
 
     @Override
     public boolean isCellEditable(int row, int column) {
-         return treeTableModel.isCellEditable(nodeForRow(row), column); 
+         Object node = nodeForRow(row);
+         return node != null && treeTableModel.isCellEditable(node, column);
     }
 
     @Override
     public void setValueAt(Object value, int row, int column) {
 	    treeTableModel.setValueAt(value, nodeForRow(row), column);
+	    fireTableCellUpdated(row, column);
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.video.gui;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs the camera operations on a single background thread, in the order they are submitted: opening and closing the
+ * camera, and grabbing and scaling the snapshots.
+ * <p>
+ * Snapshots are drawn into two frame buffers used in turn, so that capturing again does not allocate a new image and
+ * does not overwrite the snapshot still shown.
+ */
+public final class CapturePipeline {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "CapturePipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final BufferedImage[] frameBuffers = new BufferedImage[2];
+    private int nextBuffer;
+
+    /**
+     * Runs a camera operation, after the ones already submitted.
+     */
+    public CompletableFuture<Void> submit(final Runnable operation) {
+        return CompletableFuture.runAsync(operation, executor);
+    }
+
+    /**
+     * Grabs a frame and scales it down to fit in {@code maxSize}, keeping its proportions.
+     *
+     * @return the snapshot, {@code null} if the camera returned no frame
+     */
+    public CompletableFuture<BufferedImage> capture(final Supplier<BufferedImage> grabber, final Dimension maxSize) {
+        return CompletableFuture.supplyAsync(() -> {
+            final BufferedImage frame = grabber.get();
+            return frame == null ? null : scale(frame, maxSize);
+        }, executor);
+    }
+
+    /**
+     * Stops the capture thread once the operations already submitted are done.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    BufferedImage scale(final BufferedImage frame, final Dimension maxSize) {
+        final double ratio = Math.min(1d, Math.min(maxSize.getWidth() / frame.getWidth(), maxSize.getHeight() / frame.getHeight()));
+        final int width = Math.max(1, (int) Math.round(frame.getWidth() * ratio));
+        final int height = Math.max(1, (int) Math.round(frame.getHeight() * ratio));
+
+        BufferedImage buffer = frameBuffers[nextBuffer];
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+            buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            frameBuffers[nextBuffer] = buffer;
+        }
+        nextBuffer = 1 - nextBuffer;
+
+        final Graphics2D graphics = buffer.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(frame, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return buffer;
+    }
+}
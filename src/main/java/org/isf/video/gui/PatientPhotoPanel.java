@@ -114,7 +114,7 @@ public class PatientPhotoPanel extends JPanel {
 					BufferedImage bi = (BufferedImage) propertyChangeEvent.getNewValue();
 					if (bi != null) {
 						externalPanel.updatePhoto(ImageUtil.scaleImage(bi, 160, 160));
-						patientFrame.setPatientPhoto(ImageUtil.fixImageFileSize(bi, GeneralData.MAX_PROFILE_IMAGE_FILE_SIZE_BYTES, PROFILE_PICTURE_FORMAT));
+						patientFrame.setPatientPhoto(ImageUtil.fitImageFileSize(bi, GeneralData.MAX_PROFILE_IMAGE_FILE_SIZE_BYTES, PROFILE_PICTURE_FORMAT));
 					} 
 				} catch (IOException e1) {
 					LOGGER.error("Oooops! Can't resize profile picture.", e1);
@@ -153,30 +153,38 @@ public class PatientPhotoPanel extends JPanel {
 				}
 			});
 
-			final Webcam webcam = Webcam.getDefault();
-
-			if (GeneralData.VIDEOMODULEENABLED && webcam != null) {
+			jAttachPhotoButton.setText(MessageBundle.getMessage("angal.patient.loadfile"));
+			if (GeneralData.VIDEOMODULEENABLED) {
 				JButton jGetPhotoButton = new JButton(MessageBundle.getMessage("angal.patientphoto.newphoto.btn"));
 				jGetPhotoButton.setMnemonic(MessageBundle.getMnemonic("angal.patientphoto.newphoto.btn.key"));
 				jGetPhotoButton.setMinimumSize(new Dimension(200, (int) jGetPhotoButton.getPreferredSize().getHeight()));
 				jGetPhotoButton.setMaximumSize(new Dimension(200, (int) jGetPhotoButton.getPreferredSize().getHeight()));
+				jGetPhotoButton.setVisible(false);
 
-				final Dimension[] resolutions = webcam.getDevice().getResolutions();
-				jGetPhotoButton.addActionListener(actionEvent -> {
-					photoboothPanelPresentationModel.setWebcam(webcam);
-					// start with the highest resolution.
-					photoboothPanelPresentationModel.setResolution(resolutions[resolutions.length - 1]);
-
-					final PhotoboothDialog photoBoothDialog = new PhotoboothDialog(photoboothPanelPresentationModel, owner);
-					photoBoothDialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
-					photoBoothDialog.setVisible(true);
-					photoBoothDialog.toFront();
-					photoBoothDialog.requestFocus();
+				// the webcams are discovered once in background, the button is shown only if there is one
+				WebcamDiscovery.whenDiscovered(webcams -> {
+					if (webcams.isEmpty()) {
+						return;
+					}
+					final Webcam webcam = webcams.get(0);
+					final Dimension[] resolutions = webcam.getDevice().getResolutions();
+					jGetPhotoButton.addActionListener(actionEvent -> {
+						photoboothPanelPresentationModel.setWebcam(webcam);
+						// start with the highest resolution.
+						photoboothPanelPresentationModel.setResolution(resolutions[resolutions.length - 1]);
+
+						final PhotoboothDialog photoBoothDialog = new PhotoboothDialog(photoboothPanelPresentationModel, owner);
+						photoBoothDialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+						photoBoothDialog.setVisible(true);
+						photoBoothDialog.toFront();
+						photoBoothDialog.requestFocus();
+					});
+					jAttachPhotoButton.setText(MessageBundle.getMessage("angal.patientphoto.file.btn"));
+					jGetPhotoButton.setVisible(true);
+					buttonBox1.revalidate();
 				});
 
 				buttonBox1.add(jGetPhotoButton);
-			} else {
-				jAttachPhotoButton.setText(MessageBundle.getMessage("angal.patient.loadfile"));
 			}
 			buttonBox1.add(jAttachPhotoButton);
 
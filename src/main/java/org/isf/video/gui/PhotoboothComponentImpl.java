@@ -34,10 +34,12 @@ import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.JDialog;
+import javax.swing.JLabel;
 import javax.swing.JList;
+import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
-import org.isf.utils.image.ImageUtil;
+import org.isf.generaldata.MessageBundle;
 import org.isf.utils.jobjects.Cropping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +50,10 @@ import com.jgoodies.binding.adapter.ComboBoxAdapter;
 import com.jgoodies.binding.list.SelectionInList;
 import com.jgoodies.forms.factories.CC;
 
+/**
+ * The photobooth opens at once with a placeholder: the webcams are discovered in background, and the selected one is
+ * opened on the {@link CapturePipeline} thread, which also grabs and scales the snapshots.
+ */
 public final class PhotoboothComponentImpl extends PhotoboothComponent {
     private static final Logger LOGGER = LoggerFactory.getLogger(PhotoboothComponentImpl.class);
     private static final DefaultListCellRenderer RESOLUTION_DROPDOWN_OPTION_RENDERER = new DefaultListCellRenderer() {
@@ -89,9 +95,12 @@ public final class PhotoboothComponentImpl extends PhotoboothComponent {
     private Cropping cropping;
     private Action okAction;
     private PropertyChangeListener webcamResolutionChangeListener;
-    private final List<Webcam> allWebcams;
+    private final List<Webcam> allWebcams = new ArrayList<>();
     private final SelectionInList<Dimension> dimensionSelectionInList;
     private PropertyChangeListener webcamChangeListener;
+    private final CapturePipeline capturePipeline = new CapturePipeline();
+    private JLabel placeholder;
+    private boolean closed;
 
 
     public PhotoboothComponentImpl(final PhotoboothPanelPresentationModel model,
@@ -99,11 +108,13 @@ public final class PhotoboothComponentImpl extends PhotoboothComponent {
         this.photoboothPanelPresentationModel = model;
         this.owner = owner;
 
-        this.allWebcams = Webcam.getWebcams();
-        this.webcam = Webcam.getDefault();
+        // the webcam chosen by the caller, if any; otherwise the default one is selected once discovered
+        this.webcam = model.getBean().getWebcam();
 
         this.supportedResolutions = new ArrayList<>();
-        Collections.addAll(supportedResolutions, webcam.getDevice().getResolutions());
+        if (webcam != null) {
+            Collections.addAll(supportedResolutions, webcam.getDevice().getResolutions());
+        }
         dimensionSelectionInList = new SelectionInList<>(supportedResolutions);
     }
 
@@ -112,23 +123,20 @@ public final class PhotoboothComponentImpl extends PhotoboothComponent {
         super.initComponents();
 
         // set initial size of all photo panels to use the resolution defined on the model
-        getStreamingPanel().setPreferredSize(photoboothPanelPresentationModel.getResolution());
-        getStreamingPanel().setMinimumSize(photoboothPanelPresentationModel.getResolution());
-        getSnapshotPanel().setPreferredSize(photoboothPanelPresentationModel.getResolution());
-        getSnapshotPanel().setMinimumSize(photoboothPanelPresentationModel.getResolution());
+        setPanelSizes(photoboothPanelPresentationModel.getResolution());
         this.resolutionComboBox.setRenderer(RESOLUTION_DROPDOWN_OPTION_RENDERER);
         this.webcamComboBox.setRenderer(WEBCAM_DROPDOWN_OPTION_RENDERER);
 
-        this.webcam.setViewSize(photoboothPanelPresentationModel.getResolution());
-        this.webcamPanel = new WebcamPanel(webcam, false);
-        getStreamingPanel().add(webcamPanel, CC.xy(1, 1));
+        this.placeholder = new JLabel(MessageBundle.getMessage("angal.photoboothcomponent.startingcamera.txt"), SwingConstants.CENTER);
+        getStreamingPanel().add(placeholder, CC.xy(1, 1));
+        getCaptureButton().setEnabled(false);
     }
 
     @Override
     protected void initGUIState() throws Exception {
         super.initGUIState();
         this.okAction.setEnabled(false);
-        this.webcamPanel.start();
+        WebcamDiscovery.whenDiscovered(this::webcamsDiscovered);
     }
 
     @Override
@@ -147,23 +155,10 @@ public final class PhotoboothComponentImpl extends PhotoboothComponent {
 
         webcamResolutionChangeListener = propertyChangeEvent -> {
             final Object newValue = propertyChangeEvent.getNewValue();
-            if (newValue instanceof Dimension) {
-                this.stopWebcam();
-
+            if (newValue instanceof Dimension && webcam != null) {
                 LOGGER.info("Changing webcam dimension to {}", newValue);
-                webcam.setViewSize((Dimension) newValue);
-                this.getStreamingPanel().setPreferredSize((Dimension) newValue);
-                this.getStreamingPanel().setMinimumSize((Dimension) newValue);
-                this.getSnapshotPanel().setPreferredSize((Dimension) newValue);
-                this.getSnapshotPanel().setMinimumSize((Dimension) newValue);
-
-                LOGGER.info("Closing webcam before attaching to panel.");
-                webcam.close();
-                webcamPanel = new WebcamPanel(webcam);
-                this.getStreamingPanel().add(webcamPanel, CC.xy(1, 1));
-                owner.pack();
-                owner.repaint();
-                owner.validate();
+                this.stopWebcam();
+                this.startWebcam();
             }
         };
         photoboothPanelPresentationModel.addBeanPropertyChangeListener(PhotoboothPanelModel.PROPERTY_RESOLUTION, webcamResolutionChangeListener);
@@ -181,35 +176,95 @@ public final class PhotoboothComponentImpl extends PhotoboothComponent {
                 Collections.addAll(supportedResolutions, allResolutions);
                 dimensionSelectionInList.fireContentsChanged(0, supportedResolutions.size() - 1);
 
-                // set to highest resolution
-                photoboothPanelPresentationModel.setResolution(allResolutions[allResolutions.length - 1]);
-                LOGGER.info("Closing webcam {} before changing resolution", webcam.getName());
-                webcam.close();
-
-                LOGGER.info("Changing resolution to {}", photoboothPanelPresentationModel.getResolution());
-                webcam.setViewSize(photoboothPanelPresentationModel.getResolution());
-
-                this.getStreamingPanel().setPreferredSize(photoboothPanelPresentationModel.getResolution());
-                this.getStreamingPanel().setMinimumSize(photoboothPanelPresentationModel.getResolution());
-                this.getSnapshotPanel().setPreferredSize(photoboothPanelPresentationModel.getResolution());
-                this.getSnapshotPanel().setMinimumSize(photoboothPanelPresentationModel.getResolution());
-
-                LOGGER.info("Attaching webcam {} to panel", webcam.getName());
-                webcamPanel = new WebcamPanel(webcam);
-                this.getStreamingPanel().add(webcamPanel, CC.xy(1, 1));
-                owner.pack();
-                owner.repaint();
-                owner.validate();
-
+                // set to highest resolution, which restarts the webcam unless the resolution is the same
+                final Dimension highestResolution = allResolutions[allResolutions.length - 1];
+                if (highestResolution.equals(photoboothPanelPresentationModel.getResolution())) {
+                    this.startWebcam();
+                } else {
+                    photoboothPanelPresentationModel.setResolution(highestResolution);
+                }
             }
         };
         photoboothPanelPresentationModel.addBeanPropertyChangeListener(PhotoboothPanelModel.PROPERTY_WEBCAM, webcamChangeListener);
     }
 
+    private void webcamsDiscovered(final List<Webcam> webcams) {
+        if (closed) {
+            return;
+        }
+        allWebcams.clear();
+        allWebcams.addAll(webcams);
+        this.webcamComboBox.setModel(new ComboBoxAdapter(
+                allWebcams,
+                photoboothPanelPresentationModel.getModel(PhotoboothPanelModel.PROPERTY_WEBCAM)
+        ));
+        if (webcam != null) {
+            startWebcam();
+        } else if (webcams.isEmpty()) {
+            placeholder.setText(MessageBundle.getMessage("angal.photoboothcomponent.nocamera.txt"));
+        } else {
+            // starts the default webcam through the webcam change listener
+            photoboothPanelPresentationModel.setWebcam(webcams.get(0));
+        }
+    }
+
+    /*
+     * opens the webcam in background, showing the placeholder until the stream is ready
+     */
+    private void startWebcam() {
+        final Webcam camera = webcam;
+        final Dimension resolution = photoboothPanelPresentationModel.getResolution();
+        setPanelSizes(resolution);
+        placeholder.setText(MessageBundle.getMessage("angal.photoboothcomponent.startingcamera.txt"));
+        if (placeholder.getParent() == null) {
+            getStreamingPanel().add(placeholder, CC.xy(1, 1));
+        }
+        getCaptureButton().setEnabled(false);
+        LOGGER.info("Attaching webcam {} to panel", camera.getName());
+        capturePipeline.submit(() -> {
+            if (resolution != null) {
+                camera.setViewSize(resolution);
+            }
+            camera.open();
+        }).whenComplete((ignored, throwable) -> SwingUtilities.invokeLater(() -> webcamStarted(camera, throwable)));
+    }
+
+    private void webcamStarted(final Webcam camera, final Throwable throwable) {
+        if (closed || camera != webcam) {
+            return;
+        }
+        if (throwable != null) {
+            LOGGER.error("Unable to open webcam {}.", camera.getName(), throwable);
+            placeholder.setText(MessageBundle.getMessage("angal.photoboothcomponent.nocamera.txt"));
+            return;
+        }
+        getStreamingPanel().remove(placeholder);
+        webcamPanel = new WebcamPanel(camera, false);
+        getStreamingPanel().add(webcamPanel, CC.xy(1, 1));
+        webcamPanel.start();
+        getCaptureButton().setEnabled(true);
+        owner.pack();
+        owner.repaint();
+        owner.validate();
+    }
+
     private void stopWebcam() {
-        webcamPanel.stop();
-        webcam.close();
-        getStreamingPanel().remove(webcamPanel);
+        if (webcamPanel != null) {
+            webcamPanel.stop();
+            getStreamingPanel().remove(webcamPanel);
+            webcamPanel = null;
+        }
+        if (webcam != null) {
+            LOGGER.info("Closing webcam {}", webcam.getName());
+            capturePipeline.submit(webcam::close);
+        }
+    }
+
+    private void setPanelSizes(final Dimension resolution) {
+        getStreamingPanel().setPreferredSize(resolution);
+        getStreamingPanel().setMinimumSize(resolution);
+        getSnapshotPanel().setPreferredSize(resolution);
+        getSnapshotPanel().setMinimumSize(resolution);
     }
 
     @Override
@@ -242,25 +297,46 @@ public final class PhotoboothComponentImpl extends PhotoboothComponent {
             final Dimension currentResolution = photoboothPanelPresentationModel.getResolution();
             // resize the image to match the current selected resolution. This is because under some circumstances, the
             // webcam's viewSize seems to be different from the currently selected resolution. Weird. i know..
-            final BufferedImage resizedImage = ImageUtil.scaleImage(webcam.getImage(), (int) currentResolution.getWidth(), (int) currentResolution.getHeight());
-
-            // set image on the cropping panel.
-            cropping = new Cropping(resizedImage);
-            okAction.setEnabled(true);
-            SwingUtilities.invokeLater(() -> {
-                this.getSnapshotPanel().removeAll();
-                this.getSnapshotPanel().add(cropping, CC.xy(1, 1));
-                this.getPhotoBoothPanel().repaint();
-                this.getPhotoBoothPanel().revalidate();
-            });
+            // It is also fitted to the screen here, so that the cropping panel has nothing left to scale on the EDT.
+            final Dimension maxSize = Cropping.fitToScreen((int) currentResolution.getWidth(), (int) currentResolution.getHeight());
+            getCaptureButton().setEnabled(false);
+            capturePipeline.capture(webcam::getImage, maxSize)
+                    .whenComplete((snapshot, throwable) -> SwingUtilities.invokeLater(() -> snapshotTaken(snapshot, throwable)));
         });
     }
 
+    private void snapshotTaken(final BufferedImage snapshot, final Throwable throwable) {
+        if (closed) {
+            return;
+        }
+        getCaptureButton().setEnabled(webcamPanel != null);
+        if (throwable != null) {
+            LOGGER.error("Unable to capture the image.", throwable);
+            return;
+        }
+        if (snapshot == null) {
+            return;
+        }
+
+        // set image on the cropping panel.
+        cropping = new Cropping(snapshot);
+        okAction.setEnabled(true);
+        this.getSnapshotPanel().removeAll();
+        this.getSnapshotPanel().add(cropping, CC.xy(1, 1));
+        this.getPhotoBoothPanel().repaint();
+        this.getPhotoBoothPanel().revalidate();
+    }
+
     public void cleanup() {
+        if (closed) {
+            return;
+        }
+        closed = true;
         stopWebcam();
 
         // need to remove listener here, to prevent memory leak the next time we open the photo frame again.
         photoboothPanelPresentationModel.removeBeanPropertyChangeListener(PhotoboothPanelModel.PROPERTY_RESOLUTION, webcamResolutionChangeListener);
         photoboothPanelPresentationModel.removeBeanPropertyChangeListener(PhotoboothPanelModel.PROPERTY_WEBCAM, webcamChangeListener);
+        capturePipeline.shutdown();
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.video.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.sarxos.webcam.Webcam;
+import com.github.sarxos.webcam.WebcamException;
+
+/**
+ * Looks for the webcams once per session, in background, as the discovery can take seconds on machines with USB hubs.
+ */
+public final class WebcamDiscovery {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebcamDiscovery.class);
+
+    private static CompletableFuture<List<Webcam>> webcams;
+
+    private WebcamDiscovery() {
+    }
+
+    /**
+     * @return the webcams, the first one being the default one, as soon as they have been discovered
+     */
+    public static synchronized CompletableFuture<List<Webcam>> getWebcams() {
+        if (webcams == null) {
+            webcams = CompletableFuture.supplyAsync(WebcamDiscovery::discover, runnable -> {
+                final Thread thread = new Thread(runnable, "WebcamDiscovery");
+                thread.setDaemon(true);
+                thread.start();
+            });
+        }
+        return webcams;
+    }
+
+    /**
+     * Hands the discovered webcams to the consumer on the Event Dispatch Thread.
+     */
+    public static void whenDiscovered(final Consumer<List<Webcam>> consumer) {
+        getWebcams().thenAccept(discovered -> SwingUtilities.invokeLater(() -> consumer.accept(discovered)));
+    }
+
+    private static List<Webcam> discover() {
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(Webcam.getWebcams()));
+        } catch (final WebcamException webcamException) {
+            LOGGER.error("Unable to discover the webcams.", webcamException);
+            return Collections.emptyList();
+        }
+    }
+}
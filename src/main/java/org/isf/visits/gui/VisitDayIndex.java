@@ -0,0 +1,87 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.visits.gui;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.isf.utils.exception.OHServiceException;
+import org.isf.visits.model.Visit;
+
+/**
+ * Keeps the visits of a ward indexed by day, so that showing a day is a single lookup.
+ * <p>
+ * {@link org.isf.visits.manager.VisitManager} can only load all the visits of a ward: they are loaded once, the first
+ * time a day is shown, and then every day is looked up in the index instead of scanning them again.
+ */
+public class VisitDayIndex {
+
+	private VisitLoader loader;
+	private NavigableMap<LocalDate, List<Visit>> days;
+
+	/**
+	 * Sets the loader of the visits to show, dropping the visits loaded so far.
+	 */
+	public void setLoader(VisitLoader loader) {
+		this.loader = loader;
+		invalidate();
+	}
+
+	/**
+	 * Drops the loaded visits, so that the next lookup loads them again, e.g. after a visit has been added or deleted.
+	 */
+	public void invalidate() {
+		days = null;
+	}
+
+	/**
+	 * @return the visits of the day, loading the visits of the ward if needed
+	 * @throws OHServiceException if loading fails
+	 */
+	public List<Visit> getVisits(LocalDate day) throws OHServiceException {
+		if (loader == null) {
+			return new ArrayList<>();
+		}
+		if (days == null) {
+			NavigableMap<LocalDate, List<Visit>> loaded = new TreeMap<>();
+			for (Visit visit : loader.load()) {
+				loaded.computeIfAbsent(visit.getDate().toLocalDate(), key -> new ArrayList<>()).add(visit);
+			}
+			days = loaded;
+		}
+		List<Visit> visits = days.get(day);
+		return visits == null ? new ArrayList<>() : new ArrayList<>(visits);
+	}
+
+	/**
+	 * Loads all the visits to index.
+	 */
+	@FunctionalInterface
+	public interface VisitLoader {
+
+		List<Visit> load() throws OHServiceException;
+	}
+
+}
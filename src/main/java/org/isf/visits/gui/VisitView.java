@@ -70,10 +70,10 @@ import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.GoodDateChooser;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.utils.time.TimeTools;
 import org.isf.visits.manager.VisitManager;
 import org.isf.visits.model.Visit;
-import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 
 /**
@@ -114,6 +114,12 @@ public class VisitView extends ModalJFrame {
 
 	private static final String SELECT_A_WARD = MessageBundle.getMessage("angal.visit.selectaward.txt");
 
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT_DD_MM_YYYY);
+	private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(TIME_FORMAT_HH_MM);
+	private static final String PATIENT_ID = MessageBundle.getMessage("angal.common.patientID");
+	private static final String NOT_DEFINED = MessageBundle.getMessage("angal.common.notdefined.txt");
+	private static final String MINUTES = MessageBundle.getMessage("angal.common.minutesabbr");
+
 	/*
 	 * Attributes
 	 */
@@ -150,9 +156,8 @@ public class VisitView extends ModalJFrame {
 	 * Managers
 	 */
 	private VisitManager visitManager = Context.getApplicationContext().getBean(VisitManager.class);
-	private WardBrowserManager wardBrowserManager = Context.getApplicationContext().getBean(WardBrowserManager.class);
 
-	private List<Visit> visits = new ArrayList<>();
+	private final VisitDayIndex visitIndex = new VisitDayIndex();
 	private List<Visit> visitfirst = new ArrayList<>();
 	private List<Visit> visitSecond = new ArrayList<>();
 	private Ward ward;
@@ -165,12 +170,9 @@ public class VisitView extends ModalJFrame {
 	}
 
 	private void loadDataForWard(Ward ward) {
-		try {
-			if (!ward.getDescription().equals(SELECT_A_WARD)) {
-				visits = visitManager.getVisitsWard(ward.getCode());
-			}
-		} catch (OHServiceException e1) {
-			OHServiceExceptionUtil.showMessages(e1);
+		if (!ward.getDescription().equals(SELECT_A_WARD)) {
+			String wardCode = ward.getCode();
+			visitIndex.setLoader(() -> visitManager.getVisitsWard(wardCode));
 		}
 	}
 
@@ -421,7 +423,7 @@ public class VisitView extends ModalJFrame {
 	private JPanel getDateFirstDay() {
 		if (datefirstPanel == null) {
 			datefirstPanel = new JPanel();
-			dateFirstLabel = new JLabel(TimeTools.formatDateTime(dateFirst, DATE_FORMAT_DD_MM_YYYY));
+			dateFirstLabel = new JLabel(DATE_FORMATTER.format(dateFirst));
 			datefirstPanel.add(dateFirstLabel);
 		}
 		return datefirstPanel;
@@ -430,7 +432,7 @@ public class VisitView extends ModalJFrame {
 	private JPanel getDateSecondDay() {
 		if (datesecondPanel == null) {
 			datesecondPanel = new JPanel();
-			datesecondLabel = new JLabel(TimeTools.formatDateTime(dateSecond, DATE_FORMAT_DD_MM_YYYY));
+			datesecondLabel = new JLabel(DATE_FORMATTER.format(dateSecond));
 			datesecondPanel.add(datesecondLabel);
 		}
 		return datesecondPanel;
@@ -525,11 +527,11 @@ public class VisitView extends ModalJFrame {
 	private void updatePanels() {
 
 		visitfirst = getVisitForDate(dateFirst);
-		dateFirstLabel.setText(TimeTools.formatDateTime(dateFirst, DATE_FORMAT_DD_MM_YYYY));
+		dateFirstLabel.setText(DATE_FORMATTER.format(dateFirst));
 		addFirstVisitButton.setEnabled(dateFirst.isAfter(TimeTools.getDateToday0()));
 
 		visitSecond = getVisitForDate(dateSecond);
-		datesecondLabel.setText(TimeTools.formatDateTime(dateSecond, DATE_FORMAT_DD_MM_YYYY));
+		datesecondLabel.setText(DATE_FORMATTER.format(dateSecond));
 		addSecondVisitButton.setEnabled(dateSecond.isAfter(TimeTools.getDateToday0()));
 
 		((VisitModel) jTableFirst.getModel()).fireTableDataChanged();
@@ -556,13 +558,12 @@ public class VisitView extends ModalJFrame {
 	}
 
 	private List<Visit> getVisitForDate(LocalDateTime date) {
-		List<Visit> vis = new ArrayList<>();
-		for (Visit visit : visits) {
-			if (TimeTools.isSameDay(visit.getDate(), date)) {
-				vis.add(visit);
-			}
+		try {
+			return visitIndex.getVisits(date.toLocalDate());
+		} catch (OHServiceException e) {
+			OHServiceExceptionUtil.showMessages(e);
+			return new ArrayList<>();
 		}
-		return vis;
 	}
 
 	private final class FreeMemoryAdapter extends WindowAdapter {
@@ -578,9 +579,7 @@ public class VisitView extends ModalJFrame {
 	}
 
 	private void freeMemory() {
-		if (visits != null) {
-			visits.clear();
-		}
+		visitIndex.invalidate();
 	}
 
 	class CenterTableCellRenderer extends DefaultTableCellRenderer {
@@ -600,11 +599,11 @@ public class VisitView extends ModalJFrame {
 	private Object getVisitString(Visit visit, LocalDateTime localDateTime) {
 		StringBuilder strBuilder = new StringBuilder();
 		strBuilder.append(formatDateTime(localDateTime)).append(" - "); //$NON-NLS-1$
-		strBuilder.append('(').append(MessageBundle.getMessage("angal.common.patientID")).append(": ").append(visit.getPatient().getCode()).append(") - "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		strBuilder.append('(').append(PATIENT_ID).append(": ").append(visit.getPatient().getCode()).append(") - "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 		strBuilder.append(visit.getPatient().getName()).append(" - "); //$NON-NLS-1$
-		strBuilder.append(visit.getService() == null || visit.getService().isEmpty() ? MessageBundle.getMessage("angal.common.notdefined.txt") : visit.getService()) //$NON-NLS-1$
+		strBuilder.append(visit.getService() == null || visit.getService().isEmpty() ? NOT_DEFINED : visit.getService())
 						.append(' '); //$NON-NLS-1$
-		strBuilder.append('(').append(visit.getDuration()).append(MessageBundle.getMessage("angal.common.minutesabbr")).append(')'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		strBuilder.append('(').append(visit.getDuration()).append(MINUTES).append(')'); //$NON-NLS-1$
 		return strBuilder.toString();
 	}
 
@@ -647,7 +646,7 @@ public class VisitView extends ModalJFrame {
 	}
 
 	public String formatDateTime(LocalDateTime time) {
-		return DateTimeFormatter.ofPattern(TIME_FORMAT_HH_MM).format(time);
+		return TIME_FORMATTER.format(time);
 	}
 
 	class VisitSecondModel extends DefaultTableModel {
@@ -790,7 +789,7 @@ public class VisitView extends ModalJFrame {
 			wardBox = new JComboBox<>();
 			List<Ward> wardList;
 			try {
-				wardList = wardBrowserManager.getWards();
+				wardList = ReferenceDataCache.getInstance().getWards();
 			} catch (OHServiceException e) {
 				wardList = new ArrayList<>();
 				OHServiceExceptionUtil.showMessages(e);
@@ -42,6 +42,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.ModalJFrame;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.ward.gui.WardEdit.WardListener;
 import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
@@ -224,6 +225,7 @@ public class WardBrowser extends ModalJFrame implements WardListener {
 					try {
 						if (answer == JOptionPane.YES_OPTION) {
 							wardBrowserManager.deleteWard(ward);
+							ReferenceDataCache.getInstance().wards().invalidate();
 							pWard.remove(table.getSelectedRow());
 							model.fireTableDataChanged();
 							table.updateUI();
@@ -44,6 +44,7 @@ import org.isf.utils.exception.OHServiceException;
 import org.isf.utils.exception.gui.OHServiceExceptionUtil;
 import org.isf.utils.jobjects.MessageDialog;
 import org.isf.utils.jobjects.VoLimitedTextField;
+import org.isf.utils.referencedata.ReferenceDataCache;
 import org.isf.ward.manager.WardBrowserManager;
 import org.isf.ward.model.Ward;
 
@@ -445,6 +446,7 @@ public class WardEdit extends JDialog {
 				if (insert) { // inserting
 					try {
 						savedWard = wardBrowserManager.newWard(ward);
+						ReferenceDataCache.getInstance().wards().invalidate();
 						if (savedWard != null) {
 							ward.setLock(savedWard.getLock());
 							result = true;
@@ -458,6 +460,7 @@ public class WardEdit extends JDialog {
 				} else {
 					try { // updating
 						savedWard = wardBrowserManager.updateWard(ward);
+						ReferenceDataCache.getInstance().wards().invalidate();
 						if (savedWard != null) {
 							ward.setLock(savedWard.getLock());
 							result = true;
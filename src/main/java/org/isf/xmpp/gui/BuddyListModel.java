@@ -0,0 +1,125 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.xmpp.gui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * The contacts, available ones first and then by name, with the availability of each contact kept aside, so that
+ * neither sorting nor rendering asks the roster for presences.
+ * <p>
+ * A change of availability moves only that contact, firing the removal and the insertion of a single row.
+ *
+ * @param <E> the type of the contacts
+ */
+public class BuddyListModel<E> extends AbstractListModel<E> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Function<E, String> userOf;
+	private final List<E> entries = new ArrayList<>();
+	private final Map<String, Boolean> available = new HashMap<>();
+	private final Comparator<E> order;
+
+	/**
+	 * @param userOf returns the address of a contact
+	 * @param nameOf returns the name shown for a contact
+	 */
+	public BuddyListModel(Function<E, String> userOf, Function<E, String> nameOf) {
+		this.userOf = userOf;
+		this.order = Comparator.comparing((E entry) -> !isAvailable(entry)).thenComparing(entry -> nameOf.apply(entry).toLowerCase());
+	}
+
+	public void setEntries(Collection<E> contacts, Predicate<E> isAvailable) {
+		int oldSize = entries.size();
+		entries.clear();
+		available.clear();
+		if (oldSize > 0) {
+			fireIntervalRemoved(this, 0, oldSize - 1);
+		}
+		for (E entry : contacts) {
+			available.put(userOf.apply(entry), isAvailable.test(entry));
+			entries.add(entry);
+		}
+		entries.sort(order);
+		if (!entries.isEmpty()) {
+			fireIntervalAdded(this, 0, entries.size() - 1);
+		}
+	}
+
+	/**
+	 * Moves the contact to its new position, if its availability has changed.
+	 *
+	 * @return {@code true} if the contact is known and its availability has changed
+	 */
+	public boolean setAvailable(String user, boolean isAvailable) {
+		Boolean wasAvailable = available.get(user);
+		if (wasAvailable == null || wasAvailable == isAvailable) {
+			return false;
+		}
+		int from = indexOf(user);
+		E entry = entries.remove(from);
+		fireIntervalRemoved(this, from, from);
+		available.put(user, isAvailable);
+		int to = Collections.binarySearch(entries, entry, order);
+		if (to < 0) {
+			to = -to - 1;
+		}
+		entries.add(to, entry);
+		fireIntervalAdded(this, to, to);
+		return true;
+	}
+
+	public boolean isAvailable(E entry) {
+		return Boolean.TRUE.equals(available.get(userOf.apply(entry)));
+	}
+
+	@Override
+	public int getSize() {
+		return entries.size();
+	}
+
+	@Override
+	public E getElementAt(int index) {
+		return entries.get(index);
+	}
+
+	private int indexOf(String user) {
+		for (int i = 0; i < entries.size(); i++) {
+			if (user.equals(userOf.apply(entries.get(i)))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -34,6 +34,7 @@ import javax.swing.JButton;
 import javax.swing.JTextPane;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
+import javax.swing.text.Element;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 
@@ -45,6 +46,14 @@ import org.slf4j.LoggerFactory;
 public class ChatMessages extends JTextPane {
 
 	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The number of lines kept in the tab, older ones are only in the transcript.
+	 */
+	static final int MAX_LINES = 500;
+
+	private final String peer;
+	private final ChatTranscript transcript;
 	private Document sDoc;
 	private Color greenColor = new Color(0, 100, 0);
 	private Color blueColor = new Color(176, 23, 31);
@@ -54,7 +63,13 @@ public class ChatMessages extends JTextPane {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ChatMessages.class);
 
-	public ChatMessages() {
+	/**
+	 * @param peer the contact of the chat
+	 * @param transcript where the lines are written, may be {@code null}
+	 */
+	public ChatMessages(String peer, ChatTranscript transcript) {
+		this.peer = peer;
+		this.transcript = transcript;
 		setEditable(false);
 		setMinimumSize(getSize());
 		keyWord = new SimpleAttributeSet();
@@ -65,6 +80,8 @@ public class ChatMessages extends JTextPane {
 		StyleConstants.setForeground(keyWord, greenColor);
 		sDoc = getDocument();
 		sDoc.insertString(sDoc.getEndPosition().getOffset(), "*** " + notification + '\n', keyWord);
+		record("*** " + notification);
+		trimScrollback();
 	}
 
 	//print notification of file transfer
@@ -83,6 +100,8 @@ public class ChatMessages extends JTextPane {
 
 		insertComponent(accept);
 		insertComponent(reject);
+		record("*** " + fileTransfer);
+		trimScrollback();
 	}
 
 	//print send and received messages
@@ -94,10 +113,13 @@ public class ChatMessages extends JTextPane {
 			StyleConstants.setForeground(keyWord, redColor);
 		}
 		sDoc = getDocument();
-		sDoc.insertString(sDoc.getEndPosition().getOffset(), '(' + simpleDateFormat.format(new Date()) + ") " + user + " : ", keyWord);
+		String header = '(' + simpleDateFormat.format(new Date()) + ") " + user + " : ";
+		sDoc.insertString(sDoc.getEndPosition().getOffset(), header, keyWord);
 		StyleConstants.setBold(keyWord, false);
 		StyleConstants.setForeground(keyWord, Color.black);
 		sDoc.insertString(sDoc.getEndPosition().getOffset(), message + '\n', keyWord);
+		record(header + message);
+		trimScrollback();
 	}
 
 	public void printReport(String name, String report) {
@@ -138,10 +160,34 @@ public class ChatMessages extends JTextPane {
 		select(position, position);
 
 		insertComponent(view);
+		record(MessageBundle.formatMessage("angal.xmpp.wantstosharewithyouthisreport.fmt.msg", name, typeReport));
+		trimScrollback();
 		view.addActionListener(actionEvent -> {
 			new GenericReportFromDateToDate(fromDate, toDate, "rpt_base", typeReport, typeReport, false);
 			view.setEnabled(false);
 		});
 	}
 
+	private void record(String line) {
+		if (transcript != null) {
+			transcript.append(peer, line);
+		}
+	}
+
+	/*
+	 * removes the oldest lines, so that the document does not grow for the whole session
+	 */
+	private void trimScrollback() {
+		Document doc = getDocument();
+		Element root = doc.getDefaultRootElement();
+		int excess = root.getElementCount() - MAX_LINES;
+		if (excess > 0) {
+			try {
+				doc.remove(0, root.getElement(excess - 1).getEndOffset());
+			} catch (BadLocationException badLocationException) {
+				LOGGER.error(badLocationException.getMessage(), badLocationException);
+			}
+		}
+	}
+
 }
@@ -40,15 +40,19 @@ public class ChatPanel extends JPanel {
 	private static final long serialVersionUID = 1L;
 	private ChatMessages chatMessages;
 	private JTextField send;
+	private final String peer;
+	private final ChatTranscript transcript;
 
-	public ChatPanel() {
+	public ChatPanel(String peer, ChatTranscript transcript) {
+		this.peer = peer;
+		this.transcript = transcript;
 		setLayout(new GridLayout(1, 0));
 		createChatPanel();
 	}
 
 	protected JPanel createChatPanel() {
 
-		chatMessages = new ChatMessages();
+		chatMessages = new ChatMessages(peer, transcript);
 		send = new JTextField();
 		send.addKeyListener(new KeyListener() {
 
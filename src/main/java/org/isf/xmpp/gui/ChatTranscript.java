@@ -0,0 +1,71 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.xmpp.gui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends the lines of every chat to a file per contact, on a background thread, so that the whole conversation
+ * is kept even though the chat tabs only show the last lines.
+ */
+public class ChatTranscript {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ChatTranscript.class);
+
+	private final Path directory;
+	private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "ChatTranscript");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public ChatTranscript(Path directory) {
+		this.directory = directory;
+	}
+
+	public void append(String peer, String line) {
+		writer.execute(() -> {
+			try {
+				Files.createDirectories(directory);
+				Files.write(getFile(peer), Collections.singletonList(line), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+								StandardOpenOption.APPEND);
+			} catch (IOException e) {
+				LOGGER.error("Error writing the chat transcript with {}.", peer, e);
+			}
+		});
+	}
+
+	public Path getFile(String peer) {
+		return directory.resolve(peer.replaceAll("[^\\w.@-]", "_") + ".log");
+	}
+
+}
@@ -31,9 +31,11 @@ import java.awt.event.MouseListener;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
 import java.io.File;
-import java.util.ArrayList;
+import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -49,7 +51,6 @@ import javax.swing.JPopupMenu.Separator;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JTextPane;
-import javax.swing.ListCellRenderer;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
@@ -72,6 +73,7 @@ import org.jivesoftware.smack.RosterListener;
 import org.jivesoftware.smack.XMPPException;
 import org.jivesoftware.smack.packet.Message;
 import org.jivesoftware.smack.packet.Presence;
+import org.jivesoftware.smack.util.StringUtils;
 import org.jivesoftware.smackx.filetransfer.FileTransferListener;
 import org.jivesoftware.smackx.filetransfer.FileTransferNegotiator;
 import org.jivesoftware.smackx.filetransfer.FileTransferRequest;
@@ -86,6 +88,11 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CommunicationFrame.class);
 
+	/**
+	 * How long presence changes are collected before updating the contacts, as many users log in at once at shift changes.
+	 */
+	private static final long PRESENCE_DELAY_MILLIS = 250;
+
 	private JPanel leftpanel;
 	private JSeparator separator = new JSeparator(SwingConstants.VERTICAL);
 	private JList buddyList;
@@ -96,7 +103,10 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 	private static JFrame frame;
 	private Roster roster;
 	private JTextPane userInfo;
-	private ChatMessages area;
+	private ChatTranscript transcript;
+	private final BuddyListModel<RosterEntry> buddyModel = new BuddyListModel<>(RosterEntry::getUser, RosterEntry::getName);
+	private final EdtBatcher<Presence> presenceUpdates = new EdtBatcher<>(PRESENCE_DELAY_MILLIS, this::presencesChanged);
+	private final EdtBatcher<Runnable> chatUpdates = new EdtBatcher<>(0, updates -> updates.forEach(Runnable::run));
 
 	private UserBrowsingManager userBrowsingManager = Context.getApplicationContext().getBean(UserBrowsingManager.class);
 
@@ -121,6 +131,7 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 
 	private void createFrame() {
 		interaction = new Interaction();
+		transcript = new ChatTranscript(Paths.get("rsc", "chat", UserBrowsingManager.getCurrentUser()));
 		activateListeners();
 		getContentPane().add(createLeftPanel(), BorderLayout.WEST);
 		getContentPane().add(separator, BorderLayout.CENTER);
@@ -183,23 +194,7 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 			@Override
 			public void presenceChanged(Presence presence) {
 				LOGGER.debug("State changed -> {} - {}", presence.getFrom(), presence); //$NON-NLS-1$ //$NON-NLS-2$
-				String userName = interaction.userFromAddress(presence.getFrom());
-				StringBuilder sb = new StringBuilder();
-				if (!presence.isAvailable()) {
-					sb.append(userName).append(' ').append(MessageBundle.getMessage("angal.xmpp.isnowoffline.txt"));
-				} else if (presence.isAvailable()) {
-					sb.append(userName).append(' ').append(MessageBundle.getMessage("angal.xmpp.isnowonline.txt"));
-				}
-				int index = tabs.indexOfTab(userName);
-				if (index != -1) {
-					area = getArea(userName, true);
-					try {
-						area.printNotification(sb.toString());
-					} catch (BadLocationException badLocationException) {
-						LOGGER.error(badLocationException.getMessage(), badLocationException);
-					}
-				}
-				refreshBuddyList();
+				presenceUpdates.add(presence);
 			}
 
 			@Override
@@ -216,12 +211,27 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 		});
 	}
 
+	/*
+	 * on the Event Dispatch Thread, with the last presence of each user changed since the previous batch
+	 */
+	private void presencesChanged(List<Presence> presences) {
+		Map<String, Presence> latest = new LinkedHashMap<>();
+		for (Presence presence : presences) {
+			latest.put(StringUtils.parseBareAddress(presence.getFrom()), presence);
+		}
+		for (Map.Entry<String, Presence> change : latest.entrySet()) {
+			Presence presence = change.getValue();
+			String userName = interaction.userFromAddress(presence.getFrom());
+			if (tabs.indexOfTab(userName) != -1) {
+				String state = MessageBundle.getMessage(presence.isAvailable() ? "angal.xmpp.isnowonline.txt" : "angal.xmpp.isnowoffline.txt");
+				printNotification(getArea(userName, true), userName + ' ' + state);
+			}
+			buddyModel.setAvailable(change.getKey(), roster.getPresence(change.getKey()).isAvailable());
+		}
+	}
+
 	public void refreshBuddyList() {
-		getContentPane().remove(leftpanel);
-		leftpanel = createLeftPanel();
-		getContentPane().add(leftpanel, BorderLayout.WEST);
-		validate();
-		repaint();
+		buddyModel.setEntries(roster.getEntries(), entry -> roster.getPresence(entry.getUser()).isAvailable());
 	}
 
 	private void incomingChat() {
@@ -232,14 +242,17 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 					LOGGER.debug("Incoming message from: {}", chat1.getThreadID());
 					LOGGER.debug("GUI: {}", this);
 					String user = chat1.getParticipant().substring(0, chat1.getParticipant().indexOf('@'));
-					printMessage(getArea(user, true), interaction.userFromAddress(message.getFrom()), message.getBody(), false);
-					if (!isVisible()) {
-						setVisible(true);
-						setState(Frame.NORMAL);
-						toFront();
-					} else {
-						toFront();
-					}
+					String from = interaction.userFromAddress(message.getFrom());
+					chatUpdates.add(() -> {
+						printMessage(getArea(user, true), from, message.getBody(), false);
+						if (!isVisible()) {
+							setVisible(true);
+							setState(Frame.NORMAL);
+							toFront();
+						} else {
+							toFront();
+						}
+					});
 				}
 			});
 			if (!createLocally) {
@@ -323,7 +336,7 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 					if (index >= 0) {
 						user = ((RosterEntry) buddyList.getModel().getElementAt(index)).getName();
 						LOGGER.debug("User selected: {}", user); //$NON-NLS-1$
-						newChat = new ChatPanel();
+						newChat = new ChatPanel((String) user, transcript);
 						roster = interaction.getRoster();
 						Presence presence = roster.getPresence(((RosterEntry) buddyList.getModel().getElementAt(index)).getUser());
 						if (presence.isAvailable()) {
@@ -362,6 +375,7 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 	private JPanel createLeftPanel() {  // contact list panel
 		Dimension size = new Dimension(150, 200);
 
+		leftpanel = new JPanel();
 		leftpanel.setLayout(new BoxLayout(leftpanel, BoxLayout.Y_AXIS));
 		JScrollPane buddy = createBuddyList();
 		buddy.setBorder(BorderFactory.createTitledBorder(MessageBundle.getMessage("angal.xmpp.contacts.border")));
@@ -385,7 +399,7 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 			}
 		} else {
 			LOGGER.debug("Index creation: {}", index); //$NON-NLS-1$
-			newChat = new ChatPanel();
+			newChat = new ChatPanel(name, transcript);
 			tabs.addTab(name, newChat);
 			tabs.setTabColor(new Color(176, 23, 31));
 			validate();
@@ -439,28 +453,9 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 	public JList getBuddyList() {
 
 		LOGGER.debug("==> roster : {}", roster);
-		List<RosterEntry> entries = new ArrayList<>(roster.getEntries());
-		entries.sort((r1, r2) -> {
-			Presence presence1 = roster.getPresence(r1.getUser());
-			Presence presence2 = roster.getPresence(r2.getUser());
-			String r1Name = r1.getName();
-			String r2Name = r2.getName();
-			if (presence1.isAvailable() == presence2.isAvailable()) {
-				return r1Name.toLowerCase().compareTo(r2Name.toLowerCase());
-			}
-
-			if (presence1.isAvailable() && (!presence2.isAvailable())) {
-				return -1;
-			} else {
-				return 1;
-			}
-
-		});
-		JList buddy = new JList(entries.toArray());
-
-		ListCellRenderer render = new ComplexCellRender(interaction.getServer());
-
-		buddy.setCellRenderer(render);
+		refreshBuddyList();
+		JList buddy = new JList(buddyModel);
+		buddy.setCellRenderer(new ComplexCellRender(buddyModel));
 
 		return buddy;
 	}
@@ -482,20 +477,25 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 		if (arg1.getType() == Message.Type.normal) {
 			LOGGER.debug("Send message from: {}", arg0.getThreadID());
 			String user = arg0.getParticipant().substring(0, arg0.getParticipant().indexOf('@'));
-			printMessage((getArea(user, false)), user, arg1.getBody(), false);
-			if (!this.isVisible()) {
-				this.setVisible(true);
-				this.setState(Frame.ICONIFIED);
-				this.toFront();
-			} else {
-				this.toFront();
-			}
+			chatUpdates.add(() -> {
+				printMessage((getArea(user, false)), user, arg1.getBody(), false);
+				if (!this.isVisible()) {
+					this.setVisible(true);
+					this.setState(Frame.ICONIFIED);
+					this.toFront();
+				} else {
+					this.toFront();
+				}
+			});
 		}
 	}
 
 	@Override
 	public void fileTransferRequest(final FileTransferRequest request) {
+		chatUpdates.add(() -> showFileTransferRequest(request));
+	}
 
+	private void showFileTransferRequest(FileTransferRequest request) {
 		if (!this.isVisible()) {
 			this.setVisible(true);
 		}
@@ -570,14 +570,17 @@ public class CommunicationFrame extends JFrame implements MessageListener, FileT
 					LOGGER.debug("Incoming message from: {}", chat1.getThreadID());
 					LOGGER.debug("GUI: {}", this);
 					String user = chat1.getParticipant().substring(0, chat1.getParticipant().indexOf('@'));
-					printMessage((getArea(user, false)), interaction.userFromAddress(message.getFrom()), message.getBody(), false);
-					if (!isVisible()) {
-						setVisible(true);
-						setState(Frame.NORMAL);
-						toFront();
-					} else {
-						toFront();
-					}
+					String from = interaction.userFromAddress(message.getFrom());
+					chatUpdates.add(() -> {
+						printMessage((getArea(user, false)), from, message.getBody(), false);
+						if (!isVisible()) {
+							setVisible(true);
+							setState(Frame.NORMAL);
+							toFront();
+						} else {
+							toFront();
+						}
+					});
 				}
 			});
 
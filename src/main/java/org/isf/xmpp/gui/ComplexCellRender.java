@@ -31,21 +31,20 @@ import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.ListCellRenderer;
 
-import org.isf.xmpp.service.Server;
-import org.jivesoftware.smack.Roster;
 import org.jivesoftware.smack.RosterEntry;
-import org.jivesoftware.smack.packet.Presence;
 
 public class ComplexCellRender extends JLabel implements ListCellRenderer {
 
 	private static final long serialVersionUID = 1L;
+	private static final Font ONLINE_FONT = new Font("Arial", Font.BOLD, 14);
+	private static final Font OFFLINE_FONT = new Font("Arial", Font.ITALIC, 14);
 	protected DefaultListCellRenderer defaultRenderer = new DefaultListCellRenderer();
-	Server server;
+	BuddyListModel<RosterEntry> buddies;
 	ImageIcon online= new ImageIcon("rsc/icons/greenlight_label.png");
 	ImageIcon offline= new ImageIcon("rsc/icons/greylight_label.png");
 
-	public ComplexCellRender(Server server2) {
-		server = server2;
+	public ComplexCellRender(BuddyListModel<RosterEntry> buddies) {
+		this.buddies = buddies;
 	}
 
 	@Override
@@ -54,15 +53,12 @@ public class ComplexCellRender extends JLabel implements ListCellRenderer {
 		Color theForeground = null;
 
 		JLabel renderer = (JLabel) defaultRenderer.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-		Roster roster = server.getRoster();
-		Presence presence;
-		presence = roster.getPresence(((RosterEntry) value).getUser());
-		if (presence.isAvailable()) {
+		if (buddies.isAvailable((RosterEntry) value)) {
 			renderer.setIcon(online);
-			renderer.setFont(new Font("Arial", Font.BOLD, 14));
+			renderer.setFont(ONLINE_FONT);
 		} else {
 			renderer.setIcon(offline);
-			renderer.setFont(new Font("Arial", Font.ITALIC, 14));
+			renderer.setFont(OFFLINE_FONT);
 			renderer.setForeground(Color.GRAY);
 
 		}
@@ -0,0 +1,96 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.xmpp.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Collects items from any thread and hands them, in order and in batches, to a consumer on the Event Dispatch Thread.
+ * <p>
+ * The first item of a batch schedules the delivery after the given delay; the items that arrive in the meantime
+ * join the same batch, so that a burst of events costs a single update of the GUI.
+ *
+ * @param <T> the type of the items
+ */
+public class EdtBatcher<T> {
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "EdtBatcher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final long delayMillis;
+	private final Executor edt;
+	private final Consumer<List<T>> consumer;
+	private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/**
+	 * @param delayMillis how long to wait for more items before delivering a batch, {@code 0} to deliver as soon as possible
+	 * @param consumer receives the batches on the Event Dispatch Thread
+	 */
+	public EdtBatcher(long delayMillis, Consumer<List<T>> consumer) {
+		this(delayMillis, SwingUtilities::invokeLater, consumer);
+	}
+
+	EdtBatcher(long delayMillis, Executor edt, Consumer<List<T>> consumer) {
+		this.delayMillis = delayMillis;
+		this.edt = edt;
+		this.consumer = consumer;
+	}
+
+	public void add(T item) {
+		queue.add(item);
+		if (scheduled.compareAndSet(false, true)) {
+			if (delayMillis == 0) {
+				edt.execute(this::flush);
+			} else {
+				SCHEDULER.schedule(() -> edt.execute(this::flush), delayMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	private void flush() {
+		scheduled.set(false);
+		List<T> batch = new ArrayList<>();
+		T item;
+		while ((item = queue.poll()) != null) {
+			batch.add(item);
+		}
+		if (!batch.isEmpty()) {
+			consumer.accept(batch);
+		}
+	}
+
+}
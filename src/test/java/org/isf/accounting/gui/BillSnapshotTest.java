@@ -0,0 +1,100 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.accounting.model.Bill;
+import org.isf.utils.exception.OHServiceException;
+import org.junit.jupiter.api.Test;
+
+class BillSnapshotTest {
+
+	private static final String NO_USERNAME = null;
+
+	@Test
+	void shouldReuseViewsBetweenCalls() throws OHServiceException {
+		// given:
+		BillSnapshot snapshot = new BillSnapshot(
+						Arrays.asList(
+										withUser(TestBill.notDeletedBillWithStatus(1, "O"), "a"),
+										withUser(TestBill.notDeletedBillWithStatus(2, "C"), "b")),
+						Arrays.asList(withUser(TestBill.notDeletedBillWithStatus(3, "C"), "a")),
+						null);
+
+		// when:
+		List<Bill> all = snapshot.getBills(BillSnapshot.ALL, NO_USERNAME);
+		List<Bill> allOfUser = snapshot.getBills(BillSnapshot.ALL, "a");
+
+		// then:
+		assertThat(all).hasSize(3);
+		assertThat(allOfUser).extracting(Bill::getId).containsExactlyInAnyOrder(1, 3);
+		assertThat(snapshot.getBills(BillSnapshot.ALL, NO_USERNAME)).isSameAs(all);
+		assertThat(snapshot.getBills(BillSnapshot.ALL, "a")).isSameAs(allOfUser);
+	}
+
+	@Test
+	void shouldApplyEditedBillToMaterializedViews() throws OHServiceException {
+		// given:
+		BillSnapshot snapshot = new BillSnapshot(
+						Arrays.asList(
+										TestBill.notDeletedBillWithStatus(1, "O"),
+										TestBill.notDeletedBillWithStatus(2, "O")),
+						Arrays.asList(),
+						null);
+		snapshot.getBills(BillSnapshot.ALL, NO_USERNAME);
+		snapshot.getBills(BillSnapshot.PENDING, NO_USERNAME);
+		snapshot.getBills(BillSnapshot.CLOSED, NO_USERNAME);
+
+		// when:
+		BillSnapshot updated = snapshot.withBill(TestBill.notDeletedBillWithStatus(2, "C"), true, false);
+
+		// then:
+		assertThat(updated.getBills(BillSnapshot.ALL, NO_USERNAME)).hasSize(2);
+		assertThat(updated.getBills(BillSnapshot.PENDING, NO_USERNAME)).extracting(Bill::getId).containsExactly(1);
+		assertThat(updated.getBills(BillSnapshot.CLOSED, NO_USERNAME)).extracting(Bill::getId).containsExactly(2);
+		assertThat(snapshot.getBills(BillSnapshot.PENDING, NO_USERNAME)).hasSize(2);
+	}
+
+	@Test
+	void shouldKeepBillOutOfPeriodOnlyInAllBills() throws OHServiceException {
+		// given:
+		BillSnapshot snapshot = new BillSnapshot(Arrays.asList(TestBill.notDeletedBillWithStatus(1, "O")), Arrays.asList(), null);
+		snapshot.getBills(BillSnapshot.ALL, NO_USERNAME);
+
+		// when:
+		BillSnapshot updated = snapshot.withBill(TestBill.notDeletedBillWithStatus(5, "O"), false, true);
+
+		// then:
+		assertThat(updated.getBills(BillSnapshot.ALL, NO_USERNAME)).extracting(Bill::getId).containsExactlyInAnyOrder(1, 5);
+		assertThat(updated.getBills(BillSnapshot.PENDING, NO_USERNAME)).extracting(Bill::getId).containsExactly(1);
+	}
+
+	private static Bill withUser(Bill bill, String user) {
+		bill.setUser(user);
+		return bill;
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.isf.accounting.gui.TestBill;
+import org.isf.accounting.gui.TestPayment;
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillItems;
+import org.isf.accounting.model.BillPayments;
+import org.junit.jupiter.api.Test;
+
+class BillRunningTotalsTest {
+
+	private final Bill bill = TestBill.notDeletedBillWithBalance(1, 0);
+
+	@Test
+	void shouldCountOnlyPositiveItemsInTheTotal() {
+		// given:
+		BillRunningTotals totals = new BillRunningTotals();
+
+		// when:
+		totals.addItem(item(12.5, 2));
+		totals.addItem(item(-5, 1));
+		totals.addPayment(TestPayment.withAmountAndBill(10, bill));
+
+		// then:
+		assertThat(totals.getTotal()).isEqualByComparingTo("25");
+		assertThat(totals.getBigTotal()).isEqualByComparingTo("20");
+		assertThat(totals.getBalance()).isEqualByComparingTo("10");
+	}
+
+	@Test
+	void shouldShowTotalsAsTheBillingTotals() {
+		// given:
+		BillRunningTotals totals = new BillRunningTotals();
+
+		// when:
+		totals.addItem(item(12.5, 2));
+		totals.addItem(item(0.05, 1));
+		totals.addPayment(TestPayment.withAmountAndBill(25.05, bill));
+
+		// then:
+		assertThat(totals.getTotal().toPlainString()).isEqualTo("25.05");
+		assertThat(totals.getBalance().toPlainString()).isEqualTo("0");
+		totals.removeItem(item(0.05, 1));
+		assertThat(totals.getBigTotal().toPlainString()).isEqualTo("25.0");
+	}
+
+	@Test
+	void shouldMatchASumFromScratchAfterAddingAndRemovingRows() {
+		// given:
+		Random random = new Random(42);
+		BillRunningTotals running = new BillRunningTotals();
+		List<BillItems> items = new ArrayList<>();
+		List<BillPayments> payments = new ArrayList<>();
+
+		// when:
+		for (int i = 0; i < 500; i++) {
+			BillItems item = item((random.nextInt(20_000) - 2_000) / 100d, 1 + random.nextInt(5));
+			items.add(item);
+			running.addItem(item);
+			if (random.nextInt(4) == 0) {
+				running.removeItem(items.remove(random.nextInt(items.size())));
+			}
+			if (random.nextInt(3) == 0) {
+				BillPayments payment = TestPayment.withAmountAndBill(random.nextInt(10_000) / 100d, bill);
+				payments.add(payment);
+				running.addPayment(payment);
+			}
+		}
+		running.removePayment(payments.remove(0));
+		BillRunningTotals fromScratch = new BillRunningTotals();
+		fromScratch.reset(items, payments);
+
+		// then:
+		assertThat(running.getTotal()).isEqualByComparingTo(fromScratch.getTotal());
+		assertThat(running.getBigTotal()).isEqualByComparingTo(fromScratch.getBigTotal());
+		assertThat(running.getBalance()).isEqualByComparingTo(fromScratch.getBalance());
+	}
+
+	@Test
+	void shouldStartAgainOnReset() {
+		// given:
+		BillRunningTotals totals = new BillRunningTotals();
+		totals.addItem(item(100, 1));
+
+		// when:
+		totals.reset(Arrays.asList(item(1.1, 3)), Arrays.asList(TestPayment.withAmountAndBill(0.3, bill)));
+
+		// then:
+		assertThat(totals.getBigTotal()).isEqualByComparingTo("3.3");
+		assertThat(totals.getBalance()).isEqualByComparingTo("3");
+	}
+
+	private BillItems item(double amount, int quantity) {
+		return new BillItems(0, bill, false, "", "item", amount, quantity);
+	}
+
+}
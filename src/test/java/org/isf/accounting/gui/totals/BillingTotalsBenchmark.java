@@ -0,0 +1,103 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillPayments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link BillingTotals} with the separate {@link BalanceTotal}, {@link PaymentsTotal} and {@link UserTotal}
+ * as used by the BillBrowser, on synthetic data sets. Not run by the build; launch {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillingTotalsBenchmark {
+
+	private static final String USER = "testUser";
+
+	@Param({ "10000", "100000" })
+	private int payments;
+
+	private List<Bill> billPeriod;
+	private List<BillPayments> paymentsPeriod;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		billPeriod = BillingTotalsTest.randomBills(random, payments / 4);
+		paymentsPeriod = BillingTotalsTest.randomPayments(random, billPeriod, payments);
+	}
+
+	@Benchmark
+	public void separateTotals(Blackhole blackhole) {
+		List<Integer> notDeletedBills = billPeriod.stream()
+						.filter(bill -> !bill.getStatus().equals("D"))
+						.map(Bill::getId)
+						.collect(Collectors.toList());
+		blackhole.consume(new BalanceTotal(billPeriod).getValue());
+		blackhole.consume(new BalanceTotal(billPeriod).getValue());
+		blackhole.consume(new UserTotal(notDeletedBills, paymentsPeriod, USER).getValue());
+		blackhole.consume(new PaymentsTotal(notDeletedBills, paymentsPeriod).getValue());
+		blackhole.consume(new UserTotal(notDeletedBills, paymentsPeriod, USER).getValue());
+		blackhole.consume(new PaymentsTotal(notDeletedBills, paymentsPeriod).getValue());
+	}
+
+	@Benchmark
+	public void billingTotals(Blackhole blackhole) {
+		BillingTotals totals = BillingTotals.compute(billPeriod, billPeriod, paymentsPeriod, paymentsPeriod);
+		blackhole.consume(totals.getBalancePeriod());
+		blackhole.consume(totals.getBalanceToday());
+		blackhole.consume(totals.getUserPeriod(USER));
+		blackhole.consume(totals.getTotalPeriod());
+		blackhole.consume(totals.getUserToday(USER));
+		blackhole.consume(totals.getTotalToday());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BillingTotalsBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
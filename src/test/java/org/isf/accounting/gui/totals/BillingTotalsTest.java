@@ -0,0 +1,132 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.accounting.gui.totals;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.isf.accounting.gui.TestBill;
+import org.isf.accounting.gui.TestPayment;
+import org.isf.accounting.model.Bill;
+import org.isf.accounting.model.BillPayments;
+import org.junit.jupiter.api.Test;
+
+class BillingTotalsTest {
+
+	private static final String TEST_USER = "testUser";
+	private static final String OTHER_USER = "otherUser";
+
+	@Test
+	void shouldSkipDeletedBillsAndTheirPayments() {
+		// given:
+		Bill bill1 = TestBill.notDeletedBillWithBalance(1, 123);
+		Bill bill2 = TestBill.deletedBillWithBalance(2, 111);
+		List<Bill> bills = Arrays.asList(bill1, bill2);
+		List<BillPayments> payments = Arrays.asList(
+						TestPayment.withAmountBillAndUser(10, bill1, TEST_USER),
+						TestPayment.withAmountBillAndUser(15, bill2, TEST_USER),
+						TestPayment.withAmountBillAndUser(2.5, bill1, OTHER_USER));
+
+		// when:
+		BillingTotals totals = BillingTotals.compute(bills, bills, payments, payments);
+
+		// then:
+		assertThat(totals.getBalancePeriod()).isEqualByComparingTo("123");
+		assertThat(totals.getTotalPeriod()).isEqualByComparingTo("12.5");
+		assertThat(totals.getUserPeriod(TEST_USER)).isEqualByComparingTo("10");
+		assertThat(totals.getUserToday(OTHER_USER)).isEqualByComparingTo("2.5");
+		assertThat(totals.getUserPeriod("nobody")).isEqualByComparingTo("0");
+	}
+
+	@Test
+	void shouldShowTotalsWithoutTrailingZeros() {
+		// given:
+		Bill bill = TestBill.notDeletedBillWithBalance(1, 123);
+		List<Bill> bills = Arrays.asList(bill);
+		List<BillPayments> payments = Arrays.asList(
+						TestPayment.withAmountBillAndUser(10, bill, TEST_USER),
+						TestPayment.withAmountBillAndUser(2.5, bill, TEST_USER),
+						TestPayment.withAmountBillAndUser(0.25, bill, OTHER_USER));
+
+		// when:
+		BillingTotals totals = BillingTotals.compute(bills, bills, payments, payments);
+
+		// then:
+		assertThat(totals.getBalancePeriod().toPlainString()).isEqualTo("123.0");
+		assertThat(totals.getUserPeriod(TEST_USER).toPlainString()).isEqualTo("12.5");
+		assertThat(totals.getTotalPeriod().toPlainString()).isEqualTo("12.75");
+		assertThat(totals.getUserToday("nobody").toPlainString()).isEqualTo("0");
+	}
+
+	@Test
+	void shouldMatchSeparateTotalsOnRandomData() {
+		// given:
+		Random random = new Random(42);
+		List<Bill> billPeriod = randomBills(random, 2000);
+		List<Bill> billToday = billPeriod.subList(0, 300);
+		List<BillPayments> paymentsPeriod = randomPayments(random, billPeriod, 10000);
+		List<BillPayments> paymentsToday = paymentsPeriod.subList(0, 1500);
+		List<Integer> notDeletedBills = billPeriod.stream()
+						.filter(bill -> !bill.getStatus().equals("D"))
+						.map(Bill::getId)
+						.collect(Collectors.toList());
+
+		// when:
+		BillingTotals totals = BillingTotals.compute(billPeriod, billToday, paymentsPeriod, paymentsToday);
+
+		// then:
+		assertThat(totals.getBalancePeriod()).isEqualByComparingTo(new BalanceTotal(billPeriod).getValue());
+		assertThat(totals.getBalanceToday()).isEqualByComparingTo(new BalanceTotal(billToday).getValue());
+		assertThat(totals.getTotalPeriod()).isEqualByComparingTo(new PaymentsTotal(notDeletedBills, paymentsPeriod).getValue());
+		assertThat(totals.getTotalToday()).isEqualByComparingTo(new PaymentsTotal(notDeletedBills, paymentsToday).getValue());
+		for (String user : Arrays.asList(TEST_USER, OTHER_USER)) {
+			assertThat(totals.getUserPeriod(user)).isEqualByComparingTo(new UserTotal(notDeletedBills, paymentsPeriod, user).getValue());
+			assertThat(totals.getUserToday(user)).isEqualByComparingTo(new UserTotal(notDeletedBills, paymentsToday, user).getValue());
+		}
+	}
+
+	static List<Bill> randomBills(Random random, int count) {
+		List<Bill> bills = new ArrayList<>(count);
+		for (int id = 1; id <= count; id++) {
+			double balance = random.nextInt(1_000_000) / 100d;
+			bills.add(random.nextInt(10) == 0 ? TestBill.deletedBillWithBalance(id, balance) : TestBill.notDeletedBillWithBalance(id, balance));
+		}
+		return bills;
+	}
+
+	static List<BillPayments> randomPayments(Random random, List<Bill> bills, int count) {
+		List<BillPayments> payments = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Bill bill = bills.get(random.nextInt(bills.size()));
+			double amount = random.nextInt(100_000) / 100d;
+			payments.add(TestPayment.withAmountBillAndUser(amount, bill, random.nextBoolean() ? TEST_USER : OTHER_USER));
+		}
+		return payments;
+	}
+
+}
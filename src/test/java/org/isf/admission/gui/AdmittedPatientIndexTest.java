@@ -0,0 +1,170 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.admission.model.Admission;
+import org.isf.admission.model.AdmittedPatient;
+import org.isf.patient.model.Patient;
+import org.isf.utils.time.TimeTools;
+import org.isf.ward.model.Ward;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdmittedPatientIndexTest {
+
+	private static final boolean[] ALL_WARDS = { true, true };
+	private static final AdmittedPatientIndex.Filter NO_FILTER = new AdmittedPatientIndex.Filter(AdmittedPatientIndex.ALL, ALL_WARDS, null, null, null);
+
+	private final Ward medicine = TestWard.maleWardWithBeds("MED");
+	private final Ward surgery = TestWard.femaleWardWithBeds("SUR");
+
+	private AdmittedPatientIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new AdmittedPatientIndex(new ArrayList<>(Arrays.asList(
+						new AdmittedPatient(patient(1, "José Rossi", 'M', 34), admission(medicine)),
+						new AdmittedPatient(patient(2, "Maria Rossi", 'F', 8), admission(surgery)),
+						new AdmittedPatient(patient(3, "Mario Bianchi", 'M', 71), null))),
+						Arrays.asList(medicine, surgery));
+	}
+
+	@Test
+	void shouldMatchAllTokensIgnoringAccentsAndCase() {
+		// when:
+		List<AdmittedPatient> result = index.filter(NO_FILTER, "jose ROSSI");
+
+		// then:
+		assertThat(codes(result)).containsExactly(1);
+	}
+
+	@Test
+	void shouldNarrowAndWidenWhenQueryChanges() {
+		// when:
+		List<AdmittedPatient> wide = index.filter(NO_FILTER, "mari");
+		List<AdmittedPatient> narrow = index.filter(NO_FILTER, "mario");
+		List<AdmittedPatient> widenedAgain = index.filter(NO_FILTER, "mar");
+
+		// then:
+		assertThat(codes(wide)).containsExactly(2, 3);
+		assertThat(codes(narrow)).containsExactly(3);
+		assertThat(codes(widenedAgain)).containsExactly(2, 3);
+	}
+
+	@Test
+	void shouldFilterByStatusWardSexAndAge() {
+		// when:
+		List<AdmittedPatient> notAdmitted = index.filter(filter(AdmittedPatientIndex.NOT_ADMITTED, ALL_WARDS, null, null, null), null);
+		List<AdmittedPatient> surgeryOnly = index.filter(filter(AdmittedPatientIndex.ADMITTED, new boolean[] { false, true }, null, null, null), null);
+		List<AdmittedPatient> males = index.filter(filter(AdmittedPatientIndex.ALL, ALL_WARDS, null, null, 'M'), null);
+		List<AdmittedPatient> adults = index.filter(filter(AdmittedPatientIndex.ALL, ALL_WARDS, 18, 70, null), null);
+
+		// then:
+		assertThat(codes(notAdmitted)).containsExactly(3);
+		assertThat(codes(surgeryOnly)).containsExactly(2);
+		assertThat(codes(males)).containsExactly(1, 3);
+		assertThat(codes(adults)).containsExactly(1);
+	}
+
+	@Test
+	void shouldApplyUpdatesWithoutRebuilding() {
+		// given:
+		index.filter(NO_FILTER, "rossi");
+
+		// when:
+		index.setAdmission(1, null);
+		index.put(new AdmittedPatient(patient(4, "Anna Rossi", 'F', 50), null));
+		index.remove(2);
+
+		// then:
+		assertThat(codes(index.filter(NO_FILTER, "rossi"))).containsExactly(4, 1);
+		assertThat(codes(index.filter(filter(AdmittedPatientIndex.ADMITTED, ALL_WARDS, null, null, null), null))).isEmpty();
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldReturnOnlyAppendedMatches() {
+		// given:
+		List<AdmittedPatient> before = index.filter(NO_FILTER, "rossi");
+
+		// when:
+		List<AdmittedPatient> appended = index.append(Arrays.asList(
+						new AdmittedPatient(patient(4, "Anna Rossi", 'F', 50), null),
+						new AdmittedPatient(patient(5, "Luca Verdi", 'M', 40), null)), NO_FILTER, "rossi");
+
+		// then:
+		assertThat(codes(appended)).containsExactly(4);
+		List<AdmittedPatient> all = new ArrayList<>(before);
+		all.addAll(appended);
+		assertThat(codes(index.filter(NO_FILTER, "rossi"))).isEqualTo(codes(all));
+	}
+
+	@Test
+	void shouldAskForRefilterWhenAppendReplacesPatients() {
+		// when:
+		List<AdmittedPatient> appended = index.append(Arrays.asList(new AdmittedPatient(patient(3, "Mario Bianchi", 'M', 71), admission(medicine))),
+						NO_FILTER, null);
+
+		// then:
+		assertThat(appended).isNull();
+		assertThat(codes(index.filter(filter(AdmittedPatientIndex.ADMITTED, ALL_WARDS, null, null, null), null))).containsExactly(1, 2, 3);
+	}
+
+	private static AdmittedPatientIndex.Filter filter(int status, boolean[] wards, Integer ageFrom, Integer ageTo, Character sex) {
+		return new AdmittedPatientIndex.Filter(status, wards, ageFrom, ageTo, sex);
+	}
+
+	private static List<Integer> codes(List<AdmittedPatient> patients) {
+		List<Integer> codes = new ArrayList<>();
+		patients.forEach(admittedPatient -> codes.add(admittedPatient.getPatient().getCode()));
+		return codes;
+	}
+
+	private static Admission admission(Ward ward) {
+		return TestAdmission.withAdmAndDisDateAndWard(TimeTools.getNow(), null, ward);
+	}
+
+	private static Patient patient(int code, String name, char sex, int age) {
+		Patient patient = new Patient() {
+
+			@Override
+			public String getSearchString() {
+				return code + " " + name;
+			}
+
+			@Override
+			public int getAge() {
+				return age;
+			}
+		};
+		patient.setCode(code);
+		patient.setSex(sex);
+		return patient;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.admission.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PatientTimelineTest {
+
+	private static final LocalDateTime JANUARY = LocalDateTime.of(2023, 1, 10, 8, 0);
+	private static final LocalDateTime MARCH = LocalDateTime.of(2023, 3, 10, 8, 0);
+	private static final LocalDateTime MAY = LocalDateTime.of(2023, 5, 10, 8, 0);
+	private static final LocalDateTime JULY = LocalDateTime.of(2023, 7, 10, 8, 0);
+
+	@Test
+	void shouldMergeSourcesMostRecentFirst() {
+		// given:
+		PatientTimeline timeline = new PatientTimeline();
+
+		// when:
+		timeline.addAll(Arrays.asList(row("adm1", JANUARY), row("adm2", MAY)));
+		timeline.addAll(Arrays.asList(row("opd1", JULY), row("opd2", MARCH)));
+		timeline.addAll(Collections.singletonList(row("exam1", MAY)));
+
+		// then:
+		assertThat(sources(timeline)).containsExactly("opd1", "adm2", "exam1", "opd2", "adm1");
+	}
+
+	@Test
+	void shouldExposeSourceDateAndCells() {
+		// given:
+		PatientTimeline timeline = new PatientTimeline();
+
+		// when:
+		timeline.addAll(Collections.singletonList(new PatientTimeline.Row("adm", MARCH, "ward", "in", "out", JULY)));
+
+		// then:
+		PatientTimeline.Row row = timeline.get(0);
+		assertThat(row.getValueAt(-1)).isEqualTo("adm");
+		assertThat(row.getValueAt(0)).isEqualTo(MARCH);
+		assertThat(row.getValueAt(1)).isEqualTo("ward");
+		assertThat(row.getValueAt(2)).isEqualTo("in");
+		assertThat(row.getValueAt(3)).isEqualTo("out");
+		assertThat(row.getValueAt(4)).isEqualTo(JULY);
+	}
+
+	@Test
+	void shouldFindEarliestDateIgnoringMissingOnes() {
+		// given:
+		List<LocalDateTime> dates = Arrays.asList(MAY, null, JANUARY, JULY);
+
+		// when:
+		LocalDateTime earliest = PatientTimeline.earliestDate(dates, date -> date);
+		LocalDateTime none = PatientTimeline.earliestDate(Collections.<LocalDateTime> emptyList(), date -> date);
+
+		// then:
+		assertThat(earliest).isEqualTo(JANUARY);
+		assertThat(none).isNull();
+	}
+
+	private static PatientTimeline.Row row(String source, LocalDateTime date) {
+		return new PatientTimeline.Row(source, date, null, null, null, null);
+	}
+
+	private static List<Object> sources(PatientTimeline timeline) {
+		List<Object> sources = new ArrayList<>();
+		for (int i = 0; i < timeline.size(); i++) {
+			sources.add(timeline.get(i).getSource());
+		}
+		return sources;
+	}
+
+}
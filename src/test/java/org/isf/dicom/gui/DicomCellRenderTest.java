@@ -0,0 +1,136 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Component;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+import javax.swing.ImageIcon;
+import javax.swing.JList;
+
+import org.isf.dicom.model.FileDicom;
+import org.isf.generaldata.GeneralData;
+import org.isf.generaldata.MessageBundle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DicomCellRenderTest {
+
+	private static final int RENDERS = 100_000;
+
+	private final FileDicom[] instances = { instance("chest", 1), instance("knee", 2), instance("hand", 3) };
+	private final ImageIcon icon = new ImageIcon(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+
+	@BeforeEach
+	void setUp() {
+		GeneralData.LANGUAGE = "en";
+		MessageBundle.initialize();
+	}
+
+	@Test
+	void shouldRenderThumbnailsWithoutAllocating() {
+		// given:
+		ImageListCellRender render = new ImageListCellRender(instance -> icon);
+		render.getCellSize();
+
+		// when:
+		long allocated = allocatedByRenders(render);
+
+		// then:
+		assertThat(allocated).isLessThan(RENDERS);
+	}
+
+	@Test
+	void shouldRenderCellsWithoutAllocating() {
+		// given:
+		CellListCellRender render = new CellListCellRender();
+		render.getCellSize();
+
+		// when:
+		long allocated = allocatedByRenders(render);
+
+		// then:
+		assertThat(allocated).isLessThan(RENDERS);
+	}
+
+	@Test
+	void shouldComputeTheTextsOnlyOnce() {
+		// given:
+		CellListCellRender render = new CellListCellRender();
+
+		// when:
+		DicomCellText first = render.getText(instances[0]);
+		DicomCellText second = render.getText(instances[0]);
+		render.clear();
+		DicomCellText afterClear = render.getText(instances[0]);
+
+		// then:
+		assertThat(second).isSameAs(first);
+		assertThat(afterClear).isNotSameAs(first);
+		assertThat(first.getDescription()).isEqualTo("CHEST");
+	}
+
+	@Test
+	void shouldFitLargeThumbnails() {
+		// given:
+		BufferedImage small = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+
+		// when:
+		BufferedImage fitted = ImageListCellRender.fitThumbnail(new BufferedImage(260, 110, BufferedImage.TYPE_INT_RGB));
+
+		// then:
+		assertThat(fitted.getWidth()).isEqualTo(130);
+		assertThat(fitted.getHeight()).isEqualTo(55);
+		assertThat(ImageListCellRender.fitThumbnail(small)).isSameAs(small);
+	}
+
+	private long allocatedByRenders(DicomCellRender render) {
+		JList<FileDicom> list = new JList<>(instances);
+		Component first = render.getListCellRendererComponent(list, instances[0], 0, false, false);
+		for (int i = 0; i < RENDERS; i++) {
+			render.getListCellRendererComponent(list, instances[i % instances.length], i % instances.length, (i & 1) == 0, false);
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		long before = threadBean.getCurrentThreadAllocatedBytes();
+		Component last = null;
+		for (int i = 0; i < RENDERS; i++) {
+			last = render.getListCellRendererComponent(list, instances[i % instances.length], i % instances.length, (i & 1) == 0, false);
+		}
+		long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+		assertThat(last).isSameAs(first);
+		return allocated;
+	}
+
+	private static FileDicom instance(String description, int day) {
+		FileDicom instance = new FileDicom();
+		instance.setDicomSeriesDescription(description);
+		instance.setDicomStudyDate(LocalDateTime.of(2023, 3, day, 10, 30));
+		instance.setDicomSeriesDate(LocalDateTime.of(2023, 3, day, 10, 30));
+		return instance;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.isf.utils.exception.OHServiceException;
+import org.junit.jupiter.api.Test;
+
+class DicomFrameCacheTest {
+
+	private final List<Long> loaded = new ArrayList<>();
+
+	@Test
+	void shouldDecodeEachFrameOnlyOnce() throws OHServiceException {
+		// given:
+		DicomFrameCache cache = new DicomFrameCache();
+
+		// when:
+		DicomFrameCache.Frame first = cache.get(1L, 0, this::load);
+		DicomFrameCache.Frame again = cache.get(1L, 0, this::load);
+
+		// then:
+		assertThat(again).isSameAs(first);
+		assertThat(loaded).containsExactly(1L);
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedFramesBeyondTheMaximumSize() throws OHServiceException {
+		// given:
+		long frameSize = frameSize();
+		DicomFrameCache cache = new DicomFrameCache(2 * frameSize);
+		cache.get(1L, 0, this::load);
+		cache.get(2L, 0, this::load);
+		cache.get(1L, 0, this::load);
+
+		// when:
+		cache.get(3L, 0, this::load);
+
+		// then:
+		assertThat(cache.contains(1L, 0)).isTrue();
+		assertThat(cache.contains(2L, 0)).isFalse();
+		assertThat(cache.contains(3L, 0)).isTrue();
+		assertThat(cache.getSizeInBytes()).isEqualTo(2 * frameSize);
+	}
+
+	@Test
+	void shouldPrefetchInBackground() throws Exception {
+		// given:
+		DicomFrameCache cache = new DicomFrameCache();
+
+		// when:
+		cache.prefetch(5L, 0, this::load);
+
+		// then:
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!cache.contains(5L, 0) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(cache.contains(5L, 0)).isTrue();
+		cache.get(5L, 0, this::load);
+		assertThat(loaded).containsExactly(5L);
+	}
+
+	@Test
+	void shouldDiscardEverythingOnClear() throws OHServiceException {
+		// given:
+		DicomFrameCache cache = new DicomFrameCache();
+		cache.get(1L, 0, this::load);
+
+		// when:
+		cache.clear();
+
+		// then:
+		assertThat(cache.contains(1L, 0)).isFalse();
+		assertThat(cache.getSizeInBytes()).isZero();
+	}
+
+	@Test
+	void shouldNotPrefetchAfterShutdown() throws Exception {
+		// given:
+		DicomFrameCache cache = new DicomFrameCache();
+		cache.get(1L, 0, this::load);
+
+		// when:
+		cache.shutdown();
+		cache.prefetch(5L, 0, this::load);
+
+		// then:
+		Thread.sleep(100);
+		assertThat(cache.contains(1L, 0)).isFalse();
+		assertThat(cache.contains(5L, 0)).isFalse();
+		assertThat(loaded).containsExactly(1L);
+	}
+
+	private synchronized DicomFrameCache.Frame load(long fileId, int frame) {
+		loaded.add(fileId);
+		return new DicomFrameCache.Frame(null, new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB), null);
+	}
+
+	private static long frameSize() {
+		return new DicomFrameCache.Frame(null, new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB), null).getSizeInBytes();
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+
+class ThumbnailCacheTest {
+
+	private final List<String> decoded = new CopyOnWriteArrayList<>();
+	private final Semaphore loaded = new Semaphore(0);
+
+	@Test
+	void shouldDecodeInBackgroundOnlyOnce() throws Exception {
+		// given:
+		ThumbnailCache<String> cache = new ThumbnailCache<>(this::decode, loaded::release);
+
+		// when:
+		ImageIcon first = get(cache, "a");
+		assertThat(loaded.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+		ImageIcon second = get(cache, "a");
+
+		// then:
+		assertThat(first).isNull();
+		assertThat(second).isNotNull();
+		assertThat(get(cache, "a")).isSameAs(second);
+		assertThat(decoded).containsExactly("a");
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedThumbnails() throws Exception {
+		// given:
+		ThumbnailCache<String> cache = new ThumbnailCache<>(this::decode, loaded::release, 2);
+		load(cache, "a");
+		load(cache, "b");
+		get(cache, "a");
+
+		// when:
+		load(cache, "c");
+
+		// then:
+		assertThat(get(cache, "a")).isNotNull();
+		assertThat(get(cache, "c")).isNotNull();
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(get(cache, "b")).isNull();
+	}
+
+	@Test
+	void shouldRememberThumbnailsThatCannotBeDecoded() throws Exception {
+		// given:
+		ThumbnailCache<String> cache = new ThumbnailCache<>(key -> {
+			decoded.add(key);
+			return null;
+		}, () -> {});
+		get(cache, "broken");
+		long deadline = System.currentTimeMillis() + 5000;
+		while (size(cache) == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		// when:
+		ImageIcon icon = get(cache, "broken");
+
+		// then:
+		assertThat(icon).isNull();
+		assertThat(decoded).containsExactly("broken");
+	}
+
+	@Test
+	void shouldNotDecodeAfterShutdown() throws Exception {
+		// given:
+		ThumbnailCache<String> cache = new ThumbnailCache<>(this::decode, loaded::release);
+		load(cache, "a");
+
+		// when:
+		SwingUtilities.invokeAndWait(cache::shutdown);
+
+		// then:
+		assertThat(get(cache, "a")).isNull();
+		assertThat(get(cache, "b")).isNull();
+		assertThat(loaded.tryAcquire(100, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(decoded).containsExactly("a");
+	}
+
+	private BufferedImage decode(String key) {
+		decoded.add(key);
+		return new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+	}
+
+	private void load(ThumbnailCache<String> cache, String key) throws Exception {
+		get(cache, key);
+		assertThat(loaded.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private static int size(ThumbnailCache<String> cache) throws Exception {
+		AtomicInteger size = new AtomicInteger();
+		SwingUtilities.invokeAndWait(() -> size.set(cache.size()));
+		return size.get();
+	}
+
+	private static ImageIcon get(ThumbnailCache<String> cache, String key) throws Exception {
+		AtomicReference<ImageIcon> icon = new AtomicReference<>();
+		SwingUtilities.invokeAndWait(() -> icon.set(cache.get(key)));
+		return icon.get();
+	}
+
+}
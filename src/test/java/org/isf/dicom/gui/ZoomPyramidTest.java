@@ -0,0 +1,75 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.dicom.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+class ZoomPyramidTest {
+
+	@Test
+	void shouldScaleToTheZoomedSizeAndCacheIt() {
+		// given:
+		ZoomPyramid pyramid = new ZoomPyramid(new BufferedImage(1024, 512, BufferedImage.TYPE_INT_RGB));
+
+		// when:
+		BufferedImage zoomed = pyramid.getScaled(30);
+
+		// then:
+		assertThat(zoomed.getWidth()).isEqualTo(307);
+		assertThat(zoomed.getHeight()).isEqualTo(154);
+		assertThat(pyramid.getCached(30)).isSameAs(zoomed);
+		assertThat(pyramid.getScaled(30)).isSameAs(zoomed);
+	}
+
+	@Test
+	void shouldPreviewWithTheSmallestLevelLargerThanTheZoom() {
+		// given:
+		ZoomPyramid pyramid = new ZoomPyramid(new BufferedImage(1024, 1024, BufferedImage.TYPE_INT_RGB));
+		pyramid.getScaled(50);
+
+		// when:
+		BufferedImage preview = pyramid.getPreview(40);
+
+		// then:
+		assertThat(preview.getWidth()).isEqualTo(512);
+		assertThat(pyramid.getPreview(200)).isSameAs(pyramid.getOriginal());
+	}
+
+	@Test
+	void shouldEvictZoomedImagesBeyondTheMemoryBound() {
+		// given:
+		ZoomPyramid pyramid = new ZoomPyramid(new BufferedImage(1024, 1024, BufferedImage.TYPE_INT_RGB));
+
+		// when:
+		pyramid.getScaled(250);
+		pyramid.getScaled(260);
+
+		// then:
+		assertThat(pyramid.getCached(250)).isNull();
+		assertThat(pyramid.getCached(260)).isNotNull();
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.disease.gui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.isf.disease.model.Disease;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link DiseaseIndex#search(String, int)} with the former scan of every description for any word of the
+ * text, and measures how long the index takes to build. Not run by the build; launch {@link #main(String[])}.
+ * <p>
+ * The full ICD list is read from the file named by the {@code icd.file} system property, one {@code code;description}
+ * per line, as exported from the DISEASE table; without it a synthetic list of the size of ICD-10 is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiseaseIndexBenchmark {
+
+	private static final String[] WORDS = { "acute", "chronic", "malaria", "fever", "pneumonia", "tuberculosis", "pulmonary",
+					"infection", "viral", "bacterial", "disease", "syndrome", "disorder", "unspecified", "other", "congenital",
+					"neoplasm", "malignant", "benign", "fracture", "injury", "diabetes", "mellitus", "hypertension", "renal",
+					"hepatic", "failure", "cardiac", "gastroenteritis", "diarrhoea", "anaemia", "deficiency", "poisoning",
+					"complications", "pregnancy", "newborn", "meningitis", "encephalitis", "typhoid", "cholera", "dysentery",
+					"plasmodium", "falciparum", "vivax", "respiratory", "upper", "lower", "tract", "skin", "abscess", "otitis",
+					"media", "conjunctivitis", "hepatitis", "measles", "tetanus", "schistosomiasis", "helminthiasis", "asthma",
+					"bronchitis", "sepsis", "shock", "burn", "wound", "open", "closed", "left", "right", "bilateral" };
+
+	@Param({ "malaria", "a09", "pnuemonia", "fever of unknown origin" })
+	private String query;
+
+	private List<Disease> diseases;
+	private DiseaseIndex index;
+
+	@Setup
+	public void setUp() throws IOException {
+		String file = System.getProperty("icd.file");
+		diseases = file != null ? readDiseases(file) : syntheticDiseases(new Random(42));
+		index = new DiseaseIndex(diseases);
+	}
+
+	@Benchmark
+	public List<Disease> anyWordScan() {
+		String[] patterns = query.trim().split(" ");
+		List<Disease> results = new ArrayList<>();
+		for (Disease disease : diseases) {
+			String description = disease.getDescription().toLowerCase();
+			for (String pattern : patterns) {
+				if (description.contains(pattern.toLowerCase())) {
+					results.add(disease);
+					break;
+				}
+			}
+		}
+		return results;
+	}
+
+	@Benchmark
+	public List<Disease> indexSearch() {
+		return index.search(query, DiseaseIndex.DEFAULT_LIMIT);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public DiseaseIndex buildIndex() {
+		return new DiseaseIndex(diseases);
+	}
+
+	static List<Disease> readDiseases(String file) throws IOException {
+		List<Disease> diseases = new ArrayList<>();
+		for (String line : Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8)) {
+			int separator = line.indexOf(';');
+			if (separator > 0) {
+				diseases.add(disease(line.substring(0, separator).trim(), line.substring(separator + 1).trim()));
+			}
+		}
+		return diseases;
+	}
+
+	/**
+	 * @return about 14,000 diseases coded as in ICD-10, a letter and two digits, followed by a subcategory for most
+	 */
+	static List<Disease> syntheticDiseases(Random random) {
+		List<Disease> diseases = new ArrayList<>();
+		for (char letter = 'A'; letter <= 'Z'; letter++) {
+			for (int category = 0; category < 100; category++) {
+				String code = String.format("%c%02d", letter, category);
+				diseases.add(disease(code, description(random)));
+				int subcategories = random.nextInt(10);
+				for (int sub = 0; sub < subcategories; sub++) {
+					diseases.add(disease(code + '.' + sub, description(random)));
+				}
+			}
+		}
+		return diseases;
+	}
+
+	private static String description(Random random) {
+		StringBuilder description = new StringBuilder();
+		int words = 2 + random.nextInt(6);
+		for (int i = 0; i < words; i++) {
+			if (i > 0) {
+				description.append(' ');
+			}
+			String word = WORDS[random.nextInt(WORDS.length)];
+			description.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+		}
+		return description.toString();
+	}
+
+	private static Disease disease(String code, String description) {
+		Disease disease = new Disease();
+		disease.setCode(code);
+		disease.setDescription(description);
+		return disease;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DiseaseIndexBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
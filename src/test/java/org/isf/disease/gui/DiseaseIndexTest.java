@@ -0,0 +1,141 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.disease.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.disease.model.Disease;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DiseaseIndexTest {
+
+	private DiseaseIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new DiseaseIndex(Arrays.asList(
+						disease("A00", "Cholera"),
+						disease("A01", "Typhoid and paratyphoid fevers"),
+						disease("A09", "Diarrhoea and gastroenteritis of infectious origin"),
+						disease("B50", "Plasmodium falciparum malaria"),
+						disease("B54", "Unspecified malaria"),
+						disease("J18", "Pneumonia, organism unspecified"),
+						disease("P23", "Congenital pneumonia"),
+						disease("R50", "Fever of other and unknown origin")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		DiseaseIndex.clearRecent();
+	}
+
+	@Test
+	void shouldRankExactCodeBeforeCodePrefix() {
+		// when:
+		List<String> exact = codes(index.search("a09", 10));
+		List<String> prefix = codes(index.search("A0", 10));
+
+		// then:
+		assertThat(exact).containsExactly("A09");
+		assertThat(prefix).startsWith("A00", "A01", "A09");
+	}
+
+	@Test
+	void shouldRankDescriptionPrefixAndAllWordsFirst() {
+		// when:
+		List<String> pneumonia = codes(index.search("pneumonia", 10));
+		List<String> malaria = codes(index.search("falciparum malaria", 10));
+
+		// then:
+		assertThat(pneumonia).containsExactly("J18", "P23");
+		assertThat(malaria).containsExactly("B50", "B54");
+	}
+
+	@Test
+	void shouldTolerateTyposIgnoringAccentsAndCase() {
+		// when:
+		List<String> typo = codes(index.search("pnuemonia", 10));
+		List<String> typedPrefix = codes(index.search("gastroentr", 10));
+		List<String> accents = codes(index.search("CHOLÉRA", 10));
+
+		// then:
+		assertThat(typo).containsExactlyInAnyOrder("J18", "P23");
+		assertThat(typedPrefix).containsExactly("A09");
+		assertThat(accents).containsExactly("A00");
+	}
+
+	@Test
+	void shouldRankRecentlyUsedFirst() {
+		// given:
+		List<String> before = codes(index.search("malaria", 10));
+
+		// when:
+		DiseaseIndex.recordUse(disease("B50", "Plasmodium falciparum malaria"));
+		List<String> after = codes(index.search("malaria", 10));
+
+		// then:
+		assertThat(before).containsExactly("B54", "B50");
+		assertThat(after).containsExactly("B50", "B54");
+	}
+
+	@Test
+	void shouldReturnAllForEmptyTextAndTopKOtherwise() {
+		// when:
+		List<Disease> all = index.search(" ", 2);
+		List<Disease> top = index.search("o", 2);
+		List<Disease> none = index.search("hiv", 10);
+
+		// then:
+		assertThat(all).hasSize(8);
+		assertThat(top).hasSize(2);
+		assertThat(none).isEmpty();
+	}
+
+	@Test
+	void shouldAllowOneTypoInShortWordsAndTwoInLongOnes() {
+		// then:
+		assertThat(DiseaseIndex.prefixDistance("malria", "malaria", 1)).isOne();
+		assertThat(DiseaseIndex.prefixDistance("fveer", "fevers", 1)).isOne();
+		assertThat(DiseaseIndex.prefixDistance("plasmdoim", "plasmodium", 2)).isEqualTo(2);
+		assertThat(DiseaseIndex.prefixDistance("cholera", "typhoid", 1)).isEqualTo(2);
+	}
+
+	private static Disease disease(String code, String description) {
+		Disease disease = new Disease();
+		disease.setCode(code);
+		disease.setDescription(description);
+		return disease;
+	}
+
+	private static List<String> codes(List<Disease> diseases) {
+		List<String> codes = new ArrayList<>();
+		diseases.forEach(disease -> codes.add(disease.getCode()));
+		return codes;
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.medicals.model.Medical;
+import org.isf.medtype.model.MedicalType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MedicalScanIndexTest {
+
+	private static final MedicalType DRUGS = new MedicalType("D", "Drugs");
+
+	private final Medical paracetamol = medical(1, "8001234", "Paracetamol 500mg");
+	private final Medical amoxicillin = medical(2, "8005678", "Amoxicillin 250mg");
+	private final Medical ceftriaxone = medical(3, "", "Ceftriaxone Injection");
+	private final Medical paracetamolSyrup = medical(4, null, "Paracétamol Syrup");
+
+	private MedicalScanIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new MedicalScanIndex(Arrays.asList(paracetamol, amoxicillin, ceftriaxone, paracetamolSyrup));
+	}
+
+	@Test
+	void shouldFindScannedProductCodes() {
+		// when:
+		Medical scanned = index.get("8005678");
+		Medical withoutProductCode = index.get("DCeftriaxone Injection");
+		Medical unknown = index.get("8009999");
+
+		// then:
+		assertThat(scanned).isSameAs(amoxicillin);
+		assertThat(withoutProductCode).isSameAs(ceftriaxone);
+		assertThat(unknown).isNull();
+	}
+
+	@Test
+	void shouldSearchDescriptionsIgnoringAccentsAndCase() {
+		// when:
+		List<Medical> upperCase = index.search("PARACETAMOL");
+		List<Medical> accented = index.search("cétamol syr");
+		List<Medical> shortText = index.search("mg");
+		List<Medical> empty = index.search("");
+
+		// then:
+		assertThat(upperCase).containsExactlyInAnyOrder(paracetamol, paracetamolSyrup);
+		assertThat(accented).containsExactly(paracetamolSyrup);
+		assertThat(shortText).containsExactlyInAnyOrder(paracetamol, amoxicillin);
+		assertThat(empty).hasSize(4);
+	}
+
+	@Test
+	void shouldNotMatchWhenAllTrigramsArePresentButNotTogether() {
+		// when:
+		List<Medical> acrossWords = index.search("mgpar");
+		List<Medical> acrossMedicals = index.search("250mg par");
+		List<Medical> unknown = index.search("xyz");
+
+		// then:
+		assertThat(acrossWords).isEmpty();
+		assertThat(acrossMedicals).isEmpty();
+		assertThat(unknown).isEmpty();
+	}
+
+	private static Medical medical(int code, String prodCode, String description) {
+		return new Medical(code, DRUGS, prodCode, description, 0, 0, 0, 0);
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.medicalstock.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ScanQueueTest {
+
+	private final List<String> handled = new ArrayList<>();
+	private ScanQueue queue;
+
+	@Test
+	void shouldHandleCodesScannedDuringAnotherOneAfterIt() {
+		// given:
+		queue = new ScanQueue(code -> {
+			handled.add("start " + code);
+			if (code.equals("first")) {
+				// scanned while a dialog of the first code is open
+				queue.add("second");
+				queue.add("third");
+				assertThat(queue.size()).isEqualTo(2);
+			}
+			handled.add("end " + code);
+		});
+
+		// when:
+		queue.add("first");
+
+		// then:
+		assertThat(handled).containsExactly("start first", "end first", "start second", "end second", "start third", "end third");
+		assertThat(queue.size()).isZero();
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.patient.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+
+import org.isf.patient.model.Patient;
+import org.junit.jupiter.api.Test;
+
+class PatientLookupTest {
+
+	private final List<String> queried = new CopyOnWriteArrayList<>();
+	private final BlockingQueue<List<Patient>> results = new LinkedBlockingQueue<>();
+
+	@Test
+	void shouldSearchOnlyTheLastKeyOnceTypingStops() throws Exception {
+		// given:
+		PatientLookup lookup = new PatientLookup(this::query, 50, results::add);
+
+		// when:
+		SwingUtilities.invokeAndWait(() -> {
+			lookup.search("r");
+			lookup.search("ro");
+			lookup.search("ros ");
+		});
+		List<Patient> found = results.poll(5, TimeUnit.SECONDS);
+
+		// then:
+		assertThat(queried).containsExactly("ros");
+		assertThat(codes(found)).containsExactly(3);
+	}
+
+	@Test
+	void shouldServeRecentKeysFromTheCache() throws Exception {
+		// given:
+		PatientLookup lookup = new PatientLookup(this::query, 50, results::add);
+		SwingUtilities.invokeAndWait(() -> lookup.searchNow("rossi"));
+		results.poll(5, TimeUnit.SECONDS);
+
+		// when:
+		SwingUtilities.invokeAndWait(() -> lookup.searchNow("rossi"));
+		List<Patient> cached = results.poll(5, TimeUnit.SECONDS);
+		SwingUtilities.invokeAndWait(lookup::clearCache);
+		SwingUtilities.invokeAndWait(() -> lookup.searchNow("rossi"));
+		results.poll(5, TimeUnit.SECONDS);
+
+		// then:
+		assertThat(codes(cached)).containsExactly(5);
+		assertThat(queried).containsExactly("rossi", "rossi");
+	}
+
+	@Test
+	void shouldNotDeliverCancelledSearches() throws Exception {
+		// given:
+		CountDownLatch release = new CountDownLatch(1);
+		PatientLookup lookup = new PatientLookup((key, size) -> {
+			if (key.equals("slow")) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return query(key, size);
+		}, 50, results::add);
+
+		// when:
+		SwingUtilities.invokeAndWait(() -> lookup.searchNow("slow"));
+		SwingUtilities.invokeAndWait(() -> lookup.searchNow("fast"));
+		List<Patient> first = results.poll(5, TimeUnit.SECONDS);
+		release.countDown();
+
+		// then:
+		assertThat(codes(first)).containsExactly(4);
+		assertThat(results.poll(200, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void shouldNotSearchWhenTheFieldIsDisabled() throws Exception {
+		// given:
+		PatientLookup lookup = new PatientLookup(this::query, 50, results::add);
+		JTextField field = new JTextField();
+		lookup.install(field);
+
+		// when:
+		SwingUtilities.invokeAndWait(() -> {
+			field.setEnabled(false);
+			field.setText("123");
+		});
+
+		// then:
+		assertThat(results.poll(200, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(queried).isEmpty();
+	}
+
+	@Test
+	void shouldLoadOnlyAPage() throws Exception {
+		// given:
+		PatientLookup lookup = new PatientLookup(this::query, 50, results::add);
+
+		// when:
+		SwingUtilities.invokeAndWait(() -> lookup.searchNow(""));
+		List<Patient> firstPage = results.poll(5, TimeUnit.SECONDS);
+
+		// then:
+		assertThat(firstPage).hasSize(PatientLookup.PAGE_SIZE);
+	}
+
+	/*
+	 * a page of patients for an empty key, otherwise the patient whose code is the length of the key
+	 */
+	private List<Patient> query(String key, int size) {
+		queried.add(key);
+		List<Patient> patients = new ArrayList<>();
+		for (int code = 0; code < size * 3 && patients.size() < size; code++) {
+			if (key.isEmpty() || key.length() == code) {
+				patients.add(patient(code));
+			}
+		}
+		return patients;
+	}
+
+	private static Patient patient(int code) {
+		Patient patient = new Patient();
+		patient.setCode(code);
+		return patient;
+	}
+
+	private static List<Integer> codes(List<Patient> patients) {
+		List<Integer> codes = new ArrayList<>();
+		patients.forEach(patient -> codes.add(patient.getCode()));
+		return codes;
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.priceslist.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.isf.priceslist.model.Price;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PriceModelTest {
+
+	private PriceNode exams;
+	private PriceNode operations;
+	private PriceModel model;
+
+	@BeforeEach
+	void setUp() {
+		exams = category("Exams");
+		operations = category("Operations");
+		for (int i = 0; i < 5000; i++) {
+			exams.addItem(new PriceNode(new Price(null, "EXA", "E" + i, "Exam " + i, 10.)));
+		}
+		operations.addItem(new PriceNode(new Price(null, "OPE", "O1", "Operation", 20.)));
+		PriceNode root = category("List");
+		root.addItem(exams);
+		root.addItem(operations);
+		model = new PriceModel(root);
+	}
+
+	@Test
+	void shouldAccessChildrenByIndex() {
+		// when:
+		Object child = model.getChild(exams, 4321);
+
+		// then:
+		assertThat(model.getChildCount(exams)).isEqualTo(5000);
+		assertThat(child.toString()).isEqualTo("Exam 4321");
+		assertThat(model.getIndexOfChild(exams, child)).isEqualTo(4321);
+		assertThat(model.getIndexOfChild(operations, child)).isEqualTo(-1);
+		assertThat(((PriceNode) child).getPath()).containsExactly(model.getRoot(), exams, child);
+	}
+
+	@Test
+	void shouldTrackChangedPrices() {
+		// given:
+		PriceNode edited = exams.getItem(7);
+		PriceNode reverted = exams.getItem(8);
+
+		// when:
+		model.setValueAt(12., edited, 1);
+		model.setValueAt(15., reverted, 1);
+		model.setValueAt(10., reverted, 1);
+
+		// then:
+		assertThat(model.isChanged()).isTrue();
+		assertThat(model.getChangedNodes()).containsExactly(edited);
+		assertThat(edited.isChanged()).isTrue();
+		assertThat(reverted.isChanged()).isFalse();
+	}
+
+	@Test
+	void shouldForgetChangesOnceSaved() {
+		// given:
+		PriceNode edited = operations.getItem(0);
+		model.setValueAt(25., edited, 1);
+
+		// when:
+		model.markSaved();
+
+		// then:
+		assertThat(model.isChanged()).isFalse();
+		assertThat(edited.isChanged()).isFalse();
+		assertThat(edited.getPrice().getPrice()).isEqualTo(25.);
+	}
+
+	private static PriceNode category(String description) {
+		return new PriceNode(new Price(null, "", "", description, null));
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.stat.reportlauncher.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportCatalogTest {
+
+	@TempDir
+	Path baseDir;
+
+	private final List<String> indexed = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		Files.createDirectories(baseDir.resolve("rpt_stat"));
+		Files.createDirectories(baseDir.resolve("rpt_extra/sub"));
+		Files.createFile(baseDir.resolve("rpt_stat/Monthly.jasper"));
+		Files.createFile(baseDir.resolve("rpt_stat/Monthly.jrxml"));
+		Files.createFile(baseDir.resolve("rpt_extra/sub/Daily.jasper"));
+		Files.createFile(baseDir.resolve("rpt_extra/Untitled.jasper"));
+	}
+
+	@Test
+	void shouldIndexReportsOfAllFolders() {
+		// given:
+		ReportCatalog catalog = catalog();
+
+		// when:
+		boolean changed = catalog.refresh();
+
+		// then:
+		assertThat(changed).isTrue();
+		assertThat(titles(catalog.getEntries())).containsExactly("Daily title", "Monthly title");
+		ReportCatalog.Entry daily = ReportCatalog.sortedByTitle(catalog.getEntries()).get(0);
+		assertThat(daily.getFolder()).isEqualTo("rpt_extra");
+		assertThat(daily.getFileName()).isEqualTo("Daily");
+		assertThat(daily.getParameterNames()).containsExactly("fromdate", "todate");
+	}
+
+	@Test
+	void shouldReadTheSavedCatalogWithoutIndexing() {
+		// given:
+		catalog().refresh();
+		indexed.clear();
+
+		// when:
+		ReportCatalog reopened = catalog();
+		Collection<ReportCatalog.Entry> entries = reopened.load();
+		boolean changed = reopened.refresh();
+
+		// then:
+		assertThat(titles(entries)).containsExactly("Daily title", "Monthly title");
+		assertThat(changed).isFalse();
+		assertThat(indexed).isEmpty();
+	}
+
+	@Test
+	void shouldIndexOnlyChangedAndForgetRemovedReports() throws IOException {
+		// given:
+		ReportCatalog catalog = catalog();
+		catalog.refresh();
+		indexed.clear();
+		File monthly = baseDir.resolve("rpt_stat/Monthly.jasper").toFile();
+		assertThat(monthly.setLastModified(monthly.lastModified() + 10_000)).isTrue();
+		Files.delete(baseDir.resolve("rpt_extra/sub/Daily.jasper"));
+
+		// when:
+		boolean changed = catalog().refresh();
+
+		// then:
+		assertThat(changed).isTrue();
+		assertThat(indexed).containsExactly("Monthly");
+		assertThat(titles(catalog().load())).containsExactly("Monthly title");
+	}
+
+	@Test
+	void shouldRebuildForAnotherLanguage() {
+		// given:
+		catalog().refresh();
+		indexed.clear();
+
+		// when:
+		ReportCatalog french = new ReportCatalog(baseDir, ReportCatalog.REPORT_FOLDERS, baseDir.resolve("report.catalog"), "fr", this::index);
+
+		// then:
+		assertThat(french.load()).isEmpty();
+		french.refresh();
+		assertThat(indexed).hasSize(3);
+	}
+
+	private ReportCatalog catalog() {
+		return new ReportCatalog(baseDir, ReportCatalog.REPORT_FOLDERS, baseDir.resolve("report.catalog"), "en", this::index);
+	}
+
+	private ReportCatalog.Entry index(String folder, File jasperFile) {
+		String fileName = jasperFile.getName().replace(".jasper", "");
+		indexed.add(fileName);
+		if (fileName.equals("Untitled")) {
+			return new ReportCatalog.Entry(folder, fileName, null, Collections.emptyList(), jasperFile.lastModified());
+		}
+		List<String> parameters = fileName.equals("Daily") ? Arrays.asList("fromdate", "todate") : Arrays.asList("month", "year");
+		return new ReportCatalog.Entry(folder, fileName, fileName + " title", parameters, jasperFile.lastModified());
+	}
+
+	private static List<String> titles(Collection<ReportCatalog.Entry> entries) {
+		return ReportCatalog.sortedByTitle(entries).stream().map(ReportCatalog.Entry::getTitle).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.therapy.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AgendaMonthIndexTest {
+
+	private final AgendaMonthIndex<String> index = new AgendaMonthIndex<>();
+
+	@Test
+	void shouldReturnOnlyTheEntriesOfTheMonth() {
+		// given:
+		index.add("therapy", LocalDateTime.of(2023, 1, 30, 8, 0));
+		index.add("therapy", LocalDateTime.of(2023, 2, 1, 8, 0));
+		index.add("visit", LocalDateTime.of(2023, 2, 14, 10, 30));
+
+		// when:
+		List<String> february = describe(index.get(2023, 2));
+
+		// then:
+		assertThat(february).containsExactly("therapy@1", "visit@14");
+		assertThat(index.get(2024, 2)).isEmpty();
+	}
+
+	@Test
+	void shouldRemoveAllTheDatesOfAnItem() {
+		// given:
+		String therapy = new String("therapy");
+		String sameTherapyName = new String("therapy");
+		index.add(therapy, LocalDateTime.of(2023, 1, 30, 8, 0));
+		index.add(therapy, LocalDateTime.of(2023, 2, 1, 8, 0));
+		index.add(sameTherapyName, LocalDateTime.of(2023, 2, 2, 8, 0));
+
+		// when:
+		index.remove(therapy);
+
+		// then:
+		assertThat(index.get(2023, 1)).isEmpty();
+		assertThat(describe(index.get(2023, 2))).containsExactly("therapy@2");
+	}
+
+	private static List<String> describe(List<AgendaMonthIndex.Entry<String>> entries) {
+		List<String> descriptions = new ArrayList<>();
+		entries.forEach(entry -> descriptions.add(entry.getItem() + '@' + entry.getDay()));
+		return descriptions;
+	}
+
+}
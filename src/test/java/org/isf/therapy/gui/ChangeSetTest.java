@@ -0,0 +1,98 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.therapy.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ChangeSetTest {
+
+	private final ChangeSet<Item> changes = new ChangeSet<>(Item::getId);
+
+	@Test
+	void shouldForgetUnsavedItemsWhenRemoved() {
+		// given:
+		Item first = new Item(0);
+		Item second = new Item(0);
+		changes.add(first);
+		changes.add(second);
+
+		// when:
+		changes.modify(first);
+		changes.remove(first);
+
+		// then:
+		assertThat(changes.getAdded()).containsExactly(second);
+		assertThat(changes.getModified()).isEmpty();
+		assertThat(changes.getRemoved()).isEmpty();
+	}
+
+	@Test
+	void shouldRecordSavedItemsOnceById() {
+		// given:
+		Item saved = new Item(7);
+		Item edited = new Item(7);
+		Item deleted = new Item(9);
+
+		// when:
+		changes.modify(saved);
+		changes.replace(saved, edited);
+		changes.modify(deleted);
+		changes.remove(deleted);
+
+		// then:
+		assertThat(changes.getAdded()).isEmpty();
+		assertThat(changes.getModified()).containsExactly(edited);
+		assertThat(changes.getRemoved()).containsExactly(deleted);
+		assertThat(changes.getChanged()).containsExactly(edited);
+	}
+
+	@Test
+	void shouldReplaceUnsavedItemInPlace() {
+		// given:
+		Item added = new Item(0);
+		Item edited = new Item(0);
+		changes.add(added);
+
+		// when:
+		changes.replace(added, edited);
+		changes.clear();
+
+		// then:
+		assertThat(changes.isEmpty()).isTrue();
+	}
+
+	private static class Item {
+
+		private final int id;
+
+		Item(int id) {
+			this.id = id;
+		}
+
+		int getId() {
+			return id;
+		}
+	}
+
+}
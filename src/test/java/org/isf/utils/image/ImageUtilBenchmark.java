@@ -0,0 +1,115 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.image;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.imgscalr.Scalr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link ImageUtil#fitImageFileSize(BufferedImage, int, String)} with the former 10% per step loop, followed
+ * by the encoding of the result as done when saving a patient photo. Not run by the build; launch {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImageUtilBenchmark {
+
+	private static final String FILE_TYPE = "png";
+
+	@Param({ "640x480", "1920x1080" })
+	private String resolution;
+
+	@Param({ "32768", "131072" })
+	private int maximumFileSize;
+
+	private BufferedImage image;
+
+	@Setup
+	public void setUp() {
+		String[] size = resolution.split("x");
+		image = ImageUtilTest.noise(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+	}
+
+	@Benchmark
+	public byte[] stepLoop() throws IOException {
+		return ImageUtil.imageToByte(stepLoop(image, maximumFileSize));
+	}
+
+	@Benchmark
+	public byte[] binarySearch() throws IOException {
+		return ImageUtil.fitImageFileSize(image, maximumFileSize, FILE_TYPE);
+	}
+
+	/**
+	 * The former implementation of {@link ImageUtil#fixImageFileSize(BufferedImage, int, String)}
+	 */
+	private static BufferedImage stepLoop(BufferedImage bufferedImage, int maximumFileSize) throws IOException {
+		long arrSize = getArraySize(bufferedImage);
+		while (arrSize > maximumFileSize) {
+			long lastSize = arrSize;
+			int newTargetSize = (bufferedImage.getTileWidth() - ((bufferedImage.getTileWidth() / 100) * 10));
+			bufferedImage = Scalr.resize(bufferedImage, newTargetSize);
+			arrSize = getArraySize(bufferedImage);
+			if (arrSize == lastSize) {
+				break;
+			}
+		}
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(bufferedImage, FILE_TYPE, baos);
+		return ImageIO.read(new ByteArrayInputStream(baos.toByteArray()));
+	}
+
+	private static long getArraySize(BufferedImage bufferedImage) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(bufferedImage, FILE_TYPE, baos);
+		return baos.toByteArray().length;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ImageUtilBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
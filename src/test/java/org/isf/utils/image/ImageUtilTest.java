@@ -22,19 +22,24 @@
 package org.isf.utils.image;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.util.Random;
 
 import javax.imageio.ImageIO;
 
+import org.imgscalr.Scalr;
+import org.imgscalr.Scalr.Mode;
 import org.isf.generaldata.GeneralData;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
-@Disabled("Disabled until native libraries are available in CI build")
 class ImageUtilTest {
 
+	@Disabled("Disabled until native libraries are available in CI build")
 	@Test
 	void testScaling() throws Exception {
 		File file = new File(getClass().getResource("patient.jpg").getFile());
@@ -55,4 +60,55 @@ class ImageUtilTest {
 		assertThat(newImage.getHeight()).isEqualTo(newHeight);
 	}
 
+	@Test
+	void testFitImageFileSizeShrinksUntilItFits() throws Exception {
+		BufferedImage image = noise(400, 300);
+		int originalSize = ImageUtil.fitImageFileSize(image, Integer.MAX_VALUE, "png").length;
+		int maximumFileSize = originalSize / 4;
+
+		byte[] fitted = ImageUtil.fitImageFileSize(image, maximumFileSize, "png");
+
+		BufferedImage newImage = ImageIO.read(new ByteArrayInputStream(fitted));
+		assertThat(fitted.length).isLessThanOrEqualTo(maximumFileSize);
+		assertThat(newImage.getWidth()).isBetween(150, 220);
+		assertThat(newImage.getHeight()).isCloseTo(newImage.getWidth() * 3 / 4, within(1));
+	}
+
+	@Test
+	void testFitImageFileSizeResizesFromTheOriginal() throws Exception {
+		BufferedImage image = noise(400, 300);
+		int maximumFileSize = ImageUtil.fitImageFileSize(image, Integer.MAX_VALUE, "png").length / 3;
+
+		BufferedImage newImage = ImageIO.read(new ByteArrayInputStream(ImageUtil.fitImageFileSize(image, maximumFileSize, "png")));
+
+		BufferedImage expected = Scalr.resize(image, Mode.FIT_TO_WIDTH, newImage.getWidth());
+		assertThat(newImage.getHeight()).isEqualTo(expected.getHeight());
+		assertThat(newImage.getRGB(0, 0, newImage.getWidth(), newImage.getHeight(), null, 0, newImage.getWidth()))
+						.isEqualTo(expected.getRGB(0, 0, expected.getWidth(), expected.getHeight(), null, 0, expected.getWidth()));
+	}
+
+	@Test
+	void testFitImageFileSizeKeepsImagesThatFit() throws Exception {
+		BufferedImage image = noise(40, 30);
+
+		byte[] fitted = ImageUtil.fitImageFileSize(image, Integer.MAX_VALUE, "png");
+
+		BufferedImage newImage = ImageIO.read(new ByteArrayInputStream(fitted));
+		assertThat(newImage.getWidth()).isEqualTo(40);
+		assertThat(newImage.getHeight()).isEqualTo(30);
+		assertThat(fitted).isEqualTo(ImageUtil.imageToByte(image));
+	}
+
+	static BufferedImage noise(int width, int height) {
+		Random random = new Random(42);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				// smooth gradient plus noise, so that the encoded size depends on the area like a photo
+				image.setRGB(x, y, ((x * 255 / width) << 16) | ((y * 255 / height) << 8) | random.nextInt(64));
+			}
+		}
+		return image;
+	}
+
 }
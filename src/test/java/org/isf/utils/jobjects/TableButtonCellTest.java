@@ -0,0 +1,97 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Component;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.jupiter.api.Test;
+
+class TableButtonCellTest {
+
+	private static final int RENDERS = 100_000;
+
+	@Test
+	void shouldReuseTheSameButtonWithoutAllocating() {
+		// given:
+		String label = "Rectify";
+		JTable table = new JTable(new DefaultTableModel(new Object[][] { { label }, { label } }, new Object[] { "" }));
+		TableButtonCell cell = new TableButtonCell(0, row -> {});
+		Component first = cell.getTableCellRendererComponent(table, label, false, false, 0, 0);
+		for (int i = 0; i < RENDERS; i++) {
+			cell.getTableCellRendererComponent(table, label, false, false, i & 1, 0);
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		// when:
+		long before = threadBean.getCurrentThreadAllocatedBytes();
+		Component last = null;
+		for (int i = 0; i < RENDERS; i++) {
+			last = cell.getTableCellRendererComponent(table, label, false, false, i & 1, 0);
+		}
+		long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+		// then:
+		assertThat(last).isSameAs(first);
+		assertThat(allocated).isLessThan(RENDERS);
+	}
+
+	@Test
+	void shouldCallTheActionWithTheEditedRow() {
+		// given:
+		List<Integer> clicked = new ArrayList<>();
+		JTable table = new JTable(new DefaultTableModel(new Object[][] { { "a" }, { "b" } }, new Object[] { "" }));
+		TableButtonCell cell = new TableButtonCell(0, clicked::add);
+
+		// when:
+		JButton button = (JButton) cell.getTableCellEditorComponent(table, "b", true, 1, 0);
+		button.doClick();
+
+		// then:
+		assertThat(button.getText()).isEqualTo("b");
+		assertThat(clicked).containsExactly(1);
+	}
+
+	@Test
+	void shouldInstallOnTheModelColumnAfterColumnsAreMoved() {
+		// given:
+		JTable table = new JTable(new DefaultTableModel(new Object[][] { { "x", "a" } }, new Object[] { "text", "button" }));
+		table.moveColumn(1, 0);
+		TableButtonCell cell = new TableButtonCell(0, row -> {});
+
+		// when:
+		cell.install(table, 1);
+
+		// then:
+		assertThat(table.getColumnModel().getColumn(0).getCellRenderer()).isSameAs(cell);
+		assertThat(table.getColumnModel().getColumn(1).getCellRenderer()).isNull();
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.utils.jobjects.TableSearchIndex.KeyExtractor;
+import org.junit.jupiter.api.Test;
+
+class TableSearchIndexTest {
+
+	private static final KeyExtractor<String[]> KEYS = new KeyExtractor<>() {
+
+		@Override
+		public String getCode(String[] item) {
+			return item[0];
+		}
+
+		@Override
+		public String getDescription(String[] item) {
+			return item[1];
+		}
+	};
+
+	private static final List<String[]> ITEMS = Arrays.asList(
+					new String[] { "PAR", "Paracetamol 500mg" },
+					new String[] { "AMO", "Amoxicillin 250mg" },
+					new String[] { "PAR2", "Paracetamol syrup" },
+					new String[] { null, "Plaster" });
+
+	@Test
+	void shouldMatchCodeAndDescriptionIgnoringCase() {
+		// given:
+		TableSearchIndex<String[]> index = new TableSearchIndex<>(ITEMS, KEYS, false);
+
+		// when:
+		int codeRow = index.filter("MG");
+
+		// then:
+		assertThat(codeRow).isEqualTo(-1);
+		assertThat(codes(index)).containsExactly("PAR", "AMO");
+	}
+
+	@Test
+	void shouldNarrowAndWidenWhenQueryChanges() {
+		// given:
+		TableSearchIndex<String[]> index = new TableSearchIndex<>(ITEMS, KEYS, false);
+
+		// when:
+		index.filter("pa");
+		List<String> wide = codes(index);
+		index.filter("paracetamol s");
+		List<String> narrow = codes(index);
+		index.filter("p");
+		List<String> widenedAgain = codes(index);
+
+		// then:
+		assertThat(wide).containsExactly("PAR", "PAR2");
+		assertThat(narrow).containsExactly("PAR2");
+		assertThat(widenedAgain).containsExactly("PAR", "PAR2", null);
+	}
+
+	@Test
+	void shouldSelectTheRowWithTheSameCode() {
+		// given:
+		TableSearchIndex<String[]> index = new TableSearchIndex<>(ITEMS, KEYS, true);
+
+		// when:
+		int codeRow = index.filter("par");
+		List<String> byCode = codes(index);
+		index.filter("par2");
+		List<String> longer = codes(index);
+		index.filter("para");
+		List<String> byDescription = codes(index);
+
+		// then:
+		assertThat(codeRow).isZero();
+		assertThat(byCode).containsExactly("PAR");
+		assertThat(longer).containsExactly("PAR2");
+		assertThat(byDescription).containsExactly("PAR", "PAR2");
+	}
+
+	private static List<String> codes(TableSearchIndex<String[]> index) {
+		List<String> codes = new ArrayList<>();
+		for (int row = 0; row < index.getRowCount(); row++) {
+			codes.add(index.get(row)[0]);
+		}
+		return codes;
+	}
+
+}
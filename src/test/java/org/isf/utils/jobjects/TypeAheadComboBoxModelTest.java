@@ -0,0 +1,147 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.jobjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TypeAheadComboBoxModelTest {
+
+	private static final List<String> DISEASES = Arrays.asList("A Malária", "A Typhoid fever", "B Malaria cerebral", "B Cholera");
+
+	private final TypeAheadComboBoxModel<String> model = new TypeAheadComboBoxModel<>("", Function.identity());
+	private final List<ListDataEvent> events = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		model.addListDataListener(new ListDataListener() {
+
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				events.add(e);
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				events.add(e);
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				events.add(e);
+			}
+		});
+	}
+
+	@Test
+	void shouldLoadAllItemsWithOneEvent() {
+		// when:
+		model.setItems(DISEASES);
+
+		// then:
+		assertThat(events).hasSize(1);
+		assertThat(model.getSize()).isEqualTo(5);
+		assertThat(model.getElementAt(0)).isEqualTo("");
+		assertThat(model.getSelectedItem()).isEqualTo("");
+	}
+
+	@Test
+	void shouldMatchAllWordsIgnoringAccentsAndCase() {
+		// given:
+		model.setItems(DISEASES);
+
+		// when:
+		int wide = model.filter("MALARIA");
+		List<Object> wideItems = items();
+		int narrow = model.filter("malaria cer");
+		List<Object> narrowItems = items();
+		int widenedAgain = model.filter("a");
+
+		// then:
+		assertThat(wide).isEqualTo(2);
+		assertThat(wideItems).containsExactly("A Malária", "B Malaria cerebral");
+		assertThat(narrow).isOne();
+		assertThat(narrowItems).containsExactly("B Malaria cerebral");
+		assertThat(widenedAgain).isEqualTo(4);
+	}
+
+	@Test
+	void shouldSearchOnlyTheAcceptedItems() {
+		// given:
+		model.setItems(DISEASES);
+
+		// when:
+		int accepted = model.filter(disease -> disease.startsWith("B"));
+		int found = model.filter("malaria");
+
+		// then:
+		assertThat(accepted).isEqualTo(2);
+		assertThat(found).isOne();
+		assertThat(items()).containsExactly("B Malaria cerebral");
+	}
+
+	@Test
+	void shouldShowAcceptedPositionsInTheGivenOrder() {
+		// given:
+		model.setItems(DISEASES);
+		model.filter(disease -> !disease.startsWith("A T"));
+
+		// when:
+		int shown = model.filter(new int[] { 3, 1, 0 });
+
+		// then:
+		assertThat(shown).isEqualTo(2);
+		assertThat(items()).containsExactly("B Cholera", "A Malária");
+	}
+
+	@Test
+	void shouldShowAnAddedItemWhateverTheFilter() {
+		// given:
+		model.setItems(DISEASES);
+		model.filter("cholera");
+
+		// when:
+		model.addItem("C Cancelled");
+
+		// then:
+		assertThat(items()).containsExactly("B Cholera", "C Cancelled");
+	}
+
+	private List<Object> items() {
+		List<Object> items = new ArrayList<>();
+		for (int i = 1; i < model.getSize(); i++) {
+			items.add(model.getElementAt(i));
+		}
+		return items;
+	}
+
+}
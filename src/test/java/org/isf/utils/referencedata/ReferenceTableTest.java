@@ -0,0 +1,88 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.referencedata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.isf.utils.exception.OHServiceException;
+import org.junit.jupiter.api.Test;
+
+class ReferenceTableTest {
+
+	private final List<String> rows = new ArrayList<>(Arrays.asList("A1 Malaria", "B2 Typhoid"));
+	private int loads;
+
+	private final ReferenceTable<String, String> table = new ReferenceTable<>(() -> {
+		loads++;
+		return rows;
+	}, row -> row.substring(0, 2));
+
+	@Test
+	void shouldLoadOnceAndCountHitsAndMisses() throws OHServiceException {
+		// when:
+		List<String> first = table.getAll();
+		List<String> second = table.getAll();
+		String byCode = table.get("B2");
+
+		// then:
+		assertThat(loads).isEqualTo(1);
+		assertThat(second).isSameAs(first).containsExactly("A1 Malaria", "B2 Typhoid");
+		assertThat(byCode).isEqualTo("B2 Typhoid");
+		assertThat(table.get("C3")).isNull();
+		assertThat(table.getMisses()).isEqualTo(1);
+		assertThat(table.getHits()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldReturnAnUnmodifiableSnapshot() throws OHServiceException {
+		// given:
+		List<String> snapshot = table.getAll();
+
+		// when:
+		rows.add("C3 Cholera");
+
+		// then:
+		assertThat(snapshot).hasSize(2);
+		assertThatThrownBy(snapshot::clear).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void shouldReloadAfterInvalidation() throws OHServiceException {
+		// given:
+		table.getAll();
+		rows.add("C3 Cholera");
+
+		// when:
+		table.invalidate();
+
+		// then:
+		assertThat(table.getVersion()).isEqualTo(1);
+		assertThat(table.get("C3")).isEqualTo("C3 Cholera");
+		assertThat(loads).isEqualTo(2);
+	}
+
+}
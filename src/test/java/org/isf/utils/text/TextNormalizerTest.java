@@ -0,0 +1,69 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.utils.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+class TextNormalizerTest {
+
+	@Test
+	void shouldIgnoreAccentsAndCase() {
+		// when:
+		String normalized = TextNormalizer.normalize("Malaria Perniciòsa ÉTÉ");
+
+		// then:
+		assertThat(normalized).isEqualTo("malaria perniciosa ete");
+	}
+
+	@Test
+	void shouldNotDependOnTheDefaultLocale() {
+		// given:
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(Locale.forLanguageTag("tr"));
+
+		try {
+			// when:
+			String ascii = TextNormalizer.normalize("TITLE");
+			String accented = TextNormalizer.normalize("TİTLE Ü");
+
+			// then:
+			assertThat(ascii).isEqualTo("title");
+			assertThat(accented).isEqualTo("title u");
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	void shouldNormalizeNullToEmpty() {
+		// when:
+		String normalized = TextNormalizer.normalize(null);
+
+		// then:
+		assertThat(normalized).isEqualTo("");
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.video.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CapturePipelineTest {
+
+    private final CapturePipeline pipeline = new CapturePipeline();
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void shouldScaleDownKeepingProportions() {
+        // when:
+        final BufferedImage snapshot = pipeline.scale(frame(1280, 720), new Dimension(640, 640));
+
+        // then:
+        assertThat(snapshot.getWidth()).isEqualTo(640);
+        assertThat(snapshot.getHeight()).isEqualTo(360);
+    }
+
+    @Test
+    void shouldNotScaleUp() {
+        // when:
+        final BufferedImage snapshot = pipeline.scale(frame(320, 240), new Dimension(1280, 1024));
+
+        // then:
+        assertThat(snapshot.getWidth()).isEqualTo(320);
+        assertThat(snapshot.getHeight()).isEqualTo(240);
+    }
+
+    @Test
+    void shouldReuseTheFrameBuffersInTurn() {
+        // given:
+        final Dimension maxSize = new Dimension(640, 480);
+
+        // when:
+        final BufferedImage first = pipeline.scale(frame(640, 480), maxSize);
+        final BufferedImage second = pipeline.scale(frame(640, 480), maxSize);
+        final BufferedImage third = pipeline.scale(frame(640, 480), maxSize);
+
+        // then:
+        assertThat(second).isNotSameAs(first);
+        assertThat(third).isSameAs(first);
+    }
+
+    @Test
+    void shouldCaptureInBackground() throws Exception {
+        // when:
+        final BufferedImage snapshot = pipeline.capture(() -> frame(800, 600), new Dimension(400, 400)).get(5, TimeUnit.SECONDS);
+        final BufferedImage noFrame = pipeline.capture(() -> null, new Dimension(400, 400)).get(5, TimeUnit.SECONDS);
+
+        // then:
+        assertThat(snapshot.getWidth()).isEqualTo(400);
+        assertThat(snapshot.getHeight()).isEqualTo(300);
+        assertThat(noFrame).isNull();
+    }
+
+    private static BufferedImage frame(final int width, final int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.visits.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.isf.visits.model.Visit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VisitDayIndexTest {
+
+	private static final LocalDate DAY = LocalDate.of(2023, 3, 15);
+
+	private final List<Visit> wardVisits = new ArrayList<>();
+	private final VisitDayIndex index = new VisitDayIndex();
+	private int loads;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = -60; i <= 60; i++) {
+			wardVisits.add(visit(DAY.plusDays(i)));
+		}
+		index.setLoader(() -> {
+			loads++;
+			return new ArrayList<>(wardVisits);
+		});
+	}
+
+	@Test
+	void shouldLoadTheWardOnceAndLookUpEveryDay() throws Exception {
+		// when:
+		List<Visit> first = index.getVisits(DAY);
+		List<Visit> second = index.getVisits(DAY.plusDays(1));
+		List<Visit> far = index.getVisits(DAY.minusDays(60));
+		List<Visit> none = index.getVisits(DAY.plusDays(61));
+
+		// then:
+		assertThat(first).extracting(visit -> visit.getDate().toLocalDate()).containsExactly(DAY);
+		assertThat(second).extracting(visit -> visit.getDate().toLocalDate()).containsExactly(DAY.plusDays(1));
+		assertThat(far).extracting(visit -> visit.getDate().toLocalDate()).containsExactly(DAY.minusDays(60));
+		assertThat(none).isEmpty();
+		assertThat(loads).isEqualTo(1);
+	}
+
+	@Test
+	void shouldReloadAfterInvalidate() throws Exception {
+		// given:
+		index.getVisits(DAY);
+		wardVisits.add(visit(DAY));
+
+		// when:
+		index.invalidate();
+
+		// then:
+		assertThat(index.getVisits(DAY)).hasSize(2);
+		assertThat(loads).isEqualTo(2);
+	}
+
+	private static Visit visit(LocalDate day) {
+		Visit visit = new Visit();
+		visit.setDate(day.atTime(9, 0));
+		return visit;
+	}
+
+}
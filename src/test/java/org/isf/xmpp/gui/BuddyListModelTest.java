@@ -0,0 +1,101 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.xmpp.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BuddyListModelTest {
+
+	private final BuddyListModel<String> model = new BuddyListModel<>(name -> name + "@oh", name -> name);
+	private final List<String> events = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		model.setEntries(Arrays.asList("carla", "Bruno", "anna", "dario"), name -> name.equals("dario") || name.equals("carla"));
+		model.addListDataListener(new ListDataListener() {
+
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				events.add("+" + e.getIndex0());
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				events.add("-" + e.getIndex0());
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				events.add("*");
+			}
+		});
+	}
+
+	@Test
+	void shouldListAvailableContactsFirstThenByName() {
+		// then:
+		assertThat(contacts()).containsExactly("carla", "dario", "anna", "Bruno");
+	}
+
+	@Test
+	void shouldMoveOnlyTheContactWhoseAvailabilityChanged() {
+		// when:
+		boolean changed = model.setAvailable("Bruno@oh", true);
+
+		// then:
+		assertThat(changed).isTrue();
+		assertThat(contacts()).containsExactly("Bruno", "carla", "dario", "anna");
+		assertThat(events).containsExactly("-3", "+0");
+		assertThat(model.isAvailable("Bruno")).isTrue();
+	}
+
+	@Test
+	void shouldIgnoreUnchangedAndUnknownContacts() {
+		// when:
+		boolean unchanged = model.setAvailable("carla@oh", true);
+		boolean unknown = model.setAvailable("elena@oh", true);
+
+		// then:
+		assertThat(unchanged).isFalse();
+		assertThat(unknown).isFalse();
+		assertThat(events).isEmpty();
+	}
+
+	private List<String> contacts() {
+		List<String> contacts = new ArrayList<>();
+		for (int i = 0; i < model.getSize(); i++) {
+			contacts.add(model.getElementAt(i));
+		}
+		return contacts;
+	}
+
+}
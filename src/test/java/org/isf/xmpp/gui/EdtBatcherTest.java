@@ -0,0 +1,71 @@
+/*
+ * Open Hospital (www.open-hospital.org)
+ * Copyright © 2006-2023 Informatici Senza Frontiere (info@informaticisenzafrontiere.org)
+ *
+ * Open Hospital is a free and open source software for healthcare data management.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * https://www.gnu.org/licenses/gpl-3.0-standalone.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.isf.xmpp.gui;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EdtBatcherTest {
+
+	private final List<Runnable> edtQueue = new ArrayList<>();
+	private final List<List<String>> batches = new ArrayList<>();
+	private final EdtBatcher<String> batcher = new EdtBatcher<>(0, edtQueue::add, batches::add);
+
+	@Test
+	void shouldDeliverItemsAddedBeforeTheFlushInOneBatch() {
+		// given:
+		batcher.add("first");
+		batcher.add("second");
+		batcher.add("third");
+
+		// when:
+		runEdt();
+
+		// then:
+		assertThat(batches).containsExactly(List.of("first", "second", "third"));
+	}
+
+	@Test
+	void shouldScheduleANewBatchAfterAFlush() {
+		// given:
+		batcher.add("first");
+		runEdt();
+
+		// when:
+		batcher.add("second");
+		runEdt();
+
+		// then:
+		assertThat(batches).containsExactly(List.of("first"), List.of("second"));
+	}
+
+	private void runEdt() {
+		List<Runnable> tasks = new ArrayList<>(edtQueue);
+		edtQueue.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+}